@@ -149,6 +149,13 @@ export default defineConfig({
                             },
                             autogenerate: {directory: 'cmd/hash'},
                         },
+                        {
+                            label: '流',
+                            translations: {
+                                'en': 'Stream',
+                            },
+                            autogenerate: {directory: 'cmd/stream'},
+                        },
                         {
                             label: '其他',
                             translations: {
@@ -0,0 +1,116 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.transport.WriteBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 从命令的RESP编码中还原参数的输出缓冲区，用于慢命令日志
+ * <p>
+ * 与服务端 SLOWLOG 一致，至多保留32个参数，每个参数至多保留128字节，超出部分以省略说明代替。
+ * 超出保留长度的参数内容只计数而不复制。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class ArgumentCapture implements WriteBuffer, RequestParser.Handler {
+    private static final int MAX_ARGUMENTS = 32;
+    private static final int MAX_ARGUMENT_LENGTH = 128;
+
+    private final List<String> arguments = new ArrayList<>();
+    private final RequestParser parser = new RequestParser(this, MAX_ARGUMENT_LENGTH);
+    private long argumentCount;
+    private int parsed;
+
+    private ArgumentCapture() {
+    }
+
+    /**
+     * 重新编码命令并提取截断后的参数
+     */
+    static List<String> capture(Command command) {
+        ArgumentCapture capture = new ArgumentCapture();
+        try {
+            command.writeTo(capture);
+        } catch (Throwable e) {
+            // 保留已解析的参数
+        }
+        return capture.arguments;
+    }
+
+    @Override
+    public void onArray(long count) {
+        argumentCount = count;
+    }
+
+    @Override
+    public void onArgument(byte[] value, int length, long total) {
+        int index = parsed++;
+        if (index >= MAX_ARGUMENTS) {
+            return;
+        }
+        if (index == MAX_ARGUMENTS - 1 && argumentCount > MAX_ARGUMENTS) {
+            arguments.add("... (" + (argumentCount - index) + " more arguments)");
+            return;
+        }
+        String argument = new String(value, 0, length, StandardCharsets.UTF_8);
+        if (total > length) {
+            argument += "... (" + (total - length) + " more bytes)";
+        }
+        arguments.add(argument);
+    }
+
+    @Override
+    public void writeShort(short v) {
+        parser.accept((byte) (v >>> 8));
+        parser.accept((byte) v);
+    }
+
+    @Override
+    public void writeByte(byte b) {
+        parser.accept(b);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        writeShort((short) (v >>> 16));
+        writeShort((short) v);
+    }
+
+    @Override
+    public void writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int len) {
+        parser.accept(bytes, offset, len);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int len, Consumer<WriteBuffer> consumer) throws IOException {
+        write(bytes, offset, len);
+        consumer.accept(this);
+    }
+
+    @Override
+    public void transferFrom(ByteBuffer byteBuffer, Consumer<WriteBuffer> consumer) {
+        parser.accept(byteBuffer.duplicate());
+        consumer.accept(this);
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
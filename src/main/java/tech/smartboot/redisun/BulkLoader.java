@@ -0,0 +1,427 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.transport.AioQuickClient;
+import org.smartboot.socket.transport.AioSession;
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 批量数据导入器
+ * <p>
+ * 面向大规模数据导入（如缓存重建）场景，与逐条调用 asyncSet 相比：
+ * 1. 命令直接编码至连接的写缓冲区，不构建命令对象及参数列表
+ * 2. 不为每条命令创建Future，同一连接上的所有命令共享一个响应回调，按发送顺序匹配响应
+ * 3. 每个连接维持固定大小的未响应窗口，窗口写满时写入方等待，避免无限堆积
+ * 4. 通过计数与回调汇报进度及单条命令的失败信息
+ * </p>
+ * <p>
+ * 导入器在多条独占连接上轮询分发命令，可被多个线程同时使用。
+ * 集群模式下按key所属节点分别建立连接，导入过程中槽位迁移导致的重定向错误将作为失败上报。
+ * 使用完毕后需调用 {@link #close()}，等待全部响应返回并关闭连接。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see BulkLoaderOptions
+ */
+public final class BulkLoader implements AutoCloseable {
+    private static final BulkStrings CMD_SET = BulkStrings.of("SET");
+    private static final BulkStrings CMD_HSET = BulkStrings.of("HSET");
+    private static final BulkStrings CMD_EXPIRE = BulkStrings.of("EXPIRE");
+    private static final BulkStrings ARG_EX = BulkStrings.of("EX");
+
+    private final Redisun redisun;
+    private final BulkLoaderOptions options;
+    /**
+     * 各节点的独占连接，在首次向该节点写入时创建
+     */
+    private final Map<RedisNode, Channel[]> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+    /**
+     * 未响应命令达到该数量时主动刷新写缓冲区
+     */
+    private final int flushThreshold;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong finished = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean closed;
+
+    BulkLoader(Redisun redisun, BulkLoaderOptions options) {
+        this.redisun = redisun;
+        this.options = options;
+        this.flushThreshold = Math.max(1, options.getWindow() / 4);
+    }
+
+    /**
+     * 导入字符串键值
+     *
+     * @param key   键
+     * @param value 值
+     * @return 当前导入器，支持链式调用
+     */
+    public BulkLoader set(String key, String value) {
+        return set(key, value, 0);
+    }
+
+    /**
+     * 导入字符串键值并设置过期时间
+     *
+     * @param key        键
+     * @param value      值
+     * @param ttlSeconds 过期时间（秒），小于等于0表示不过期
+     * @return 当前导入器，支持链式调用
+     */
+    public BulkLoader set(String key, String value, long ttlSeconds) {
+        byte[] keyBytes = key.getBytes();
+        byte[] valueBytes = value.getBytes();
+        Channel channel = next(keyBytes);
+        channel.lock.lock();
+        try {
+            WriteBuffer out = channel.begin(key, 1);
+            try {
+                ArgumentWriter.writeArrayHeader(out, ttlSeconds > 0 ? 5 : 3);
+                CMD_SET.writeTo(out);
+                ArgumentWriter.writeBulk(out, keyBytes);
+                ArgumentWriter.writeBulk(out, valueBytes);
+                if (ttlSeconds > 0) {
+                    ARG_EX.writeTo(out);
+                    ArgumentWriter.writeBulk(out, ttlSeconds);
+                }
+            } catch (IOException e) {
+                throw channel.abort(e);
+            }
+            channel.end();
+        } finally {
+            channel.lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * 导入哈希表字段
+     *
+     * @param key    键
+     * @param fields 字段及值
+     * @return 当前导入器，支持链式调用
+     */
+    public BulkLoader hset(String key, Map<String, String> fields) {
+        return hset(key, fields, 0);
+    }
+
+    /**
+     * 导入哈希表字段并设置过期时间，过期时间通过紧随其后的EXPIRE命令设置
+     *
+     * @param key        键
+     * @param fields     字段及值
+     * @param ttlSeconds 过期时间（秒），小于等于0表示不过期
+     * @return 当前导入器，支持链式调用
+     */
+    public BulkLoader hset(String key, Map<String, String> fields, long ttlSeconds) {
+        byte[] keyBytes = key.getBytes();
+        Channel channel = next(keyBytes);
+        channel.lock.lock();
+        try {
+            WriteBuffer out = channel.begin(key, ttlSeconds > 0 ? 2 : 1);
+            try {
+                ArgumentWriter.writeArrayHeader(out, 2 + fields.size() * 2);
+                CMD_HSET.writeTo(out);
+                ArgumentWriter.writeBulk(out, keyBytes);
+                for (Map.Entry<String, String> entry : fields.entrySet()) {
+                    ArgumentWriter.writeBulk(out, entry.getKey());
+                    ArgumentWriter.writeBulk(out, entry.getValue());
+                }
+                if (ttlSeconds > 0) {
+                    writeExpire(out, keyBytes, ttlSeconds);
+                }
+            } catch (IOException e) {
+                throw channel.abort(e);
+            }
+            channel.end();
+        } finally {
+            channel.lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * 为已导入的键设置过期时间
+     *
+     * @param key     键
+     * @param seconds 过期时间（秒）
+     * @return 当前导入器，支持链式调用
+     */
+    public BulkLoader expire(String key, long seconds) {
+        byte[] keyBytes = key.getBytes();
+        Channel channel = next(keyBytes);
+        channel.lock.lock();
+        try {
+            WriteBuffer out = channel.begin(key, 1);
+            try {
+                writeExpire(out, keyBytes, seconds);
+            } catch (IOException e) {
+                throw channel.abort(e);
+            }
+            channel.end();
+        } finally {
+            channel.lock.unlock();
+        }
+        return this;
+    }
+
+    /**
+     * 发送所有缓冲中的命令，并等待已提交的命令全部得到响应
+     */
+    public void flush() {
+        for (Channel[] nodeChannels : channels.values()) {
+            for (Channel channel : nodeChannels) {
+                channel.drain();
+            }
+        }
+    }
+
+    /**
+     * 等待已提交的命令全部得到响应后关闭导入器
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        for (Channel[] nodeChannels : channels.values()) {
+            for (Channel channel : nodeChannels) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * 获取已提交的命令数
+     */
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    /**
+     * 获取已得到响应的命令数，包括执行失败的命令
+     */
+    public long getFinished() {
+        return finished.get();
+    }
+
+    /**
+     * 获取执行失败的命令数
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private Channel next(byte[] key) {
+        if (closed) {
+            throw new RedisunException("bulk loader closed");
+        }
+        Channel[] nodeChannels = channels.computeIfAbsent(redisun.route(key), node -> {
+            Channel[] array = new Channel[options.getConnections()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = new Channel(node, options.getWindow());
+            }
+            return array;
+        });
+        return nodeChannels[(cursor.getAndIncrement() & Integer.MAX_VALUE) % nodeChannels.length];
+    }
+
+    private void onFinished(String key, Throwable error) {
+        if (error != null) {
+            failed.incrementAndGet();
+            BiConsumer<String, Throwable> errorHandler = options.getErrorHandler();
+            if (errorHandler != null) {
+                errorHandler.accept(key, error);
+            }
+        }
+        long count = finished.incrementAndGet();
+        Consumer<BulkLoader> progressHandler = options.getProgressHandler();
+        if (progressHandler != null && count % options.getProgressInterval() == 0) {
+            progressHandler.accept(this);
+        }
+    }
+
+    private static void writeExpire(WriteBuffer out, byte[] key, long seconds) throws IOException {
+        ArgumentWriter.writeArrayHeader(out, 3);
+        CMD_EXPIRE.writeTo(out);
+        ArgumentWriter.writeBulk(out, key);
+        ArgumentWriter.writeBulk(out, seconds);
+    }
+
+    /**
+     * 导入使用的独占连接
+     * <p>
+     * 写入方在持有 {@link #lock} 的情况下占用窗口并写入命令，每条命令将自身作为响应回调入队一次。
+     * 响应按发送顺序返回，通过环形数组记录每条命令对应的key，用于失败时回调。
+     * 窗口写满时写入方在锁内等待响应，使用 {@link ReentrantLock} 而非对象锁，等待期间不会占住虚拟线程的载体线程。
+     * </p>
+     */
+    private final class Channel implements ResponseCallback {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final RedisNode node;
+        private final int windowSize;
+        private final Semaphore window;
+        private final String[] keys;
+        private final int mask;
+        private AioQuickClient client;
+        private AioSession session;
+        /**
+         * 写入序号，由写入方在持有锁时更新
+         */
+        private long writeIndex;
+        /**
+         * 响应序号，仅由当前连接的IO线程更新
+         */
+        private long readIndex;
+        private int unflushed;
+        private boolean flushNow;
+
+        Channel(RedisNode node, int windowSize) {
+            this.node = node;
+            this.windowSize = windowSize;
+            this.window = new Semaphore(windowSize);
+            int capacity = Integer.highestOneBit(Math.max(1, windowSize - 1)) << 1;
+            this.keys = new String[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * 占用窗口并登记响应回调，返回用于写入命令的缓冲区，调用方需持有 {@link #lock}
+         *
+         * @param key     命令对应的key
+         * @param replies 本次写入的命令将产生的响应数
+         */
+        WriteBuffer begin(String key, int replies) {
+            try {
+                if (session == null || session.isInvalid()) {
+                    reconnect();
+                }
+                // 连接上没有未响应的命令时立即发送，避免低速写入时命令滞留在缓冲区
+                flushNow = window.availablePermits() == windowSize;
+                if (!window.tryAcquire(replies)) {
+                    // 窗口已满，先发出缓冲中的命令再等待响应
+                    session.writeBuffer().flush();
+                    unflushed = 0;
+                    window.acquire(replies);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RedisunException(e);
+            }
+            RedisSession redisSession = session.getAttachment();
+            for (int i = 0; i < replies; i++) {
+                keys[(int) (writeIndex++ & mask)] = key;
+                redisSession.offer(this);
+            }
+            unflushed += replies;
+            submitted.addAndGet(replies);
+            return session.writeBuffer();
+        }
+
+        /**
+         * 命令写入缓冲区的过程中失败，已登记的回调与线路上的数据不再一致，关闭连接使其全部以失败结束
+         * <p>
+         * 下次写入时重建连接，重建前等待旧连接上的回调全部完成，保证响应序号与写入序号一致。
+         * </p>
+         *
+         * @return 需由调用方抛出的异常
+         */
+        RedisunException abort(IOException e) {
+            client.shutdownNow();
+            return new RedisunException(e);
+        }
+
+        void end() {
+            if (flushNow || unflushed >= flushThreshold) {
+                session.writeBuffer().flush();
+                unflushed = 0;
+            }
+        }
+
+        /**
+         * 重建连接前等待旧连接上的命令全部得到响应或失败，保证响应序号与写入序号一致
+         */
+        private void reconnect() throws InterruptedException {
+            if (client != null) {
+                window.acquire(windowSize);
+                window.release(windowSize);
+                client.shutdownNow();
+                client = null;
+                session = null;
+            }
+            client = node.connect();
+            session = client.getSession();
+        }
+
+        void drain() {
+            lock.lock();
+            try {
+                if (session == null) {
+                    return;
+                }
+                session.writeBuffer().flush();
+                unflushed = 0;
+                window.acquire(windowSize);
+                window.release(windowSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RedisunException(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                if (client != null) {
+                    client.shutdownNow();
+                    client = null;
+                    session = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            String key = poll();
+            onFinished(key, resp instanceof SimpleErrors ? new RedisunException(((SimpleErrors) resp).getValue()) : null);
+            window.release();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            String key = poll();
+            onFinished(key, throwable);
+            window.release();
+        }
+
+        private String poll() {
+            int index = (int) (readIndex++ & mask);
+            String key = keys[index];
+            keys[index] = null;
+            return key;
+        }
+    }
+}
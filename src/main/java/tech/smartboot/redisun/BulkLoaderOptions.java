@@ -0,0 +1,84 @@
+package tech.smartboot.redisun;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 批量导入配置选项
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see BulkLoader
+ */
+public class BulkLoaderOptions {
+    /**
+     * 导入使用的连接数
+     */
+    private int connections = Runtime.getRuntime().availableProcessors();
+    /**
+     * 单个连接上允许的最大未响应命令数
+     */
+    private int window = 1024;
+    /**
+     * 单条命令执行失败时的回调，参数为命令对应的key与异常信息
+     */
+    private BiConsumer<String, Throwable> errorHandler;
+    /**
+     * 进度回调的触发间隔，即每完成多少条命令回调一次
+     */
+    private long progressInterval = 100000;
+    /**
+     * 进度回调
+     */
+    private Consumer<BulkLoader> progressHandler;
+
+    int getConnections() {
+        return connections;
+    }
+
+    public BulkLoaderOptions connections(int connections) {
+        this.connections = connections;
+        return this;
+    }
+
+    int getWindow() {
+        return window;
+    }
+
+    /**
+     * 设置单个连接上允许的最大未响应命令数，达到上限后写入方将等待响应返回
+     */
+    public BulkLoaderOptions window(int window) {
+        this.window = window;
+        return this;
+    }
+
+    BiConsumer<String, Throwable> getErrorHandler() {
+        return errorHandler;
+    }
+
+    /**
+     * 设置单条命令执行失败时的回调，在IO线程中执行，不应有阻塞操作
+     */
+    public BulkLoaderOptions errorHandler(BiConsumer<String, Throwable> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    long getProgressInterval() {
+        return progressInterval;
+    }
+
+    Consumer<BulkLoader> getProgressHandler() {
+        return progressHandler;
+    }
+
+    /**
+     * 设置进度回调，每完成 interval 条命令触发一次，在IO线程中执行，不应有阻塞操作
+     */
+    public BulkLoaderOptions progressHandler(long interval, Consumer<BulkLoader> progressHandler) {
+        this.progressInterval = interval;
+        this.progressHandler = progressHandler;
+        return this;
+    }
+}
@@ -0,0 +1,79 @@
+package tech.smartboot.redisun;
+
+/**
+ * 流量捕获配置选项
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see RedisunOptions#capture(java.util.function.Consumer)
+ * @see TrafficReplay
+ */
+public class CaptureOptions {
+    /**
+     * 捕获文件所在目录
+     */
+    private String directory;
+    /**
+     * 单个捕获文件的大小（字节）
+     */
+    private int fileSize = 64 * 1024 * 1024;
+    /**
+     * 保留的捕获文件数，超出后删除最早的文件
+     */
+    private int maxFiles = 8;
+    /**
+     * 连接的采样率，每N条连接捕获1条
+     */
+    private int sampleRate = 1;
+
+    CaptureOptions() {
+    }
+
+    String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * 设置捕获文件所在目录，目录不存在时自动创建
+     */
+    public CaptureOptions directory(String directory) {
+        this.directory = directory;
+        return this;
+    }
+
+    int getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * 设置单个捕获文件的大小（字节），写满后切换至新文件，默认64MB
+     */
+    public CaptureOptions fileSize(int fileSize) {
+        this.fileSize = fileSize;
+        return this;
+    }
+
+    int getMaxFiles() {
+        return maxFiles;
+    }
+
+    /**
+     * 设置保留的捕获文件数，超出后删除最早的文件，默认8
+     */
+    public CaptureOptions maxFiles(int maxFiles) {
+        this.maxFiles = maxFiles;
+        return this;
+    }
+
+    int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 设置连接的采样率，每N条连接随机捕获1条，未被采样的连接没有任何额外开销，默认捕获全部连接
+     */
+    public CaptureOptions sampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+        return this;
+    }
+}
@@ -0,0 +1,210 @@
+package tech.smartboot.redisun;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.smartboot.socket.transport.AioQuickClient;
+import org.smartboot.socket.transport.AioSession;
+import tech.smartboot.redisun.cmd.ChannelMessage;
+import tech.smartboot.redisun.cmd.SubscribeCommand;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 发布订阅频道的消息发布者
+ * <p>
+ * 每个订阅者使用一条独立的订阅连接，取消订阅时关闭连接。服务端推送消息的速度不受客户端控制，
+ * 订阅者的需求耗尽时暂停读取该连接，未读取的消息积压在TCP接收缓冲区中，由TCP流量控制将压力传导至服务端；
+ * 服务端的输出缓冲区超出 client-output-buffer-limit 后将断开连接，已读取的消息按需求交付完毕后订阅者收到 onError。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class ChannelPublisher implements Publisher<ChannelMessage> {
+    private final Supplier<AioQuickClient> connector;
+    private final String[] channels;
+
+    private ChannelPublisher(Supplier<AioQuickClient> connector, String[] channels) {
+        this.connector = connector;
+        this.channels = channels;
+    }
+
+    /**
+     * 创建频道消息发布者，取得 {@link Publisher} 的方式与 {@link PagedPublisher#create(Supplier)} 相同
+     *
+     * @param connector 为每个订阅者建立独立的订阅连接
+     * @param channels  频道名称
+     * @return 频道消息发布者
+     */
+    static Publisher<ChannelMessage> create(Supplier<AioQuickClient> connector, String[] channels) {
+        return new ChannelPublisher(connector, channels);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ChannelMessage> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        AioQuickClient client;
+        try {
+            client = connector.get();
+        } catch (Throwable e) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(e);
+            return;
+        }
+        new ChannelSubscription(subscriber, client).start(channels);
+    }
+
+    private static final class ChannelSubscription implements Subscription {
+        private final Subscriber<? super ChannelMessage> subscriber;
+        private final AioQuickClient client;
+        private final AioSession session;
+        private final Queue<ChannelMessage> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        /**
+         * 是否已暂停读取订阅连接
+         */
+        private volatile boolean paused;
+        private volatile boolean cancelled;
+        /**
+         * 连接关闭等异常，缓存中的消息在需求范围内交付完毕后再通知订阅者
+         */
+        private volatile Throwable error;
+        /**
+         * 非法的 request 参数，依 reactive-streams 规范 3.9 立即通知订阅者
+         */
+        private volatile Throwable requestError;
+
+        ChannelSubscription(Subscriber<? super ChannelMessage> subscriber, AioQuickClient client) {
+            this.subscriber = subscriber;
+            this.client = client;
+            this.session = client.getSession();
+        }
+
+        void start(String[] channels) {
+            RedisSession redisSession = session.getAttachment();
+            redisSession.setCloseHandler(() -> {
+                error = new RedisunException("session closed");
+                drain();
+            });
+            subscriber.onSubscribe(this);
+            if (cancelled) {
+                return;
+            }
+            try {
+                RedisNode.subscribe(client, new SubscribeCommand(channels), this::onPush);
+            } catch (Throwable e) {
+                error = e;
+                client.shutdownNow();
+                drain();
+            }
+        }
+
+        /**
+         * 在IO线程中处理订阅连接上的推送消息，无法立即交付时暂停读取
+         */
+        private void onPush(RESP resp) {
+            List<RESP> values = ((Arrays) resp).getValue();
+            if (values.size() != 3 || !"message".equals(values.get(0).getValue())) {
+                return;
+            }
+            buffer.offer(new ChannelMessage(String.valueOf(values.get(1).getValue()), String.valueOf(values.get(2).getValue())));
+            drain();
+            if (!buffer.isEmpty() && !cancelled) {
+                session.awaitRead();
+                paused = true;
+                // 需求可能在暂停前到达，再检查一次以免错过恢复读取
+                drain();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                long current;
+                long next;
+                do {
+                    current = requested.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!requested.compareAndSet(current, next));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                Throwable invalid = requestError;
+                if (invalid != null) {
+                    terminate();
+                    subscriber.onError(invalid);
+                    return;
+                }
+                long demand = requested.get();
+                long emitted = 0;
+                ChannelMessage message;
+                while (emitted != demand && (message = buffer.poll()) != null) {
+                    subscriber.onNext(message);
+                    emitted++;
+                    if (cancelled) {
+                        terminate();
+                        return;
+                    }
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                Throwable throwable = error;
+                if (throwable != null && buffer.isEmpty()) {
+                    terminate();
+                    subscriber.onError(throwable);
+                    return;
+                }
+                if (paused && buffer.isEmpty() && requested.get() > 0) {
+                    paused = false;
+                    session.signalRead();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate() {
+            cancelled = true;
+            buffer.clear();
+            client.shutdownNow();
+        }
+    }
+}
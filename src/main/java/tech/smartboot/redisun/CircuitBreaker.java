@@ -0,0 +1,286 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 单个节点的熔断器
+ * <p>
+ * 关闭状态下按时间分桶统计调用结果，统计窗口内失败率或慢调用比例达到阈值、或有命令在途却长时间收不到任何响应时打开熔断；
+ * 打开状态下直接拒绝命令；等待 openDuration 后进入半开状态，放行有限的探测调用，全部成功后关闭，任一失败则重新打开。
+ * </p>
+ * <p>
+ * 关闭状态下的准入判断只读取两个volatile变量，统计各桶使用原子计数，不加锁。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class CircuitBreaker {
+    static final int CLOSED = 0;
+    static final int OPEN = 1;
+    static final int HALF_OPEN = 2;
+    private static final String[] STATE_NAMES = {"CLOSED", "OPEN", "HALF_OPEN"};
+    /**
+     * 准入结果
+     */
+    static final int REJECTED = -1;
+    static final int PERMITTED = 0;
+    static final int PROBE = 1;
+    private static final int BUCKETS = 10;
+    private static final int CALLS = 0;
+    private static final int FAILURES = 1;
+    private static final int SLOW_CALLS = 2;
+    /**
+     * 表示节点异常的错误响应前缀
+     */
+    private static final String[] FAILURE_ERRORS = {"LOADING", "BUSY", "MASTERDOWN", "CLUSTERDOWN"};
+
+    private final String address;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final int minimumCalls;
+    private final long bucketNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final long timeoutNanos;
+
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    /**
+     * 每个桶的起始序号，序号为时间除以桶长度
+     */
+    private final AtomicLongArray bucketIndexes = new AtomicLongArray(BUCKETS);
+    /**
+     * 每个桶的调用数、失败数、慢调用数
+     */
+    private final AtomicLongArray counters = new AtomicLongArray(BUCKETS * 3);
+    /**
+     * 关闭状态下在途的调用数
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /**
+     * 最近一次收到响应或在途调用数从0开始增加的时间
+     */
+    private volatile long lastProgress = System.nanoTime();
+    /**
+     * 进入当前状态的时间
+     */
+    private volatile long stateTime;
+    /**
+     * 半开状态下剩余的探测许可及已成功的探测数
+     */
+    private final AtomicInteger probePermits = new AtomicInteger();
+    private final AtomicInteger probeSuccesses = new AtomicInteger();
+    /**
+     * 在途的探测调用数，以及最近一次探测完成或在途探测数从0开始增加的时间
+     */
+    private final AtomicInteger probesInFlight = new AtomicInteger();
+    private volatile long lastProbeProgress;
+    private final AtomicLong rejections = new AtomicLong();
+
+    CircuitBreaker(String address, CircuitBreakerOptions options) {
+        this.address = address;
+        this.failureRateThreshold = options.getFailureRateThreshold();
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(options.getSlowCallDuration());
+        this.slowCallRateThreshold = options.getSlowCallRateThreshold();
+        this.minimumCalls = Math.max(1, options.getMinimumCalls());
+        this.bucketNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(options.getWindow()) / BUCKETS);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(options.getOpenDuration());
+        this.halfOpenCalls = Math.max(1, options.getHalfOpenCalls());
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(options.getTimeout());
+    }
+
+    /**
+     * 判断是否允许发送命令
+     *
+     * @return {@link #PERMITTED}、{@link #PROBE} 或 {@link #REJECTED}
+     */
+    int tryAcquire() {
+        long now = System.nanoTime();
+        switch (state.get()) {
+            case CLOSED:
+                if (inFlight.get() > 0 && timeoutNanos > 0 && now - lastProgress > timeoutNanos) {
+                    // 有命令在途却长时间没有任何响应，节点可能已失去响应
+                    open(CLOSED, now);
+                    break;
+                }
+                if (inFlight.getAndIncrement() == 0) {
+                    lastProgress = now;
+                }
+                return PERMITTED;
+            case OPEN:
+                if (now - stateTime < openNanos || !state.compareAndSet(OPEN, HALF_OPEN)) {
+                    break;
+                }
+                probeSuccesses.set(0);
+                probePermits.set(halfOpenCalls);
+                lastProbeProgress = now;
+                stateTime = now;
+                // fall through
+            default:
+                if (probesInFlight.get() > 0 && timeoutNanos > 0 && now - lastProbeProgress > timeoutNanos) {
+                    // 探测调用长时间未完成
+                    open(HALF_OPEN, now);
+                    break;
+                }
+                if (probePermits.get() > 0 && probePermits.getAndDecrement() > 0) {
+                    if (probesInFlight.getAndIncrement() == 0) {
+                        lastProbeProgress = now;
+                    }
+                    return PROBE;
+                }
+        }
+        rejections.incrementAndGet();
+        return REJECTED;
+    }
+
+    /**
+     * 包装响应回调，在命令完成时记录结果
+     *
+     * @param permit {@link #tryAcquire()} 的准入结果
+     */
+    ResponseCallback wrap(ResponseCallback callback, int permit) {
+        return new BreakerCallback(callback, permit == PROBE);
+    }
+
+    private void onResult(boolean probe, long nanos, boolean failed) {
+        long now = System.nanoTime();
+        boolean slow = nanos >= slowCallNanos;
+        if (probe) {
+            lastProbeProgress = now;
+            probesInFlight.decrementAndGet();
+            if (failed || slow) {
+                open(HALF_OPEN, now);
+            } else if (probeSuccesses.incrementAndGet() == halfOpenCalls && state.compareAndSet(HALF_OPEN, CLOSED)) {
+                reset(now);
+            }
+            return;
+        }
+        lastProgress = now;
+        inFlight.decrementAndGet();
+        if (state.get() != CLOSED) {
+            return;
+        }
+        long index = now / bucketNanos;
+        int bucket = (int) (index % BUCKETS);
+        long current = bucketIndexes.get(bucket);
+        if (current != index && bucketIndexes.compareAndSet(bucket, current, index)) {
+            counters.set(bucket * 3 + CALLS, 0);
+            counters.set(bucket * 3 + FAILURES, 0);
+            counters.set(bucket * 3 + SLOW_CALLS, 0);
+        }
+        counters.incrementAndGet(bucket * 3 + CALLS);
+        if (failed) {
+            counters.incrementAndGet(bucket * 3 + FAILURES);
+        }
+        if (slow) {
+            counters.incrementAndGet(bucket * 3 + SLOW_CALLS);
+        }
+        if (failed || slow) {
+            evaluate(index, now);
+        }
+    }
+
+    /**
+     * 汇总统计窗口内的调用结果，达到阈值时打开熔断
+     */
+    private void evaluate(long index, long now) {
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (index - bucketIndexes.get(i) < BUCKETS) {
+                calls += counters.get(i * 3 + CALLS);
+                failures += counters.get(i * 3 + FAILURES);
+                slowCalls += counters.get(i * 3 + SLOW_CALLS);
+            }
+        }
+        if (calls < minimumCalls) {
+            return;
+        }
+        if (failures * 100 >= calls * failureRateThreshold || slowCalls * 100 >= calls * slowCallRateThreshold) {
+            open(CLOSED, now);
+        }
+    }
+
+    private void open(int expect, long now) {
+        if (state.compareAndSet(expect, OPEN)) {
+            stateTime = now;
+        }
+    }
+
+    /**
+     * 关闭熔断，清空统计窗口；熔断期间在途的调用仍会完成，在途计数从当前值继续
+     */
+    private void reset(long now) {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        lastProgress = now;
+        stateTime = now;
+    }
+
+    String getState() {
+        return STATE_NAMES[state.get()];
+    }
+
+    long getRejections() {
+        return rejections.get();
+    }
+
+    String getAddress() {
+        return address;
+    }
+
+    private static boolean isFailure(RESP resp) {
+        if (!(resp instanceof SimpleErrors)) {
+            return false;
+        }
+        String message = ((SimpleErrors) resp).getValue();
+        for (String prefix : FAILURE_ERRORS) {
+            if (message != null && message.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class BreakerCallback implements ResponseCallback {
+        private final ResponseCallback callback;
+        private final boolean probe;
+        private final long start = System.nanoTime();
+
+        BreakerCallback(ResponseCallback callback, boolean probe) {
+            this.callback = callback;
+            this.probe = probe;
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            onResult(probe, System.nanoTime() - start, isFailure(resp));
+            callback.onResponse(resp);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            onResult(probe, System.nanoTime() - start, true);
+            callback.onFailure(throwable);
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return callback.isLightweight();
+        }
+
+        @Override
+        public CommandEvent event() {
+            return callback.event();
+        }
+    }
+}
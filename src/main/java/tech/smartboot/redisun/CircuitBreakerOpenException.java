@@ -0,0 +1,35 @@
+package tech.smartboot.redisun;
+
+/**
+ * 节点熔断打开时拒绝命令的异常
+ * <p>
+ * 命令未发送至服务端，调用方可据此立即降级，例如改为读取数据库。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see RedisunOptions#circuitBreaker(java.util.function.Consumer)
+ */
+public class CircuitBreakerOpenException extends RedisunException {
+    private final String address;
+
+    public CircuitBreakerOpenException(String address) {
+        super("circuit breaker open: " + address);
+        this.address = address;
+    }
+
+    /**
+     * 获取熔断节点的地址，格式为 host:port
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * 熔断期间每条命令都会创建该异常，不采集调用栈以保持快速失败的开销
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
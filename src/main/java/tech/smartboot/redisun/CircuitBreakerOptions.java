@@ -0,0 +1,150 @@
+package tech.smartboot.redisun;
+
+/**
+ * 熔断配置选项，每个节点独立熔断
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see RedisunOptions#circuitBreaker(java.util.function.Consumer)
+ */
+public class CircuitBreakerOptions {
+    /**
+     * 触发熔断的失败率（百分比）
+     */
+    private int failureRateThreshold = 50;
+    /**
+     * 慢调用的耗时阈值（毫秒）
+     */
+    private long slowCallDuration = 1000;
+    /**
+     * 触发熔断的慢调用比例（百分比）
+     */
+    private int slowCallRateThreshold = 100;
+    /**
+     * 统计窗口内计算失败率所需的最少调用数
+     */
+    private int minimumCalls = 20;
+    /**
+     * 统计窗口长度（毫秒）
+     */
+    private long window = 10000;
+    /**
+     * 熔断打开后进入半开状态前的等待时间（毫秒）
+     */
+    private long openDuration = 5000;
+    /**
+     * 半开状态下放行的探测调用数
+     */
+    private int halfOpenCalls = 3;
+    /**
+     * 有命令在途但持续未收到任何响应的超时时间（毫秒）
+     */
+    private long timeout = 5000;
+
+    CircuitBreakerOptions() {
+    }
+
+    int getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * 设置触发熔断的失败率（百分比），默认50
+     * <p>
+     * 连接关闭、写出失败等传输层错误，以及LOADING、BUSY、MASTERDOWN、CLUSTERDOWN错误响应计为失败，
+     * 其余错误响应属于命令本身的错误，计为成功。
+     * </p>
+     */
+    public CircuitBreakerOptions failureRateThreshold(int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+        return this;
+    }
+
+    long getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    /**
+     * 设置慢调用的耗时阈值（毫秒），默认1秒
+     */
+    public CircuitBreakerOptions slowCallDuration(long slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    int getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    /**
+     * 设置触发熔断的慢调用比例（百分比），默认100，即统计窗口内的调用全部为慢调用时熔断
+     */
+    public CircuitBreakerOptions slowCallRateThreshold(int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        return this;
+    }
+
+    int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    /**
+     * 设置统计窗口内计算失败率所需的最少调用数，默认20
+     */
+    public CircuitBreakerOptions minimumCalls(int minimumCalls) {
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    long getWindow() {
+        return window;
+    }
+
+    /**
+     * 设置统计窗口长度（毫秒），默认10秒
+     */
+    public CircuitBreakerOptions window(long window) {
+        this.window = window;
+        return this;
+    }
+
+    long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * 设置熔断打开后进入半开状态前的等待时间（毫秒），默认5秒
+     */
+    public CircuitBreakerOptions openDuration(long openDuration) {
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    /**
+     * 设置半开状态下放行的探测调用数，默认3；探测全部成功后关闭熔断，任一失败或为慢调用则重新打开
+     */
+    public CircuitBreakerOptions halfOpenCalls(int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+        return this;
+    }
+
+    long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 设置响应超时（毫秒），默认5秒
+     * <p>
+     * 节点有命令在途、但超过该时间未收到任何响应时直接打开熔断，不必等待在途命令失败；
+     * 半开状态下探测调用超过该时间未完成同样视为失败。
+     * </p>
+     */
+    public CircuitBreakerOptions timeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+}
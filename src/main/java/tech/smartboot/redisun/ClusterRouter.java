@@ -0,0 +1,369 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.buffer.BufferPagePool;
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
+import tech.smartboot.redisun.cmd.ClusterShardsCommand;
+import tech.smartboot.redisun.cmd.ClusterSlotsCommand;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * 集群模式路由
+ * <p>
+ * 通过 CLUSTER SHARDS（低版本服务端回退至 CLUSTER SLOTS）加载槽位分布，
+ * 按key的槽位将命令发往对应主节点，每个主节点维护独立的多路复用连接池。
+ * </p>
+ * <p>
+ * 收到MOVED重定向时更新对应槽位并异步刷新拓扑，收到ASK重定向时在目标节点上以ASKING前缀重发命令，
+ * 两种重定向对调用方透明。拓扑还会按配置的间隔以及在连接异常时刷新。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class ClusterRouter implements Router {
+    /**
+     * 单个命令允许的最大重定向次数
+     */
+    private static final int MAX_REDIRECTS = 5;
+    /**
+     * 两次由事件触发的拓扑刷新之间的最小间隔（毫秒）
+     */
+    private static final long MIN_REFRESH_INTERVAL = 1000;
+    /**
+     * 加载拓扑的超时时间（毫秒）
+     */
+    private static final long REFRESH_TIMEOUT = 5000;
+    /**
+     * 槽位迁移中的多key命令收到 TRYAGAIN 后的重发间隔（毫秒）
+     */
+    private static final long TRYAGAIN_DELAY = 50;
+    /**
+     * 下线节点等待在途命令响应的最长时间（毫秒），超时后直接关闭
+     */
+    private static final long DRAIN_TIMEOUT = 30000;
+
+    private final RedisunOptions options;
+    private final AsynchronousChannelGroup group;
+    private final BufferPagePool bufferPagePool;
+    /**
+     * 节点地址与节点的映射，包括主节点以及重定向、拓扑加载过程中用到的节点
+     */
+    private final Map<String, RedisNode> nodes = new ConcurrentHashMap<>();
+    /**
+     * 槽位路由表，下标为槽位，MOVED 重定向时单独修正其中的槽位
+     */
+    private volatile AtomicReferenceArray<RedisNode> slots = new AtomicReferenceArray<>(SlotHash.SLOT_COUNT);
+    private volatile List<RedisNode> primaries = new ArrayList<>();
+    /**
+     * 用于重定向重发与拓扑刷新，避免在IO线程中建立连接
+     */
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "redisun-cluster");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long lastRefreshTime;
+    private final TimerTask refreshTask;
+
+    ClusterRouter(RedisunOptions options, AsynchronousChannelGroup group, BufferPagePool bufferPagePool) {
+        this.options = options;
+        this.group = group;
+        this.bufferPagePool = bufferPagePool;
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        if (options.getClusterRefreshInterval() > 0) {
+            refreshTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(this::requestRefresh, options.getClusterRefreshInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            refreshTask = null;
+        }
+    }
+
+    @Override
+    public RedisNode route(byte[] key) {
+        RedisNode node = key == null ? null : slots.get(SlotHash.slot(key));
+        if (node != null) {
+            return node;
+        }
+        // 无key的命令或槽位尚未分配，随机选择一个主节点，由重定向纠正
+        List<RedisNode> list = primaries;
+        if (list.isEmpty()) {
+            throw new RedisunException("no available cluster node");
+        }
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    }
+
+    @Override
+    public void execute(Command command, ReadPolicy policy, ResponseCallback callback) {
+        // 集群模式下读写均由槽位所属的主节点执行
+        ClusterRequest request = new ClusterRequest(command, callback);
+        try {
+            request.send(route(command.routingKey()), false);
+        } catch (Throwable e) {
+            callback.onFailure(e);
+        }
+    }
+
+    @Override
+    public Collection<RedisNode> nodes() {
+        return primaries;
+    }
+
+    @Override
+    public Function<byte[], Object> partitioner() {
+        // 同一条多key命令中的key必须位于同一槽位
+        return SlotHash::slot;
+    }
+
+    /**
+     * 获取指定地址的节点，不存在时创建
+     *
+     * @param address 节点地址，格式为 host:port
+     */
+    private RedisNode node(String address) {
+        return nodes.computeIfAbsent(address, a -> {
+            int index = a.lastIndexOf(':');
+            return new RedisNode(options, a.substring(0, index), Integer.parseInt(a.substring(index + 1)), group, bufferPagePool);
+        });
+    }
+
+    /**
+     * 异步刷新拓扑，短时间内的重复请求会被合并
+     */
+    void requestRefresh() {
+        if (System.currentTimeMillis() - lastRefreshTime < MIN_REFRESH_INTERVAL || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh();
+                } catch (Throwable e) {
+                    // 保留当前拓扑，等待下次刷新
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (Throwable e) {
+            // 路由已关闭
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * 从任一可达节点加载槽位分布并重建路由表，依次尝试当前节点及种子节点
+     */
+    synchronized void refresh() {
+        Set<String> candidates = new HashSet<>();
+        for (RedisNode node : primaries) {
+            candidates.add(node.getAddress());
+        }
+        for (InetSocketAddress address : options.getAddresses()) {
+            candidates.add(address.getHostString() + ":" + address.getPort());
+        }
+        List<ClusterShardsCommand.Shard> shards = null;
+        RedisNode source = null;
+        Throwable error = null;
+        for (String address : candidates) {
+            source = node(address);
+            try {
+                shards = load(source);
+                break;
+            } catch (Throwable e) {
+                error = e;
+            }
+        }
+        if (shards == null) {
+            throw new RedisunException("load cluster topology fail", error);
+        }
+
+        RedisNode[] table = new RedisNode[SlotHash.SLOT_COUNT];
+        List<RedisNode> masters = new ArrayList<>();
+        for (ClusterShardsCommand.Shard shard : shards) {
+            ClusterShardsCommand.ShardNode master = shard.getMaster();
+            int[] ranges = shard.getSlots();
+            if (master == null || ranges.length == 0) {
+                continue;
+            }
+            // 节点未返回地址时，使用加载拓扑的节点地址
+            String host = master.getHost() == null || master.getHost().isEmpty() ? source.getHost() : master.getHost();
+            RedisNode node = node(host + ":" + master.getPort());
+            if (!masters.contains(node)) {
+                masters.add(node);
+            }
+            for (int i = 0; i + 1 < ranges.length; i += 2) {
+                for (int slot = ranges[i]; slot <= ranges[i + 1]; slot++) {
+                    table[slot] = node;
+                }
+            }
+        }
+        slots = new AtomicReferenceArray<>(table);
+        primaries = masters;
+        lastRefreshTime = System.currentTimeMillis();
+
+        // 排空不再承担槽位的节点，已发送命令的响应到达后再关闭
+        nodes.entrySet().removeIf(entry -> {
+            if (masters.contains(entry.getValue())) {
+                return false;
+            }
+            entry.getValue().drainAndClose(DRAIN_TIMEOUT);
+            return true;
+        });
+    }
+
+    /**
+     * 加载分片信息，服务端不支持 CLUSTER SHARDS（Redis 7.0 以下）时回退至 CLUSTER SLOTS
+     */
+    private List<ClusterShardsCommand.Shard> load(RedisNode node) throws Exception {
+        try {
+            RESP resp = node.execute(new ClusterShardsCommand()).get(REFRESH_TIMEOUT, TimeUnit.MILLISECONDS);
+            return ClusterShardsCommand.toShards(resp, options.isSsl());
+        } catch (ExecutionException e) {
+            String message = e.getCause() == null ? null : e.getCause().getMessage();
+            if (message == null || !message.toLowerCase().contains("unknown subcommand")) {
+                throw e;
+            }
+        }
+        RESP resp = node.execute(new ClusterSlotsCommand()).get(REFRESH_TIMEOUT, TimeUnit.MILLISECONDS);
+        return ClusterSlotsCommand.toShards(resp);
+    }
+
+    @Override
+    public void close() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+        }
+        executor.shutdownNow();
+        for (RedisNode node : nodes.values()) {
+            node.close();
+        }
+        nodes.clear();
+    }
+
+    /**
+     * 集群模式下的单条命令请求，负责处理MOVED与ASK重定向以及槽位迁移中的TRYAGAIN重试
+     */
+    private final class ClusterRequest implements ResponseCallback {
+        private final Command command;
+        private final ResponseCallback callback;
+        private RedisNode node;
+        private boolean asking;
+        private int redirects;
+
+        ClusterRequest(Command command, ResponseCallback callback) {
+            this.command = command;
+            this.callback = callback;
+        }
+
+        void send(RedisNode node, boolean asking) {
+            this.node = node;
+            this.asking = asking;
+            node.execute(command, this, asking);
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            if (resp instanceof SimpleErrors && redirects < MAX_REDIRECTS) {
+                String message = ((SimpleErrors) resp).getValue();
+                boolean ask = message.startsWith("ASK ");
+                if (ask || message.startsWith("MOVED ")) {
+                    redirect(message, ask);
+                    return;
+                }
+                if (message.startsWith("TRYAGAIN")) {
+                    retry();
+                    return;
+                }
+            }
+            callback.onResponse(resp);
+        }
+
+        /**
+         * 处理重定向，错误信息格式为 MOVED|ASK slot host:port
+         */
+        private void redirect(String message, boolean ask) {
+            redirects++;
+            int first = message.indexOf(' ');
+            int second = message.indexOf(' ', first + 1);
+            int slot = Integer.parseInt(message.substring(first + 1, second));
+            String address = message.substring(second + 1);
+            if (address.startsWith(":")) {
+                // 服务端未知节点的首选地址时仅返回端口
+                address = node.getHost() + address;
+            }
+            RedisNode target = node(address);
+            if (!ask) {
+                // 槽位已迁移，立即修正该槽位并刷新完整拓扑
+                slots.set(slot, target);
+                requestRefresh();
+            }
+            try {
+                executor.execute(() -> send(target, ask));
+            } catch (Throwable e) {
+                callback.onFailure(e);
+            }
+        }
+
+        /**
+         * 多key命令的部分key正在迁移，稍后向同一节点重发
+         */
+        private void retry() {
+            redirects++;
+            RedisNode target = node;
+            boolean ask = asking;
+            try {
+                HashedWheelTimer.DEFAULT_TIMER.schedule(() -> {
+                    try {
+                        executor.execute(() -> send(target, ask));
+                    } catch (Throwable e) {
+                        callback.onFailure(e);
+                    }
+                }, TRYAGAIN_DELAY, TimeUnit.MILLISECONDS);
+            } catch (Throwable e) {
+                callback.onFailure(e);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            // 连接异常可能源于节点故障转移
+            requestRefresh();
+            callback.onFailure(throwable);
+        }
+
+        @Override
+        public boolean isLightweight() {
+            // 重定向仅提交至路由线程重新发送
+            return callback.isLightweight();
+        }
+
+        @Override
+        public CommandEvent event() {
+            return callback.event();
+        }
+    }
+}
@@ -1,39 +1,96 @@
 package tech.smartboot.redisun;
 
 import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Redis命令的抽象基类
  * <p>
  * 该类定义了所有Redis命令的通用结构和行为规范。
- * 每个具体的Redis命令实现都应该继承此类，并实现 buildParams 方法来构建命令参数。
+ * 每个具体的Redis命令实现都应该继承此类，通过 argCount 给出参数个数，
+ * 并在 writeArgs 中借助 {@link ArgumentWriter} 将参数直接写入输出缓冲区。
  * </p>
  *
  * @author 三刀
  * @version v1.0 10/23/25
  * @see BulkStrings Redis协议中的批量字符串类型
+ * @see ArgumentWriter
  * @see <a href="https://redis.io/docs/latest/commands">Redis Commands</a>
  */
 public abstract class Command {
+    private static final ClassValue<String> NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String name = type.getSimpleName();
+            if (name.isEmpty()) {
+                name = type.getName();
+            } else if (name.endsWith("Command") && name.length() > "Command".length()) {
+                name = name.substring(0, name.length() - "Command".length());
+            }
+            return name.toUpperCase();
+        }
+    };
+
+    /**
+     * 获取命令的参数个数，包括命令名称本身
+     * <p>
+     * 参数个数在写出参数前计算，用于输出RESP数组头，需与 {@link #writeArgs(WriteBuffer)} 实际写出的参数个数一致。
+     * </p>
+     *
+     * @return 参数个数
+     */
+    protected abstract int argCount();
+
+    /**
+     * 依次写出命令名称及各个参数
+     * <p>
+     * 常量参数使用预编码的 {@link BulkStrings#of(String)}，其余参数通过 {@link ArgumentWriter} 写出。
+     * </p>
+     *
+     * @param writeBuffer 输出缓冲区
+     * @throws IOException IO异常
+     */
+    protected abstract void writeArgs(WriteBuffer writeBuffer) throws IOException;
+
     /**
-     * 构建Redis命令参数列表的抽象方法
+     * 获取命令操作的key，用于集群模式下按槽位路由
      * <p>
-     * 每个具体的命令实现类都需要实现此方法，用于构建符合Redis协议规范的命令参数列表。
-     * 返回的参数列表将被用于构造完整的Redis命令请求。
+     * 无key的命令返回null，由任意节点执行；操作多个key的命令返回第一个key。
+     * 未覆盖此方法的自定义命令同样可在集群模式下使用，路由错误时由MOVED重定向纠正。
      * </p>
      *
-     * @return 包含命令参数的BulkStrings列表，遵循Redis协议规范
-     * @see BulkStrings
+     * @return 命令操作的key
      */
-    protected abstract List<BulkStrings> buildParams();
+    protected byte[] routingKey() {
+        return null;
+    }
+
+    /**
+     * 是否为只读命令，只读命令可按读取策略由副本执行
+     *
+     * @return 只读命令返回true
+     */
+    protected boolean readOnly() {
+        return false;
+    }
+
+    /**
+     * 获取命令名称，用于按命令类型统计延迟
+     * <p>
+     * 默认取类名去掉 Command 后缀后的大写形式，如 ZRangeCommand 对应 ZRANGE。
+     * </p>
+     *
+     * @return 命令名称
+     */
+    protected String name() {
+        return NAMES.get(getClass());
+    }
 
     public void writeTo(WriteBuffer writeBuffer) throws IOException {
-        List params = buildParams();
-        RESP.ofArray(params).writeTo(writeBuffer);
+        ArgumentWriter.writeArrayHeader(writeBuffer, argCount());
+        writeArgs(writeBuffer);
     }
 }
\ No newline at end of file
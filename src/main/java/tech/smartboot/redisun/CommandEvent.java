@@ -0,0 +1,187 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.transport.AioSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * 单条命令的生命周期事件
+ * <p>
+ * 随命令的执行逐步填充连接、字节数及耗时等信息，时间均取自 {@link System#nanoTime()}。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see CommandListener
+ */
+public final class CommandEvent {
+    private final Command command;
+    private final CommandListener[] listeners;
+    /**
+     * 慢命令日志，未开启时为null
+     */
+    private final SlowLog slowLog;
+    private final long startNanos = System.nanoTime();
+    private volatile long writtenNanos;
+    private volatile long decodedNanos;
+    private volatile long endNanos;
+    private volatile AioSession session;
+    private volatile int requestBytes;
+    private volatile int replyBytes;
+    private volatile Object attachment;
+
+    CommandEvent(Command command, CommandListener[] listeners, SlowLog slowLog) {
+        this.command = command;
+        this.listeners = listeners;
+        this.slowLog = slowLog;
+    }
+
+    public Command getCommand() {
+        return command;
+    }
+
+    /**
+     * 命令名称，如 GET、SET
+     */
+    public String getName() {
+        return command.name();
+    }
+
+    /**
+     * 执行命令的连接标识，命令写出前为null
+     */
+    public String getSessionId() {
+        AioSession session = this.session;
+        return session == null ? null : session.getSessionID();
+    }
+
+    /**
+     * 执行命令的节点地址，命令写出前或连接已关闭时为null
+     */
+    public InetSocketAddress getRemoteAddress() {
+        AioSession session = this.session;
+        if (session == null) {
+            return null;
+        }
+        try {
+            return session.getRemoteAddress();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 命令编码后的字节数
+     */
+    public int getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * 响应的字节数
+     */
+    public int getReplyBytes() {
+        return replyBytes;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * 命令提交至完成的耗时，未完成时为提交至今的耗时
+     */
+    public long getElapsedNanos() {
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    /**
+     * 命令写入连接输出缓冲区的时间，未写出时为0
+     */
+    long getWrittenNanos() {
+        return writtenNanos;
+    }
+
+    /**
+     * 响应解码完成的时间，未收到响应时为0
+     */
+    long getDecodedNanos() {
+        return decodedNanos;
+    }
+
+    /**
+     * 是否注册了命令监听器，未注册时无需统计命令编码后的字节数
+     */
+    boolean hasListeners() {
+        return listeners.length > 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getAttachment() {
+        return (T) attachment;
+    }
+
+    public void setAttachment(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    void start() {
+        for (CommandListener listener : listeners) {
+            try {
+                listener.onStart(this);
+            } catch (Throwable ignored) {
+            }
+        }
+    }
+
+    void written(AioSession session, int bytes) {
+        this.writtenNanos = System.nanoTime();
+        this.session = session;
+        this.requestBytes = bytes;
+        for (CommandListener listener : listeners) {
+            try {
+                listener.onWritten(this);
+            } catch (Throwable ignored) {
+            }
+        }
+    }
+
+    void decoded(int bytes) {
+        this.decodedNanos = System.nanoTime();
+        this.replyBytes = bytes;
+        for (CommandListener listener : listeners) {
+            try {
+                listener.onReplyDecoded(this);
+            } catch (Throwable ignored) {
+            }
+        }
+    }
+
+    void success() {
+        endNanos = System.nanoTime();
+        if (slowLog != null) {
+            slowLog.record(this, false);
+        }
+        for (CommandListener listener : listeners) {
+            try {
+                listener.onSuccess(this);
+            } catch (Throwable ignored) {
+            }
+        }
+    }
+
+    void failure(Throwable cause) {
+        endNanos = System.nanoTime();
+        if (slowLog != null) {
+            slowLog.record(this, true);
+        }
+        for (CommandListener listener : listeners) {
+            try {
+                listener.onFailure(this, cause);
+            } catch (Throwable ignored) {
+            }
+        }
+    }
+}
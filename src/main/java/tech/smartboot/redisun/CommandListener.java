@@ -0,0 +1,50 @@
+package tech.smartboot.redisun;
+
+/**
+ * 命令生命周期监听器
+ * <p>
+ * 通过 {@link RedisunOptions#commandListener(CommandListener)} 注册，用于接入链路追踪、指标采集等。
+ * 同一条命令的各事件共享一个 {@link CommandEvent}，可借助其附件在事件之间传递追踪上下文。
+ * 除 onStart 外，其余事件可能在IO线程中触发，实现不应执行阻塞操作；监听器抛出的异常将被忽略。
+ * 未注册监听器时不会创建事件对象。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public interface CommandListener {
+    /**
+     * 命令提交，尚未选择连接
+     */
+    default void onStart(CommandEvent event) {
+    }
+
+    /**
+     * 命令已编码写入连接的输出缓冲区并请求发送，此时可获取连接标识及请求字节数
+     * <p>
+     * 集群重定向时命令会再次写出，该事件随之多次触发。
+     * </p>
+     */
+    default void onWritten(CommandEvent event) {
+    }
+
+    /**
+     * 已解码命令的响应，此时可获取响应字节数
+     */
+    default void onReplyDecoded(CommandEvent event) {
+    }
+
+    /**
+     * 命令执行成功
+     */
+    default void onSuccess(CommandEvent event) {
+    }
+
+    /**
+     * 命令执行失败，包括收到错误响应、连接断开等
+     *
+     * @param cause 失败原因
+     */
+    default void onFailure(CommandEvent event, Throwable cause) {
+    }
+}
@@ -0,0 +1,100 @@
+package tech.smartboot.redisun;
+
+/**
+ * 单条连接的运行统计
+ * <p>
+ * 字节数及写出次数需通过 {@link RedisunOptions#jmx(String)} 开启JMX后才会累计，否则恒为0。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class ConnectionStatistics {
+    private final String sessionId;
+    private final String localAddress;
+    private final int pendingReplies;
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final long flushCount;
+    private final boolean current;
+    private final boolean draining;
+    private final long pingLatency;
+
+    ConnectionStatistics(String sessionId, String localAddress, int pendingReplies, long bytesRead, long bytesWritten, long flushCount, boolean current, boolean draining, long pingLatency) {
+        this.sessionId = sessionId;
+        this.localAddress = localAddress;
+        this.pendingReplies = pendingReplies;
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.flushCount = flushCount;
+        this.current = current;
+        this.draining = draining;
+        this.pingLatency = pingLatency;
+    }
+
+    /**
+     * 连接标识，用于 {@link RedisunMXBean#drainConnection(String)}
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * 本地地址，格式为 host:port，可与 CLIENT LIST 输出中的 addr 对照
+     */
+    public String getLocalAddress() {
+        return localAddress;
+    }
+
+    /**
+     * 已发送但尚未收到响应的命令数
+     */
+    public int getPendingReplies() {
+        return pendingReplies;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * 网络写出的次数
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * 是否为节点当前优先使用的连接
+     */
+    public boolean isCurrent() {
+        return current;
+    }
+
+    /**
+     * 是否正在排空
+     */
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * 最近一次保活PING的往返延迟（纳秒），未开启保活检查或尚未探测时为0
+     *
+     * @see RedisunOptions#keepaliveInterval(long)
+     */
+    public long getPingLatency() {
+        return pingLatency;
+    }
+
+    @Override
+    public String toString() {
+        return sessionId + " local=" + localAddress + " pending=" + pendingReplies + " read=" + bytesRead
+                + " written=" + bytesWritten + " flushes=" + flushCount + " ping=" + pingLatency / 1000 + "us"
+                + (current ? " current" : "") + (draining ? " draining" : "");
+    }
+}
@@ -0,0 +1,83 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.transport.WriteBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * 统计写出字节数的输出缓冲区包装，仅在注册了命令监听器时使用
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class CountingWriteBuffer implements WriteBuffer {
+    private final WriteBuffer writeBuffer;
+    private int count;
+
+    private CountingWriteBuffer(WriteBuffer writeBuffer) {
+        this.writeBuffer = writeBuffer;
+    }
+
+    /**
+     * 写出命令并返回其编码后的字节数
+     */
+    static int write(Command command, WriteBuffer writeBuffer) throws IOException {
+        CountingWriteBuffer counting = new CountingWriteBuffer(writeBuffer);
+        command.writeTo(counting);
+        return counting.count;
+    }
+
+    @Override
+    public void writeShort(short v) throws IOException {
+        writeBuffer.writeShort(v);
+        count += 2;
+    }
+
+    @Override
+    public void writeByte(byte b) {
+        writeBuffer.writeByte(b);
+        count++;
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        writeBuffer.writeInt(v);
+        count += 4;
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        writeBuffer.writeLong(v);
+        count += 8;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int len) throws IOException {
+        writeBuffer.write(bytes, offset, len);
+        count += len;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int len, Consumer<WriteBuffer> consumer) throws IOException {
+        writeBuffer.write(bytes, offset, len, consumer);
+        count += len;
+    }
+
+    @Override
+    public void transferFrom(ByteBuffer byteBuffer, Consumer<WriteBuffer> consumer) throws IOException {
+        count += byteBuffer.remaining();
+        writeBuffer.transferFrom(byteBuffer, consumer);
+    }
+
+    @Override
+    public void flush() {
+        writeBuffer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeBuffer.close();
+    }
+}
@@ -0,0 +1,46 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 异步调用使用的回调实现，由IO线程解码响应后直接完成自身
+ * <p>
+ * 相比先以 CompletableFuture&lt;RESP&gt; 接收响应再通过 thenApply 转换，省去一个中间Future及一个依赖阶段。
+ * SimpleErrors 类型的响应及解码异常均以异常完成。
+ * </p>
+ *
+ * @param <T> 解码结果类型
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class DecodingFuture<T> extends CompletableFuture<T> implements ResponseCallback {
+    private final ReplyDecoder<T> decoder;
+
+    DecodingFuture(ReplyDecoder<T> decoder) {
+        this.decoder = decoder;
+    }
+
+    @Override
+    public void onResponse(RESP resp) {
+        if (resp instanceof SimpleErrors) {
+            completeExceptionally(new RedisunException(((SimpleErrors) resp).getValue()));
+            return;
+        }
+        T value;
+        try {
+            value = decoder.decode(resp);
+        } catch (Throwable e) {
+            completeExceptionally(e);
+            return;
+        }
+        complete(value);
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+        completeExceptionally(throwable);
+    }
+}
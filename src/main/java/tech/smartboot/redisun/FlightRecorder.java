@@ -0,0 +1,82 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.transport.AioSession;
+
+/**
+ * Java Flight Recorder 事件埋点
+ * <p>
+ * 此为JDK 8至JDK 10使用的空实现，各埋点均无开销。JDK 11及以上版本运行时，
+ * 由多版本jar中 META-INF/versions/11 下的同名实现替代，仅在对应事件类型开启记录时产生事件。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class FlightRecorder {
+    private FlightRecorder() {
+    }
+
+    /**
+     * 当前运行环境是否支持JFR事件
+     */
+    static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * 包装响应回调，在命令完成时记录命令事件
+     *
+     * @return 命令事件未开启时返回原回调
+     */
+    static ResponseCallback command(Command command, ResponseCallback callback) {
+        return callback;
+    }
+
+    /**
+     * 记录连接建立或关闭
+     *
+     * @param open      是否为建立连接
+     * @param reconnect 是否为此前断开过连接的节点重新建立连接
+     */
+    static void connection(AioSession session, boolean open, boolean reconnect) {
+    }
+
+    /**
+     * 网络写出事件的记录周期，每次开启记录后取得新的值
+     * <p>
+     * 未开启记录时无需统计每次写出的命令数，开启后首次写出时以记录周期的变化识别此前未统计的命令。
+     * </p>
+     *
+     * @return 未开启记录时返回-1
+     */
+    static int flushEpoch() {
+        return -1;
+    }
+
+    /**
+     * 记录一次网络写出
+     *
+     * @param commands 自上次写出以来提交的命令数
+     * @param bytes    写出的字节数
+     */
+    static void flush(AioSession session, int commands, int bytes) {
+    }
+
+    /**
+     * 响应未接收完整，开始等待后续数据
+     *
+     * @return 等待事件，未开启时返回null
+     */
+    static Object beginDecodeStall() {
+        return null;
+    }
+
+    /**
+     * 响应接收完整，结束等待
+     *
+     * @param stall 由 {@link #beginDecodeStall()} 返回的等待事件
+     * @param bytes 响应的字节数
+     */
+    static void endDecodeStall(Object stall, AioSession session, int bytes) {
+    }
+}
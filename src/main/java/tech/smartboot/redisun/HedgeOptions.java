@@ -0,0 +1,66 @@
+package tech.smartboot.redisun;
+
+/**
+ * 对冲读配置选项
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see RedisunOptions#hedging(java.util.function.Consumer)
+ */
+public class HedgeOptions {
+    /**
+     * 触发对冲的延迟分位（百分比）
+     */
+    private double percentile = 95;
+    /**
+     * 触发对冲的最小等待时间（毫秒）
+     */
+    private long minDelay = 1;
+    /**
+     * 对冲请求数占读命令数的比例上限（百分比）
+     */
+    private int budget = 10;
+
+    HedgeOptions() {
+    }
+
+    double getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * 设置触发对冲的延迟分位（百分比），默认95，即读命令超过近期P95耗时仍未响应时发送对冲请求
+     */
+    public HedgeOptions percentile(double percentile) {
+        this.percentile = percentile;
+        return this;
+    }
+
+    long getMinDelay() {
+        return minDelay;
+    }
+
+    /**
+     * 设置触发对冲的最小等待时间（毫秒），默认1毫秒，亦为对冲计时的精度
+     */
+    public HedgeOptions minDelay(long minDelay) {
+        this.minDelay = minDelay;
+        return this;
+    }
+
+    int getBudget() {
+        return budget;
+    }
+
+    /**
+     * 设置对冲请求数占读命令数的比例上限（百分比），默认10
+     * <p>
+     * 每条读命令积累相应比例的令牌，每个对冲请求消耗一个令牌，令牌耗尽时不再对冲，
+     * 避免节点整体变慢时对冲请求成倍放大负载。
+     * </p>
+     */
+    public HedgeOptions budget(int budget) {
+        this.budget = budget;
+        return this;
+    }
+}
@@ -0,0 +1,245 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 只读命令的对冲执行
+ * <p>
+ * 按命令类型统计近期耗时，命令超过指定分位的耗时仍未响应时，将同一命令发往其他连接或副本，
+ * 先到达的正常响应交给调用方，另一份响应被丢弃。对冲请求的错误响应（如集群重定向）及失败均被忽略，
+ * 首次请求的结果始终有效。对冲数量受令牌桶限制，不超过读命令数的 budget%。
+ * </p>
+ * <p>
+ * 耗时按首次请求统计，包括被对冲请求抢先的慢响应，以免对冲掩盖真实的尾延迟而使阈值逐步下降。
+ * 默认定时器的精度为100毫秒，不适合毫秒级的对冲，因此使用独立的1毫秒精度定时器。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class Hedger {
+    /**
+     * 每个统计窗口的样本数，窗口结束时以该窗口的分位耗时作为下一窗口的对冲阈值
+     */
+    private static final int WINDOW = 1024;
+    /**
+     * 令牌以百分之一为单位，一个对冲请求消耗100
+     */
+    private static final long TOKEN = 100;
+    /**
+     * 令牌桶容量，可连续发送的对冲请求数
+     */
+    private static final long BURST = 10;
+
+    private final Router router;
+    private final double quantile;
+    private final long minDelayNanos;
+    private final int budget;
+    private final HashedWheelTimer timer = new HashedWheelTimer(r -> {
+        Thread thread = new Thread(r, "redisun-hedge");
+        thread.setDaemon(true);
+        return thread;
+    }, 1, 512);
+    private final ConcurrentHashMap<String, Tracker> trackers = new ConcurrentHashMap<>();
+    private final AtomicLong tokens = new AtomicLong(BURST * TOKEN);
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong wins = new AtomicLong();
+
+    Hedger(Router router, HedgeOptions options) {
+        this.router = router;
+        this.quantile = options.getPercentile() / 100;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, options.getMinDelay()));
+        this.budget = options.getBudget();
+    }
+
+    /**
+     * 执行只读命令，超过对冲阈值未响应时发送对冲请求
+     */
+    void execute(Command command, ReadPolicy policy, ResponseCallback callback) {
+        String name = command.name();
+        Tracker tracker = trackers.get(name);
+        if (tracker == null) {
+            tracker = trackers.computeIfAbsent(name, n -> new Tracker());
+        }
+        refill(budget);
+        HedgedRequest request = new HedgedRequest(command, policy, callback, tracker);
+        router.execute(command, policy, request);
+        long delay = tracker.threshold;
+        if (delay > 0 && !request.get()) {
+            request.timeout = timer.schedule(request, Math.max(delay, minDelayNanos), TimeUnit.NANOSECONDS);
+            // 首次请求可能在定时任务登记前完成
+            if (request.get()) {
+                request.timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * 向令牌桶补充令牌，不超过桶容量
+     */
+    private void refill(long amount) {
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= BURST * TOKEN) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(current + amount, BURST * TOKEN)));
+    }
+
+    private boolean tryAcquireToken() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    long getHedges() {
+        return hedges.get();
+    }
+
+    long getWins() {
+        return wins.get();
+    }
+
+    void close() {
+        timer.shutdown();
+    }
+
+    /**
+     * 单个命令类型的耗时统计
+     */
+    private final class Tracker {
+        /**
+         * 两个不分条带的直方图交替使用，窗口结束时切换并清空退役的直方图
+         */
+        private final LatencyHistogram[] histograms = {new LatencyHistogram(1), new LatencyHistogram(1)};
+        private volatile LatencyHistogram histogram = histograms[0];
+        private final AtomicLong samples = new AtomicLong();
+        /**
+         * 对冲阈值（纳秒），0表示样本不足，暂不对冲
+         */
+        private volatile long threshold;
+
+        void record(long nanos) {
+            LatencyHistogram current = histogram;
+            current.record(nanos, false);
+            long count = samples.incrementAndGet();
+            if (count % WINDOW == 0) {
+                histogram = histograms[(int) (count / WINDOW) & 1];
+                threshold = current.valueAt(quantile);
+                // 切换前读到旧直方图的少量样本可能在清空后写入，仅影响下一次使用时的分位精度
+                current.reset();
+            }
+        }
+    }
+
+    /**
+     * 一次对冲读，同时作为首次请求的回调及发送对冲请求的定时任务，自身的值标记是否已完成
+     */
+    private final class HedgedRequest extends AtomicBoolean implements Runnable, ResponseCallback {
+        private final Command command;
+        private final ReadPolicy policy;
+        private final ResponseCallback callback;
+        private final Tracker tracker;
+        private final long start = System.nanoTime();
+        /**
+         * 发送对冲请求的定时任务，首次请求完成时取消
+         */
+        private volatile TimerTask timeout;
+
+        HedgedRequest(Command command, ReadPolicy policy, ResponseCallback callback, Tracker tracker) {
+            this.command = command;
+            this.policy = policy;
+            this.callback = callback;
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void run() {
+            if (get() || !tryAcquireToken()) {
+                return;
+            }
+            try {
+                if (router.hedge(command, policy, new Hedge())) {
+                    hedges.incrementAndGet();
+                    return;
+                }
+            } catch (Throwable e) {
+                // 对冲失败不影响首次请求
+            }
+            refill(TOKEN);
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            tracker.record(System.nanoTime() - start);
+            if (compareAndSet(false, true)) {
+                cancelTimeout();
+                callback.onResponse(resp);
+            }
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            if (compareAndSet(false, true)) {
+                cancelTimeout();
+                callback.onFailure(throwable);
+            }
+        }
+
+        private void cancelTimeout() {
+            TimerTask task = timeout;
+            if (task != null) {
+                task.cancel();
+            }
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return callback.isLightweight();
+        }
+
+        @Override
+        public CommandEvent event() {
+            return callback.event();
+        }
+
+        /**
+         * 对冲请求的回调，错误响应及失败均被忽略
+         */
+        private final class Hedge implements ResponseCallback {
+            @Override
+            public void onResponse(RESP resp) {
+                if (resp instanceof SimpleErrors) {
+                    return;
+                }
+                if (compareAndSet(false, true)) {
+                    wins.incrementAndGet();
+                    callback.onResponse(resp);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+            }
+
+            @Override
+            public boolean isLightweight() {
+                return callback.isLightweight();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package tech.smartboot.redisun;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 多key命令的分批工具
+ * <p>
+ * 将MGET、MSET、DEL、EXISTS等多key命令的key拆分为若干批次：
+ * 集群模式下先按槽位分组，避免CROSSSLOT错误，分片模式下按所属分片分组；再按单批最大key数量切分，避免形成过大的单个请求。
+ * 批次中记录的是key在原始列表中的下标，便于按调用方的顺序合并结果。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class KeyBatcher {
+    private KeyBatcher() {
+    }
+
+    /**
+     * 拆分key列表
+     *
+     * @param keys        key列表
+     * @param partitioner 分区函数，为null时不分组
+     * @param batchSize   单批最大key数量，小于等于0表示不限制
+     * @return 批次列表，每个批次为key在原始列表中的下标
+     */
+    static List<int[]> split(List<String> keys, Function<byte[], Object> partitioner, int batchSize) {
+        int size = keys.size();
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        int limit = batchSize <= 0 ? size : batchSize;
+        List<int[]> batches = new ArrayList<>();
+        if (partitioner == null) {
+            for (int start = 0; start < size; start += limit) {
+                int[] batch = new int[Math.min(limit, size - start)];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = start + i;
+                }
+                batches.add(batch);
+            }
+            return batches;
+        }
+
+        // 按分区分组，保持各组内key的原始顺序
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            groups.computeIfAbsent(partitioner.apply(keys.get(i).getBytes()), partition -> new ArrayList<>()).add(i);
+        }
+        for (List<Integer> group : groups.values()) {
+            for (int start = 0; start < group.size(); start += limit) {
+                int[] batch = new int[Math.min(limit, group.size() - start)];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = group.get(start + i);
+                }
+                batches.add(batch);
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * 按下标选取批次中的元素，批次覆盖整个列表时直接返回原列表
+     */
+    static <T> List<T> select(List<T> list, int[] batch) {
+        if (batch.length == list.size()) {
+            return list;
+        }
+        List<T> result = new ArrayList<>(batch.length);
+        for (int index : batch) {
+            result.add(list.get(index));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,118 @@
+package tech.smartboot.redisun;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 热点key及大key的采样报告
+ * <p>
+ * 热点key按命令类型分别统计，访问次数为采样计数乘以采样率的估计值，由Count-Min Sketch估算，只会高估不会低估；
+ * 大key按收到的批量字符串字节数及数组元素个数分别统计。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class KeyReport {
+    private final long startTime;
+    private final long endTime;
+    private final int sampleRate;
+    private final Map<String, List<Entry>> hotKeys;
+    private final List<Entry> largestStrings;
+    private final List<Entry> largestArrays;
+
+    KeyReport(long startTime, long endTime, int sampleRate, Map<String, List<Entry>> hotKeys, List<Entry> largestStrings, List<Entry> largestArrays) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.sampleRate = sampleRate;
+        this.hotKeys = hotKeys;
+        this.largestStrings = largestStrings;
+        this.largestArrays = largestArrays;
+    }
+
+    /**
+     * 统计窗口的起始时间戳（毫秒）
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * 统计窗口的结束时间戳（毫秒）
+     */
+    public long getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * 采样率，每N条命令采样1条
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 各命令类型访问次数最多的key，以命令名称为键，按访问次数由多到少排列
+     */
+    public Map<String, List<Entry>> getHotKeys() {
+        return hotKeys;
+    }
+
+    /**
+     * 响应为批量字符串且字节数最大的key，按字节数由大到小排列
+     */
+    public List<Entry> getLargestStrings() {
+        return largestStrings;
+    }
+
+    /**
+     * 响应为数组且元素个数最多的key，按元素个数由多到少排列
+     */
+    public List<Entry> getLargestArrays() {
+        return largestArrays;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("KeyReport ").append(startTime).append('-').append(endTime).append(" sampleRate=").append(sampleRate);
+        hotKeys.forEach((command, entries) -> builder.append("\nhot keys ").append(entries));
+        builder.append("\nlargest strings ").append(largestStrings);
+        builder.append("\nlargest arrays ").append(largestArrays);
+        return builder.toString();
+    }
+
+    /**
+     * 报告中的一个key
+     */
+    public static final class Entry {
+        private final String command;
+        private final String key;
+        private final long value;
+
+        Entry(String command, String key, long value) {
+            this.command = command;
+            this.key = key;
+            this.value = value;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 热点key为估计的访问次数，大key为字节数或元素个数
+         */
+        public long getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return command + " " + key + "=" + value;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 热点key及大key采样
+ * <p>
+ * 按采样率随机抽取带key的命令：每类命令以一个Count-Min Sketch估算key的访问次数，并维护访问次数最多的若干个key；
+ * 被采样命令的响应为批量字符串或数组时，记录字节数或元素个数最大的若干个key。
+ * 未被采样的命令仅多一次随机数判断，内存占用与命令类型数成正比，不随key的数量增长。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class KeySampler {
+    /**
+     * 每类命令及每类大key保留的key数量
+     */
+    private static final int TOP_K = 10;
+    /**
+     * 统计的命令类型上限，超出后新类型的命令不再统计
+     */
+    private static final int MAX_COMMANDS = 64;
+
+    private final int sampleRate;
+    private volatile Window window = new Window();
+
+    /**
+     * @param sampleRate 采样率，每N条命令采样1条
+     */
+    KeySampler(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * 按采样率采样命令，被采样时返回记录响应大小的回调包装
+     */
+    ResponseCallback sample(Command command, ResponseCallback callback) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return callback;
+        }
+        byte[] key = command.routingKey();
+        if (key == null) {
+            return callback;
+        }
+        Window current = window;
+        String name = command.name();
+        HotKeys hotKeys = current.hotKeys.get(name);
+        if (hotKeys == null) {
+            if (current.hotKeys.size() >= MAX_COMMANDS) {
+                return callback;
+            }
+            hotKeys = current.hotKeys.computeIfAbsent(name, n -> new HotKeys());
+        }
+        hotKeys.add(key);
+        return new SampledCallback(current, name, key, callback);
+    }
+
+    /**
+     * 生成当前统计窗口的报告
+     *
+     * @param reset 是否在生成报告后开始新的统计窗口
+     */
+    KeyReport report(boolean reset) {
+        Window current = window;
+        long now = System.currentTimeMillis();
+        if (reset) {
+            window = new Window();
+        }
+        Map<String, List<KeyReport.Entry>> hotKeys = new TreeMap<>();
+        current.hotKeys.forEach((name, keys) -> hotKeys.put(name, keys.top(name, sampleRate)));
+        return new KeyReport(current.startTime, now, sampleRate, hotKeys, current.largestStrings.top(), current.largestArrays.top());
+    }
+
+    /**
+     * 一个统计窗口内的数据
+     */
+    private static final class Window {
+        private final long startTime = System.currentTimeMillis();
+        private final ConcurrentHashMap<String, HotKeys> hotKeys = new ConcurrentHashMap<>();
+        private final BigKeys largestStrings = new BigKeys();
+        private final BigKeys largestArrays = new BigKeys();
+    }
+
+    /**
+     * 单类命令的热点key：Count-Min Sketch加访问次数最多的 {@link #TOP_K} 个key
+     */
+    private static final class HotKeys {
+        private static final int DEPTH = 4;
+        private static final int WIDTH = 1024;
+        private final long[] sketch = new long[DEPTH * WIDTH];
+        private final byte[][] keys = new byte[TOP_K][];
+        private final long[] counts = new long[TOP_K];
+        private int size;
+
+        synchronized void add(byte[] key) {
+            long hash = hash(key);
+            int h1 = (int) hash;
+            // 第二个哈希为奇数，保证各行的下标互不相同
+            int h2 = (int) (hash >>> 32) | 1;
+            long estimate = Long.MAX_VALUE;
+            for (int i = 0; i < DEPTH; i++) {
+                int index = i * WIDTH + ((h1 + i * h2) & (WIDTH - 1));
+                estimate = Math.min(estimate, ++sketch[index]);
+            }
+            int min = 0;
+            for (int i = 0; i < size; i++) {
+                if (java.util.Arrays.equals(keys[i], key)) {
+                    counts[i] = estimate;
+                    return;
+                }
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+            if (size < TOP_K) {
+                keys[size] = key;
+                counts[size++] = estimate;
+            } else if (estimate > counts[min]) {
+                keys[min] = key;
+                counts[min] = estimate;
+            }
+        }
+
+        synchronized List<KeyReport.Entry> top(String command, int sampleRate) {
+            List<KeyReport.Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new KeyReport.Entry(command, new String(keys[i], StandardCharsets.UTF_8), counts[i] * sampleRate));
+            }
+            entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+            return entries;
+        }
+
+        /**
+         * FNV-1a哈希，再经一轮混合使高低32位均匀分布
+         */
+        private static long hash(byte[] key) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : key) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+
+    /**
+     * 响应最大的 {@link #TOP_K} 个key，同一key只保留最大值
+     */
+    private static final class BigKeys {
+        private final String[] commands = new String[TOP_K];
+        private final byte[][] keys = new byte[TOP_K][];
+        private final long[] sizes = new long[TOP_K];
+        private int size;
+        /**
+         * 入选所需的最小值，用于在加锁前快速过滤
+         */
+        private volatile long threshold;
+
+        void add(String command, byte[] key, long value) {
+            if (value <= threshold) {
+                return;
+            }
+            synchronized (this) {
+                int min = 0;
+                for (int i = 0; i < size; i++) {
+                    if (java.util.Arrays.equals(keys[i], key)) {
+                        if (value > sizes[i]) {
+                            sizes[i] = value;
+                            commands[i] = command;
+                            updateThreshold();
+                        }
+                        return;
+                    }
+                    if (sizes[i] < sizes[min]) {
+                        min = i;
+                    }
+                }
+                if (size < TOP_K) {
+                    min = size++;
+                } else if (value <= sizes[min]) {
+                    return;
+                }
+                commands[min] = command;
+                keys[min] = key;
+                sizes[min] = value;
+                updateThreshold();
+            }
+        }
+
+        private void updateThreshold() {
+            if (size < TOP_K) {
+                return;
+            }
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, sizes[i]);
+            }
+            threshold = min;
+        }
+
+        synchronized List<KeyReport.Entry> top() {
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+            List<KeyReport.Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new KeyReport.Entry(commands[i], new String(keys[i], StandardCharsets.UTF_8), sizes[i]));
+            }
+            entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+            return entries;
+        }
+    }
+
+    /**
+     * 记录被采样命令的响应大小
+     */
+    private static final class SampledCallback implements ResponseCallback {
+        private final Window window;
+        private final String command;
+        private final byte[] key;
+        private final ResponseCallback callback;
+
+        SampledCallback(Window window, String command, byte[] key, ResponseCallback callback) {
+            this.window = window;
+            this.command = command;
+            this.key = key;
+            this.callback = callback;
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            if (resp instanceof BulkStrings) {
+                window.largestStrings.add(command, key, ((BulkStrings) resp).getLength());
+            } else if (resp instanceof Arrays && ((Arrays) resp).getValue() != null) {
+                window.largestArrays.add(command, key, ((Arrays) resp).getValue().size());
+            }
+            callback.onResponse(resp);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            callback.onFailure(throwable);
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return callback.isLightweight();
+        }
+
+        @Override
+        public CommandEvent event() {
+            return callback.event();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package tech.smartboot.redisun;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 对数线性分桶的延迟直方图
+ * <p>
+ * 每个2的幂区间均分为16个子桶，相对误差不超过1/16。计数按记录线程分散到多个条带，
+ * 记录时仅对所在条带执行一次原子累加，不加锁；生成快照时合并各条带。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * 小于2*SUB_BUCKETS的值每个值一个桶，其余每个2的幂区间SUB_BUCKETS个桶
+     */
+    static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int ERRORS = BUCKETS;
+    private static final int MAX = BUCKETS + 1;
+
+    private final AtomicLongArray[] stripes;
+    private final int mask;
+    private final long startNanos = System.nanoTime();
+
+    LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param concurrency 预期的并发记录线程数，条带数取不小于该值的2的幂
+     */
+    LatencyHistogram(int concurrency) {
+        int size = 1;
+        while (size < concurrency) {
+            size <<= 1;
+        }
+        stripes = new AtomicLongArray[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS + 2);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * 记录一次命令耗时
+     *
+     * @param nanos 耗时（纳秒）
+     * @param error 命令是否执行失败
+     */
+    void record(long nanos, boolean error) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & mask];
+        stripe.incrementAndGet(bucket(nanos));
+        if (error) {
+            stripe.incrementAndGet(ERRORS);
+        }
+        long max;
+        while (nanos > (max = stripe.get(MAX)) && !stripe.compareAndSet(MAX, max, nanos)) {
+            // 其他线程更新了最大值，重新比较
+        }
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS << 1) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * 获取桶所覆盖区间的上界
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS << 1) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        long lower = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * 合并各条带生成快照
+     *
+     * @param command 命令名称
+     */
+    LatencySnapshot snapshot(String command) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        long errors = 0;
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = stripe.get(i);
+                counts[i] += count;
+                total += count;
+            }
+            errors += stripe.get(ERRORS);
+            max = Math.max(max, stripe.get(MAX));
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return new LatencySnapshot(command, total, errors,
+                percentile(counts, total, 0.5, max), percentile(counts, total, 0.99, max), percentile(counts, total, 0.999, max),
+                max, seconds > 0 ? total / seconds : 0);
+    }
+
+    /**
+     * 合并各条带计算指定分位的耗时
+     *
+     * @param quantile 分位，取值 0~1
+     * @return 耗时（纳秒），尚无记录时为0
+     */
+    long valueAt(double quantile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        long max = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = stripe.get(i);
+                counts[i] += count;
+                total += count;
+            }
+            max = Math.max(max, stripe.get(MAX));
+        }
+        return percentile(counts, total, quantile, max);
+    }
+
+    /**
+     * 清空全部计数，与并发的记录之间不保证原子性
+     */
+    void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < stripe.length(); i++) {
+                stripe.set(i, 0);
+            }
+        }
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+}
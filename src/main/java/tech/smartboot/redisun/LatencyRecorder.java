@@ -0,0 +1,77 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按命令类型记录延迟
+ * <p>
+ * 提交命令时以计时回调包装原回调，完成回调时记录耗时。
+ * 设置了回调线程池时，耗时包含响应在线程池中等待执行的时间。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class LatencyRecorder {
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * 包装响应回调，在完成时记录命令耗时
+     */
+    ResponseCallback wrap(Command command, ResponseCallback callback) {
+        String name = command.name();
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+        }
+        return new TimedCallback(histogram, callback, System.nanoTime());
+    }
+
+    /**
+     * 各类命令的延迟快照，按命令名称排序
+     */
+    Map<String, LatencySnapshot> snapshot() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot(name)));
+        return snapshots;
+    }
+
+    private static final class TimedCallback implements ResponseCallback {
+        private final LatencyHistogram histogram;
+        private final ResponseCallback callback;
+        private final long start;
+
+        TimedCallback(LatencyHistogram histogram, ResponseCallback callback, long start) {
+            this.histogram = histogram;
+            this.callback = callback;
+            this.start = start;
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            histogram.record(System.nanoTime() - start, resp instanceof SimpleErrors);
+            callback.onResponse(resp);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            histogram.record(System.nanoTime() - start, true);
+            callback.onFailure(throwable);
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return callback.isLightweight();
+        }
+
+        @Override
+        public CommandEvent event() {
+            return callback.event();
+        }
+    }
+}
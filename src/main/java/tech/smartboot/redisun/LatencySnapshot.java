@@ -0,0 +1,80 @@
+package tech.smartboot.redisun;
+
+/**
+ * 单类命令的延迟统计快照
+ * <p>
+ * 延迟为命令提交至收到响应的耗时，单位为纳秒；分位值取所在桶的上界，相对误差不超过1/16。
+ * 吞吐量为开始统计以来的平均每秒完成命令数。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class LatencySnapshot {
+    private final String command;
+    private final long count;
+    private final long errors;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long max;
+    private final double throughput;
+
+    LatencySnapshot(String command, long count, long errors, long p50, long p99, long p999, long max, double throughput) {
+        this.command = command;
+        this.count = count;
+        this.errors = errors;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+        this.throughput = throughput;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * 完成的命令数，包括执行失败的命令
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * 收到错误响应或执行异常的命令数
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * 每秒完成的命令数
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    @Override
+    public String toString() {
+        return command + " count=" + count + " errors=" + errors + " p50=" + p50 + "ns p99=" + p99 + "ns p999=" + p999
+                + "ns max=" + max + "ns throughput=" + String.format("%.1f", throughput) + "/s";
+    }
+}
@@ -0,0 +1,46 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+/**
+ * 在命令完成时通知监听器的回调包装
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class ListenerCallback implements ResponseCallback {
+    private final CommandEvent event;
+    private final ResponseCallback callback;
+
+    ListenerCallback(CommandEvent event, ResponseCallback callback) {
+        this.event = event;
+        this.callback = callback;
+    }
+
+    @Override
+    public void onResponse(RESP resp) {
+        if (resp instanceof SimpleErrors) {
+            event.failure(new RedisunException(((SimpleErrors) resp).getValue()));
+        } else {
+            event.success();
+        }
+        callback.onResponse(resp);
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+        event.failure(throwable);
+        callback.onFailure(throwable);
+    }
+
+    @Override
+    public boolean isLightweight() {
+        return callback.isLightweight();
+    }
+
+    @Override
+    public CommandEvent event() {
+        return event;
+    }
+}
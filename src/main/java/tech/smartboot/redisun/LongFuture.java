@@ -0,0 +1,148 @@
+package tech.smartboot.redisun;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 可复用的整数结果Future
+ * <p>
+ * 由IO线程直接以基本类型完成，不产生装箱对象；上一次结果取得后即可传入下一次调用重复使用，
+ * 适用于高频计数等对分配敏感的场景。同一时刻仅支持一条进行中的命令及一个等待线程，
+ * 需要组合多个异步结果时请使用返回 CompletableFuture 的异步方法。
+ * </p>
+ *
+ * <pre>{@code
+ * LongFuture future = new LongFuture();
+ * for (String key : keys) {
+ *     long value = redisun.incr(key, future).get();
+ * }
+ * }</pre>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class LongFuture {
+    private static final int NEW = 0;
+    private static final int PENDING = 1;
+    private static final int SUCCESS = 2;
+    private static final int FAILURE = 3;
+
+    private volatile int state = NEW;
+    private long value;
+    private Throwable cause;
+    private volatile Thread waiter;
+    /**
+     * 随Future一同复用的响应回调
+     */
+    private final LongResponse callback = new LongResponse() {
+        @Override
+        void onSuccess(long value) {
+            LongFuture.this.value = value;
+            complete(SUCCESS);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            cause = throwable;
+            complete(FAILURE);
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return true;
+        }
+    };
+
+    /**
+     * 提交命令前重置状态
+     *
+     * @return 本Future的响应回调
+     */
+    LongResponse arm() {
+        if (state == PENDING) {
+            throw new RedisunException("LongFuture is still pending");
+        }
+        cause = null;
+        waiter = null;
+        state = PENDING;
+        return callback;
+    }
+
+    private void complete(int result) {
+        state = result;
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 命令是否已完成，包括执行失败
+     */
+    public boolean isDone() {
+        return state > PENDING;
+    }
+
+    /**
+     * 等待并获取执行结果
+     *
+     * @return 整数结果
+     * @throws RedisunException 命令执行失败或等待被中断
+     */
+    public long get() {
+        if (state == PENDING) {
+            waiter = Thread.currentThread();
+            while (state == PENDING) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    waiter = null;
+                    throw new RedisunException(new InterruptedException());
+                }
+            }
+            waiter = null;
+        }
+        return report();
+    }
+
+    /**
+     * 在指定时间内等待并获取执行结果
+     *
+     * @param timeout 超时时间
+     * @param unit    时间单位
+     * @return 整数结果
+     * @throws TimeoutException 等待超时
+     * @throws RedisunException 命令执行失败或等待被中断
+     */
+    public long get(long timeout, TimeUnit unit) throws TimeoutException {
+        if (state == PENDING) {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            waiter = Thread.currentThread();
+            while (state == PENDING) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    waiter = null;
+                    throw new TimeoutException();
+                }
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    waiter = null;
+                    throw new RedisunException(new InterruptedException());
+                }
+            }
+            waiter = null;
+        }
+        return report();
+    }
+
+    private long report() {
+        switch (state) {
+            case SUCCESS:
+                return value;
+            case FAILURE:
+                throw cause instanceof RedisunException ? (RedisunException) cause : new RedisunException(cause);
+            default:
+                throw new RedisunException("LongFuture has not been submitted");
+        }
+    }
+}
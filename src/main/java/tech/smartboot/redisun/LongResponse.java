@@ -0,0 +1,63 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.Integers;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * 整数响应的回调实现，由IO线程直接将 Integers 响应解码为基本类型，不产生装箱及Future
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+abstract class LongResponse implements ResponseCallback {
+    @Override
+    public final void onResponse(RESP resp) {
+        if (resp instanceof Integers) {
+            onSuccess(((Integers) resp).getLong());
+        } else if (resp instanceof SimpleErrors) {
+            onFailure(new RedisunException(((SimpleErrors) resp).getValue()));
+        } else {
+            onFailure(new RedisunException("invalid response:" + resp));
+        }
+    }
+
+    /**
+     * 收到整数响应
+     *
+     * @param value 整数值
+     */
+    abstract void onSuccess(long value);
+
+    /**
+     * 以函数式回调接收整数响应
+     * <p>
+     * 回调在IO线程中执行，onSuccess 抛出的异常交由 onFailure 处理，onFailure 抛出的异常将被忽略，
+     * 避免影响同一连接上后续响应的分发。
+     * </p>
+     */
+    static LongResponse of(LongConsumer onSuccess, Consumer<Throwable> onFailure) {
+        return new LongResponse() {
+            @Override
+            void onSuccess(long value) {
+                try {
+                    onSuccess.accept(value);
+                } catch (Throwable e) {
+                    onFailure(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                try {
+                    onFailure.accept(throwable);
+                } catch (Throwable ignored) {
+                    // 回调异常不能影响IO线程
+                }
+            }
+        };
+    }
+}
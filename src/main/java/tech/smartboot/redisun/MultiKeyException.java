@@ -0,0 +1,39 @@
+package tech.smartboot.redisun;
+
+import java.util.Map;
+
+/**
+ * 多key命令部分执行失败的异常
+ * <p>
+ * 多key命令被拆分为多个批次并行执行时，部分批次失败不影响其他批次。
+ * 该异常记录每个失败key对应的错误，以及由成功批次合并得到的部分结果。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public class MultiKeyException extends RedisunException {
+    private final Map<String, Throwable> failures;
+    private final Object partialResult;
+
+    public MultiKeyException(Map<String, Throwable> failures, Object partialResult) {
+        super(failures.size() + " keys failed, first error: " + failures.values().iterator().next().getMessage());
+        this.failures = failures;
+        this.partialResult = partialResult;
+    }
+
+    /**
+     * 获取失败的key及对应的错误
+     */
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+
+    /**
+     * 获取成功批次合并得到的部分结果，类型与对应命令的返回值一致，失败key对应的位置为null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPartialResult() {
+        return (T) partialResult;
+    }
+}
@@ -0,0 +1,122 @@
+package tech.smartboot.redisun;
+
+import java.util.List;
+
+/**
+ * 单个节点的连接池统计
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class NodeStatistics {
+    private final String address;
+    private final List<ConnectionStatistics> connections;
+    private final String currentConnection;
+    private final long reconnects;
+    private final long connectFailures;
+    private final int minConnections;
+    private final int maxConnections;
+    private final long keepaliveEvictions;
+    private final String circuitState;
+    private final long circuitRejections;
+
+    NodeStatistics(String address, List<ConnectionStatistics> connections, String currentConnection, long reconnects, long connectFailures, int minConnections, int maxConnections, long keepaliveEvictions,
+                   String circuitState, long circuitRejections) {
+        this.address = address;
+        this.connections = connections;
+        this.currentConnection = currentConnection;
+        this.reconnects = reconnects;
+        this.connectFailures = connectFailures;
+        this.minConnections = minConnections;
+        this.maxConnections = maxConnections;
+        this.keepaliveEvictions = keepaliveEvictions;
+        this.circuitState = circuitState;
+        this.circuitRejections = circuitRejections;
+    }
+
+    /**
+     * 节点地址，格式为 host:port
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * 当前打开的连接，包括连接池中的连接及订阅、阻塞读取使用的独占连接
+     */
+    public List<ConnectionStatistics> getConnections() {
+        return connections;
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * 各连接已发送但尚未收到响应的命令数之和
+     */
+    public int getPendingReplies() {
+        int pending = 0;
+        for (ConnectionStatistics connection : connections) {
+            pending += connection.getPendingReplies();
+        }
+        return pending;
+    }
+
+    /**
+     * 节点当前优先使用的连接标识，尚未选定时为null
+     */
+    public String getCurrentConnection() {
+        return currentConnection;
+    }
+
+    /**
+     * 有连接被关闭后新建的连接数
+     */
+    public long getReconnects() {
+        return reconnects;
+    }
+
+    /**
+     * 从连接池获取连接失败的次数，包括建立连接超时
+     */
+    public long getConnectFailures() {
+        return connectFailures;
+    }
+
+    public int getMinConnections() {
+        return minConnections;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * 因保活PING超时而关闭的连接数
+     */
+    public long getKeepaliveEvictions() {
+        return keepaliveEvictions;
+    }
+
+    /**
+     * 熔断状态：CLOSED、OPEN 或 HALF_OPEN，未开启熔断时为null
+     */
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    /**
+     * 因熔断被拒绝的命令数
+     */
+    public long getCircuitRejections() {
+        return circuitRejections;
+    }
+
+    @Override
+    public String toString() {
+        return address + " connections=" + connections.size() + " current=" + currentConnection + " reconnects=" + reconnects
+                + " connectFailures=" + connectFailures + " keepaliveEvictions=" + keepaliveEvictions + " pool=" + minConnections + ".." + maxConnections
+                + (circuitState == null ? "" : " circuit=" + circuitState + " rejections=" + circuitRejections);
+    }
+}
@@ -0,0 +1,210 @@
+package tech.smartboot.redisun;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 按页拉取结果的发布者，适用于SCAN、分段范围读取等多元素结果
+ * <p>
+ * 每个订阅者拥有独立的遍历状态。仅当已取得的元素全部交付、且订阅者仍有未满足的需求时才发送下一页的命令，
+ * 同一时刻至多一条命令在途，因此缓存的元素不超过一页。元素在IO线程（或回调线程池）中交付，
+ * 也可能在调用 {@link Subscription#request(long)} 的线程中交付。
+ * </p>
+ *
+ * @param <T> 元素类型
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class PagedPublisher<T> implements Publisher<T> {
+    /**
+     * 分页遍历状态，由订阅串行访问
+     */
+    interface Pager<T> {
+        /**
+         * 是否还有下一页
+         */
+        boolean hasNext();
+
+        /**
+         * 发送获取下一页的命令
+         *
+         * @param callback 接收本页响应的回调
+         */
+        void next(ResponseCallback callback);
+
+        /**
+         * 解析一页响应并推进遍历状态
+         *
+         * @param resp 本页响应
+         * @return 本页元素
+         */
+        List<T> decode(RESP resp);
+    }
+
+    private final Supplier<Pager<T>> pagerFactory;
+
+    private PagedPublisher(Supplier<Pager<T>> pagerFactory) {
+        this.pagerFactory = pagerFactory;
+    }
+
+    /**
+     * 创建分页发布者
+     * <p>
+     * reactive-streams 为可选依赖，调用方经由此方法取得 {@link Publisher}，
+     * 避免在自身的字节码校验中加载 reactive-streams 的类型。
+     * </p>
+     *
+     * @param pagerFactory 为每个订阅者创建独立的遍历状态
+     * @param <T>          元素类型
+     * @return 分页发布者
+     */
+    static <T> Publisher<T> create(Supplier<Pager<T>> pagerFactory) {
+        return new PagedPublisher<>(pagerFactory);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        new PagedSubscription<>(subscriber, pagerFactory.get()).start();
+    }
+
+    private static final class PagedSubscription<T> implements Subscription, ResponseCallback {
+        private final Subscriber<? super T> subscriber;
+        private final Pager<T> pager;
+        private final Queue<T> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        /**
+         * 是否有获取下一页的命令在途
+         */
+        private volatile boolean fetching;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        /**
+         * 非法的 request 参数，依 reactive-streams 规范 3.9 立即通知订阅者，不等待缓存的元素交付完毕
+         */
+        private volatile Throwable requestError;
+
+        PagedSubscription(Subscriber<? super T> subscriber, Pager<T> pager) {
+            this.subscriber = subscriber;
+            this.pager = pager;
+        }
+
+        void start() {
+            subscriber.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                long current;
+                long next;
+                do {
+                    current = requested.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!requested.compareAndSet(current, next));
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            if (resp instanceof SimpleErrors) {
+                error = new RedisunException(((SimpleErrors) resp).getValue());
+            } else {
+                try {
+                    buffer.addAll(pager.decode(resp));
+                } catch (Throwable e) {
+                    error = e;
+                }
+            }
+            fetching = false;
+            drain();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            error = throwable;
+            fetching = false;
+            drain();
+        }
+
+        /**
+         * 交付已取得的元素，并按需发送下一页的命令
+         * <p>
+         * 通过wip计数保证同一时刻只有一个线程执行，其余线程的调用合并为再一轮循环。
+         * </p>
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+                Throwable invalid = requestError;
+                if (invalid != null) {
+                    cancelled = true;
+                    buffer.clear();
+                    subscriber.onError(invalid);
+                    return;
+                }
+                long demand = requested.get();
+                long emitted = 0;
+                T value;
+                while (emitted != demand && (value = buffer.poll()) != null) {
+                    subscriber.onNext(value);
+                    emitted++;
+                    if (cancelled) {
+                        buffer.clear();
+                        return;
+                    }
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                if (buffer.isEmpty() && !fetching) {
+                    Throwable throwable = error;
+                    if (throwable != null) {
+                        cancelled = true;
+                        subscriber.onError(throwable);
+                        return;
+                    }
+                    if (!pager.hasNext()) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (requested.get() > 0) {
+                        fetching = true;
+                        pager.next(this);
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
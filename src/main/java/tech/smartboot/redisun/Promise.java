@@ -0,0 +1,109 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 同步调用使用的单次赋值Promise
+ * <p>
+ * 由IO线程写入结果后直接唤醒等待线程，不经过CompletableFuture的依赖栈及通知机制。
+ * 每个线程复用同一个实例：同步调用在取得结果前不会发起下一条命令，因此结果取得后即可安全复用；
+ * 等待被中断时放弃该实例，避免迟到的响应写入下一次调用。
+ * 虚拟线程数量庞大且生命周期短，不做复用，每次调用创建新实例。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class Promise implements ResponseCallback {
+    private static final ThreadLocal<Promise> LOCAL = ThreadLocal.withInitial(() -> new Promise(true));
+
+    private volatile boolean done;
+    private RESP result;
+    private Throwable cause;
+    private volatile Thread waiter;
+    private final boolean pooled;
+
+    private Promise(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * 获取当前线程复用的Promise
+     */
+    static Promise local() {
+        if (VirtualThreads.isVirtual(Thread.currentThread())) {
+            return create();
+        }
+        Promise promise = LOCAL.get();
+        promise.result = null;
+        promise.cause = null;
+        promise.waiter = null;
+        promise.done = false;
+        return promise;
+    }
+
+    /**
+     * 创建不参与复用的Promise，用于连接握手等嵌套在其他同步调用中的场景
+     */
+    static Promise create() {
+        return new Promise(false);
+    }
+
+    @Override
+    public void onResponse(RESP resp) {
+        if (resp instanceof SimpleErrors) {
+            cause = new RedisunException(((SimpleErrors) resp).getValue());
+        } else {
+            result = resp;
+        }
+        complete();
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+        cause = throwable;
+        complete();
+    }
+
+    @Override
+    public boolean isLightweight() {
+        return true;
+    }
+
+    private void complete() {
+        done = true;
+        Thread thread = waiter;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * 等待并获取执行结果
+     *
+     * @return 服务端响应
+     * @throws RedisunException 命令执行失败、收到错误响应或等待被中断
+     */
+    RESP get() {
+        if (!done) {
+            waiter = Thread.currentThread();
+            while (!done) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) {
+                    // 响应可能在此后到达，当前实例不再复用
+                    if (pooled) {
+                        LOCAL.remove();
+                    }
+                    throw new RedisunException(new InterruptedException());
+                }
+            }
+        }
+        if (cause != null) {
+            throw cause instanceof RedisunException ? (RedisunException) cause : new RedisunException(cause);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,30 @@
+package tech.smartboot.redisun;
+
+/**
+ * 读命令的节点选择策略
+ * <p>
+ * 仅作用于只读命令（如GET、MGET、HGET），写命令始终由主节点执行。
+ * 副本因复制延迟可能读到旧数据，对一致性有要求的读取应使用 {@link #PRIMARY}。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public enum ReadPolicy {
+    /**
+     * 仅从主节点读取
+     */
+    PRIMARY,
+    /**
+     * 优先从主节点读取，主节点不可用时从副本读取
+     */
+    PRIMARY_PREFERRED,
+    /**
+     * 在可用副本间轮询读取，没有可用副本时从主节点读取
+     */
+    REPLICA,
+    /**
+     * 从延迟最低的可用节点读取，包括主节点
+     */
+    NEAREST
+}
@@ -2,13 +2,18 @@ package tech.smartboot.redisun;
 
 import org.smartboot.socket.Protocol;
 import org.smartboot.socket.StateMachineEnum;
+import org.smartboot.socket.extension.plugins.AbstractPlugin;
 import org.smartboot.socket.extension.processor.AbstractMessageProcessor;
 import org.smartboot.socket.transport.AioSession;
+import tech.smartboot.redisun.resp.Arrays;
 import tech.smartboot.redisun.resp.RESP;
-import tech.smartboot.redisun.resp.SimpleErrors;
 
 import java.nio.ByteBuffer;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Redis消息处理器
@@ -23,6 +28,10 @@ import java.util.concurrent.CompletableFuture;
  * 该处理器同时实现了Protocol接口用于解码和AbstractMessageProcessor用于消息处理，
  * 是Redis客户端与底层网络通信框架之间的桥梁。
  * </p>
+ * <p>
+ * 配置了回调线程池时，非轻量回调暂存于会话中，在每次读事件处理完毕、发起下一次读取前
+ * 作为一个批次提交给线程池，避免耗时回调阻塞IO线程。同一连接的批次依次执行，回调的完成顺序与响应顺序一致。
+ * </p>
  *
  * @author 三刀
  * @version v1.0 10/21/25
@@ -31,6 +40,91 @@ import java.util.concurrent.CompletableFuture;
  * @see RESP Redis序列化协议
  */
 class RedisMessageProcessor extends AbstractMessageProcessor<RESP> implements Protocol<RESP> {
+    /**
+     * 执行响应回调的线程池，为null时在IO线程中直接执行
+     */
+    private final Executor callbackExecutor;
+    /**
+     * 是否有连接曾被关闭，用于区分JFR连接事件中的重连
+     */
+    private volatile boolean sessionClosed;
+    /**
+     * 当前打开的连接
+     */
+    private final Set<AioSession> sessions = ConcurrentHashMap.newKeySet();
+    /**
+     * 有连接被关闭后新建的连接数
+     */
+    private final AtomicLong reconnects = new AtomicLong();
+
+    /**
+     * @param callbackExecutor 执行响应回调的线程池，为null时在IO线程中直接执行
+     * @param statistics       是否统计各连接读写的字节数及写出次数
+     */
+    RedisMessageProcessor(Executor callbackExecutor, boolean statistics) {
+        this.callbackExecutor = callbackExecutor;
+        if (statistics) {
+            addPlugin(new AbstractPlugin<RESP>() {
+                @Override
+                public void afterRead(AioSession session, int readSize) {
+                    RedisSession redisSession = session.getAttachment();
+                    if (redisSession != null && readSize > 0) {
+                        redisSession.addBytesRead(readSize);
+                    }
+                }
+
+                @Override
+                public void afterWrite(AioSession session, int writeSize) {
+                    RedisSession redisSession = session.getAttachment();
+                    if (redisSession != null && writeSize > 0) {
+                        redisSession.addBytesWritten(writeSize);
+                    }
+                }
+            });
+        }
+        if (FlightRecorder.isAvailable()) {
+            addPlugin(new AbstractPlugin<RESP>() {
+                @Override
+                public void afterWrite(AioSession session, int writeSize) {
+                    int epoch = FlightRecorder.flushEpoch();
+                    if (epoch < 0) {
+                        return;
+                    }
+                    RedisSession redisSession = session.getAttachment();
+                    if (redisSession != null && writeSize > 0) {
+                        int commands = redisSession.takeFlushedCommands(epoch);
+                        if (commands >= 0) {
+                            FlightRecorder.flush(session, commands, writeSize);
+                        }
+                    }
+                }
+            });
+        }
+        if (callbackExecutor != null) {
+            addPlugin(new AbstractPlugin<RESP>() {
+                @Override
+                public void beforeRead(AioSession session) {
+                    // 本次读事件中的响应已全部处理
+                    RedisSession redisSession = session.getAttachment();
+                    if (redisSession != null) {
+                        redisSession.flushDeferred(callbackExecutor);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取当前打开的连接
+     */
+    Set<AioSession> sessions() {
+        return sessions;
+    }
+
+    long getReconnects() {
+        return reconnects.get();
+    }
+
     /**
      * 解码从Redis服务器接收到的字节流数据
      * <p>
@@ -52,6 +146,7 @@ class RedisMessageProcessor extends AbstractMessageProcessor<RESP> implements Pr
 
         // 获取当前会话关联的Redis会话对象
         RedisSession redisSession = session.getAttachment();
+        int position = readBuffer.position();
         // 获取正在进行解码的响应对象，如果为空则创建一个新的
         RESP redisResponse = redisSession.getDecodingResponse();
         if (redisResponse == null) {
@@ -61,11 +156,21 @@ class RedisMessageProcessor extends AbstractMessageProcessor<RESP> implements Pr
         }
 
         // 尝试解码完整的RESP响应
-        if (redisResponse.decode(readBuffer)) {
+        boolean finished = redisResponse.decode(readBuffer);
+        redisSession.addDecodedBytes(readBuffer.position() - position);
+        if (finished) {
             // 解码成功，清除正在解码的响应引用
             redisSession.setDecodingResponse(null);
+            Object stall = redisSession.getDecodeStall();
+            if (stall != null) {
+                redisSession.setDecodeStall(null);
+                FlightRecorder.endDecodeStall(stall, session, redisSession.getDecodedBytes());
+            }
             return redisResponse;
         }
+        if (redisSession.getDecodeStall() == null) {
+            redisSession.setDecodeStall(FlightRecorder.beginDecodeStall());
+        }
 
         // 解码未完成，等待更多数据
         return null;
@@ -75,7 +180,7 @@ class RedisMessageProcessor extends AbstractMessageProcessor<RESP> implements Pr
      * 处理完整的RESP响应消息
      * <p>
      * 当decode方法成功解析出一个完整的RESP对象后，会调用此方法进行处理。
-     * 主要任务是将解析出的响应对象传递给等待结果的Future对象。
+     * 主要任务是将解析出的响应对象传递给等待结果的响应回调。
      * </p>
      *
      * @param session 当前会话对象
@@ -85,16 +190,43 @@ class RedisMessageProcessor extends AbstractMessageProcessor<RESP> implements Pr
     public void process0(AioSession session, RESP msg) {
         // 获取当前会话关联的Redis会话对象
         RedisSession redisSession = session.getAttachment();
-        CompletableFuture<RESP> future = redisSession.poll();
-        if (future == null) {
-            // 如果没有等待的CompletableFuture，则将消息记录为错误并返回
+        int replyBytes = redisSession.takeDecodedBytes();
+        // 推送消息不对应任何请求，交由订阅处理器处理
+        if (msg instanceof Arrays && ((Arrays) msg).isPush()) {
+            Consumer<RESP> pushHandler = redisSession.getPushHandler();
+            if (pushHandler != null) {
+                pushHandler.accept(msg);
+            }
+            return;
+        }
+        ResponseCallback callback = redisSession.poll();
+        if (callback == null) {
+            // 如果没有等待的响应回调，则将消息记录为错误并返回
             System.err.println("No waiting future for response: " + msg);
             return;
         }
-        if (msg instanceof SimpleErrors) {
-            future.completeExceptionally(new RedisunException(msg.getValue().toString()));
+        if (redisSession.isDraining()) {
+            redisSession.checkDrained();
+        }
+        CommandEvent event = callback.event();
+        if (event != null) {
+            event.decoded(replyBytes);
+        }
+        if (callbackExecutor == null || callback.isLightweight()) {
+            callback.onResponse(msg);
         } else {
-            future.complete(msg);
+            redisSession.defer(callback, msg);
+        }
+    }
+
+    /**
+     * 以异常完成回调，暂存的回调需由调用方随即提交，会话异常后可能不再有读事件
+     */
+    private void fail(RedisSession redisSession, ResponseCallback callback, Throwable throwable) {
+        if (callbackExecutor == null || callback.isLightweight()) {
+            callback.onFailure(throwable);
+        } else {
+            redisSession.defer(callback, throwable);
         }
     }
 
@@ -116,21 +248,39 @@ class RedisMessageProcessor extends AbstractMessageProcessor<RESP> implements Pr
                 // 为新会话创建并绑定Redis会话对象
                 RedisSession redisSession = new RedisSession();
                 session.setAttachment(redisSession);
+                sessions.add(session);
+                if (sessionClosed) {
+                    reconnects.incrementAndGet();
+                }
+                FlightRecorder.connection(session, true, sessionClosed);
             }
             break;
             case DECODE_EXCEPTION: {
                 RedisSession redisSession = session.getAttachment();
-                CompletableFuture<RESP> future = redisSession.poll();
-                if (future != null) {
-                    future.completeExceptionally(throwable);
+                ResponseCallback callback = redisSession.poll();
+                if (callback != null) {
+                    fail(redisSession, callback, throwable);
+                }
+                if (callbackExecutor != null) {
+                    redisSession.flushDeferred(callbackExecutor);
                 }
                 break;
             }
             case SESSION_CLOSED: {
+                sessionClosed = true;
+                sessions.remove(session);
+                FlightRecorder.connection(session, false, false);
                 RedisSession redisSession = session.getAttachment();
-                CompletableFuture<RESP> future;
-                while ((future = redisSession.poll()) != null) {
-                    future.completeExceptionally(new RedisunException("session closed"));
+                ResponseCallback callback;
+                while ((callback = redisSession.poll()) != null) {
+                    fail(redisSession, callback, new RedisunException("session closed"));
+                }
+                if (callbackExecutor != null) {
+                    redisSession.flushDeferred(callbackExecutor);
+                }
+                Runnable closeHandler = redisSession.getCloseHandler();
+                if (closeHandler != null) {
+                    closeHandler.run();
                 }
             }
             break;
@@ -0,0 +1,759 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.buffer.BufferPagePool;
+import org.smartboot.socket.extension.multiplex.MultiplexClient;
+import org.smartboot.socket.extension.multiplex.MultiplexOptions;
+import org.smartboot.socket.extension.plugins.SslPlugin;
+import org.smartboot.socket.extension.plugins.StreamMonitorPlugin;
+import org.smartboot.socket.extension.ssl.factory.ClientSSLContextFactory;
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
+import org.smartboot.socket.transport.AioQuickClient;
+import org.smartboot.socket.transport.AioSession;
+import tech.smartboot.redisun.cmd.AskingCommand;
+import tech.smartboot.redisun.cmd.HelloCommand;
+import tech.smartboot.redisun.cmd.PingCommand;
+import tech.smartboot.redisun.cmd.SelectCommand;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Redis服务节点
+ * <p>
+ * 每个节点维护一个独立的多路复用连接池，负责连接的建立、握手以及命令的发送。
+ * 单机模式下仅有一个节点，集群模式下每个主节点对应一个实例。
+ * </p>
+ * <p>
+ * 连接池插件（SSL、调试等）会在首次建连时注册至消息处理器，因此每个节点持有独立的消息处理器。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class RedisNode {
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int WRITE_CHUNK_SIZE = 4096;
+    private static final int WRITE_CHUNK_COUNT = 8;
+    private static final int MAX_LOAD = 1024;
+    private static final AskingCommand ASKING = new AskingCommand();
+    private static final PingCommand PING = new PingCommand();
+    /**
+     * 补充保活检查关闭的连接，建连及握手会阻塞，不在定时器线程中执行
+     */
+    private static final Executor REPLENISHER = new ThreadPoolExecutor(0, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        Thread thread = new Thread(r, "redisun-keepalive");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * 丢弃响应的回调，用于ASKING等无需关注结果的前置命令
+     */
+    private static final ResponseCallback IGNORE = new ResponseCallback() {
+        @Override
+        public void onResponse(RESP resp) {
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return true;
+        }
+    };
+
+    private final RedisunOptions options;
+    private final String host;
+    private final int port;
+    private final AsynchronousChannelGroup group;
+    private final BufferPagePool bufferPagePool;
+    private final RedisMessageProcessor processor;
+    /**
+     * 多路复用客户端，用于管理与Redis服务器的连接
+     */
+    private final MultiplexClient<RESP> multiplexClient;
+    private volatile AioQuickClient currentClient;
+    /**
+     * 往返延迟的指数加权移动平均值（纳秒），0表示尚未探测
+     */
+    private volatile long latency;
+    /**
+     * 最近一次探测是否成功
+     */
+    private volatile boolean available = true;
+    /**
+     * 连接池保持的最小连接数，可通过JMX调整
+     */
+    private volatile int minConnections;
+    /**
+     * 从连接池获取连接失败的次数
+     */
+    private final AtomicLong connectFailures = new AtomicLong();
+    /**
+     * 连接池中的连接，用于保活检查及对冲读，不包括独占连接
+     */
+    private final Set<AioQuickClient> pooledClients = ConcurrentHashMap.newKeySet();
+    /**
+     * 因保活PING超时而关闭的连接数
+     */
+    private final AtomicLong keepaliveEvictions = new AtomicLong();
+    /**
+     * 保活检查任务，未开启时为null
+     */
+    private final TimerTask keepaliveTask;
+    /**
+     * 节点熔断器，未开启时为null
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    RedisNode(RedisunOptions options, String host, int port, AsynchronousChannelGroup group, BufferPagePool bufferPagePool) {
+        this.options = options;
+        this.host = host;
+        this.port = port;
+        this.group = group;
+        this.bufferPagePool = bufferPagePool;
+        this.processor = new RedisMessageProcessor(options.getCallbackExecutor(), options.getJmxName() != null);
+        this.circuitBreaker = options.getCircuitBreaker() == null ? null : new CircuitBreaker(getAddress(), options.getCircuitBreaker());
+        multiplexClient = new MultiplexClient<RESP>(processor, processor) {
+
+            /**
+             * 当创建新客户端连接时的回调方法
+             * 用于执行HELLO命令进行身份验证和协议协商
+             *
+             * @param client 新创建的AioQuickClient实例
+             */
+            @Override
+            protected void onNew(AioQuickClient client) {
+                handshake(client);
+                pooledClients.add(client);
+            }
+        };
+        MultiplexOptions<RESP> multiplexOptions = multiplexClient.getMultiplexOptions();
+        multiplexOptions.setHost(host);
+        multiplexOptions.setPort(port);
+        multiplexOptions.setSsl(options.isSsl());
+        multiplexOptions.setBufferPool(bufferPagePool, bufferPagePool);
+        multiplexOptions.setReadBuffer(READ_BUFFER_SIZE);
+        multiplexOptions.setWriteBuffer(WRITE_CHUNK_SIZE, WRITE_CHUNK_COUNT);
+        minConnections = options.getMinConnections();
+        multiplexOptions.minConnections(minConnections);
+        multiplexOptions.maxConnections(options.getMaxConnections());
+        multiplexOptions.connectTimeout(options.getConnectTimeout());
+        multiplexOptions.group(group);
+        if (options.isDebug()) {
+            multiplexOptions.addPlugin(new StreamMonitorPlugin<>());
+        }
+        if (options.getTrafficCapture() != null) {
+            if (options.isSsl()) {
+                // 先于捕获插件注册SSL插件，使捕获的是明文
+                try {
+                    multiplexOptions.addPlugin(new SslPlugin<>(new ClientSSLContextFactory()));
+                } catch (Exception e) {
+                    throw new RedisunException(e);
+                }
+            }
+            multiplexOptions.addPlugin(options.getTrafficCapture());
+        }
+        if (options.getKeepaliveInterval() > 0) {
+            keepaliveTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(this::keepalive, options.getKeepaliveInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            keepaliveTask = null;
+        }
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    /**
+     * 获取节点地址，格式为 host:port
+     */
+    String getAddress() {
+        return host + ":" + port;
+    }
+
+    /**
+     * 记录一次往返延迟，按 1/8 的权重更新移动平均值
+     *
+     * @param nanos 往返延迟（纳秒）
+     */
+    void updateLatency(long nanos) {
+        long current = latency;
+        latency = current == 0 ? nanos : current + ((nanos - current) >> 3);
+    }
+
+    /**
+     * 获取往返延迟的移动平均值（纳秒），0表示尚未探测
+     */
+    long getLatency() {
+        return latency;
+    }
+
+    boolean isAvailable() {
+        return available;
+    }
+
+    void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    /**
+     * 在指定连接上执行HELLO命令进行身份验证和协议协商，
+     * 并在配置的数据库不为0时切换数据库
+     *
+     * @param client 需要完成握手的连接
+     */
+    private void handshake(AioQuickClient client) {
+        HelloCommand helloCommand = new HelloCommand();
+        helloCommand.setUsername(options.getUsername());
+        helloCommand.setPassword(options.getPassword());
+        syncExecute(client, helloCommand);
+
+        // 如果配置的数据库不为0，则自动切换数据库
+        if (options.getDatabase() != 0) {
+            syncExecute(client, new SelectCommand(options.getDatabase()));
+        }
+        // 握手完成后再开始捕获，认证信息不会写入捕获文件
+        TrafficCapture capture = options.getTrafficCapture();
+        if (capture != null) {
+            AioSession session = client.getSession();
+            capture.start(session);
+        }
+    }
+
+    /**
+     * 在指定连接上同步执行握手命令
+     * <p>
+     * 握手可能发生在其他同步调用获取连接的过程中，因此不使用线程复用的Promise；
+     * Promise在IO线程中直接完成，握手不受回调线程池繁忙的影响。
+     * </p>
+     */
+    private static RESP syncExecute(AioQuickClient client, Command command) {
+        Promise promise = Promise.create();
+        try {
+            AioSession session = client.getSession();
+            if (session == null || session.isInvalid()) {
+                throw new RedisunException("session closed");
+            }
+            write(client, session, session.getAttachment(), command, promise, false);
+        } catch (Throwable e) {
+            promise.onFailure(e);
+        }
+        return promise.get();
+    }
+
+    /**
+     * 创建一条不参与多路复用的独占连接
+     * <p>
+     * 独占连接用于执行XREADGROUP BLOCK这类会阻塞连接的命令，
+     * 避免阻塞读取拖慢连接池中其他请求的响应。
+     * 连接建立后已完成握手，使用完毕后由调用方负责关闭。
+     * </p>
+     *
+     * @return 完成握手的独占连接
+     */
+    AioQuickClient connect() {
+        AioQuickClient client = null;
+        try {
+            // 确保连接池已完成初始化，SSL等插件会在首次建连时注册至消息处理器
+            client = multiplexClient.acquire();
+            multiplexClient.reuse(client);
+
+            client = new AioQuickClient(host, port, processor, processor);
+            client.setReadBufferSize(READ_BUFFER_SIZE).setWriteBuffer(WRITE_CHUNK_SIZE, WRITE_CHUNK_COUNT);
+            client.setBufferPagePool(bufferPagePool, bufferPagePool);
+            if (options.getConnectTimeout() > 0) {
+                client.connectTimeout(options.getConnectTimeout());
+            }
+            client.start(group);
+            handshake(client);
+            return client;
+        } catch (Throwable e) {
+            if (client != null) {
+                client.shutdownNow();
+            }
+            throw new RedisunException(e);
+        }
+    }
+
+    /**
+     * 异步执行Redis命令
+     *
+     * @param command 要执行的Redis命令
+     * @return 包含执行结果的CompletableFuture
+     */
+    CompletableFuture<RESP> execute(Command command) {
+        // 创建用于接收结果的CompletableFuture
+        ResponseFuture future = new ResponseFuture();
+        execute(command, future, false);
+        return future;
+    }
+
+    /**
+     * 异步执行Redis命令，结果通过回调通知
+     *
+     * @param command  要执行的Redis命令
+     * @param callback 响应回调
+     * @param asking   是否在命令前发送ASKING，用于集群ASK重定向
+     */
+    void execute(Command command, ResponseCallback callback, boolean asking) {
+        if (circuitBreaker != null) {
+            int permit = circuitBreaker.tryAcquire();
+            if (permit == CircuitBreaker.REJECTED) {
+                callback.onFailure(new CircuitBreakerOpenException(getAddress()));
+                return;
+            }
+            callback = circuitBreaker.wrap(callback, permit);
+        }
+        AioQuickClient client = currentClient;
+        AioSession session = null;
+        RedisSession redisSession = null;
+        try {
+            // 获取可用的客户端连接
+            if (client != null) {
+                session = client.getSession();
+                if (session != null && !session.isInvalid()) {
+                    redisSession = session.getAttachment();
+                    if (redisSession.isDraining()) {
+                        currentClient = null;
+                        client = null;
+                    } else if (redisSession.load() > MAX_LOAD) {
+                        client = null;
+                    }
+                } else {
+                    // session无效
+                    currentClient = null;
+                    client = null;
+                }
+            }
+            if (client == null) {
+                client = acquire();
+                session = client.getSession();
+                redisSession = session.getAttachment();
+                if (redisSession.load() <= MAX_LOAD) {
+                    currentClient = client;
+                    multiplexClient.reuse(client);
+                } else {
+                    // 连接负载过高，收到响应后再归还连接
+                    callback = new ReuseCallback(client, callback);
+                }
+            }
+
+            write(client, session, redisSession, command, callback, asking);
+        } catch (Throwable e) {
+            // 发生异常时完成future
+            if (client != null) {
+                multiplexClient.release(client);
+            }
+            if (callback instanceof ReuseCallback) {
+                callback = ((ReuseCallback) callback).callback;
+            }
+            callback.onFailure(e);
+        }
+    }
+
+    /**
+     * 在当前连接以外负载最低的连接池连接上发送对冲请求，不从连接池取出连接，也不新建连接
+     *
+     * @return 是否已发送，没有其他可用连接或熔断打开时返回false
+     */
+    boolean executeHedge(Command command, ResponseCallback callback) {
+        AioQuickClient current = currentClient;
+        AioQuickClient target = null;
+        int targetLoad = Integer.MAX_VALUE;
+        for (AioQuickClient client : pooledClients) {
+            AioSession session = client.getSession();
+            if (session == null || session.isInvalid()) {
+                pooledClients.remove(client);
+                continue;
+            }
+            if (client == current) {
+                continue;
+            }
+            RedisSession redisSession = session.getAttachment();
+            int load = redisSession.load();
+            if (!redisSession.isDraining() && load < targetLoad) {
+                target = client;
+                targetLoad = load;
+            }
+        }
+        if (target == null || targetLoad > MAX_LOAD) {
+            return false;
+        }
+        if (circuitBreaker != null) {
+            int permit = circuitBreaker.tryAcquire();
+            if (permit == CircuitBreaker.REJECTED) {
+                return false;
+            }
+            callback = circuitBreaker.wrap(callback, permit);
+        }
+        AioSession session = target.getSession();
+        try {
+            write(target, session, session.getAttachment(), command, callback, false);
+        } catch (Throwable e) {
+            callback.onFailure(e);
+        }
+        return true;
+    }
+
+    /**
+     * 从连接池取出连接，排空中的连接不再归还连接池，待其响应全部到达后关闭
+     */
+    private AioQuickClient acquire() throws Throwable {
+        while (true) {
+            AioQuickClient client;
+            try {
+                client = multiplexClient.acquire();
+            } catch (Throwable e) {
+                connectFailures.incrementAndGet();
+                throw e;
+            }
+            AioSession session = client.getSession();
+            RedisSession redisSession = session.getAttachment();
+            if (!redisSession.isDraining()) {
+                return client;
+            }
+            redisSession.onDrained(() -> multiplexClient.release(client));
+        }
+    }
+
+    /**
+     * 排空指定连接：不再向其分配新命令，已发送命令的响应全部到达后关闭连接
+     * <p>
+     * 连接池中的空闲连接在下次被取出时才会关闭。
+     * </p>
+     *
+     * @param sessionId 连接标识
+     * @return 是否找到该连接
+     */
+    boolean drain(String sessionId) {
+        for (AioSession session : processor.sessions()) {
+            if (!session.getSessionID().equals(sessionId)) {
+                continue;
+            }
+            RedisSession redisSession = session.getAttachment();
+            redisSession.setDraining();
+            AioQuickClient client = currentClient;
+            if (client != null && client.getSession() == session) {
+                currentClient = null;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 排空全部连接后关闭节点：不再向其分配新命令，已发送命令的响应全部到达后关闭
+     * <p>
+     * 用于节点下线时让在途命令正常完成，超过 timeout 毫秒仍未排空时直接关闭，未完成的命令以异常结束。
+     * </p>
+     *
+     * @param timeout 最长等待时间（毫秒）
+     */
+    void drainAndClose(long timeout) {
+        currentClient = null;
+        AtomicBoolean closed = new AtomicBoolean();
+        Runnable closeTask = () -> {
+            if (closed.compareAndSet(false, true)) {
+                close();
+            }
+        };
+        List<AioSession> sessions = new ArrayList<>(processor.sessions());
+        AtomicInteger pending = new AtomicInteger(sessions.size() + 1);
+        // 排空动作在IO线程中执行，关闭连接交由定时器线程完成
+        Runnable drained = () -> {
+            if (pending.decrementAndGet() == 0) {
+                HashedWheelTimer.DEFAULT_TIMER.schedule(closeTask, 0, TimeUnit.MILLISECONDS);
+            }
+        };
+        for (AioSession session : sessions) {
+            RedisSession redisSession = session.getAttachment();
+            redisSession.setDraining();
+            redisSession.onDrained(drained);
+        }
+        drained.run();
+        HashedWheelTimer.DEFAULT_TIMER.schedule(closeTask, timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 向空闲的连接池连接发送PING
+     * <p>
+     * 仅探测自上一轮检查以来没有发送过命令且没有待响应命令的连接，PING不会排在业务命令之后，也不会拖慢在途的流水线。
+     * 在定时器线程中执行，不等待响应，超时由定时器另行检查。
+     * </p>
+     */
+    private void keepalive() {
+        for (AioQuickClient client : pooledClients) {
+            AioSession session = client.getSession();
+            if (session == null || session.isInvalid()) {
+                pooledClients.remove(client);
+                continue;
+            }
+            RedisSession redisSession = session.getAttachment();
+            if (redisSession.isDraining() || !redisSession.isIdle()) {
+                continue;
+            }
+            KeepaliveCallback callback = new KeepaliveCallback(client, redisSession);
+            try {
+                write(client, session, redisSession, PING, callback, false);
+                redisSession.keepaliveSent();
+                HashedWheelTimer.DEFAULT_TIMER.schedule(callback, options.getKeepaliveTimeout(), TimeUnit.MILLISECONDS);
+            } catch (Throwable e) {
+                callback.onFailure(e);
+            }
+        }
+    }
+
+    /**
+     * 关闭保活PING超时的连接，已发送的命令随即以连接关闭失败，不再无限等待
+     */
+    private void evict(AioQuickClient client) {
+        keepaliveEvictions.incrementAndGet();
+        pooledClients.remove(client);
+        if (currentClient == client) {
+            currentClient = null;
+        }
+        client.shutdownNow();
+        // 在后台从连接池取出一次连接，清理已关闭的连接，没有可用连接时提前建立新连接
+        try {
+            REPLENISHER.execute(() -> {
+                try {
+                    multiplexClient.reuse(acquire());
+                } catch (Throwable e) {
+                    // 由后续请求重新建连
+                }
+            });
+        } catch (Throwable e) {
+            // 由后续请求重新建连
+        }
+    }
+
+    /**
+     * 调整连接池保持的最小连接数，不超过最大连接数，由连接池的定时巡检补足连接
+     */
+    void setMinConnections(int minConnections) {
+        if (minConnections < 0) {
+            throw new IllegalArgumentException("minConnections must not be negative");
+        }
+        this.minConnections = Math.min(minConnections, options.getMaxConnections());
+        multiplexClient.getMultiplexOptions().minConnections(this.minConnections);
+    }
+
+    /**
+     * 采集节点的连接统计
+     */
+    NodeStatistics statistics() {
+        AioQuickClient client = currentClient;
+        AioSession current = client == null ? null : client.getSession();
+        List<ConnectionStatistics> connections = new ArrayList<>();
+        for (AioSession session : processor.sessions()) {
+            RedisSession redisSession = session.getAttachment();
+            String localAddress = null;
+            try {
+                InetSocketAddress address = session.getLocalAddress();
+                localAddress = address.getHostString() + ":" + address.getPort();
+            } catch (IOException e) {
+                // 连接已关闭
+            }
+            connections.add(new ConnectionStatistics(session.getSessionID(), localAddress, redisSession.load(), redisSession.getBytesRead(),
+                    redisSession.getBytesWritten(), redisSession.getFlushCount(), session == current, redisSession.isDraining(), redisSession.getPingLatency()));
+        }
+        return new NodeStatistics(getAddress(), connections, current == null ? null : current.getSessionID(), processor.getReconnects(),
+                connectFailures.get(), minConnections, options.getMaxConnections(), keepaliveEvictions.get(),
+                circuitBreaker == null ? null : circuitBreaker.getState(), circuitBreaker == null ? 0 : circuitBreaker.getRejections());
+    }
+
+    /**
+     * 在指定连接上异步执行Redis命令
+     * <p>
+     * 用于连接握手以及独占连接上的命令执行，不经过连接池调度。
+     * </p>
+     *
+     * @param client  执行命令的连接
+     * @param command 要执行的Redis命令
+     * @return 包含执行结果的CompletableFuture
+     */
+    static CompletableFuture<RESP> execute(AioQuickClient client, Command command) {
+        ResponseFuture future = new ResponseFuture();
+        try {
+            AioSession session = client.getSession();
+            if (session == null || session.isInvalid()) {
+                throw new RedisunException("session closed");
+            }
+            write(client, session, session.getAttachment(), command, future, false);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 在独占连接上发送订阅命令
+     * <p>
+     * RESP3协议下订阅确认及后续消息均为推送消息，不登记响应回调，全部交由推送消息处理器处理。
+     * </p>
+     *
+     * @param client  独占连接
+     * @param command 订阅命令
+     * @param handler 推送消息处理器
+     */
+    static void subscribe(AioQuickClient client, Command command, Consumer<RESP> handler) throws IOException {
+        AioSession session = client.getSession();
+        if (session == null || session.isInvalid()) {
+            throw new RedisunException("session closed");
+        }
+        RedisSession redisSession = session.getAttachment();
+        redisSession.setPushHandler(handler);
+        ReentrantLock lock = redisSession.writeLock();
+        lock.lock();
+        try {
+            command.writeTo(session.writeBuffer());
+        } finally {
+            lock.unlock();
+        }
+        session.writeBuffer().flush();
+    }
+
+    private static void write(AioQuickClient client, AioSession session, RedisSession redisSession, Command command, ResponseCallback callback, boolean asking) throws IOException {
+        int offerCount = redisSession.incrOfferCount();
+        int pollCount = redisSession.getPollCount();
+        CommandEvent event = callback.event();
+        int bytes = 0;
+
+        // 以可重入锁代替synchronized，虚拟线程在此等待时不会占用载体线程
+        ReentrantLock lock = redisSession.writeLock();
+        lock.lock();
+        try {
+            if (asking) {
+                redisSession.offer(IGNORE);
+                ASKING.writeTo(session.writeBuffer());
+            }
+            // 设置当前命令的响应回调
+            redisSession.offer(callback);
+            if (event == null || !event.hasListeners()) {
+                command.writeTo(session.writeBuffer());
+            } else {
+                bytes = CountingWriteBuffer.write(command, session.writeBuffer());
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (event != null) {
+            event.written(session, bytes);
+        }
+
+        // 刷新缓冲区，发送数据
+        if (offerCount == redisSession.getOfferCount() && pollCount == redisSession.getPollCount()) {
+            session.writeBuffer().flush();
+        }
+    }
+
+    void close() {
+        if (keepaliveTask != null) {
+            keepaliveTask.cancel();
+        }
+        multiplexClient.close();
+    }
+
+    @Override
+    public String toString() {
+        return getAddress();
+    }
+
+    /**
+     * 保活PING的响应回调，同时作为超时检查任务
+     */
+    private final class KeepaliveCallback implements ResponseCallback, Runnable {
+        private final AioQuickClient client;
+        private final RedisSession redisSession;
+        private final long start = System.nanoTime();
+        private volatile boolean done;
+
+        KeepaliveCallback(AioQuickClient client, RedisSession redisSession) {
+            this.client = client;
+            this.redisSession = redisSession;
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            done = true;
+            long nanos = System.nanoTime() - start;
+            redisSession.setPingLatency(nanos);
+            updateLatency(nanos);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            done = true;
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return true;
+        }
+
+        @Override
+        public void run() {
+            if (!done) {
+                evict(client);
+            }
+        }
+    }
+
+    /**
+     * 收到响应后将高负载连接归还至连接池
+     */
+    private final class ReuseCallback implements ResponseCallback {
+        private final AioQuickClient client;
+        private final ResponseCallback callback;
+
+        ReuseCallback(AioQuickClient client, ResponseCallback callback) {
+            this.client = client;
+            this.callback = callback;
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            multiplexClient.reuse(client);
+            callback.onResponse(resp);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            multiplexClient.reuse(client);
+            callback.onFailure(throwable);
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return callback.isLightweight();
+        }
+
+        @Override
+        public CommandEvent event() {
+            return callback.event();
+        }
+    }
+}
@@ -2,15 +2,20 @@ package tech.smartboot.redisun;
 
 import tech.smartboot.redisun.resp.RESP;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Redis会话管理类
  * <p>
  * 该类用于管理Redis客户端与服务器之间的会话状态，包括：
  * 1. 正在解码的响应对象跟踪
- * 2. 异步操作结果的Future管理
+ * 2. 已发送命令的响应回调管理
  * </p>
  * <p>
  * 每个与Redis服务器的连接都会关联一个RedisSession实例，
@@ -20,10 +25,14 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  * @author 三刀
  * @version v1.0 10/21/25
  * @see RESP Redis序列化协议响应对象
- * @see CompletableFuture 异步计算结果容器
+ * @see ResponseCallback 命令响应回调
  */
 final class RedisSession {
-    private final ConcurrentLinkedQueue<CompletableFuture<RESP>> pipeline = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<ResponseCallback> pipeline = new ConcurrentLinkedQueue<>();
+    /**
+     * 保证命令写入顺序与响应回调入队顺序一致
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
     /**
      * 正在解码的响应对象
      * <p>
@@ -34,9 +43,80 @@ final class RedisSession {
      */
     private RESP decodingResponse;
 
+    /**
+     * RESP3推送消息的处理器，为null时丢弃推送消息
+     */
+    private Consumer<RESP> pushHandler;
+
+    /**
+     * 会话关闭时的通知，用于不登记响应回调的订阅连接
+     */
+    private volatile Runnable closeHandler;
+
+    /**
+     * 当前响应已解码的字节数，响应处理时清零
+     */
+    private int decodedBytes;
+
+    /**
+     * 当前响应跨越多次读取时的JFR等待事件
+     */
+    private Object decodeStall;
+    /**
+     * 上次网络写出时的命令提交计数
+     */
+    private int flushedOfferCount;
+    /**
+     * 上次网络写出时的JFR记录周期
+     */
+    private int flushEpoch = -1;
+
+    /**
+     * 连接读取及写出的字节数、写出次数，开启JMX时由IO线程累加
+     */
+    private volatile long bytesRead;
+    private volatile long bytesWritten;
+    private volatile long flushCount;
+
+    /**
+     * 连接是否正在排空，排空中的连接不再分配新命令
+     */
+    private volatile boolean draining;
+    /**
+     * 排空完毕时执行的动作，每个动作仅执行一次
+     */
+    private final AtomicReference<Runnable> drainedHandler = new AtomicReference<>();
+
+    /**
+     * 上一轮保活检查时的命令提交计数，由保活任务串行访问
+     */
+    private int keepaliveOfferCount = -1;
+    /**
+     * 最近一次保活PING的往返延迟（纳秒），0表示尚未探测
+     */
+    private volatile long pingLatency;
+
     private int offerCount = 0;
     private int pollCount = 0;
 
+    /**
+     * 当前读事件中待完成的回调，会话可能在其他线程中关闭，访问时需加锁
+     */
+    private ResponseCallback[] deferredCallbacks = new ResponseCallback[16];
+    /**
+     * 与 deferredCallbacks 一一对应的结果，为 RESP 或 Throwable
+     */
+    private Object[] deferredResults = new Object[16];
+    private int deferredCount;
+    /**
+     * 已提交待执行的回调批次，同一连接的批次按提交顺序依次执行
+     */
+    private final ConcurrentLinkedQueue<Runnable> deferredBatches = new ConcurrentLinkedQueue<>();
+    /**
+     * 是否已有任务在线程池中执行回调批次
+     */
+    private final AtomicBoolean deferredRunning = new AtomicBoolean();
+
     public int incrOfferCount() {
         return ++offerCount;
     }
@@ -63,19 +143,236 @@ final class RedisSession {
         this.decodingResponse = decodingResponse;
     }
 
-    public CompletableFuture<RESP> poll() {
+    void addDecodedBytes(int bytes) {
+        decodedBytes += bytes;
+    }
+
+    int getDecodedBytes() {
+        return decodedBytes;
+    }
+
+    Object getDecodeStall() {
+        return decodeStall;
+    }
+
+    void setDecodeStall(Object decodeStall) {
+        this.decodeStall = decodeStall;
+    }
+
+    /**
+     * 获取自上次网络写出以来提交的命令数
+     *
+     * @param epoch 网络写出事件的记录周期
+     * @return 记录周期变化后的首次写出无法确定命令数，返回-1
+     */
+    int takeFlushedCommands(int epoch) {
+        int count = offerCount;
+        int commands = epoch == flushEpoch ? count - flushedOfferCount : -1;
+        flushEpoch = epoch;
+        flushedOfferCount = count;
+        return commands;
+    }
+
+    /**
+     * 获取当前响应的字节数并清零
+     */
+    int takeDecodedBytes() {
+        int bytes = decodedBytes;
+        decodedBytes = 0;
+        return bytes;
+    }
+
+    ReentrantLock writeLock() {
+        return writeLock;
+    }
+
+    Consumer<RESP> getPushHandler() {
+        return pushHandler;
+    }
+
+    /**
+     * 设置推送消息的处理器，用于订阅连接
+     *
+     * @param pushHandler 推送消息处理器
+     */
+    void setPushHandler(Consumer<RESP> pushHandler) {
+        this.pushHandler = pushHandler;
+    }
+
+    Runnable getCloseHandler() {
+        return closeHandler;
+    }
+
+    void setCloseHandler(Runnable closeHandler) {
+        this.closeHandler = closeHandler;
+    }
+
+    /**
+     * 累加读取的字节数，仅在该连接的读线程中调用
+     */
+    void addBytesRead(int bytes) {
+        bytesRead += bytes;
+    }
+
+    /**
+     * 累加一次写出的字节数，同一连接的写出完成通知是串行的
+     */
+    void addBytesWritten(int bytes) {
+        bytesWritten += bytes;
+        flushCount++;
+    }
+
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    long getFlushCount() {
+        return flushCount;
+    }
+
+    boolean isDraining() {
+        return draining;
+    }
+
+    void setDraining() {
+        this.draining = true;
+    }
+
+    /**
+     * 添加排空完毕时执行的动作，当前已无待响应命令时立即执行
+     * <p>
+     * 连接单独排空与所属节点整体排空可能同时等待同一连接，已登记的动作依次执行。
+     * </p>
+     */
+    void onDrained(Runnable handler) {
+        drainedHandler.getAndUpdate(prev -> prev == null ? handler : () -> {
+            prev.run();
+            handler.run();
+        });
+        checkDrained();
+    }
+
+    /**
+     * 待响应命令全部完成时执行排空动作
+     */
+    void checkDrained() {
+        if (load() == 0) {
+            Runnable handler = drainedHandler.getAndSet(null);
+            if (handler != null) {
+                handler.run();
+            }
+        }
+    }
+
+    /**
+     * 自上一轮保活检查以来是否没有发送过命令，且没有待响应的命令
+     */
+    boolean isIdle() {
+        int count = offerCount;
+        boolean idle = count == keepaliveOfferCount && load() == 0;
+        keepaliveOfferCount = count;
+        return idle;
+    }
+
+    /**
+     * 记录保活PING已发送，PING本身不计为连接的活动
+     */
+    void keepaliveSent() {
+        keepaliveOfferCount = offerCount;
+    }
+
+    long getPingLatency() {
+        return pingLatency;
+    }
+
+    void setPingLatency(long pingLatency) {
+        this.pingLatency = pingLatency;
+    }
+
+    public ResponseCallback poll() {
         pollCount++;
         return pipeline.poll();
     }
 
-    public void offer(CompletableFuture<RESP> future) {
-        pipeline.offer(future);
+    public void offer(ResponseCallback callback) {
+        pipeline.offer(callback);
     }
 
     public int getPollCount() {
         return pollCount;
     }
 
+    /**
+     * 暂存待完成的回调，在本次读事件结束时统一提交
+     *
+     * @param result 响应结果或异常
+     */
+    synchronized void defer(ResponseCallback callback, Object result) {
+        if (deferredCount == deferredCallbacks.length) {
+            deferredCallbacks = Arrays.copyOf(deferredCallbacks, deferredCount << 1);
+            deferredResults = Arrays.copyOf(deferredResults, deferredCount << 1);
+        }
+        deferredCallbacks[deferredCount] = callback;
+        deferredResults[deferredCount++] = result;
+    }
+
+    /**
+     * 将暂存的回调作为一个批次提交给线程池，线程池拒绝时在当前线程执行
+     * <p>
+     * 同一连接的批次串行执行，保证回调的完成顺序与响应顺序一致。
+     * </p>
+     */
+    void flushDeferred(Executor executor) {
+        synchronized (this) {
+            if (deferredCount == 0) {
+                return;
+            }
+            ResponseCallback[] callbacks = Arrays.copyOf(deferredCallbacks, deferredCount);
+            Object[] results = Arrays.copyOf(deferredResults, deferredCount);
+            Arrays.fill(deferredCallbacks, 0, deferredCount, null);
+            Arrays.fill(deferredResults, 0, deferredCount, null);
+            deferredCount = 0;
+            deferredBatches.offer(() -> {
+                for (int i = 0; i < callbacks.length; i++) {
+                    try {
+                        if (results[i] instanceof Throwable) {
+                            callbacks[i].onFailure((Throwable) results[i]);
+                        } else {
+                            callbacks[i].onResponse((RESP) results[i]);
+                        }
+                    } catch (Throwable e) {
+                        // 单个回调异常不影响同批次的其他回调
+                    }
+                }
+            });
+        }
+        if (deferredRunning.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::runDeferred);
+            } catch (Throwable e) {
+                runDeferred();
+            }
+        }
+    }
+
+    /**
+     * 依次执行已提交的回调批次，直至队列为空
+     */
+    private void runDeferred() {
+        do {
+            Runnable batch;
+            while ((batch = deferredBatches.poll()) != null) {
+                batch.run();
+            }
+            deferredRunning.set(false);
+            // 释放执行权后可能有新批次入队而未能提交任务
+        } while (!deferredBatches.isEmpty() && deferredRunning.compareAndSet(false, true));
+    }
+
     int load() {
         int size = offerCount - pollCount;
 //        System.out.println("load: " + size);
@@ -1,10 +1,12 @@
 package tech.smartboot.redisun;
 
+import org.reactivestreams.Publisher;
 import org.smartboot.socket.buffer.BufferPagePool;
-import org.smartboot.socket.extension.multiplex.MultiplexClient;
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
 import org.smartboot.socket.transport.AioQuickClient;
-import org.smartboot.socket.transport.AioSession;
 import tech.smartboot.redisun.cmd.AppendCommand;
+import tech.smartboot.redisun.cmd.ChannelMessage;
 import tech.smartboot.redisun.cmd.DBSizeCommand;
 import tech.smartboot.redisun.cmd.DecrByCommand;
 import tech.smartboot.redisun.cmd.DecrCommand;
@@ -16,7 +18,6 @@ import tech.smartboot.redisun.cmd.FlushDbCommand;
 import tech.smartboot.redisun.cmd.GetCommand;
 import tech.smartboot.redisun.cmd.HGetCommand;
 import tech.smartboot.redisun.cmd.HSetCommand;
-import tech.smartboot.redisun.cmd.HelloCommand;
 import tech.smartboot.redisun.cmd.IncrByCommand;
 import tech.smartboot.redisun.cmd.IncrCommand;
 import tech.smartboot.redisun.cmd.LPopCommand;
@@ -25,13 +26,22 @@ import tech.smartboot.redisun.cmd.MGetCommand;
 import tech.smartboot.redisun.cmd.MSetCommand;
 import tech.smartboot.redisun.cmd.RPopCommand;
 import tech.smartboot.redisun.cmd.RPushCommand;
+import tech.smartboot.redisun.cmd.RawCommand;
 import tech.smartboot.redisun.cmd.SAddCommand;
-import tech.smartboot.redisun.cmd.SelectCommand;
+import tech.smartboot.redisun.cmd.ScanCommand;
 import tech.smartboot.redisun.cmd.SetCommand;
+import tech.smartboot.redisun.cmd.StreamEntry;
 import tech.smartboot.redisun.cmd.StrlenCommand;
 import tech.smartboot.redisun.cmd.TtlCommand;
 import tech.smartboot.redisun.cmd.TypeCommand;
+import tech.smartboot.redisun.cmd.XAckCommand;
+import tech.smartboot.redisun.cmd.XAddCommand;
+import tech.smartboot.redisun.cmd.XAutoClaimCommand;
+import tech.smartboot.redisun.cmd.XGroupCreateCommand;
+import tech.smartboot.redisun.cmd.XPendingCommand;
+import tech.smartboot.redisun.cmd.XReadGroupCommand;
 import tech.smartboot.redisun.cmd.ZAddCommand;
+import tech.smartboot.redisun.cmd.ZCardCommand;
 import tech.smartboot.redisun.cmd.ZRangeCommand;
 import tech.smartboot.redisun.cmd.ZRemCommand;
 import tech.smartboot.redisun.cmd.ZScoreCommand;
@@ -44,14 +54,29 @@ import tech.smartboot.redisun.resp.RESP;
 import tech.smartboot.redisun.resp.SimpleErrors;
 import tech.smartboot.redisun.resp.SimpleStrings;
 
+import javax.management.ObjectName;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
 import java.nio.channels.AsynchronousChannelGroup;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -72,13 +97,72 @@ public final class Redisun {
      */
     private final AsynchronousChannelGroup group;
 
+    private final BufferPagePool bufferPagePool;
+
+    /**
+     * 命令路由，单机模式下固定发往唯一节点，集群模式下按key的槽位选择节点
+     */
+    private final Router router;
+
+    /**
+     * 当前客户端创建的Stream消费者，关闭客户端时一并关闭
+     */
+    private final Set<StreamConsumer> streamConsumers;
+
+    /**
+     * 只读命令的节点选择策略
+     */
+    private final ReadPolicy readPolicy;
+
+    /**
+     * 通过 {@link #readPolicy(ReadPolicy)} 创建的视图所属的客户端，非视图时为null
+     */
+    private final Redisun parent;
+
+    /**
+     * 客户端自行创建的虚拟线程回调执行器，关闭客户端时一并关闭
+     */
+    private final ExecutorService virtualThreadExecutor;
+
+    /**
+     * 命令延迟统计，未开启时为null
+     */
+    private final LatencyRecorder latencyRecorder;
+
+    /**
+     * 命令生命周期监听器，未注册监听器且未开启慢命令日志时为null
+     */
+    private final CommandListener[] commandListeners;
+
+    /**
+     * 慢命令日志，未开启时为null
+     */
+    private final SlowLog slowLog;
+
+    /**
+     * 热点key及大key采样，未开启时为null
+     */
+    private final KeySampler keySampler;
+
+    /**
+     * 定期输出热点key及大key报告的任务，未设置报告接收方时为null
+     */
+    private final TimerTask keyReportTask;
+
+    /**
+     * 注册至平台MBeanServer的对象名称，未开启JMX时为null
+     */
+    private final ObjectName objectName;
+
     /**
-     * 多路复用客户端，用于管理与Redis服务器的连接
+     * 流量捕获插件，未开启时为null
      */
-    private final MultiplexClient<RESP> multiplexClient;
+    private final TrafficCapture trafficCapture;
 
-    private final BufferPagePool bufferPagePool = new BufferPagePool(Runtime.getRuntime().availableProcessors(), true);
-    private volatile AioQuickClient currentClient;
+    /**
+     * 只读命令的对冲执行，未开启时为null
+     */
+    private final Hedger hedger;
 
     /**
      * 创建Redisun客户端实例的工厂方法
@@ -87,54 +171,170 @@ public final class Redisun {
      * @return 配置完成的Redisun客户端实例
      */
     public static Redisun create(Consumer<RedisunOptions> opts) {
-        Redisun redisun = new Redisun();
-        opts.accept(redisun.options);
-        return redisun;
+        RedisunOptions options = new RedisunOptions();
+        opts.accept(options);
+        return new Redisun(options);
     }
 
     /**
      * 私有构造函数，初始化Redisun客户端
-     * 设置消息处理器和异步通道组
-     */
-    private Redisun() {
-        // 创建Redis消息处理器
-        RedisMessageProcessor processor = new RedisMessageProcessor();
-        // 初始化多路复用选项，设置编解码器
-        multiplexClient = new MultiplexClient<RESP>(processor, processor) {
-
-            /**
-             * 当创建新客户端连接时的回调方法
-             * 用于执行HELLO命令进行身份验证和协议协商
-             *
-             * @param client 新创建的AioQuickClient实例
-             */
-            @Override
-            protected void onNew(AioQuickClient client) {
-                HelloCommand helloCommand = new HelloCommand();
-                helloCommand.setUsername(options.getUsername());
-                helloCommand.setPassword(options.getPassword());
-                syncExecute(helloCommand);
-
-                // 如果配置的数据库不为0，则自动切换数据库
-                if (options.getDatabase() != 0) {
-                    syncExecute(new SelectCommand(options.getDatabase()));
-                }
+     * 创建异步通道组，并根据配置选择单机、集群、哨兵或分片路由
+     */
+    private Redisun(RedisunOptions options) {
+        this.options = options;
+        this.bufferPagePool = new BufferPagePool(Runtime.getRuntime().availableProcessors(), true);
+        this.streamConsumers = ConcurrentHashMap.newKeySet();
+        this.readPolicy = options.getReadPolicy();
+        this.parent = null;
+        this.latencyRecorder = options.isLatencyMetrics() ? new LatencyRecorder() : null;
+        this.keySampler = options.getKeySampleRate() > 0 ? new KeySampler(options.getKeySampleRate()) : null;
+        this.slowLog = options.getSlowLogThreshold() < 0 ? null : new SlowLog(options.getSlowLogThreshold(), options.getSlowLogCapacity());
+        this.commandListeners = options.getCommandListeners().isEmpty() ? null : options.getCommandListeners().toArray(new CommandListener[0]);
+        if (options.isVirtualThreadCallbacks() && options.getCallbackExecutor() == null) {
+            virtualThreadExecutor = VirtualThreads.newExecutor("redisun-callback-");
+            if (virtualThreadExecutor == null) {
+                throw new RedisunException("virtual thread callbacks require JDK 21 or later");
             }
-        };
-        multiplexClient.getMultiplexOptions().setBufferPool(bufferPagePool, bufferPagePool);
-        multiplexClient.getMultiplexOptions().setReadBuffer(4096);
-        multiplexClient.getMultiplexOptions().setWriteBuffer(4096, 8);
-        multiplexClient.getMultiplexOptions().minConnections(4);
-        multiplexClient.getMultiplexOptions().maxConnections(Runtime.getRuntime().availableProcessors());
-        options = new RedisunOptions(multiplexClient.getMultiplexOptions());
+            options.callbackExecutor(virtualThreadExecutor);
+        } else {
+            virtualThreadExecutor = null;
+        }
+        try {
+            this.trafficCapture = options.getCapture() == null ? null : new TrafficCapture(options.getCapture());
+        } catch (RuntimeException e) {
+            shutdownVirtualThreadExecutor();
+            throw e;
+        }
+        options.trafficCapture(trafficCapture);
         try {
             // 创建固定大小的线程池用于异步IO操作
             group = AsynchronousChannelGroup.withFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> new Thread(r, "redisun-thread"));
-            // 将线程池设置到多路复用选项中
-            multiplexClient.getMultiplexOptions().group(group);
         } catch (IOException e) {
+            shutdownVirtualThreadExecutor();
+            closeTrafficCapture();
             throw new RedisunException(e);
         }
+        try {
+            if (options.isCluster()) {
+                router = new ClusterRouter(options, group, bufferPagePool);
+            } else if (options.isSentinel()) {
+                router = new SentinelRouter(options, group, bufferPagePool);
+            } else if (options.isSharded()) {
+                router = new ShardedRouter(options, group, bufferPagePool);
+            } else {
+                InetSocketAddress address = options.getAddresses().get(0);
+                router = new StandaloneRouter(options, address.getHostString(), address.getPort(), group, bufferPagePool);
+            }
+        } catch (RuntimeException e) {
+            group.shutdown();
+            bufferPagePool.release();
+            shutdownVirtualThreadExecutor();
+            closeTrafficCapture();
+            throw e;
+        }
+        hedger = options.getHedging() == null ? null : new Hedger(router, options.getHedging());
+        if (options.getJmxName() != null) {
+            try {
+                objectName = new ObjectName("tech.smartboot.redisun:type=Redisun,name=" + ObjectName.quote(options.getJmxName()));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(new RedisunManagement(options.getJmxName(), options, router, slowLog, hedger), objectName);
+            } catch (Exception e) {
+                if (hedger != null) {
+                    hedger.close();
+                }
+                router.close();
+                group.shutdown();
+                bufferPagePool.release();
+                shutdownVirtualThreadExecutor();
+                closeTrafficCapture();
+                throw new RedisunException(e);
+            }
+        } else {
+            objectName = null;
+        }
+        if (keySampler != null && options.getKeyReporter() != null) {
+            Consumer<KeyReport> reporter = options.getKeyReporter();
+            keyReportTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(() -> {
+                try {
+                    reporter.accept(keySampler.report(true));
+                } catch (Throwable e) {
+                    // 报告接收方的异常不影响后续报告
+                }
+            }, options.getKeyReportInterval(), TimeUnit.MILLISECONDS);
+        } else {
+            keyReportTask = null;
+        }
+    }
+
+    private void shutdownVirtualThreadExecutor() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    private void closeTrafficCapture() {
+        if (trafficCapture != null) {
+            trafficCapture.close();
+        }
+    }
+
+    /**
+     * 创建共享连接资源的客户端视图
+     */
+    private Redisun(Redisun parent, ReadPolicy readPolicy) {
+        this.options = parent.options;
+        this.group = parent.group;
+        this.bufferPagePool = parent.bufferPagePool;
+        this.router = parent.router;
+        this.streamConsumers = parent.streamConsumers;
+        this.readPolicy = readPolicy;
+        this.parent = parent;
+        this.virtualThreadExecutor = null;
+        this.latencyRecorder = parent.latencyRecorder;
+        this.commandListeners = parent.commandListeners;
+        this.slowLog = parent.slowLog;
+        this.hedger = parent.hedger;
+        this.keySampler = parent.keySampler;
+        this.keyReportTask = null;
+        this.objectName = null;
+        this.trafficCapture = null;
+    }
+
+    /**
+     * 获取使用指定读取策略的客户端视图
+     * <p>
+     * 视图与当前客户端共享连接及其他资源，仅只读命令的节点选择策略不同，适用于按调用选择读取策略的场景。
+     * 视图无需关闭，调用视图的 {@link #close()} 不会产生任何效果。
+     * </p>
+     *
+     * @param readPolicy 只读命令的节点选择策略
+     * @return 客户端视图
+     */
+    public Redisun readPolicy(ReadPolicy readPolicy) {
+        return new Redisun(parent == null ? this : parent, readPolicy);
+    }
+
+    /**
+     * 获取key所属的节点
+     *
+     * @param key 键，为null时返回任一节点
+     */
+    RedisNode route(byte[] key) {
+        return router.route(key);
+    }
+
+    /**
+     * 在key所属的节点上创建一条不参与多路复用的独占连接
+     * <p>
+     * 独占连接用于执行XREADGROUP BLOCK这类会阻塞连接的命令，
+     * 避免阻塞读取拖慢连接池中其他请求的响应。
+     * 连接建立后已完成握手，使用完毕后由调用方负责关闭。
+     * </p>
+     *
+     * @param key 键，决定连接所属的节点
+     * @return 完成握手的独占连接
+     */
+    AioQuickClient connect(byte[] key) {
+        return router.route(key).connect();
     }
 
     /**
@@ -146,11 +346,7 @@ public final class Redisun {
      * @return 被成功添加的新成员数量
      */
     public int zadd(String key, double score, String member) {
-        try {
-            return asyncZadd(key, score, member).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return INTEGER_DECODER.decode(syncExecute(new ZAddCommand(key, score, member)));
     }
 
     /**
@@ -162,12 +358,7 @@ public final class Redisun {
      * @return 包含被成功添加的新成员数量的CompletableFuture
      */
     public CompletableFuture<Integer> asyncZadd(String key, double score, String member) {
-        return execute(new ZAddCommand(key, score, member)).thenApply(resp -> {
-            if (resp instanceof Integers) {
-                return ((Integers) resp).getValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+        return submit(new ZAddCommand(key, score, member), INTEGER_DECODER);
     }
 
     /**
@@ -178,11 +369,7 @@ public final class Redisun {
      * @return 被成功移除的成员数量
      */
     public long zrem(String key, String... members) {
-        try {
-            return asyncZrem(key, members).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return LONG_DECODER.decode(syncExecute(new ZRemCommand(key, members)));
     }
 
     /**
@@ -193,12 +380,7 @@ public final class Redisun {
      * @return 被成功移除的成员数量
      */
     public CompletableFuture<Long> asyncZrem(String key, String... members) {
-        return execute(new ZRemCommand(key, members)).thenApply(resp -> {
-            if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+        return submit(new ZRemCommand(key, members), LONG_DECODER);
     }
 
     /**
@@ -210,19 +392,11 @@ public final class Redisun {
      * @return 成员列表
      */
     public List<String> zrange(String key, long start, long stop) {
-        try {
-            return asyncZrange(key, start, stop).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return toMembers(ZRANGE_DECODER.decode(syncExecute(zrangeCommand(key, start, stop, null))));
     }
 
     public List<ZRangeCommand.Tuple> zrange(String key, long start, long stop, Consumer<ZRangeCommand> options) {
-        try {
-            return asyncZrange(key, start, stop, options).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return ZRANGE_DECODER.decode(syncExecute(zrangeCommand(key, start, stop, options)));
     }
 
     /**
@@ -234,7 +408,7 @@ public final class Redisun {
      * @return 成员列表
      */
     public CompletableFuture<List<String>> asyncZrange(String key, long start, long stop) {
-        return asyncZrange(key, start, stop, null).thenApply(bulkStrings -> bulkStrings.stream().map(ZRangeCommand.Tuple::getMember).collect(Collectors.toList()));
+        return asyncZrange(key, start, stop, null).thenApply(Redisun::toMembers);
     }
 
 
@@ -248,30 +422,40 @@ public final class Redisun {
      * @return 成员列表
      */
     public CompletableFuture<List<ZRangeCommand.Tuple>> asyncZrange(String key, long start, long stop, Consumer<ZRangeCommand> options) {
+        return submit(zrangeCommand(key, start, stop, options), ZRANGE_DECODER);
+    }
+
+    private static ZRangeCommand zrangeCommand(String key, long start, long stop, Consumer<ZRangeCommand> options) {
         ZRangeCommand cmd = new ZRangeCommand(key, String.valueOf(start), String.valueOf(stop));
         if (options != null) {
             options.accept(cmd);
         }
-        return execute(cmd).thenApply(resp -> {
-            if (resp instanceof tech.smartboot.redisun.resp.Arrays) {
-                List<RESP> resps = ((tech.smartboot.redisun.resp.Arrays) resp).getValue();
-                List<ZRangeCommand.Tuple> result = new ArrayList<>(resps.size());
-                for (RESP r : resps) {
-                    ZRangeCommand.Tuple tuple = new ZRangeCommand.Tuple();
-                    if (r instanceof Arrays) {
-                        Arrays arrays = (Arrays) r;
-                        tuple.setMember(((BulkStrings) arrays.getValue().get(0)).getValue());
-                        tuple.setScore(((Doubles) arrays.getValue().get(1)).getValue());
-                    } else if (r instanceof BulkStrings) {
-                        tuple.setMember(((BulkStrings) r).getValue());
-                    }
-                    result.add(tuple);
+        return cmd;
+    }
+
+    private static List<String> toMembers(List<ZRangeCommand.Tuple> tuples) {
+        return tuples.stream().map(ZRangeCommand.Tuple::getMember).collect(Collectors.toList());
+    }
+
+    private static final ReplyDecoder<List<ZRangeCommand.Tuple>> ZRANGE_DECODER = resp -> {
+        if (resp instanceof tech.smartboot.redisun.resp.Arrays) {
+            List<RESP> resps = ((tech.smartboot.redisun.resp.Arrays) resp).getValue();
+            List<ZRangeCommand.Tuple> result = new ArrayList<>(resps.size());
+            for (RESP r : resps) {
+                ZRangeCommand.Tuple tuple = new ZRangeCommand.Tuple();
+                if (r instanceof Arrays) {
+                    Arrays arrays = (Arrays) r;
+                    tuple.setMember(((BulkStrings) arrays.getValue().get(0)).getValue());
+                    tuple.setScore(((Doubles) arrays.getValue().get(1)).getValue());
+                } else if (r instanceof BulkStrings) {
+                    tuple.setMember(((BulkStrings) r).getValue());
                 }
-                return result;
+                result.add(tuple);
             }
-            throw new RedisunException("invalid response:" + resp);
-        });
-    }
+            return result;
+        }
+        throw new RedisunException("invalid response:" + resp);
+    };
 
     /**
      * 返回有序集合中指定成员的分数
@@ -281,30 +465,17 @@ public final class Redisun {
      * @return 成员的分数，如果成员不存在则返回null
      */
     public Double zscore(String key, String member) {
-        try {
-            return asyncZscore(key, member).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return ZSCORE_DECODER.decode(syncExecute(new ZScoreCommand(key, member)));
     }
 
-    /**
-     * 返回有序集合中指定成员的分数（异步版本）
-     *
-     * @param key    有序集合的键
-     * @param member 成员
-     * @return 成员的分数，如果成员不存在则返回null
-     */
-    private CompletableFuture<Double> asyncZscore(String key, String member) {
-        return execute(new ZScoreCommand(key, member)).thenApply(resp -> {
-            if (resp instanceof BulkStrings) {
-                return Double.valueOf(((BulkStrings) resp).getValue());
-            } else if (resp instanceof Nulls) {
-                return null;
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
-    }
+    private static final ReplyDecoder<Double> ZSCORE_DECODER = resp -> {
+        if (resp instanceof BulkStrings) {
+            return Double.valueOf(((BulkStrings) resp).getValue());
+        } else if (resp instanceof Nulls) {
+            return null;
+        }
+        throw new RedisunException("invalid response:" + resp);
+    };
 
     /**
      * 获取指定键的值
@@ -313,11 +484,7 @@ public final class Redisun {
      * @return 键对应的值，如果键不存在则返回null
      */
     public String get(String key) {
-        try {
-            return asyncGet(key).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return BULK_STRING_DECODER.decode(syncExecute(new GetCommand(key)));
     }
 
     /**
@@ -327,16 +494,32 @@ public final class Redisun {
      * @return 键对应的值，如果键不存在则返回null
      */
     public CompletableFuture<String> asyncGet(String key) {
-        return execute(new GetCommand(key)).thenApply(r -> {
-            if (r instanceof BulkStrings) {
-                return ((BulkStrings) r).getValue();
-            } else if (r instanceof Nulls) {
-                return null;
-            }
-            throw new RedisunException("invalid response:" + r);
-        });
+        return submit(new GetCommand(key), BULK_STRING_DECODER);
     }
 
+    private static final ReplyDecoder<String> BULK_STRING_DECODER = r -> {
+        if (r instanceof BulkStrings) {
+            return ((BulkStrings) r).getValue();
+        } else if (r instanceof Nulls) {
+            return null;
+        }
+        throw new RedisunException("invalid response:" + r);
+    };
+
+    private static final ReplyDecoder<Integer> INTEGER_DECODER = r -> {
+        if (r instanceof Integers) {
+            return ((Integers) r).getValue();
+        }
+        throw new RedisunException("invalid response:" + r);
+    };
+
+    private static final ReplyDecoder<Long> LONG_DECODER = r -> {
+        if (r instanceof Integers) {
+            return ((Integers) r).getLong();
+        }
+        throw new RedisunException("invalid response:" + r);
+    };
+
     /**
      * 设置指定键的值
      *
@@ -357,11 +540,11 @@ public final class Redisun {
      * @return 操作是否成功
      */
     public boolean set(String key, String value, Consumer<SetCommand> options) {
-        try {
-            return asyncSet(key, value, options).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
+        SetCommand cmd = new SetCommand(key, value);
+        if (options != null) {
+            options.accept(cmd);
         }
+        return SET_CMD_FUTURE.decode(syncExecute(cmd));
     }
 
     /**
@@ -388,10 +571,10 @@ public final class Redisun {
         if (options != null) {
             options.accept(cmd);
         }
-        return execute(cmd).thenApply(SET_CMD_FUTURE);
+        return submit(cmd, SET_CMD_FUTURE);
     }
 
-    private static final Function<RESP, Boolean> SET_CMD_FUTURE = resp -> {
+    private static final ReplyDecoder<Boolean> SET_CMD_FUTURE = resp -> {
         if (resp == SimpleStrings.OK_RESP) {
             return true;
         } else if (resp instanceof SimpleStrings) {
@@ -410,11 +593,7 @@ public final class Redisun {
      * @return 包含所有键值的列表，不存在的键返回null
      */
     public List<String> mget(List<String> keys) {
-        try {
-            return asyncMget(keys).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return syncMultiKey(asyncMget(keys));
     }
 
     /**
@@ -424,22 +603,26 @@ public final class Redisun {
      * @return 包含所有键值的列表，不存在的键返回null
      */
     public CompletableFuture<List<String>> asyncMget(List<String> keys) {
-        return execute(new MGetCommand(keys)).thenApply(resp -> {
-            if (resp instanceof tech.smartboot.redisun.resp.Arrays) {
-                List<RESP> resps = ((tech.smartboot.redisun.resp.Arrays) resp).getValue();
-                List<String> result = new ArrayList<>(resps.size());
-                for (RESP r : resps) {
-                    if (r instanceof Nulls) {
-                        result.add(null);
-                    } else if (r instanceof BulkStrings) {
-                        result.add(((BulkStrings) r).getValue());
-                    } else {
-                        throw new RedisunException("invalid response:" + r);
-                    }
+        String[] values = new String[keys.size()];
+        return fanOut(keys, batch -> new MGetCommand(KeyBatcher.select(keys, batch)), (batch, resp) -> {
+            if (!(resp instanceof tech.smartboot.redisun.resp.Arrays)) {
+                throw new RedisunException("invalid response:" + resp);
+            }
+            List<RESP> resps = ((tech.smartboot.redisun.resp.Arrays) resp).getValue();
+            for (int i = 0; i < batch.length; i++) {
+                RESP r = resps.get(i);
+                if (r instanceof BulkStrings) {
+                    values[batch[i]] = ((BulkStrings) r).getValue();
+                } else if (!(r instanceof Nulls)) {
+                    throw new RedisunException("invalid response:" + r);
                 }
-                return result;
             }
-            throw new RedisunException("invalid response:" + resp);
+        }).thenApply(failures -> {
+            List<String> result = new ArrayList<>(java.util.Arrays.asList(values));
+            if (!failures.isEmpty()) {
+                throw new MultiKeyException(failures, result);
+            }
+            return result;
         });
     }
 
@@ -449,11 +632,14 @@ public final class Redisun {
      * @return 当前数据库中键的数量
      */
     public long dbsize() {
-        RESP r = syncExecute(new DBSizeCommand());
-        if (r instanceof Integers) {
-            return ((Integers) r).getValue();
+        long size = 0;
+        for (RESP r : broadcast(new DBSizeCommand())) {
+            if (!(r instanceof Integers)) {
+                throw new RedisunException("invalid response:" + r);
+            }
+            size += ((Integers) r).getLong();
         }
-        throw new RedisunException("invalid response:" + r);
+        return size;
     }
 
     /**
@@ -473,13 +659,18 @@ public final class Redisun {
      * @return 被成功删除的键数量
      */
     public int del(List<String> keys) {
-        RESP r = syncExecute(new DelCommand(keys));
-        if (r instanceof Integers) {
-            return ((Integers) r).getValue();
-        }
-        throw new RedisunException("invalid response:" + r);
+        return syncMultiKey(asyncDel(keys));
     }
 
+    /**
+     * 删除一个或多个键（异步版本）
+     *
+     * @param keys 要删除的键列表
+     * @return 被成功删除的键数量
+     */
+    public CompletableFuture<Integer> asyncDel(List<String> keys) {
+        return countKeys(keys, DelCommand::new);
+    }
 
     /**
      * 同步执行Redis命令
@@ -488,10 +679,16 @@ public final class Redisun {
      * @return 命令执行结果
      */
     private RESP syncExecute(Command command) {
+        Promise promise = Promise.local();
+        execute(command, promise);
+        return promise.get();
+    }
+
+    private RESP syncGet(CompletableFuture<RESP> future) {
         RESP resp;
         try {
-            // 执行命令并等待结果
-            resp = execute(command).get();
+            // 等待命令执行结果
+            resp = future.get();
         } catch (Throwable e) {
             throw new RedisunException(e);
         }
@@ -503,160 +700,473 @@ public final class Redisun {
     }
 
     /**
-     * 异步执行Redis命令
+     * 遍历数据库中的全部key
      *
-     * @param command 要执行的Redis命令
-     * @return 包含执行结果的CompletableFuture
+     * @return 按订阅者需求逐页执行SCAN的发布者
+     * @see #scan(Consumer)
      */
-    private CompletableFuture<RESP> execute(Command command) {
-        // 创建用于接收结果的CompletableFuture
-        CompletableFuture<RESP> future = new CompletableFuture<>();
-        AioQuickClient client = currentClient;
-        AioSession session = null;
-        RedisSession redisSession = null;
-        try {
-            // 获取可用的客户端连接
-            if (client != null) {
-                session = client.getSession();
-                if (session != null && !session.isInvalid()) {
-                    redisSession = session.getAttachment();
-                    if (redisSession.load() > 1024) {
-                        client = null;
-                    }
-                } else {
-                    // session无效
-                    currentClient = null;
-                    client = null;
-                }
-            }
-            if (client == null) {
-                client = multiplexClient.acquire();
-                session = client.getSession();
-                redisSession = session.getAttachment();
-                if (redisSession.load() <= 1024) {
-                    currentClient = client;
-                    multiplexClient.reuse(client);
-                } else {
-                    AioQuickClient finalClient = client;
-                    future.thenRun(() -> multiplexClient.reuse(finalClient));
-                }
-            }
-
-            int offerCount = redisSession.incrOfferCount();
-            int pollCount = redisSession.getPollCount();
-
-            synchronized (client) {
-                // 设置当前命令的future
-                redisSession.offer(future);
-                command.writeTo(session.writeBuffer());
-            }
-
-            // 刷新缓冲区，发送数据
-            if (offerCount == redisSession.getOfferCount() && pollCount == redisSession.getPollCount()) {
-                session.writeBuffer().flush();
-            }
-        } catch (Throwable e) {
-            // 发生异常时完成future
-            if (client != null) {
-                multiplexClient.release(client);
-            }
-            future.completeExceptionally(e);
-        }
-        return future;
+    public Publisher<String> scan() {
+        return scan(null);
     }
 
-
     /**
-     * 清空所有数据库中的所有键
+     * 遍历数据库中的key
+     * <p>
+     * 每个订阅者独立遍历，仅在已交付的key耗尽且仍有需求时才发送下一条SCAN命令。
+     * 集群及分片模式下依次遍历各主节点。与SCAN命令一致，遍历期间被修改的key可能重复出现或被遗漏。
+     * JDK 9及以上版本可通过 {@code org.reactivestreams.FlowAdapters.toFlowPublisher} 转换为 {@code Flow.Publisher}。
+     * </p>
      *
-     * @return 操作是否成功
+     * @param options SCAN命令的MATCH、COUNT、TYPE选项配置函数
+     * @return 按订阅者需求逐页执行SCAN的发布者
      */
-    public boolean flushAll() {
-        RESP r = syncExecute(new FlushAllCommand());
-        if (r instanceof SimpleStrings) {
-            return SimpleStrings.OK.equals(((SimpleStrings) r).getValue());
-        }
-        throw new RedisunException("invalid response:" + r);
+    public Publisher<String> scan(Consumer<ScanCommand> options) {
+        return PagedPublisher.create(() -> new ScanPager(new ArrayList<>(router.nodes()), options));
     }
 
     /**
-     * 清空当前数据库中的所有键
+     * 分段读取有序集合中指定索引范围的成员
+     * <p>
+     * 每次以ZRANGE读取至多pageSize个成员，仅在已交付的成员耗尽且仍有需求时才读取下一段。
+     * 分段之间有序集合被修改时，成员可能重复出现或被遗漏。
+     * </p>
      *
-     * @return 操作是否成功
-     */
-    public boolean flushDb() {
-        RESP r = syncExecute(new FlushDbCommand());
-        if (r instanceof SimpleStrings) {
-            return SimpleStrings.OK.equals(((SimpleStrings) r).getValue());
+     * @param key      有序集合的键
+     * @param start    起始位置（包含），不可为负数
+     * @param stop     结束位置（包含），负数表示从末尾计数
+     * @param pageSize 每段读取的成员数量
+     * @return 按订阅者需求分段执行ZRANGE的发布者
+     */
+    public Publisher<String> zrangePaged(String key, long start, long stop, int pageSize) {
+        if (start < 0 || pageSize <= 0) {
+            throw new RedisunException("invalid range start or page size");
         }
-        throw new RedisunException("invalid response:" + r);
+        return PagedPublisher.create(() -> new ZRangePager(this, key, start, stop, pageSize));
     }
 
     /**
-     * 同时设置一个或多个 key-value 对
+     * 订阅一个或多个频道
+     * <p>
+     * 每个订阅者使用一条独立连接，订阅者取消订阅时关闭连接。订阅者的需求耗尽时暂停读取该连接，
+     * 恢复需求后继续读取，不在客户端无限缓存消息。
+     * </p>
      *
-     * @param items 要设置的键值列表
-     * @return 操作是否成功
+     * @param channels 频道名称，至少一个
+     * @return 频道消息的发布者
      */
-    public boolean mset(Map<String, String> items) {
-        try {
-            return asyncMset(items).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
+    public Publisher<ChannelMessage> subscribe(String... channels) {
+        if (channels == null || channels.length == 0) {
+            throw new RedisunException("no channel to subscribe");
         }
+        return ChannelPublisher.create(() -> connect(channels[0].getBytes()), channels);
     }
 
     /**
-     * 同时设置一个或多个 key-value 对（异步版本）
+     * 执行任意Redis命令，包括模块命令
+     * <p>
+     * 参数支持 byte[]、CharSequence、整数与浮点数，集群及分片模式下按第一个参数路由。
+     * </p>
      *
-     * @param items 要设置的键值列表
-     * @return 操作是否成功
+     * @param command 命令名称
+     * @param args    命令参数
+     * @return 服务端响应
+     * @see RawCommand
      */
-    public CompletableFuture<Boolean> asyncMset(Map<String, String> items) {
-        return execute(new MSetCommand(items)).thenApply(resp -> {
-            if (resp instanceof SimpleStrings) {
-                return SimpleStrings.OK.equals(((SimpleStrings) resp).getValue());
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+    public RESP call(String command, Object... args) {
+        return execute(new RawCommand(command, args), ReplyDecoder.RAW);
     }
 
-
     /**
-     * 关闭Redisun客户端，释放资源
+     * 异步执行任意Redis命令，包括模块命令
+     *
+     * @param command 命令名称
+     * @param args    命令参数
+     * @return 包含服务端响应的CompletableFuture
+     * @see RawCommand
      */
-    public void close() {
-        multiplexClient.close();
-        if (group != null) {
-            group.shutdown();
-        }
-        bufferPagePool.release();
+    public CompletableFuture<RESP> asyncCall(String command, Object... args) {
+        return asyncExecute(new RawCommand(command, args), ReplyDecoder.RAW);
     }
 
     /**
-     * 将一个或多个成员加入到集合中
+     * 执行自定义命令，并通过解码器转换响应
      *
-     * @param key     集合的键
-     * @param members 要添加的一个或多个成员
-     * @return 被成功添加到集合中的新元素数量，不包括已被添加的元素
+     * @param command 要执行的命令
+     * @param decoder 响应解码器
+     * @param <T>     解码结果类型
+     * @return 解码结果
      */
-    public int sadd(String key, String... members) {
-        RESP r = syncExecute(new SAddCommand(key, members));
-        if (r instanceof Integers) {
-            return ((Integers) r).getValue();
-        }
-        throw new RedisunException("invalid response:" + r);
+    public <T> T execute(Command command, ReplyDecoder<T> decoder) {
+        return decoder.decode(syncExecute(command));
     }
 
     /**
-     * 将一个或多个成员加入到集合中（异步版本）
+     * 异步执行自定义命令，并通过解码器转换响应
      *
-     * @param key     集合的键
-     * @param members 要添加的一个或多个成员
-     * @return 被成功添加到集合中的新元素数量，不包括已被添加的元素
+     * @param command 要执行的命令
+     * @param decoder 响应解码器
+     * @param <T>     解码结果类型
+     * @return 包含解码结果的CompletableFuture
+     */
+    public <T> CompletableFuture<T> asyncExecute(Command command, ReplyDecoder<T> decoder) {
+        return submit(command, decoder);
+    }
+
+    /**
+     * 异步执行Redis命令
+     *
+     * @param command 要执行的Redis命令
+     * @return 包含执行结果的CompletableFuture
+     */
+    CompletableFuture<RESP> execute(Command command) {
+        ResponseFuture future = new ResponseFuture();
+        execute(command, future);
+        return future;
+    }
+
+    /**
+     * 异步执行Redis命令，由IO线程解码响应后直接完成返回的CompletableFuture
+     *
+     * @param command 要执行的Redis命令
+     * @param decoder 响应解码器
+     * @return 包含解码结果的CompletableFuture
+     */
+    private <T> CompletableFuture<T> submit(Command command, ReplyDecoder<T> decoder) {
+        DecodingFuture<T> future = new DecodingFuture<>(decoder);
+        execute(command, future);
+        return future;
+    }
+
+    /**
+     * 异步执行Redis命令，响应由IO线程直接交给回调，不分配Future
+     *
+     * @param command  要执行的Redis命令
+     * @param callback 响应回调
+     */
+    void execute(Command command, ResponseCallback callback) {
+        if (keySampler != null) {
+            callback = keySampler.sample(command, callback);
+        }
+        callback = FlightRecorder.command(command, callback);
+        if (latencyRecorder != null) {
+            callback = latencyRecorder.wrap(command, callback);
+        }
+        if (commandListeners != null) {
+            CommandEvent event = new CommandEvent(command, commandListeners, slowLog);
+            callback = new ListenerCallback(event, callback);
+            event.start();
+        } else if (slowLog != null) {
+            callback = slowLog.wrap(command, callback);
+        }
+        try {
+            if (hedger != null && command.readOnly()) {
+                hedger.execute(command, readPolicy, callback);
+            } else {
+                router.execute(command, readPolicy, callback);
+            }
+        } catch (Throwable e) {
+            callback.onFailure(e);
+        }
+    }
+
+    /**
+     * 以复用的 {@link LongFuture} 接收整数响应
+     */
+    private LongFuture execute(Command command, LongFuture future) {
+        execute(command, future.arm());
+        return future;
+    }
+
+    /**
+     * 在指定连接上异步执行Redis命令
+     * <p>
+     * 用于独占连接上的命令执行，不经过连接池调度。
+     * </p>
+     *
+     * @param client  执行命令的连接
+     * @param command 要执行的Redis命令
+     * @return 包含执行结果的CompletableFuture
+     */
+    CompletableFuture<RESP> execute(AioQuickClient client, Command command) {
+        return RedisNode.execute(client, command);
+    }
+
+    /**
+     * 在每个节点上同步执行Redis命令，用于FLUSHALL、DBSIZE等作用于整个数据集的命令
+     *
+     * @param command 要执行的Redis命令，需可重复发送
+     * @return 各节点的执行结果
+     */
+    private List<RESP> broadcast(Command command) {
+        List<CompletableFuture<RESP>> futures = new ArrayList<>();
+        for (RedisNode node : router.nodes()) {
+            futures.add(node.execute(command));
+        }
+        List<RESP> result = new ArrayList<>(futures.size());
+        for (CompletableFuture<RESP> future : futures) {
+            result.add(syncGet(future));
+        }
+        return result;
+    }
+
+    /**
+     * 将多key命令按分区（槽位或分片）及单批最大key数量拆分为多个批次并行执行
+     * <p>
+     * 各批次的响应通过merger按key的原始下标合并，单个批次失败时记录该批次中每个key的错误，不影响其他批次。
+     * </p>
+     *
+     * @param keys    key列表
+     * @param factory 根据批次中key的下标构建命令
+     * @param merger  合并单个批次的响应，抛出异常视为该批次失败
+     * @return 全部批次完成后得到失败的key及对应错误
+     */
+    private CompletableFuture<Map<String, Throwable>> fanOut(List<String> keys, Function<int[], Command> factory, BiConsumer<int[], RESP> merger) {
+        List<int[]> batches = KeyBatcher.split(keys, router.partitioner(), options.getMultiKeyBatchSize());
+        Map<String, Throwable> failures = new ConcurrentHashMap<>();
+        CompletableFuture<Map<String, Throwable>> future = new CompletableFuture<>();
+        if (batches.isEmpty()) {
+            future.complete(failures);
+            return future;
+        }
+        AtomicInteger remaining = new AtomicInteger(batches.size());
+        for (int[] batch : batches) {
+            execute(factory.apply(batch)).whenComplete((resp, throwable) -> {
+                if (throwable == null) {
+                    try {
+                        merger.accept(batch, resp);
+                    } catch (Throwable e) {
+                        throwable = e;
+                    }
+                }
+                if (throwable != null) {
+                    Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                    for (int index : batch) {
+                        failures.put(keys.get(index), cause);
+                    }
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    future.complete(failures);
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * 以分批方式执行返回计数的多key命令（DEL、EXISTS），结果为各批次计数之和
+     */
+    private CompletableFuture<Integer> countKeys(List<String> keys, Function<List<String>, Command> factory) {
+        AtomicInteger count = new AtomicInteger();
+        return fanOut(keys, batch -> factory.apply(KeyBatcher.select(keys, batch)), (batch, resp) -> {
+            if (!(resp instanceof Integers)) {
+                throw new RedisunException("invalid response:" + resp);
+            }
+            count.addAndGet(((Integers) resp).getValue());
+        }).thenApply(failures -> {
+            if (!failures.isEmpty()) {
+                throw new MultiKeyException(failures, count.get());
+            }
+            return count.get();
+        });
+    }
+
+    /**
+     * 同步等待多key命令的结果，部分key失败时直接抛出 {@link MultiKeyException}
+     */
+    private static <T> T syncMultiKey(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MultiKeyException) {
+                throw (MultiKeyException) e.getCause();
+            }
+            throw new RedisunException(e);
+        } catch (Throwable e) {
+            throw new RedisunException(e);
+        }
+    }
+
+    /**
+     * 清空所有数据库中的所有键
+     *
+     * @return 操作是否成功
+     */
+    public boolean flushAll() {
+        boolean ok = true;
+        for (RESP r : broadcast(new FlushAllCommand())) {
+            if (!(r instanceof SimpleStrings)) {
+                throw new RedisunException("invalid response:" + r);
+            }
+            ok &= SimpleStrings.OK.equals(((SimpleStrings) r).getValue());
+        }
+        return ok;
+    }
+
+    /**
+     * 清空当前数据库中的所有键
+     *
+     * @return 操作是否成功
+     */
+    public boolean flushDb() {
+        boolean ok = true;
+        for (RESP r : broadcast(new FlushDbCommand())) {
+            if (!(r instanceof SimpleStrings)) {
+                throw new RedisunException("invalid response:" + r);
+            }
+            ok &= SimpleStrings.OK.equals(((SimpleStrings) r).getValue());
+        }
+        return ok;
+    }
+
+    /**
+     * 同时设置一个或多个 key-value 对
+     *
+     * @param items 要设置的键值列表
+     * @return 操作是否成功
+     */
+    public boolean mset(Map<String, String> items) {
+        return syncMultiKey(asyncMset(items));
+    }
+
+    /**
+     * 同时设置一个或多个 key-value 对（异步版本）
+     *
+     * @param items 要设置的键值列表
+     * @return 操作是否成功
+     */
+    public CompletableFuture<Boolean> asyncMset(Map<String, String> items) {
+        List<String> keys = new ArrayList<>(items.keySet());
+        AtomicBoolean ok = new AtomicBoolean(true);
+        return fanOut(keys, batch -> {
+            if (batch.length == keys.size()) {
+                return new MSetCommand(items);
+            }
+            Map<String, String> subItems = new LinkedHashMap<>();
+            for (int index : batch) {
+                String key = keys.get(index);
+                subItems.put(key, items.get(key));
+            }
+            return new MSetCommand(subItems);
+        }, (batch, resp) -> {
+            if (!(resp instanceof SimpleStrings)) {
+                throw new RedisunException("invalid response:" + resp);
+            }
+            if (!SimpleStrings.OK.equals(((SimpleStrings) resp).getValue())) {
+                ok.set(false);
+            }
+        }).thenApply(failures -> {
+            if (!failures.isEmpty()) {
+                throw new MultiKeyException(failures, false);
+            }
+            return ok.get();
+        });
+    }
+
+
+    /**
+     * 获取各类命令的延迟统计快照
+     * <p>
+     * 需通过 {@link RedisunOptions#latencyMetrics(boolean)} 开启统计，未开启时返回空集合。
+     * 统计自客户端创建起累计，视图与所属客户端共享统计数据。
+     * </p>
+     *
+     * @return 以命令名称为键、按名称排序的延迟快照
+     */
+    public Map<String, LatencySnapshot> latencies() {
+        return latencyRecorder == null ? Collections.emptyMap() : latencyRecorder.snapshot();
+    }
+
+    /**
+     * 获取慢命令日志
+     * <p>
+     * 需通过 {@link RedisunOptions#slowLogThreshold(long)} 开启，未开启时返回空列表。
+     * 与服务端 SLOWLOG 不同，耗时包括客户端排队、网络传输及回调调度的时间。视图与所属客户端共享日志。
+     * </p>
+     *
+     * @return 按时间由近及远排列的记录
+     */
+    public List<SlowLogEntry> slowLog() {
+        return slowLog == null ? Collections.emptyList() : slowLog.entries();
+    }
+
+    /**
+     * 清空慢命令日志
+     */
+    public void resetSlowLog() {
+        if (slowLog != null) {
+            slowLog.reset();
+        }
+    }
+
+    /**
+     * 获取当前统计窗口的热点key及大key报告
+     * <p>
+     * 需通过 {@link RedisunOptions#keySampleRate(int)} 开启采样，未开启时返回null。
+     * 设置了报告接收方时统计窗口随每次定期报告重新开始，否则自客户端创建起累计。
+     * </p>
+     *
+     * @return 热点key及大key报告
+     */
+    public KeyReport keyReport() {
+        return keySampler == null ? null : keySampler.report(false);
+    }
+
+    /**
+     * 关闭Redisun客户端，释放资源
+     */
+    public void close() {
+        if (parent != null) {
+            return;
+        }
+        if (keyReportTask != null) {
+            keyReportTask.cancel();
+        }
+        for (StreamConsumer consumer : streamConsumers) {
+            consumer.close();
+        }
+        if (hedger != null) {
+            hedger.close();
+        }
+        router.close();
+        if (group != null) {
+            group.shutdown();
+        }
+        bufferPagePool.release();
+        shutdownVirtualThreadExecutor();
+        closeTrafficCapture();
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Exception e) {
+                // 已被外部注销
+            }
+        }
+    }
+
+    /**
+     * 将一个或多个成员加入到集合中
+     *
+     * @param key     集合的键
+     * @param members 要添加的一个或多个成员
+     * @return 被成功添加到集合中的新元素数量，不包括已被添加的元素
+     */
+    public int sadd(String key, String... members) {
+        RESP r = syncExecute(new SAddCommand(key, members));
+        if (r instanceof Integers) {
+            return ((Integers) r).getValue();
+        }
+        throw new RedisunException("invalid response:" + r);
+    }
+
+    /**
+     * 将一个或多个成员加入到集合中（异步版本）
+     *
+     * @param key     集合的键
+     * @param members 要添加的一个或多个成员
+     * @return 被成功添加到集合中的新元素数量，不包括已被添加的元素
      */
     public CompletableFuture<Integer> asyncSadd(String key, String... members) {
-        return execute(new SAddCommand(key, members)).thenApply(resp -> {
+        return submit(new SAddCommand(key, members), resp -> {
             if (resp instanceof Integers) {
                 return ((Integers) resp).getValue();
             }
@@ -672,11 +1182,7 @@ public final class Redisun {
      * @return 执行后列表的长度
      */
     public long lpush(String key, String... values) {
-        try {
-            return asyncLpush(key, values).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return LONG_DECODER.decode(syncExecute(new LPushCommand(key, values)));
     }
 
     /**
@@ -687,12 +1193,7 @@ public final class Redisun {
      * @return 执行后列表的长度
      */
     public CompletableFuture<Long> asyncLpush(String key, String... values) {
-        return execute(new LPushCommand(key, values)).thenApply(resp -> {
-            if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+        return submit(new LPushCommand(key, values), LONG_DECODER);
     }
 
     /**
@@ -705,7 +1206,7 @@ public final class Redisun {
     public long rpush(String key, String... values) {
         RESP r = syncExecute(new RPushCommand(key, values));
         if (r instanceof Integers) {
-            return ((Integers) r).getValue();
+            return ((Integers) r).getLong();
         }
         throw new RedisunException("invalid response:" + r);
     }
@@ -718,9 +1219,9 @@ public final class Redisun {
      * @return 执行后列表的长度
      */
     public CompletableFuture<Long> asyncRpush(String key, String... values) {
-        return execute(new RPushCommand(key, values)).thenApply(resp -> {
+        return submit(new RPushCommand(key, values), resp -> {
             if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
+                return ((Integers) resp).getLong();
             }
             throw new RedisunException("invalid response:" + resp);
         });
@@ -751,7 +1252,7 @@ public final class Redisun {
      * @return 返回给定字段的值，如果字段不存在则返回null
      */
     public CompletableFuture<String> asyncHget(String key, String field) {
-        return execute(new HGetCommand(key, field)).thenApply(resp -> {
+        return submit(new HGetCommand(key, field), resp -> {
             if (resp instanceof Nulls) {
                 return null;
             } else if (resp instanceof BulkStrings) {
@@ -788,7 +1289,7 @@ public final class Redisun {
      * 如果哈希表中域字段已经存在且旧值已被新值覆盖，返回0
      */
     public CompletableFuture<Integer> asyncHset(String key, String field, String value) {
-        return execute(new HSetCommand(key, field, value)).thenApply(resp -> {
+        return submit(new HSetCommand(key, field, value), resp -> {
             if (resp instanceof Integers) {
                 return ((Integers) resp).getValue();
             }
@@ -817,7 +1318,7 @@ public final class Redisun {
      * @return 字符串值的长度
      */
     public CompletableFuture<Integer> asyncStrlen(String key) {
-        return execute(new StrlenCommand(key)).thenApply(resp -> {
+        return submit(new StrlenCommand(key), resp -> {
             if (resp instanceof Integers) {
                 return ((Integers) resp).getValue();
             }
@@ -825,6 +1326,31 @@ public final class Redisun {
         });
     }
 
+    /**
+     * 返回 key 所储存的字符串值的长度（回调版本）
+     * <p>
+     * 回调在IO线程中直接以基本类型执行，不产生装箱对象及Future，回调中不应执行阻塞操作。
+     * </p>
+     *
+     * @param key       要获取长度的键
+     * @param onSuccess 接收字符串值的长度
+     * @param onFailure 接收执行异常
+     */
+    public void strlen(String key, LongConsumer onSuccess, Consumer<Throwable> onFailure) {
+        execute(new StrlenCommand(key), LongResponse.of(onSuccess, onFailure));
+    }
+
+    /**
+     * 返回 key 所储存的字符串值的长度（可复用Future版本）
+     *
+     * @param key    要获取长度的键
+     * @param future 接收结果的Future，上一次结果取得后可重复使用
+     * @return 传入的future
+     */
+    public LongFuture strlen(String key, LongFuture future) {
+        return execute(new StrlenCommand(key), future);
+    }
+
     /**
      * 如果 key 已经存在并且是一个字符串，该命令将 value 追加到 key 原来的值的末尾
      *
@@ -849,7 +1375,7 @@ public final class Redisun {
      * @return 追加操作后 key 中字符串的长度
      */
     public CompletableFuture<Integer> asyncAppend(String key, String value) {
-        return execute(new AppendCommand(key, value)).thenApply(resp -> {
+        return submit(new AppendCommand(key, value), resp -> {
             if (resp instanceof Integers) {
                 return ((Integers) resp).getValue();
             }
@@ -866,7 +1392,7 @@ public final class Redisun {
     public long decr(String key) {
         RESP r = syncExecute(new DecrCommand(key));
         if (r instanceof Integers) {
-            return ((Integers) r).getValue();
+            return ((Integers) r).getLong();
         }
         throw new RedisunException("invalid response:" + r);
     }
@@ -878,14 +1404,39 @@ public final class Redisun {
      * @return 执行命令后 key 的值
      */
     public CompletableFuture<Long> asyncDecr(String key) {
-        return execute(new DecrCommand(key)).thenApply(resp -> {
+        return submit(new DecrCommand(key), resp -> {
             if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
+                return ((Integers) resp).getLong();
             }
             throw new RedisunException("invalid response:" + resp);
         });
     }
 
+    /**
+     * 将 key 中储存的数字值减一（回调版本）
+     * <p>
+     * 回调在IO线程中直接以基本类型执行，不产生装箱对象及Future，回调中不应执行阻塞操作。
+     * </p>
+     *
+     * @param key       要减少的键
+     * @param onSuccess 接收执行命令后 key 的值
+     * @param onFailure 接收执行异常
+     */
+    public void decr(String key, LongConsumer onSuccess, Consumer<Throwable> onFailure) {
+        execute(new DecrCommand(key), LongResponse.of(onSuccess, onFailure));
+    }
+
+    /**
+     * 将 key 中储存的数字值减一（可复用Future版本）
+     *
+     * @param key    要减少的键
+     * @param future 接收结果的Future，上一次结果取得后可重复使用
+     * @return 传入的future
+     */
+    public LongFuture decr(String key, LongFuture future) {
+        return execute(new DecrCommand(key), future);
+    }
+
     /**
      * 将 key 所储存的值减去给定的减量值（decrement）
      *
@@ -896,7 +1447,7 @@ public final class Redisun {
     public long decrBy(String key, long decrement) {
         RESP r = syncExecute(new DecrByCommand(key, decrement));
         if (r instanceof Integers) {
-            return ((Integers) r).getValue();
+            return ((Integers) r).getLong();
         }
         throw new RedisunException("invalid response:" + r);
     }
@@ -909,14 +1460,41 @@ public final class Redisun {
      * @return 执行命令后 key 的值
      */
     public CompletableFuture<Long> asyncDecrBy(String key, long decrement) {
-        return execute(new DecrByCommand(key, decrement)).thenApply(resp -> {
+        return submit(new DecrByCommand(key, decrement), resp -> {
             if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
+                return ((Integers) resp).getLong();
             }
             throw new RedisunException("invalid response:" + resp);
         });
     }
 
+    /**
+     * 将 key 所储存的值减去给定的减量值（decrement）（回调版本）
+     * <p>
+     * 回调在IO线程中直接以基本类型执行，不产生装箱对象及Future，回调中不应执行阻塞操作。
+     * </p>
+     *
+     * @param key       要减少的键
+     * @param decrement 减量值
+     * @param onSuccess 接收执行命令后 key 的值
+     * @param onFailure 接收执行异常
+     */
+    public void decrBy(String key, long decrement, LongConsumer onSuccess, Consumer<Throwable> onFailure) {
+        execute(new DecrByCommand(key, decrement), LongResponse.of(onSuccess, onFailure));
+    }
+
+    /**
+     * 将 key 所储存的值减去给定的减量值（decrement）（可复用Future版本）
+     *
+     * @param key       要减少的键
+     * @param decrement 减量值
+     * @param future    接收结果的Future，上一次结果取得后可重复使用
+     * @return 传入的future
+     */
+    public LongFuture decrBy(String key, long decrement, LongFuture future) {
+        return execute(new DecrByCommand(key, decrement), future);
+    }
+
     /**
      * 将 key 中储存的数字值增一
      *
@@ -926,7 +1504,7 @@ public final class Redisun {
     public long incr(String key) {
         RESP r = syncExecute(new IncrCommand(key));
         if (r instanceof Integers) {
-            return ((Integers) r).getValue();
+            return ((Integers) r).getLong();
         }
         throw new RedisunException("invalid response:" + r);
     }
@@ -938,14 +1516,39 @@ public final class Redisun {
      * @return 执行命令后 key 的值
      */
     public CompletableFuture<Long> asyncIncr(String key) {
-        return execute(new IncrCommand(key)).thenApply(resp -> {
+        return submit(new IncrCommand(key), resp -> {
             if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
+                return ((Integers) resp).getLong();
             }
             throw new RedisunException("invalid response:" + resp);
         });
     }
 
+    /**
+     * 将 key 中储存的数字值增一（回调版本）
+     * <p>
+     * 回调在IO线程中直接以基本类型执行，不产生装箱对象及Future，回调中不应执行阻塞操作。
+     * </p>
+     *
+     * @param key       要增加的键
+     * @param onSuccess 接收执行命令后 key 的值
+     * @param onFailure 接收执行异常
+     */
+    public void incr(String key, LongConsumer onSuccess, Consumer<Throwable> onFailure) {
+        execute(new IncrCommand(key), LongResponse.of(onSuccess, onFailure));
+    }
+
+    /**
+     * 将 key 中储存的数字值增一（可复用Future版本）
+     *
+     * @param key    要增加的键
+     * @param future 接收结果的Future，上一次结果取得后可重复使用
+     * @return 传入的future
+     */
+    public LongFuture incr(String key, LongFuture future) {
+        return execute(new IncrCommand(key), future);
+    }
+
     /**
      * 将 key 所储存的值加上给定的增量值（increment）
      *
@@ -956,7 +1559,7 @@ public final class Redisun {
     public long incrBy(String key, long increment) {
         RESP r = syncExecute(new IncrByCommand(key, increment));
         if (r instanceof Integers) {
-            return ((Integers) r).getValue();
+            return ((Integers) r).getLong();
         }
         throw new RedisunException("invalid response:" + r);
     }
@@ -969,14 +1572,41 @@ public final class Redisun {
      * @return 执行命令后 key 的值
      */
     public CompletableFuture<Long> asyncIncrBy(String key, long increment) {
-        return execute(new IncrByCommand(key, increment)).thenApply(resp -> {
+        return submit(new IncrByCommand(key, increment), resp -> {
             if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
+                return ((Integers) resp).getLong();
             }
             throw new RedisunException("invalid response:" + resp);
         });
     }
 
+    /**
+     * 将 key 所储存的值加上给定的增量值（increment）（回调版本）
+     * <p>
+     * 回调在IO线程中直接以基本类型执行，不产生装箱对象及Future，回调中不应执行阻塞操作。
+     * </p>
+     *
+     * @param key       要增加的键
+     * @param increment 增量值
+     * @param onSuccess 接收执行命令后 key 的值
+     * @param onFailure 接收执行异常
+     */
+    public void incrBy(String key, long increment, LongConsumer onSuccess, Consumer<Throwable> onFailure) {
+        execute(new IncrByCommand(key, increment), LongResponse.of(onSuccess, onFailure));
+    }
+
+    /**
+     * 将 key 所储存的值加上给定的增量值（increment）（可复用Future版本）
+     *
+     * @param key       要增加的键
+     * @param increment 增量值
+     * @param future    接收结果的Future，上一次结果取得后可重复使用
+     * @return 传入的future
+     */
+    public LongFuture incrBy(String key, long increment, LongFuture future) {
+        return execute(new IncrByCommand(key, increment), future);
+    }
+
     /**
      * 检查给定键是否存在
      *
@@ -984,11 +1614,7 @@ public final class Redisun {
      * @return 存在的键数量
      */
     public int exists(String... keys) {
-        try {
-            return asyncExists(keys).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return syncMultiKey(asyncExists(keys));
     }
 
     /**
@@ -998,60 +1624,59 @@ public final class Redisun {
      * @return 包含存在键数量的CompletableFuture
      */
     public CompletableFuture<Integer> asyncExists(String... keys) {
-        return execute(new ExistsCommand(java.util.Arrays.asList(keys))).thenApply(resp -> {
-            if (resp instanceof Integers) {
-                return ((Integers) resp).getValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+        return countKeys(java.util.Arrays.asList(keys), ExistsCommand::new);
     }
 
     /**
-     * 为给定 key 设置过期时间，以秒计
+     * 检查给定键是否存在（回调版本）
+     * <p>
+     * 回调在IO线程中直接以基本类型执行，不产生装箱对象及Future，回调中不应执行阻塞操作。
+     * </p>
      *
-     * @param key     要设置过期时间的键
-     * @param seconds 过期时间（秒）
-     * @return 设置成功返回 1，否则返回 0
+     * @param key       要检查的键
+     * @param onSuccess 接收存在的键数量
+     * @param onFailure 接收执行异常
      */
-    public int expire(String key, int seconds) {
-        return expire(key, seconds, null);
+    public void exists(String key, LongConsumer onSuccess, Consumer<Throwable> onFailure) {
+        execute(new ExistsCommand(Collections.singletonList(key)), LongResponse.of(onSuccess, onFailure));
     }
 
     /**
-     * 为给定 key 设置过期时间，以秒计，并支持选项
+     * 检查给定键是否存在（可复用Future版本）
+     *
+     * @param key    要检查的键
+     * @param future 接收结果的Future，上一次结果取得后可重复使用
+     * @return 传入的future
+     */
+    public LongFuture exists(String key, LongFuture future) {
+        return execute(new ExistsCommand(Collections.singletonList(key)), future);
+    }
+
+    /**
+     * 为给定 key 设置过期时间，以秒计
      *
      * @param key     要设置过期时间的键
      * @param seconds 过期时间（秒）
-     * @param options EXPIRE命令的额外选项配置函数
      * @return 设置成功返回 1，否则返回 0
      */
-    public int expire(String key, int seconds, Consumer<ExpireCommand> options) {
-        try {
-            return asyncExpire(key, seconds, options).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+    public int expire(String key, int seconds) {
+        return expire(key, seconds, null);
     }
 
     /**
-     * 为给定 key 设置过期时间，以秒计（异步版本），并支持选项
+     * 为给定 key 设置过期时间，以秒计，并支持选项
      *
      * @param key     要设置过期时间的键
      * @param seconds 过期时间（秒）
      * @param options EXPIRE命令的额外选项配置函数
      * @return 设置成功返回 1，否则返回 0
      */
-    private CompletableFuture<Integer> asyncExpire(String key, int seconds, Consumer<ExpireCommand> options) {
+    public int expire(String key, int seconds, Consumer<ExpireCommand> options) {
         ExpireCommand cmd = new ExpireCommand(key, seconds);
         if (options != null) {
             options.accept(cmd);
         }
-        return execute(cmd).thenApply(resp -> {
-            if (resp instanceof Integers) {
-                return ((Integers) resp).getValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+        return INTEGER_DECODER.decode(syncExecute(cmd));
     }
 
     /**
@@ -1061,26 +1686,7 @@ public final class Redisun {
      * @return 剩余过期时间（秒），-1表示没有设置过期时间，-2表示键不存在
      */
     public long ttl(String key) {
-        try {
-            return asyncTtl(key).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
-    }
-
-    /**
-     * 以秒为单位返回 key 的剩余过期时间（异步版本）
-     *
-     * @param key 要查询过期时间的键
-     * @return 剩余过期时间（秒），-1表示没有设置过期时间，-2表示键不存在
-     */
-    private CompletableFuture<Long> asyncTtl(String key) {
-        return execute(new TtlCommand(key)).thenApply(resp -> {
-            if (resp instanceof Integers) {
-                return ((Integers) resp).getValue().longValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+        return LONG_DECODER.decode(syncExecute(new TtlCommand(key)));
     }
 
     /**
@@ -1090,27 +1696,15 @@ public final class Redisun {
      * @return 键值的类型
      */
     public String type(String key) {
-        try {
-            return asyncType(key).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return TYPE_DECODER.decode(syncExecute(new TypeCommand(key)));
     }
 
-    /**
-     * 返回 key 所储存的值的类型（异步版本）
-     *
-     * @param key 要查询类型的键
-     * @return 键值的类型
-     */
-    private CompletableFuture<String> asyncType(String key) {
-        return execute(new TypeCommand(key)).thenApply(resp -> {
-            if (resp instanceof SimpleStrings) {
-                return ((SimpleStrings) resp).getValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
-    }
+    private static final ReplyDecoder<String> TYPE_DECODER = resp -> {
+        if (resp instanceof SimpleStrings) {
+            return ((SimpleStrings) resp).getValue();
+        }
+        throw new RedisunException("invalid response:" + resp);
+    };
 
     /**
      * 移除并返回列表的头部(左边)第一个元素
@@ -1119,11 +1713,7 @@ public final class Redisun {
      * @return 列表的头部元素，如果列表为空则返回null
      */
     public String lpop(String key) {
-        try {
-            return asyncLpop(key).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return BULK_STRING_DECODER.decode(syncExecute(new LPopCommand(key)));
     }
 
     /**
@@ -1133,14 +1723,7 @@ public final class Redisun {
      * @return 列表的头部元素，如果列表为空则返回null
      */
     public CompletableFuture<String> asyncLpop(String key) {
-        return execute(new LPopCommand(key)).thenApply(resp -> {
-            if (resp instanceof Nulls) {
-                return null;
-            } else if (resp instanceof BulkStrings) {
-                return ((BulkStrings) resp).getValue();
-            }
-            throw new RedisunException("invalid response:" + resp);
-        });
+        return submit(new LPopCommand(key), BULK_STRING_DECODER);
     }
 
     /**
@@ -1150,11 +1733,7 @@ public final class Redisun {
      * @return 列表的尾部元素，如果列表为空则返回null
      */
     public String rpop(String key) {
-        try {
-            return asyncRpop(key).get();
-        } catch (Throwable e) {
-            throw new RedisunException(e);
-        }
+        return BULK_STRING_DECODER.decode(syncExecute(new RPopCommand(key)));
     }
 
     /**
@@ -1164,13 +1743,343 @@ public final class Redisun {
      * @return 列表的尾部元素，如果列表为空则返回null
      */
     public CompletableFuture<String> asyncRpop(String key) {
-        return execute(new RPopCommand(key)).thenApply(resp -> {
-            if (resp instanceof Nulls) {
-                return null;
-            } else if (resp instanceof BulkStrings) {
-                return ((BulkStrings) resp).getValue();
+        return submit(new RPopCommand(key), BULK_STRING_DECODER);
+    }
+
+    /**
+     * 向 Stream 追加一条消息
+     *
+     * @param key    Stream的键
+     * @param fields 消息的字段值对
+     * @return 消息ID
+     */
+    public String xadd(String key, Map<String, String> fields) {
+        return xadd(key, fields, null);
+    }
+
+    /**
+     * 向 Stream 追加一条消息，并可选择设置额外选项
+     *
+     * @param key     Stream的键
+     * @param fields  消息的字段值对
+     * @param options XADD命令的额外选项配置函数
+     * @return 消息ID，指定了NOMKSTREAM且Stream不存在时返回null
+     */
+    public String xadd(String key, Map<String, String> fields, Consumer<XAddCommand> options) {
+        return BULK_STRING_DECODER.decode(syncExecute(xaddCommand(key, fields, options)));
+    }
+
+    /**
+     * 向 Stream 追加一条消息（异步版本）
+     *
+     * @param key     Stream的键
+     * @param fields  消息的字段值对
+     * @param options XADD命令的额外选项配置函数
+     * @return 包含消息ID的CompletableFuture
+     */
+    public CompletableFuture<String> asyncXadd(String key, Map<String, String> fields, Consumer<XAddCommand> options) {
+        return submit(xaddCommand(key, fields, options), BULK_STRING_DECODER);
+    }
+
+    private static XAddCommand xaddCommand(String key, Map<String, String> fields, Consumer<XAddCommand> options) {
+        XAddCommand cmd = new XAddCommand(key, fields);
+        if (options != null) {
+            options.accept(cmd);
+        }
+        return cmd;
+    }
+
+    /**
+     * 创建消费者组，Stream不存在时自动创建
+     *
+     * @param key   Stream的键
+     * @param group 消费者组名称
+     * @param id    起始消息ID，"$"表示仅消费新消息，"0"表示从头消费
+     * @return 操作是否成功
+     */
+    public boolean xgroupCreate(String key, String group, String id) {
+        RESP r = syncExecute(new XGroupCreateCommand(key, group, id).mkStream());
+        if (r instanceof SimpleStrings) {
+            return SimpleStrings.OK.equals(((SimpleStrings) r).getValue());
+        }
+        throw new RedisunException("invalid response:" + r);
+    }
+
+    /**
+     * 以消费者组的身份读取 Stream 中的消息
+     * <p>
+     * 注意：该方法在连接池的共享连接上执行，设置BLOCK选项会阻塞同一连接上的其他请求，
+     * 阻塞式消费请使用 {@link #streamConsumer(String, String, String, Consumer, Consumer)}。
+     * </p>
+     *
+     * @param key      Stream的键
+     * @param group    消费者组名称
+     * @param consumer 消费者名称
+     * @param id       起始消息ID，"&gt;"表示读取新消息
+     * @param options  XREADGROUP命令的额外选项配置函数
+     * @return 读取到的消息列表
+     */
+    public List<StreamEntry> xreadgroup(String key, String group, String consumer, String id, Consumer<XReadGroupCommand> options) {
+        return XReadGroupCommand.toEntries(syncExecute(xreadgroupCommand(key, group, consumer, id, options)));
+    }
+
+    /**
+     * 以消费者组的身份读取 Stream 中的消息（异步版本）
+     *
+     * @param key      Stream的键
+     * @param group    消费者组名称
+     * @param consumer 消费者名称
+     * @param id       起始消息ID，"&gt;"表示读取新消息
+     * @param options  XREADGROUP命令的额外选项配置函数
+     * @return 包含消息列表的CompletableFuture
+     */
+    public CompletableFuture<List<StreamEntry>> asyncXreadgroup(String key, String group, String consumer, String id, Consumer<XReadGroupCommand> options) {
+        return submit(xreadgroupCommand(key, group, consumer, id, options), XReadGroupCommand::toEntries);
+    }
+
+    private static XReadGroupCommand xreadgroupCommand(String key, String group, String consumer, String id, Consumer<XReadGroupCommand> options) {
+        XReadGroupCommand cmd = new XReadGroupCommand(group, consumer, key, id);
+        if (options != null) {
+            options.accept(cmd);
+        }
+        return cmd;
+    }
+
+    /**
+     * 确认一条或多条消息
+     *
+     * @param key   Stream的键
+     * @param group 消费者组名称
+     * @param ids   要确认的消息ID
+     * @return 成功确认的消息数量
+     */
+    public int xack(String key, String group, String... ids) {
+        return INTEGER_DECODER.decode(syncExecute(new XAckCommand(key, group, java.util.Arrays.asList(ids))));
+    }
+
+    /**
+     * 确认一条或多条消息（异步版本）
+     *
+     * @param key   Stream的键
+     * @param group 消费者组名称
+     * @param ids   要确认的消息ID
+     * @return 包含成功确认消息数量的CompletableFuture
+     */
+    public CompletableFuture<Integer> asyncXack(String key, String group, List<String> ids) {
+        return submit(new XAckCommand(key, group, ids), INTEGER_DECODER);
+    }
+
+    /**
+     * 将空闲时间超过指定值的待确认消息转移给指定消费者
+     *
+     * @param key         Stream的键
+     * @param group       消费者组名称
+     * @param consumer    接收消息的消费者名称
+     * @param minIdleTime 最小空闲时间（毫秒）
+     * @param start       扫描起始游标，首次扫描使用"0-0"
+     * @param count       单次最多转移的消息数量
+     * @return 转移结果，包含下一次扫描的游标和转移的消息
+     */
+    public XAutoClaimCommand.Result xautoclaim(String key, String group, String consumer, long minIdleTime, String start, int count) {
+        return XAutoClaimCommand.toResult(syncExecute(new XAutoClaimCommand(key, group, consumer, minIdleTime, start).count(count)));
+    }
+
+    /**
+     * 将空闲时间超过指定值的待确认消息转移给指定消费者（异步版本）
+     *
+     * @param key         Stream的键
+     * @param group       消费者组名称
+     * @param consumer    接收消息的消费者名称
+     * @param minIdleTime 最小空闲时间（毫秒）
+     * @param start       扫描起始游标，首次扫描使用"0-0"
+     * @param count       单次最多转移的消息数量
+     * @return 包含转移结果的CompletableFuture
+     */
+    public CompletableFuture<XAutoClaimCommand.Result> asyncXautoclaim(String key, String group, String consumer, long minIdleTime, String start, int count) {
+        return submit(new XAutoClaimCommand(key, group, consumer, minIdleTime, start).count(count), XAutoClaimCommand::toResult);
+    }
+
+    /**
+     * 查询消费者组待确认列表中的消息明细
+     *
+     * @param key     Stream的键
+     * @param group   消费者组名称
+     * @param start   起始消息ID，"-"表示最小ID
+     * @param end     结束消息ID，"+"表示最大ID
+     * @param count   返回的最大消息数量
+     * @param options XPENDING命令的额外选项配置函数
+     * @return 待确认消息列表
+     */
+    public List<XPendingCommand.PendingEntry> xpending(String key, String group, String start, String end, int count, Consumer<XPendingCommand> options) {
+        XPendingCommand cmd = new XPendingCommand(key, group, start, end, count);
+        if (options != null) {
+            options.accept(cmd);
+        }
+        return XPendingCommand.toEntries(syncExecute(cmd));
+    }
+
+    /**
+     * 创建Stream消费者组消费者
+     *
+     * @param key      Stream的键
+     * @param group    消费者组名称
+     * @param consumer 消费者名称
+     * @param handler  消息批次处理器，正常返回后批次内的消息会被自动确认
+     * @return 未启动的消费者，需调用 {@link StreamConsumer#start()} 开始消费
+     */
+    public StreamConsumer streamConsumer(String key, String group, String consumer, Consumer<List<StreamEntry>> handler) {
+        return streamConsumer(key, group, consumer, handler, null);
+    }
+
+    /**
+     * 创建Stream消费者组消费者，并可选择设置额外选项
+     *
+     * @param key      Stream的键
+     * @param group    消费者组名称
+     * @param consumer 消费者名称
+     * @param handler  消息批次处理器，正常返回后批次内的消息会被自动确认
+     * @param options  消费者配置选项
+     * @return 未启动的消费者，需调用 {@link StreamConsumer#start()} 开始消费
+     */
+    public StreamConsumer streamConsumer(String key, String group, String consumer, Consumer<List<StreamEntry>> handler, Consumer<StreamConsumerOptions> options) {
+        StreamConsumerOptions consumerOptions = new StreamConsumerOptions();
+        if (options != null) {
+            options.accept(consumerOptions);
+        }
+        StreamConsumer streamConsumer = new StreamConsumer(this, key, group, consumer, handler, consumerOptions);
+        streamConsumers.add(streamConsumer);
+        return streamConsumer;
+    }
+
+    void removeStreamConsumer(StreamConsumer consumer) {
+        streamConsumers.remove(consumer);
+    }
+
+    /**
+     * 创建批量数据导入器
+     *
+     * @return 批量导入器，使用完毕后需调用 {@link BulkLoader#close()}
+     */
+    public BulkLoader bulkLoader() {
+        return bulkLoader(null);
+    }
+
+    /**
+     * 创建批量数据导入器，并可选择设置额外选项
+     *
+     * @param options 导入器配置选项
+     * @return 批量导入器，使用完毕后需调用 {@link BulkLoader#close()}
+     */
+    public BulkLoader bulkLoader(Consumer<BulkLoaderOptions> options) {
+        BulkLoaderOptions loaderOptions = new BulkLoaderOptions();
+        if (options != null) {
+            options.accept(loaderOptions);
+        }
+        return new BulkLoader(this, loaderOptions);
+    }
+
+    /**
+     * 依次遍历各节点的SCAN游标
+     */
+    private static final class ScanPager implements PagedPublisher.Pager<String> {
+        private final List<RedisNode> nodes;
+        private final Consumer<ScanCommand> options;
+        private int index;
+        private String cursor = "0";
+
+        ScanPager(List<RedisNode> nodes, Consumer<ScanCommand> options) {
+            this.nodes = nodes;
+            this.options = options;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < nodes.size();
+        }
+
+        @Override
+        public void next(ResponseCallback callback) {
+            ScanCommand command = new ScanCommand(cursor);
+            if (options != null) {
+                options.accept(command);
             }
-            throw new RedisunException("invalid response:" + resp);
-        });
+            nodes.get(index).execute(command, callback, false);
+        }
+
+        @Override
+        public List<String> decode(RESP resp) {
+            List<String> keys = ScanCommand.toKeys(resp);
+            cursor = ScanCommand.toCursor(resp);
+            if ("0".equals(cursor)) {
+                // 当前节点遍历结束
+                index++;
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * 按索引分段读取有序集合
+     */
+    private static final class ZRangePager implements PagedPublisher.Pager<String> {
+        private final Redisun redisun;
+        private final String key;
+        private final int pageSize;
+        private long stop;
+        private long offset;
+        /**
+         * 负数的结束位置需先通过ZCARD换算为正数索引
+         */
+        private boolean resolving;
+        private boolean hasNext = true;
+
+        ZRangePager(Redisun redisun, String key, long start, long stop, int pageSize) {
+            this.redisun = redisun;
+            this.key = key;
+            this.offset = start;
+            this.stop = stop;
+            this.pageSize = pageSize;
+            this.resolving = stop < 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public void next(ResponseCallback callback) {
+            if (resolving) {
+                redisun.execute(new ZCardCommand(key), callback);
+                return;
+            }
+            long end = Math.min(offset + pageSize - 1, stop);
+            redisun.execute(new ZRangeCommand(key, String.valueOf(offset), String.valueOf(end)), callback);
+        }
+
+        @Override
+        public List<String> decode(RESP resp) {
+            if (resolving) {
+                if (!(resp instanceof Integers)) {
+                    throw new RedisunException("invalid response:" + resp);
+                }
+                resolving = false;
+                stop += ((Integers) resp).getValue();
+                hasNext = offset <= stop;
+                return Collections.emptyList();
+            }
+            if (!(resp instanceof Arrays)) {
+                throw new RedisunException("invalid response:" + resp);
+            }
+            List<RESP> values = ((Arrays) resp).getValue();
+            List<String> members = new ArrayList<>(values.size());
+            for (RESP value : values) {
+                members.add(String.valueOf(value.getValue()));
+            }
+            offset += values.size();
+            // 返回数量不足一段，或已到达结束位置
+            hasNext = values.size() == pageSize && offset <= stop;
+            return members;
+        }
     }
-}
\ No newline at end of file
+}
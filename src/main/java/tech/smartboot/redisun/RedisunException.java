@@ -12,4 +12,8 @@ public class RedisunException extends RuntimeException {
     public RedisunException(String s) {
         super(s);
     }
+
+    public RedisunException(String s, Throwable throwable) {
+        super(s, throwable);
+    }
 }
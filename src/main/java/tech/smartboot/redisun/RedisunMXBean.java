@@ -0,0 +1,105 @@
+package tech.smartboot.redisun;
+
+import java.util.List;
+
+/**
+ * 客户端的JMX管理接口
+ * <p>
+ * 通过 {@link RedisunOptions#jmx(String)} 开启后注册至平台MBeanServer，对象名称为
+ * tech.smartboot.redisun:type=Redisun,name=&lt;name&gt;。汇总属性为各主节点统计之和。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public interface RedisunMXBean {
+    String getName();
+
+    /**
+     * 各主节点的连接池统计
+     */
+    List<NodeStatistics> getNodes();
+
+    int getConnectionCount();
+
+    /**
+     * 已发送但尚未收到响应的命令数
+     */
+    int getPendingReplies();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    /**
+     * 网络写出的次数
+     */
+    long getFlushCount();
+
+    /**
+     * 有连接被关闭后新建的连接数
+     */
+    long getReconnects();
+
+    /**
+     * 从连接池获取连接失败的次数，包括建立连接超时
+     */
+    long getConnectFailures();
+
+    /**
+     * 因保活PING超时而关闭的连接数
+     */
+    long getKeepaliveEvictions();
+
+    /**
+     * 已发送的对冲请求数
+     */
+    long getHedgedReads();
+
+    /**
+     * 对冲请求先于首次请求响应的次数
+     */
+    long getHedgeWins();
+
+    /**
+     * 进程内直接内存缓冲区的数量，连接的读写缓冲区均分配自直接内存
+     */
+    long getDirectBufferCount();
+
+    /**
+     * 进程内直接内存缓冲区占用的字节数
+     */
+    long getDirectMemoryUsed();
+
+    int getMinConnections();
+
+    /**
+     * 调整每个节点连接池保持的最小连接数，由连接池每分钟一次的巡检补足连接
+     * <p>
+     * 连接池的最大连接数在首次获取连接时即已固定，无法在运行时调整。
+     * </p>
+     */
+    void setMinConnections(int minConnections);
+
+    int getMaxConnections();
+
+    /**
+     * 排空指定连接：不再向其分配新命令，已发送命令的响应全部到达后关闭连接
+     *
+     * @param sessionId 连接标识，见 {@link ConnectionStatistics#getSessionId()}
+     * @return 是否找到该连接
+     */
+    boolean drainConnection(String sessionId);
+
+    /**
+     * 慢命令日志，按时间由近及远排列，未开启时为空
+     */
+    List<SlowLogEntry> getSlowLog();
+
+    /**
+     * 以文本形式导出慢命令日志，每行一条记录
+     */
+    String dumpSlowLog();
+
+    void resetSlowLog();
+}
@@ -0,0 +1,205 @@
+package tech.smartboot.redisun;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link RedisunMXBean} 的实现，每次读取属性时从各节点实时采集
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class RedisunManagement implements RedisunMXBean {
+    private final String name;
+    private final RedisunOptions options;
+    private final Router router;
+    /**
+     * 慢命令日志，未开启时为null
+     */
+    private final SlowLog slowLog;
+    /**
+     * 对冲读，未开启时为null
+     */
+    private final Hedger hedger;
+
+    RedisunManagement(String name, RedisunOptions options, Router router, SlowLog slowLog, Hedger hedger) {
+        this.name = name;
+        this.options = options;
+        this.router = router;
+        this.slowLog = slowLog;
+        this.hedger = hedger;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<NodeStatistics> getNodes() {
+        List<NodeStatistics> nodes = new ArrayList<>();
+        for (RedisNode node : router.allNodes()) {
+            nodes.add(node.statistics());
+        }
+        return nodes;
+    }
+
+    private List<ConnectionStatistics> connections() {
+        List<ConnectionStatistics> connections = new ArrayList<>();
+        for (RedisNode node : router.allNodes()) {
+            connections.addAll(node.statistics().getConnections());
+        }
+        return connections;
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connections().size();
+    }
+
+    @Override
+    public int getPendingReplies() {
+        int pending = 0;
+        for (ConnectionStatistics connection : connections()) {
+            pending += connection.getPendingReplies();
+        }
+        return pending;
+    }
+
+    @Override
+    public long getBytesRead() {
+        long bytes = 0;
+        for (ConnectionStatistics connection : connections()) {
+            bytes += connection.getBytesRead();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getBytesWritten() {
+        long bytes = 0;
+        for (ConnectionStatistics connection : connections()) {
+            bytes += connection.getBytesWritten();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long getFlushCount() {
+        long count = 0;
+        for (ConnectionStatistics connection : connections()) {
+            count += connection.getFlushCount();
+        }
+        return count;
+    }
+
+    @Override
+    public long getReconnects() {
+        long count = 0;
+        for (NodeStatistics node : getNodes()) {
+            count += node.getReconnects();
+        }
+        return count;
+    }
+
+    @Override
+    public long getConnectFailures() {
+        long count = 0;
+        for (NodeStatistics node : getNodes()) {
+            count += node.getConnectFailures();
+        }
+        return count;
+    }
+
+    @Override
+    public long getKeepaliveEvictions() {
+        long count = 0;
+        for (NodeStatistics node : getNodes()) {
+            count += node.getKeepaliveEvictions();
+        }
+        return count;
+    }
+
+    @Override
+    public long getHedgedReads() {
+        return hedger == null ? 0 : hedger.getHedges();
+    }
+
+    @Override
+    public long getHedgeWins() {
+        return hedger == null ? 0 : hedger.getWins();
+    }
+
+    @Override
+    public long getDirectBufferCount() {
+        BufferPoolMXBean pool = directBufferPool();
+        return pool == null ? 0 : pool.getCount();
+    }
+
+    @Override
+    public long getDirectMemoryUsed() {
+        BufferPoolMXBean pool = directBufferPool();
+        return pool == null ? 0 : pool.getMemoryUsed();
+    }
+
+    private static BufferPoolMXBean directBufferPool() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int getMinConnections() {
+        return options.getMinConnections();
+    }
+
+    @Override
+    public void setMinConnections(int minConnections) {
+        for (RedisNode node : router.allNodes()) {
+            node.setMinConnections(minConnections);
+        }
+        // 集群模式下新发现的节点同样使用调整后的值
+        options.minConnections(Math.min(minConnections, options.getMaxConnections()));
+    }
+
+    @Override
+    public int getMaxConnections() {
+        return options.getMaxConnections();
+    }
+
+    @Override
+    public boolean drainConnection(String sessionId) {
+        for (RedisNode node : router.allNodes()) {
+            if (node.drain(sessionId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<SlowLogEntry> getSlowLog() {
+        return slowLog == null ? new ArrayList<>() : slowLog.entries();
+    }
+
+    @Override
+    public String dumpSlowLog() {
+        StringBuilder builder = new StringBuilder();
+        for (SlowLogEntry entry : getSlowLog()) {
+            builder.append(entry).append('\n');
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void resetSlowLog() {
+        if (slowLog != null) {
+            slowLog.reset();
+        }
+    }
+}
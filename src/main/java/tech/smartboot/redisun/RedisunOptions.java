@@ -1,35 +1,202 @@
 package tech.smartboot.redisun;
 
-import org.smartboot.socket.extension.multiplex.MultiplexOptions;
-import org.smartboot.socket.extension.plugins.StreamMonitorPlugin;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * @author 三刀
  * @version v1.0 10/21/25
  */
 public class RedisunOptions {
-    private final MultiplexOptions multiplexOptions;
-
     private int database = 0;
     private String password;
     private String username;
+    /**
+     * 服务端地址，集群模式下为种子节点列表
+     */
+    private List<InetSocketAddress> addresses = Collections.singletonList(InetSocketAddress.createUnresolved("127.0.0.1", 6379));
+    private boolean ssl;
+    /**
+     * 是否为集群模式
+     */
+    private boolean cluster;
+    /**
+     * 集群拓扑的定时刷新间隔（毫秒），小于等于0表示仅在收到重定向时刷新
+     */
+    private long clusterRefreshInterval = 60000;
+    /**
+     * 是否为哨兵模式
+     */
+    private boolean sentinel;
+    /**
+     * 哨兵模式下监控的主节点名称
+     */
+    private String masterName;
+    /**
+     * 哨兵节点的认证密码，与数据节点的认证信息相互独立
+     */
+    private String sentinelPassword;
+    /**
+     * 是否为客户端分片模式
+     */
+    private boolean sharded;
+    /**
+     * 分片模式下每个分片在哈希环上的虚拟节点数量
+     */
+    private int shardVirtualNodes = 160;
+    /**
+     * 分片模式下是否将不可用分片的key改由哈希环上的下一个可用分片处理
+     */
+    private boolean shardReroute;
+    /**
+     * 分片健康状态的探测间隔（毫秒）
+     */
+    private long shardProbeInterval = 1000;
+    /**
+     * 多key命令单批最大key数量
+     */
+    private int multiKeyBatchSize = 512;
+    /**
+     * 读命令的节点选择策略
+     */
+    private ReadPolicy readPolicy = ReadPolicy.PRIMARY;
+    /**
+     * 手动配置的副本地址，为空时通过ROLE命令自动发现
+     */
+    private List<InetSocketAddress> replicas = Collections.emptyList();
+    /**
+     * 副本允许的最大复制延迟（复制偏移量之差，字节）
+     */
+    private long maxReplicaLag = 1024 * 1024;
+    /**
+     * 副本状态及各节点延迟的探测间隔（毫秒）
+     */
+    private long replicaProbeInterval = 1000;
+    /**
+     * 执行响应回调的线程池，为null时在IO线程中直接执行
+     */
+    private Executor callbackExecutor;
+    /**
+     * 是否在虚拟线程中执行响应回调
+     */
+    private boolean virtualThreadCallbacks;
+    /**
+     * 是否按命令类型统计延迟
+     */
+    private boolean latencyMetrics;
+    /**
+     * 命令生命周期监听器
+     */
+    private final List<CommandListener> commandListeners = new ArrayList<>();
+    /**
+     * 慢命令日志的记录阈值（微秒），小于0时不记录
+     */
+    private long slowLogThreshold = -1;
+    /**
+     * 慢命令日志保存的记录数
+     */
+    private int slowLogCapacity = 128;
+    /**
+     * 热点key及大key的采样率，每N条命令采样1条，0表示不采样
+     */
+    private int keySampleRate;
+    /**
+     * 热点key及大key报告的接收方
+     */
+    private Consumer<KeyReport> keyReporter;
+    /**
+     * 热点key及大key报告的输出间隔（毫秒）
+     */
+    private long keyReportInterval = 60000;
+    /**
+     * 流量捕获配置，为null时不捕获
+     */
+    private CaptureOptions capture;
+    /**
+     * 由客户端根据流量捕获配置创建的捕获插件
+     */
+    private TrafficCapture trafficCapture;
+    /**
+     * JMX注册名称，为null时不注册
+     */
+    private String jmxName;
+    private int connectTimeout;
+    private int maxConnections = Runtime.getRuntime().availableProcessors();
+    private int minConnections = 4;
+    /**
+     * 空闲连接的保活检查间隔（毫秒），0表示不检查
+     */
+    private long keepaliveInterval;
+    /**
+     * 保活PING的响应超时（毫秒），超时的连接被关闭
+     */
+    private long keepaliveTimeout = 1000;
+    /**
+     * 熔断配置，为null时不熔断
+     */
+    private CircuitBreakerOptions circuitBreaker;
+    /**
+     * 对冲读配置，为null时不对冲
+     */
+    private HedgeOptions hedging;
+    private boolean debug;
 
-
-    public RedisunOptions(MultiplexOptions multiplexOptions) {
-        this.multiplexOptions = multiplexOptions;
+    RedisunOptions() {
     }
 
+    /**
+     * 设置服务端地址
+     * <p>
+     * 支持以下格式：
+     * </p>
+     * <ul>
+     *     <li>redis://[[username:]password@]host[:port]</li>
+     *     <li>rediss://[[username:]password@]host[:port]，启用SSL</li>
+     *     <li>redis-cluster://[[username:]password@]host1[:port1],host2[:port2]，集群模式，地址为种子节点</li>
+     *     <li>rediss-cluster://...，启用SSL的集群模式</li>
+     *     <li>redis-sentinel://[[username:]password@]host1[:port1],host2[:port2]/masterName，哨兵模式，地址为哨兵节点，认证信息用于数据节点</li>
+     *     <li>rediss-sentinel://...，启用SSL的哨兵模式</li>
+     *     <li>redis-sharded://[[username:]password@]host1[:port1],host2[:port2]，客户端分片模式，地址为各分片的独立节点</li>
+     *     <li>rediss-sharded://...，启用SSL的客户端分片模式</li>
+     * </ul>
+     */
     public RedisunOptions setAddress(String address) {
         if (address == null) {
             this.username = null;
             this.password = null;
             return this;
         }
-        String host;
-        int port;
         boolean ssl = false;
+        boolean cluster = false;
+        boolean sentinel = false;
+        boolean sharded = false;
         // 解析 ssl 前缀
-        if (address.startsWith("rediss://")) {
+        if (address.startsWith("rediss-sharded://")) {
+            ssl = true;
+            sharded = true;
+            address = address.substring(17);
+        } else if (address.startsWith("redis-sharded://")) {
+            sharded = true;
+            address = address.substring(16);
+        } else if (address.startsWith("rediss-sentinel://")) {
+            ssl = true;
+            sentinel = true;
+            address = address.substring(18);
+        } else if (address.startsWith("redis-sentinel://")) {
+            sentinel = true;
+            address = address.substring(17);
+        } else if (address.startsWith("rediss-cluster://")) {
+            ssl = true;
+            cluster = true;
+            address = address.substring(17);
+        } else if (address.startsWith("redis-cluster://")) {
+            cluster = true;
+            address = address.substring(16);
+        } else if (address.startsWith("rediss://")) {
             ssl = true;
             address = address.substring(9);
         } else if (address.startsWith("redis://")) {
@@ -52,22 +219,382 @@ public class RedisunOptions {
             }
         }
 
+        // 哨兵模式下路径部分为主节点名称
+        String masterName = null;
+        if (sentinel) {
+            int slashIndex = address.indexOf('/');
+            if (slashIndex == -1) {
+                throw new RedisunException("master name is required in sentinel address");
+            }
+            masterName = address.substring(slashIndex + 1);
+            address = address.substring(0, slashIndex);
+        }
+
         // 解析 host 和 port
-        int colonIndex = address.lastIndexOf(':');
-        if (colonIndex != -1) {
-            host = address.substring(0, colonIndex);
-            try {
-                port = Integer.parseInt(address.substring(colonIndex + 1));
-            } catch (NumberFormatException e) {
-                port = ssl ? 6380 : 6379; // 默认端口
+        int defaultPort = sentinel ? 26379 : ssl ? 6380 : 6379;
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String hostAndPort : address.split(",")) {
+            String host;
+            int port;
+            int colonIndex = hostAndPort.lastIndexOf(':');
+            if (colonIndex != -1) {
+                host = hostAndPort.substring(0, colonIndex);
+                try {
+                    port = Integer.parseInt(hostAndPort.substring(colonIndex + 1));
+                } catch (NumberFormatException e) {
+                    port = defaultPort; // 默认端口
+                }
+            } else {
+                host = hostAndPort;
+                port = defaultPort; // 默认端口
+            }
+            addresses.add(InetSocketAddress.createUnresolved(host.trim(), port));
+        }
+        this.addresses = addresses;
+        this.ssl = ssl;
+        this.cluster = cluster;
+        this.sentinel = sentinel;
+        this.sharded = sharded;
+        this.masterName = masterName;
+        return this;
+    }
+
+    List<InetSocketAddress> getAddresses() {
+        return addresses;
+    }
+
+    boolean isSsl() {
+        return ssl;
+    }
+
+    boolean isCluster() {
+        return cluster;
+    }
+
+    boolean isSentinel() {
+        return sentinel;
+    }
+
+    boolean isSharded() {
+        return sharded;
+    }
+
+    int getShardVirtualNodes() {
+        return shardVirtualNodes;
+    }
+
+    /**
+     * 设置分片模式下每个分片的虚拟节点数量，数量越多key的分布越均匀
+     */
+    public RedisunOptions shardVirtualNodes(int shardVirtualNodes) {
+        this.shardVirtualNodes = shardVirtualNodes;
+        return this;
+    }
+
+    boolean isShardReroute() {
+        return shardReroute;
+    }
+
+    /**
+     * 设置分片不可用时是否将其key改由哈希环上的下一个可用分片处理
+     * <p>
+     * 适用于缓存场景：改道期间写入的数据不会迁回原分片，原分片恢复后其key重新路由回原分片。
+     * 默认关闭，不可用分片上的命令直接失败。
+     * </p>
+     */
+    public RedisunOptions shardReroute(boolean shardReroute) {
+        this.shardReroute = shardReroute;
+        return this;
+    }
+
+    long getShardProbeInterval() {
+        return shardProbeInterval;
+    }
+
+    /**
+     * 设置分片健康状态的探测间隔（毫秒）
+     */
+    public RedisunOptions shardProbeInterval(long shardProbeInterval) {
+        this.shardProbeInterval = shardProbeInterval;
+        return this;
+    }
+
+    String getMasterName() {
+        return masterName;
+    }
+
+    String getSentinelPassword() {
+        return sentinelPassword;
+    }
+
+    /**
+     * 设置哨兵节点的认证密码，哨兵未开启认证时无需设置
+     */
+    public RedisunOptions sentinelPassword(String sentinelPassword) {
+        this.sentinelPassword = sentinelPassword;
+        return this;
+    }
+
+    /**
+     * 生成连接哨兵节点使用的配置，哨兵使用独立的认证信息且仅需少量连接
+     */
+    RedisunOptions sentinelOptions() {
+        RedisunOptions sentinelOptions = new RedisunOptions();
+        sentinelOptions.password = sentinelPassword;
+        sentinelOptions.ssl = ssl;
+        sentinelOptions.connectTimeout = connectTimeout;
+        sentinelOptions.minConnections = 1;
+        // 连接池新建连接的过程需额外占用一个许可，上限不能小于2
+        sentinelOptions.maxConnections = 2;
+        sentinelOptions.debug = debug;
+        return sentinelOptions;
+    }
+
+    long getClusterRefreshInterval() {
+        return clusterRefreshInterval;
+    }
+
+    /**
+     * 设置集群拓扑的定时刷新间隔（毫秒），小于等于0表示仅在收到MOVED重定向或连接异常时刷新
+     */
+    public RedisunOptions clusterRefreshInterval(long clusterRefreshInterval) {
+        this.clusterRefreshInterval = clusterRefreshInterval;
+        return this;
+    }
+
+    Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * 设置执行响应回调的线程池
+     * <p>
+     * 默认在IO线程中完成异步结果，thenApply 等后续阶段也随之在IO线程中执行，
+     * 耗时的回调会阻塞同一连接上其他响应的处理。设置线程池后，同一次读事件中解析出的所有响应
+     * 作为一个批次提交给线程池，按响应顺序依次完成，同一连接的批次依次执行。同步调用仅需唤醒等待线程，始终在IO线程中完成。
+     * </p>
+     */
+    public RedisunOptions callbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
+    List<CommandListener> getCommandListeners() {
+        return commandListeners;
+    }
+
+    /**
+     * 注册命令生命周期监听器，可多次调用注册多个监听器，按注册顺序通知
+     */
+    public RedisunOptions commandListener(CommandListener listener) {
+        this.commandListeners.add(listener);
+        return this;
+    }
+
+    long getSlowLogThreshold() {
+        return slowLogThreshold;
+    }
+
+    /**
+     * 设置慢命令日志的记录阈值（微秒），自提交至完成耗时达到阈值的命令记入 {@link Redisun#slowLog()}
+     * <p>
+     * 与服务端 slowlog-log-slower-than 一致，0表示记录全部命令，小于0表示不记录（默认）。
+     * 开启后每条命令额外产生一个事件对象并记录各阶段的时间点，超过阈值时才提取命令参数。
+     * </p>
+     */
+    public RedisunOptions slowLogThreshold(long slowLogThreshold) {
+        this.slowLogThreshold = slowLogThreshold;
+        return this;
+    }
+
+    int getSlowLogCapacity() {
+        return slowLogCapacity;
+    }
+
+    /**
+     * 设置慢命令日志保存的记录数，写满后覆盖最早的记录，默认128
+     */
+    public RedisunOptions slowLogCapacity(int slowLogCapacity) {
+        this.slowLogCapacity = slowLogCapacity;
+        return this;
+    }
+
+    boolean isLatencyMetrics() {
+        return latencyMetrics;
+    }
+
+    /**
+     * 设置是否按命令类型统计延迟，统计结果通过 {@link Redisun#latencies()} 获取
+     * <p>
+     * 开启后每条命令额外产生一个计时回调对象及两次计时，未开启时无任何开销。
+     * </p>
+     */
+    public RedisunOptions latencyMetrics(boolean latencyMetrics) {
+        this.latencyMetrics = latencyMetrics;
+        return this;
+    }
+
+    int getKeySampleRate() {
+        return keySampleRate;
+    }
+
+    /**
+     * 设置热点key及大key的采样率，每N条命令随机采样1条，统计结果通过 {@link Redisun#keyReport()} 获取
+     * <p>
+     * 默认为0，即不采样；设为1时统计全部命令。未被采样的命令仅多一次随机数判断，适合在生产环境中常开。
+     * </p>
+     */
+    public RedisunOptions keySampleRate(int keySampleRate) {
+        this.keySampleRate = keySampleRate;
+        return this;
+    }
+
+    Consumer<KeyReport> getKeyReporter() {
+        return keyReporter;
+    }
+
+    /**
+     * 设置热点key及大key报告的接收方，开启采样后按 {@link #keyReportInterval(long)} 定期输出报告并开始新的统计窗口
+     */
+    public RedisunOptions keyReporter(Consumer<KeyReport> keyReporter) {
+        this.keyReporter = keyReporter;
+        return this;
+    }
+
+    long getKeyReportInterval() {
+        return keyReportInterval;
+    }
+
+    /**
+     * 设置热点key及大key报告的输出间隔（毫秒），默认60秒
+     */
+    public RedisunOptions keyReportInterval(long keyReportInterval) {
+        this.keyReportInterval = keyReportInterval;
+        return this;
+    }
+
+    CaptureOptions getCapture() {
+        return capture;
+    }
+
+    /**
+     * 开启流量捕获，将被采样连接握手完成后收发的字节流写入内存映射的捕获文件，可通过 {@link TrafficReplay} 离线回放
+     * <p>
+     * 捕获文件包含命令及响应的完整内容，须妥善保管。
+     * </p>
+     */
+    public RedisunOptions capture(Consumer<CaptureOptions> options) {
+        CaptureOptions captureOptions = new CaptureOptions();
+        options.accept(captureOptions);
+        this.capture = captureOptions;
+        return this;
+    }
+
+    TrafficCapture getTrafficCapture() {
+        return trafficCapture;
+    }
+
+    void trafficCapture(TrafficCapture trafficCapture) {
+        this.trafficCapture = trafficCapture;
+    }
+
+    String getJmxName() {
+        return jmxName;
+    }
+
+    /**
+     * 设置JMX注册名称，客户端创建时以 tech.smartboot.redisun:type=Redisun,name=&lt;name&gt; 注册 {@link RedisunMXBean}，关闭时注销
+     * <p>
+     * 开启后各连接额外统计读写的字节数及写出次数。同一进程内的名称不可重复。
+     * </p>
+     */
+    public RedisunOptions jmx(String name) {
+        this.jmxName = name;
+        return this;
+    }
+
+    boolean isVirtualThreadCallbacks() {
+        return virtualThreadCallbacks;
+    }
+
+    /**
+     * 设置是否在虚拟线程中执行响应回调，需运行于JDK 21及以上版本
+     * <p>
+     * 开启后由客户端创建为每个任务启动一个虚拟线程的执行器作为 {@link #callbackExecutor(Executor)}，
+     * 并在客户端关闭时一同关闭；已显式设置回调线程池时以后者为准。
+     * </p>
+     */
+    public RedisunOptions virtualThreadCallbacks(boolean virtualThreadCallbacks) {
+        this.virtualThreadCallbacks = virtualThreadCallbacks;
+        return this;
+    }
+
+    int getMultiKeyBatchSize() {
+        return multiKeyBatchSize;
+    }
+
+    /**
+     * 设置MGET、MSET、DEL、EXISTS等多key命令单批最大key数量，超出时拆分为多个批次并行发送，小于等于0表示不拆分
+     */
+    public RedisunOptions multiKeyBatchSize(int multiKeyBatchSize) {
+        this.multiKeyBatchSize = multiKeyBatchSize;
+        return this;
+    }
+
+    ReadPolicy getReadPolicy() {
+        return readPolicy;
+    }
+
+    /**
+     * 设置读命令的节点选择策略，默认仅从主节点读取，仅单机模式生效
+     */
+    public RedisunOptions readPolicy(ReadPolicy readPolicy) {
+        this.readPolicy = readPolicy;
+        return this;
+    }
+
+    List<InetSocketAddress> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 设置副本地址，格式为 host:port；未设置时通过主节点的ROLE命令自动发现
+     */
+    public RedisunOptions setReplicas(String... replicas) {
+        List<InetSocketAddress> list = new ArrayList<>(replicas.length);
+        for (String replica : replicas) {
+            int colonIndex = replica.lastIndexOf(':');
+            if (colonIndex == -1) {
+                list.add(InetSocketAddress.createUnresolved(replica.trim(), 6379));
+            } else {
+                list.add(InetSocketAddress.createUnresolved(replica.substring(0, colonIndex).trim(), Integer.parseInt(replica.substring(colonIndex + 1).trim())));
             }
-        } else {
-            host = address;
-            port = ssl ? 6380 : 6379; // 默认端口
         }
-        multiplexOptions.setHost(host);
-        multiplexOptions.setPort(port);
-        multiplexOptions.setSsl(ssl);
+        this.replicas = list;
+        return this;
+    }
+
+    long getMaxReplicaLag() {
+        return maxReplicaLag;
+    }
+
+    /**
+     * 设置副本允许的最大复制延迟，以复制偏移量之差（字节）计，超出时不从该副本读取
+     */
+    public RedisunOptions maxReplicaLag(long maxReplicaLag) {
+        this.maxReplicaLag = maxReplicaLag;
+        return this;
+    }
+
+    long getReplicaProbeInterval() {
+        return replicaProbeInterval;
+    }
+
+    /**
+     * 设置副本状态及节点延迟的探测间隔（毫秒）
+     */
+    public RedisunOptions replicaProbeInterval(long replicaProbeInterval) {
+        this.replicaProbeInterval = replicaProbeInterval;
         return this;
     }
 
@@ -98,28 +625,112 @@ public class RedisunOptions {
         return this;
     }
 
+    int getConnectTimeout() {
+        return connectTimeout;
+    }
+
     /**
      * 设置建立连接的超时时间
      */
     protected RedisunOptions connectTimeout(int connectTimeout) {
-        this.multiplexOptions.connectTimeout(connectTimeout);
+        this.connectTimeout = connectTimeout;
         return this;
     }
 
+    int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * 设置最大连接数，集群模式下为每个节点的最大连接数
+     */
     public RedisunOptions maxConnections(int maxConnections) {
-        this.multiplexOptions.maxConnections(maxConnections);
+        this.maxConnections = maxConnections;
         return this;
     }
 
+    int getMinConnections() {
+        return minConnections;
+    }
+
+    /**
+     * 设置最小连接数，集群模式下为每个节点的最小连接数
+     */
     public RedisunOptions minConnections(int minConnections) {
-        this.multiplexOptions.minConnections(minConnections);
+        this.minConnections = minConnections;
+        return this;
+    }
+
+    long getKeepaliveInterval() {
+        return keepaliveInterval;
+    }
+
+    /**
+     * 设置空闲连接的保活检查间隔（毫秒），默认不检查
+     * <p>
+     * 每个间隔内没有发送过命令的连接池连接会收到一条PING，响应超过 {@link #keepaliveTimeout(long)} 未到达的连接被关闭，
+     * 并在后台补充新的连接，避免NAT超时等原因造成的半开连接在业务命令上才被发现。仍有命令在途的连接不发送PING。
+     * </p>
+     */
+    public RedisunOptions keepaliveInterval(long keepaliveInterval) {
+        this.keepaliveInterval = keepaliveInterval;
+        return this;
+    }
+
+    long getKeepaliveTimeout() {
+        return keepaliveTimeout;
+    }
+
+    /**
+     * 设置保活PING的响应超时（毫秒），默认1秒
+     */
+    public RedisunOptions keepaliveTimeout(long keepaliveTimeout) {
+        this.keepaliveTimeout = keepaliveTimeout;
         return this;
     }
 
+    CircuitBreakerOptions getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 开启节点熔断，每个节点按失败率、慢调用比例及响应超时独立熔断
+     * <p>
+     * 熔断打开期间发往该节点的命令不再排队，立即以 {@link CircuitBreakerOpenException} 失败，调用方可据此快速降级；
+     * 经过 openDuration 后放行少量探测命令，全部成功后恢复。
+     * </p>
+     */
+    public RedisunOptions circuitBreaker(Consumer<CircuitBreakerOptions> options) {
+        CircuitBreakerOptions circuitBreakerOptions = new CircuitBreakerOptions();
+        options.accept(circuitBreakerOptions);
+        this.circuitBreaker = circuitBreakerOptions;
+        return this;
+    }
+
+    HedgeOptions getHedging() {
+        return hedging;
+    }
+
+    /**
+     * 开启只读命令的对冲读
+     * <p>
+     * GET、HGET、MGET、ZRANGE等只读命令超过近期分位耗时仍未响应时，将同一命令发往其他连接或副本，先到达的响应生效。
+     * 仅适用于幂等的只读命令，写命令从不对冲；对冲数量受令牌预算限制。
+     * </p>
+     */
+    public RedisunOptions hedging(Consumer<HedgeOptions> options) {
+        HedgeOptions hedgeOptions = new HedgeOptions();
+        options.accept(hedgeOptions);
+        this.hedging = hedgeOptions;
+        return this;
+    }
+
+    boolean isDebug() {
+        return debug;
+    }
+
     public RedisunOptions debug(boolean debug) {
-        if (debug) {
-            multiplexOptions.addPlugin(new StreamMonitorPlugin<>());
-        }
+        this.debug = debug;
         return this;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.Doubles;
+import tech.smartboot.redisun.resp.Integers;
+import tech.smartboot.redisun.resp.Nulls;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleStrings;
+
+/**
+ * 响应解码器，将服务端响应转换为调用方需要的类型
+ * <p>
+ * 配合 {@link Redisun#execute(Command, ReplyDecoder)} 使用，用于执行自定义命令或模块命令。
+ * 错误响应在解码前已转换为 {@link RedisunException}，解码器只会收到正常响应。
+ * </p>
+ *
+ * @param <T> 解码结果类型
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+@FunctionalInterface
+public interface ReplyDecoder<T> {
+    /**
+     * 原样返回响应
+     */
+    ReplyDecoder<RESP> RAW = resp -> resp;
+
+    /**
+     * 解码为字符串，适用于 Bulk Strings 与 Simple Strings 响应，空响应解码为null
+     */
+    ReplyDecoder<String> STRING = resp -> {
+        if (resp instanceof BulkStrings || resp instanceof SimpleStrings) {
+            return (String) resp.getValue();
+        } else if (resp instanceof Nulls) {
+            return null;
+        }
+        throw new RedisunException("invalid response:" + resp);
+    };
+
+    /**
+     * 解码为整数，空响应解码为null
+     */
+    ReplyDecoder<Long> LONG = resp -> {
+        if (resp instanceof Integers) {
+            return ((Integers) resp).getLong();
+        } else if (resp instanceof Nulls) {
+            return null;
+        }
+        throw new RedisunException("invalid response:" + resp);
+    };
+
+    /**
+     * 解码为浮点数，兼容以 Bulk Strings 返回浮点数的命令，空响应解码为null
+     */
+    ReplyDecoder<Double> DOUBLE = resp -> {
+        if (resp instanceof Doubles) {
+            return ((Doubles) resp).getValue();
+        } else if (resp instanceof BulkStrings) {
+            return Double.parseDouble(((BulkStrings) resp).getValue());
+        } else if (resp instanceof Integers) {
+            return ((Integers) resp).getValue().doubleValue();
+        } else if (resp instanceof Nulls) {
+            return null;
+        }
+        throw new RedisunException("invalid response:" + resp);
+    };
+
+    /**
+     * 解码响应
+     *
+     * @param resp 服务端响应，不包含错误响应
+     * @return 解码结果
+     */
+    T decode(RESP resp);
+}
@@ -0,0 +1,217 @@
+package tech.smartboot.redisun;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 命令请求的增量解析器
+ * <p>
+ * 客户端发出的命令均为由批量字符串组成的RESP数组，解析器逐字节推进状态，
+ * 可接收任意切分的字节流，每解析出一个数组头或参数即通知处理器。
+ * 参数超出保留长度时只保留前缀，其余内容只计数而不复制。
+ * </p>
+ * <p>
+ * 字节流可能从某条命令的中间开始（如捕获文件被轮转删除），解析器起始时及遇到格式错误时进入同步状态，
+ * 直至出现形如 <code>*&lt;n&gt;\r\n$</code> 的命令边界才恢复解析，期间的字节被丢弃。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class RequestParser {
+    private static final int STATE_TYPE = 0;
+    private static final int STATE_LENGTH = 1;
+    private static final int STATE_LENGTH_LF = 2;
+    private static final int STATE_SYNC_BULK = 3;
+    private static final int STATE_BODY = 4;
+    private static final int STATE_CR = 5;
+    private static final int STATE_LF = 6;
+    /**
+     * 参数个数及参数长度的上限，与服务端默认的 proto-max-bulk-len 一致
+     */
+    private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE;
+    private static final long MAX_BULK_LENGTH = 512 * 1024 * 1024;
+
+    /**
+     * 解析结果的处理器
+     */
+    interface Handler {
+        /**
+         * 解析出一条命令的数组头，此前未解析完的命令应被丢弃
+         *
+         * @param count 参数个数，包括命令名称
+         */
+        void onArray(long count);
+
+        /**
+         * 解析出一个参数
+         *
+         * @param value  参数内容，超出保留长度时为前缀
+         * @param length value中有效内容的长度
+         * @param total  参数的完整长度
+         */
+        void onArgument(byte[] value, int length, long total);
+    }
+
+    private final Handler handler;
+    private final int maxArgumentLength;
+    private int state = STATE_TYPE;
+    /**
+     * 是否正在查找命令边界
+     */
+    private boolean synchronizing = true;
+    private boolean arrayHeader;
+    private long number;
+    private int digits;
+    /**
+     * 当前命令尚未解析的参数个数
+     */
+    private long remaining;
+    private byte[] value;
+    private int valueLength;
+    private long bulkLength;
+    private long bulkRemaining;
+
+    /**
+     * @param handler           解析结果的处理器
+     * @param maxArgumentLength 每个参数保留的最大长度
+     */
+    RequestParser(Handler handler, int maxArgumentLength) {
+        this.handler = handler;
+        this.maxArgumentLength = maxArgumentLength;
+    }
+
+    void accept(byte b) {
+        switch (state) {
+            case STATE_TYPE:
+                if (b == '*' && remaining == 0) {
+                    arrayHeader = true;
+                } else if (b == '$' && remaining > 0) {
+                    arrayHeader = false;
+                } else {
+                    resync(b);
+                    return;
+                }
+                number = 0;
+                digits = 0;
+                state = STATE_LENGTH;
+                break;
+            case STATE_LENGTH:
+                if (b >= '0' && b <= '9') {
+                    number = number * 10 + (b - '0');
+                    digits++;
+                    if (number > (arrayHeader ? MAX_ARRAY_LENGTH : MAX_BULK_LENGTH)) {
+                        resync(b);
+                    }
+                } else if (b == '\r' && digits > 0 && (number > 0 || !arrayHeader)) {
+                    state = STATE_LENGTH_LF;
+                } else {
+                    resync(b);
+                }
+                break;
+            case STATE_LENGTH_LF:
+                if (b != '\n') {
+                    resync(b);
+                } else if (arrayHeader) {
+                    remaining = number;
+                    if (synchronizing) {
+                        // 数组头之后须紧跟批量字符串才视为命令边界
+                        state = STATE_SYNC_BULK;
+                    } else {
+                        state = STATE_TYPE;
+                        handler.onArray(number);
+                    }
+                } else {
+                    bulkLength = number;
+                    bulkRemaining = number;
+                    value = new byte[(int) Math.min(number, maxArgumentLength)];
+                    valueLength = 0;
+                    state = bulkRemaining == 0 ? STATE_CR : STATE_BODY;
+                }
+                break;
+            case STATE_SYNC_BULK:
+                if (b == '$') {
+                    synchronizing = false;
+                    handler.onArray(remaining);
+                    arrayHeader = false;
+                    number = 0;
+                    digits = 0;
+                    state = STATE_LENGTH;
+                } else {
+                    resync(b);
+                }
+                break;
+            case STATE_BODY:
+                if (valueLength < value.length) {
+                    value[valueLength++] = b;
+                }
+                if (--bulkRemaining == 0) {
+                    state = STATE_CR;
+                }
+                break;
+            case STATE_CR:
+                if (b == '\r') {
+                    state = STATE_LF;
+                } else {
+                    resync(b);
+                }
+                break;
+            default:
+                if (b == '\n') {
+                    finishArgument();
+                } else {
+                    resync(b);
+                }
+        }
+    }
+
+    void accept(byte[] bytes, int offset, int len) {
+        int end = offset + len;
+        while (offset < end) {
+            if (state == STATE_BODY && bulkRemaining > 1) {
+                // 参数内容整段处理，超出保留长度的部分直接跳过
+                int n = (int) Math.min(end - offset, bulkRemaining - 1);
+                int copy = Math.min(n, value.length - valueLength);
+                System.arraycopy(bytes, offset, value, valueLength, copy);
+                valueLength += copy;
+                bulkRemaining -= n;
+                offset += n;
+                if (offset == end) {
+                    break;
+                }
+            }
+            accept(bytes[offset++]);
+        }
+    }
+
+    void accept(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            accept(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        } else {
+            while (buffer.hasRemaining()) {
+                accept(buffer.get());
+            }
+        }
+    }
+
+    /**
+     * 格式错误，丢弃当前命令并查找下一个命令边界，当前字节可能即为边界的起始
+     */
+    private void resync(byte b) {
+        synchronizing = true;
+        remaining = 0;
+        value = null;
+        state = STATE_TYPE;
+        if (b == '*') {
+            accept(b);
+        }
+    }
+
+    private void finishArgument() {
+        state = STATE_TYPE;
+        remaining--;
+        byte[] bytes = value;
+        value = null;
+        handler.onArgument(bytes, valueLength, bulkLength);
+    }
+}
@@ -0,0 +1,51 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+
+/**
+ * 响应回调接口
+ * <p>
+ * 每个已发送的命令在会话的响应队列中对应一个回调，按发送顺序与服务端响应一一匹配。
+ * 同一个回调实例可被多次入队，由实现方自行区分各次响应，从而避免为每条命令分配独立的Future。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see RedisSession
+ */
+interface ResponseCallback {
+    /**
+     * 收到服务端响应，包括 SimpleErrors 类型的错误响应
+     *
+     * @param resp 响应结果
+     */
+    void onResponse(RESP resp);
+
+    /**
+     * 命令未获得响应，如连接断开或解码异常
+     *
+     * @param throwable 异常信息
+     */
+    void onFailure(Throwable throwable);
+
+    /**
+     * 是否为轻量回调
+     * <p>
+     * 轻量回调仅记录结果或唤醒等待线程，不会执行用户代码，配置了回调线程池时仍直接在IO线程中执行。
+     * </p>
+     *
+     * @return 轻量回调返回true
+     */
+    default boolean isLightweight() {
+        return false;
+    }
+
+    /**
+     * 获取命令的生命周期事件
+     *
+     * @return 未注册命令监听器时返回null
+     */
+    default CommandEvent event() {
+        return null;
+    }
+}
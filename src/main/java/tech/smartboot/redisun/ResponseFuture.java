@@ -0,0 +1,31 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 以CompletableFuture形式接收单条命令响应的回调实现
+ * <p>
+ * SimpleErrors 类型的响应将以 {@link RedisunException} 异常完成。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class ResponseFuture extends CompletableFuture<RESP> implements ResponseCallback {
+    @Override
+    public void onResponse(RESP resp) {
+        if (resp instanceof SimpleErrors) {
+            completeExceptionally(new RedisunException(((SimpleErrors) resp).getValue()));
+        } else {
+            complete(resp);
+        }
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+        completeExceptionally(throwable);
+    }
+}
@@ -0,0 +1,84 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.resp.RESP;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 命令路由
+ * <p>
+ * 根据部署模式决定命令由哪个节点执行：单机模式下始终为同一节点，集群模式下按key的槽位选择节点，
+ * 分片模式下按key在一致性哈希环上的位置选择节点。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+interface Router {
+    /**
+     * 获取负责指定key的节点
+     *
+     * @param key 键，为null时返回任意可用节点
+     * @return 负责该key的节点
+     */
+    RedisNode route(byte[] key);
+
+    /**
+     * 异步执行Redis命令
+     *
+     * @param command 要执行的Redis命令
+     * @param policy  只读命令的节点选择策略
+     * @return 包含执行结果的CompletableFuture
+     */
+    default CompletableFuture<RESP> execute(Command command, ReadPolicy policy) {
+        ResponseFuture future = new ResponseFuture();
+        execute(command, policy, future);
+        return future;
+    }
+
+    /**
+     * 异步执行Redis命令，响应由IO线程直接交给回调
+     *
+     * @param command  要执行的Redis命令
+     * @param policy   只读命令的节点选择策略
+     * @param callback 响应回调，SimpleErrors 类型的错误响应同样经由 {@link ResponseCallback#onResponse(RESP)} 传递
+     */
+    void execute(Command command, ReadPolicy policy, ResponseCallback callback);
+
+    /**
+     * 发送对冲请求：将只读命令发往与首次执行不同的连接或副本
+     *
+     * @param command  要执行的只读命令
+     * @param policy   只读命令的节点选择策略
+     * @param callback 响应回调
+     * @return 是否已发送，没有可用的其他连接时返回false
+     */
+    default boolean hedge(Command command, ReadPolicy policy, ResponseCallback callback) {
+        return route(command.routingKey()).executeHedge(command, callback);
+    }
+
+    /**
+     * 获取当前所有主节点，用于FLUSHALL、DBSIZE等需要在每个节点上执行的命令
+     */
+    Collection<RedisNode> nodes();
+
+    /**
+     * 获取包括副本在内的全部节点，用于统计节点及连接信息
+     */
+    default Collection<RedisNode> allNodes() {
+        return nodes();
+    }
+
+    /**
+     * 获取多key命令的分区函数，分区相同的key可由同一条命令执行
+     *
+     * @return 分区函数，所有key均可由同一条命令执行时返回null
+     */
+    default Function<byte[], Object> partitioner() {
+        return null;
+    }
+
+    void close();
+}
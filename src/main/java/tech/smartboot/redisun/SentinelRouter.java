@@ -0,0 +1,265 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.buffer.BufferPagePool;
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
+import org.smartboot.socket.transport.AioQuickClient;
+import org.smartboot.socket.transport.AioSession;
+import tech.smartboot.redisun.cmd.SentinelGetMasterAddrCommand;
+import tech.smartboot.redisun.cmd.SubscribeCommand;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 哨兵模式路由
+ * <p>
+ * 启动时向哨兵查询主节点地址，并在其中一个哨兵上订阅 +switch-master 事件。
+ * 收到主节点切换事件后立即以新主节点重建连接池，旧连接池随即关闭，其中未完成的命令快速失败。
+ * </p>
+ * <p>
+ * 后台定时检查订阅连接，断开时改由其他哨兵订阅，并向新订阅的哨兵重新查询主节点地址，避免遗漏断开期间的切换事件。
+ * 订阅正常时不再轮询查询，避免过期或处于网络分区中的哨兵将已完成的切换回滚。
+ * 主节点确定后的命令执行及副本读取与单机模式一致。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class SentinelRouter implements Router {
+    private static final String SWITCH_MASTER_CHANNEL = "+switch-master";
+    /**
+     * 订阅连接及主节点地址的检查间隔（毫秒）
+     */
+    private static final long CHECK_INTERVAL = 1000;
+    /**
+     * 查询哨兵的超时时间（毫秒）
+     */
+    private static final long QUERY_TIMEOUT = 1000;
+
+    private final RedisunOptions options;
+    private final AsynchronousChannelGroup group;
+    private final BufferPagePool bufferPagePool;
+    private final List<RedisNode> sentinels = new ArrayList<>();
+    /**
+     * 当前主节点的路由
+     */
+    private volatile StandaloneRouter delegate;
+    private volatile String masterAddress;
+    /**
+     * 订阅 +switch-master 的独占连接
+     */
+    private volatile AioQuickClient subscriber;
+    /**
+     * 用于查询哨兵及切换主节点，避免在IO线程中建立连接
+     */
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "redisun-sentinel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final TimerTask checkTask;
+    private volatile boolean closed;
+
+    SentinelRouter(RedisunOptions options, AsynchronousChannelGroup group, BufferPagePool bufferPagePool) {
+        this.options = options;
+        this.group = group;
+        this.bufferPagePool = bufferPagePool;
+        RedisunOptions sentinelOptions = options.sentinelOptions();
+        for (InetSocketAddress address : options.getAddresses()) {
+            sentinels.add(new RedisNode(sentinelOptions, address.getHostString(), address.getPort(), group, bufferPagePool));
+        }
+        try {
+            InetSocketAddress master = queryMaster();
+            if (master == null) {
+                throw new RedisunException("no sentinel knows master " + options.getMasterName());
+            }
+            switchMaster(master.getHostString(), master.getPort());
+            subscribe();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        checkTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(() -> {
+            try {
+                executor.execute(this::check);
+            } catch (Throwable e) {
+                // 路由已关闭
+            }
+        }, CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public RedisNode route(byte[] key) {
+        return delegate.route(key);
+    }
+
+    @Override
+    public void execute(Command command, ReadPolicy policy, ResponseCallback callback) {
+        delegate.execute(command, policy, callback);
+    }
+
+    @Override
+    public boolean hedge(Command command, ReadPolicy policy, ResponseCallback callback) {
+        return delegate.hedge(command, policy, callback);
+    }
+
+    @Override
+    public Collection<RedisNode> nodes() {
+        return delegate.nodes();
+    }
+
+    @Override
+    public Collection<RedisNode> allNodes() {
+        return delegate.allNodes();
+    }
+
+    /**
+     * 依次向各哨兵查询主节点地址
+     *
+     * @return 主节点地址，所有哨兵均不可用或未监控该主节点时返回null
+     */
+    private InetSocketAddress queryMaster() {
+        for (RedisNode sentinel : sentinels) {
+            try {
+                InetSocketAddress address = queryMaster(sentinel);
+                if (address != null) {
+                    return address;
+                }
+            } catch (Throwable e) {
+                // 尝试下一个哨兵
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 向指定哨兵查询主节点地址
+     *
+     * @return 主节点地址，该哨兵未监控该主节点时返回null
+     */
+    private InetSocketAddress queryMaster(RedisNode sentinel) throws Exception {
+        return SentinelGetMasterAddrCommand.toAddress(sentinel.execute(new SentinelGetMasterAddrCommand(options.getMasterName())).get(QUERY_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 在第一个可用的哨兵上订阅主节点切换事件
+     *
+     * @return 订阅成功的哨兵，所有哨兵均不可用时返回null
+     */
+    private RedisNode subscribe() {
+        for (RedisNode sentinel : sentinels) {
+            AioQuickClient client = null;
+            try {
+                client = sentinel.connect();
+                RedisNode.subscribe(client, new SubscribeCommand(SWITCH_MASTER_CHANNEL), this::onPush);
+                subscriber = client;
+                return sentinel;
+            } catch (Throwable e) {
+                if (client != null) {
+                    client.shutdownNow();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 处理订阅连接上的推送消息，消息内容形如 "masterName oldHost oldPort newHost newPort"
+     */
+    private void onPush(RESP resp) {
+        List<RESP> values = ((Arrays) resp).getValue();
+        if (values.size() != 3 || !"message".equals(values.get(0).getValue()) || !SWITCH_MASTER_CHANNEL.equals(values.get(1).getValue())) {
+            return;
+        }
+        String[] parts = values.get(2).getValue().toString().split(" ");
+        if (parts.length != 5 || !parts[0].equals(options.getMasterName())) {
+            return;
+        }
+        try {
+            executor.execute(() -> switchMaster(parts[3], Integer.parseInt(parts[4])));
+        } catch (Throwable e) {
+            // 路由已关闭
+        }
+    }
+
+    /**
+     * 检查订阅连接是否有效，断开时重新订阅，并以新订阅的哨兵的查询结果校正主节点地址
+     */
+    private void check() {
+        if (closed) {
+            return;
+        }
+        AioQuickClient client = subscriber;
+        AioSession session = client == null ? null : client.getSession();
+        if (session != null && !session.isInvalid()) {
+            return;
+        }
+        if (client != null) {
+            client.shutdownNow();
+        }
+        subscriber = null;
+        // 先订阅再查询，查询之后的切换事件由该哨兵推送
+        RedisNode sentinel = subscribe();
+        if (sentinel == null) {
+            return;
+        }
+        try {
+            InetSocketAddress master = queryMaster(sentinel);
+            if (master != null) {
+                switchMaster(master.getHostString(), master.getPort());
+            }
+        } catch (Throwable e) {
+            // 下一轮检查时再次查询
+            AioQuickClient c = subscriber;
+            subscriber = null;
+            if (c != null) {
+                c.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * 以新的主节点重建连接池，地址未变化时忽略
+     */
+    private synchronized void switchMaster(String host, int port) {
+        String address = host + ":" + port;
+        if (closed || address.equals(masterAddress)) {
+            return;
+        }
+        StandaloneRouter old = delegate;
+        delegate = new StandaloneRouter(options, host, port, group, bufferPagePool);
+        masterAddress = address;
+        if (old != null) {
+            // 旧主节点已降级或不可达，关闭连接池使其中未完成的命令快速失败
+            old.close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (checkTask != null) {
+            checkTask.cancel();
+        }
+        executor.shutdownNow();
+        AioQuickClient client = subscriber;
+        if (client != null) {
+            client.shutdownNow();
+        }
+        for (RedisNode sentinel : sentinels) {
+            sentinel.close();
+        }
+        if (delegate != null) {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.buffer.BufferPagePool;
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
+import tech.smartboot.redisun.cmd.PingCommand;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 客户端分片模式路由
+ * <p>
+ * 将多个相互独立的单机节点组织为ketama风格的一致性哈希环：每个分片按 "host:port-序号" 的MD5摘要
+ * 在环上放置若干虚拟节点，key的MD5摘要顺时针遇到的第一个虚拟节点即为其所属分片。
+ * 与集群模式一致，key中的 {hashtag} 仅对hashtag部分计算哈希，便于将相关key放在同一分片。
+ * 每个分片维护独立的多路复用连接池，增减分片时仅影响相邻区间的key。
+ * </p>
+ * <p>
+ * 后台定时PING各分片，连接异常时也会立即标记分片不可用。开启改道后，
+ * 不可用分片的key沿哈希环改由下一个可用分片处理，分片恢复后自动路由回原分片。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class ShardedRouter implements Router {
+    /**
+     * 单次探测的超时时间（毫秒）
+     */
+    private static final long PROBE_TIMEOUT = 1000;
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RedisunException(e);
+        }
+    });
+
+    private final boolean reroute;
+    private final List<RedisNode> shards = new ArrayList<>();
+    /**
+     * 哈希环上各虚拟节点的位置，升序排列
+     */
+    private final long[] points;
+    /**
+     * 与 points 一一对应的分片
+     */
+    private final RedisNode[] owners;
+    private final ExecutorService prober;
+    private final TimerTask probeTask;
+    private final AtomicBoolean probing = new AtomicBoolean();
+
+    ShardedRouter(RedisunOptions options, AsynchronousChannelGroup group, BufferPagePool bufferPagePool) {
+        this.reroute = options.isShardReroute();
+        // 每个MD5摘要可产生4个虚拟节点
+        int digests = Math.max(1, options.getShardVirtualNodes() / 4);
+        TreeMap<Long, RedisNode> ring = new TreeMap<>();
+        for (InetSocketAddress address : options.getAddresses()) {
+            RedisNode node = new RedisNode(options, address.getHostString(), address.getPort(), group, bufferPagePool);
+            shards.add(node);
+            for (int i = 0; i < digests; i++) {
+                byte[] digest = md5((node.getAddress() + "-" + i).getBytes(StandardCharsets.UTF_8), 0, -1);
+                for (int h = 0; h < 4; h++) {
+                    ring.putIfAbsent(point(digest, h), node);
+                }
+            }
+        }
+        points = new long[ring.size()];
+        owners = new RedisNode[ring.size()];
+        int index = 0;
+        for (Map.Entry<Long, RedisNode> entry : ring.entrySet()) {
+            points[index] = entry.getKey();
+            owners[index++] = entry.getValue();
+        }
+
+        prober = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "redisun-shard-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        probeTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(this::requestProbe, options.getShardProbeInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public RedisNode route(byte[] key) {
+        if (key == null) {
+            // 无key的命令由第一个可用分片执行
+            for (RedisNode shard : shards) {
+                if (shard.isAvailable()) {
+                    return shard;
+                }
+            }
+            return shards.get(0);
+        }
+        long range = SlotHash.hashTagRange(key);
+        int start = (int) (range >>> 32);
+        long hash = point(md5(key, start, (int) range - start), 0);
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+            if (index == points.length) {
+                index = 0;
+            }
+        }
+        RedisNode node = owners[index];
+        if (!reroute || node.isAvailable()) {
+            return node;
+        }
+        // 顺时针查找下一个可用分片，全部不可用时仍使用原分片
+        for (int i = 1; i < owners.length; i++) {
+            RedisNode candidate = owners[(index + i) % owners.length];
+            if (candidate.isAvailable()) {
+                return candidate;
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public void execute(Command command, ReadPolicy policy, ResponseCallback callback) {
+        // 分片模式下每个分片仅有单一节点，忽略读取策略
+        RedisNode node = route(command.routingKey());
+        node.execute(command, new ShardRequest(node, callback), false);
+    }
+
+    @Override
+    public Collection<RedisNode> nodes() {
+        return Collections.unmodifiableList(shards);
+    }
+
+    @Override
+    public Function<byte[], Object> partitioner() {
+        // 同一条多key命令中的key必须位于同一分片
+        return this::route;
+    }
+
+    /**
+     * 计算MD5摘要
+     *
+     * @param length 参与计算的字节数，小于0表示从 offset 至末尾
+     */
+    private static byte[] md5(byte[] bytes, int offset, int length) {
+        MessageDigest md5 = MD5.get();
+        md5.update(bytes, offset, length < 0 ? bytes.length - offset : length);
+        return md5.digest();
+    }
+
+    /**
+     * 以小端序读取摘要中第 h 组4字节，作为哈希环上的无符号32位位置
+     */
+    private static long point(byte[] digest, int h) {
+        return ((long) (digest[3 + h * 4] & 0xFF) << 24)
+                | ((long) (digest[2 + h * 4] & 0xFF) << 16)
+                | ((long) (digest[1 + h * 4] & 0xFF) << 8)
+                | (digest[h * 4] & 0xFF);
+    }
+
+    /**
+     * 在探测线程中执行一次探测，上一次探测未结束时忽略
+     */
+    private void requestProbe() {
+        if (!probing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            prober.execute(() -> {
+                try {
+                    probe();
+                } finally {
+                    probing.set(false);
+                }
+            });
+        } catch (Throwable e) {
+            // 路由已关闭
+            probing.set(false);
+        }
+    }
+
+    /**
+     * 并行PING所有分片，更新分片的可用状态
+     */
+    private void probe() {
+        List<CompletableFuture<RESP>> futures = new ArrayList<>(shards.size());
+        for (RedisNode shard : shards) {
+            futures.add(shard.execute(new PingCommand()));
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            RedisNode shard = shards.get(i);
+            try {
+                futures.get(i).get(PROBE_TIMEOUT, TimeUnit.MILLISECONDS);
+                shard.setAvailable(true);
+            } catch (Throwable e) {
+                shard.setAvailable(false);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        probeTask.cancel();
+        prober.shutdownNow();
+        for (RedisNode shard : shards) {
+            shard.close();
+        }
+    }
+
+    /**
+     * 分片模式下的单条命令请求，连接异常时将分片标记为不可用
+     */
+    private static final class ShardRequest implements ResponseCallback {
+        private final RedisNode node;
+        private final ResponseCallback callback;
+
+        ShardRequest(RedisNode node, ResponseCallback callback) {
+            this.node = node;
+            this.callback = callback;
+        }
+
+        @Override
+        public void onResponse(RESP resp) {
+            callback.onResponse(resp);
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            node.setAvailable(false);
+            callback.onFailure(throwable);
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return callback.isLightweight();
+        }
+
+        @Override
+        public CommandEvent event() {
+            return callback.event();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package tech.smartboot.redisun;
+
+/**
+ * Redis集群槽位计算
+ * <p>
+ * 槽位为key的CRC16（XMODEM）值对16384取模。
+ * 若key中包含非空的 {hashtag}，则仅对第一个 '{' 与其后第一个 '}' 之间的内容计算，
+ * 使具有相同hashtag的key落在同一槽位。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/docs/latest/operate/oss_and_stack/reference/cluster-spec/#hash-tags">Redis Cluster Hash Tags</a>
+ */
+final class SlotHash {
+    /**
+     * 集群槽位总数
+     */
+    static final int SLOT_COUNT = 16384;
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            TABLE[i] = crc & 0xFFFF;
+        }
+    }
+
+    private SlotHash() {
+    }
+
+    /**
+     * 计算key所属的槽位
+     *
+     * @param key 键
+     * @return 槽位，取值范围 [0, 16383]
+     */
+    static int slot(byte[] key) {
+        long range = hashTagRange(key);
+        return crc16(key, (int) (range >>> 32), (int) range) & (SLOT_COUNT - 1);
+    }
+
+    /**
+     * 获取key中参与哈希计算的区间，存在非空hashtag时为hashtag的内容，否则为整个key
+     *
+     * @param key 键
+     * @return 高32位为起始下标（包含），低32位为结束下标（不包含）
+     */
+    static long hashTagRange(byte[] key) {
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] == '{') {
+                for (int j = i + 1; j < key.length; j++) {
+                    if (key[j] == '}') {
+                        // 空的 {} 不视为hashtag
+                        if (j > i + 1) {
+                            return ((long) (i + 1) << 32) | j;
+                        }
+                        break;
+                    }
+                }
+                break;
+            }
+        }
+        return key.length;
+    }
+
+    static int crc16(byte[] bytes, int start, int end) {
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc = ((crc << 8) ^ TABLE[((crc >>> 8) ^ bytes[i]) & 0xFF]) & 0xFFFF;
+        }
+        return crc;
+    }
+}
@@ -0,0 +1,85 @@
+package tech.smartboot.redisun;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 客户端慢命令日志
+ * <p>
+ * 固定容量的无锁环形缓冲区，保存最近的超过阈值的命令，写满后覆盖最早的记录。
+ * 命令执行过程中仅由命令事件记录连接及各阶段的时间点，超过阈值时才重新编码命令以提取参数并生成记录。
+ * 未注册命令监听器时使用不含监听器的命令事件，不统计请求字节数，也不遍历监听器。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class SlowLog {
+    private static final CommandListener[] NO_LISTENERS = new CommandListener[0];
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowLogEntry> entries;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param thresholdMicros 记录阈值（微秒），0表示记录全部命令
+     * @param capacity        保存的记录数
+     */
+    SlowLog(long thresholdMicros, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("slow log capacity must be positive");
+        }
+        this.thresholdNanos = thresholdMicros * 1000;
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 以不含监听器的命令事件包装原回调，未注册命令监听器时使用
+     */
+    ResponseCallback wrap(Command command, ResponseCallback callback) {
+        return new ListenerCallback(new CommandEvent(command, NO_LISTENERS, this), callback);
+    }
+
+    /**
+     * 命令完成时调用，耗时超过阈值时生成记录
+     */
+    void record(CommandEvent event, boolean failed) {
+        long elapsed = event.getElapsedNanos();
+        if (elapsed < thresholdNanos) {
+            return;
+        }
+        long written = event.getWrittenNanos();
+        long decoded = event.getDecodedNanos();
+        InetSocketAddress remote = event.getRemoteAddress();
+        String address = remote == null ? null : remote.getHostString() + ":" + remote.getPort();
+        long id = sequence.getAndIncrement();
+        entries.set((int) (id % entries.length()), new SlowLogEntry(id, System.currentTimeMillis(), event.getName(),
+                ArgumentCapture.capture(event.getCommand()), event.getSessionId(), address,
+                written == 0 ? 0 : written - event.getStartNanos(), written == 0 || decoded == 0 ? 0 : decoded - written,
+                elapsed, event.getReplyBytes(), failed));
+    }
+
+    /**
+     * 当前保存的记录，按时间由近及远排列
+     */
+    List<SlowLogEntry> entries() {
+        long end = sequence.get();
+        List<SlowLogEntry> list = new ArrayList<>();
+        for (long id = end - 1; id >= 0 && id >= end - entries.length(); id--) {
+            SlowLogEntry entry = entries.get((int) (id % entries.length()));
+            // 槽位可能已被更新的记录覆盖或已被清空
+            if (entry != null && entry.getId() == id) {
+                list.add(entry);
+            }
+        }
+        return list;
+    }
+
+    void reset() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
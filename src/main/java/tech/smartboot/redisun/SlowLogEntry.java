@@ -0,0 +1,112 @@
+package tech.smartboot.redisun;
+
+import java.util.List;
+
+/**
+ * 慢命令日志中的一条记录
+ * <p>
+ * 耗时均为纳秒：排队耗时为命令提交至写入连接输出缓冲区的耗时，包括路由、获取连接及等待写锁；
+ * 网络耗时为写入输出缓冲区至响应解码完成的耗时，包括网络传输及服务端执行；
+ * 总耗时与二者之差为响应回调的调度耗时。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class SlowLogEntry {
+    private final long id;
+    private final long timestamp;
+    private final String command;
+    private final List<String> arguments;
+    private final String sessionId;
+    private final String address;
+    private final long queueNanos;
+    private final long wireNanos;
+    private final long elapsedNanos;
+    private final int replyBytes;
+    private final boolean failed;
+
+    SlowLogEntry(long id, long timestamp, String command, List<String> arguments, String sessionId, String address,
+                 long queueNanos, long wireNanos, long elapsedNanos, int replyBytes, boolean failed) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.command = command;
+        this.arguments = arguments;
+        this.sessionId = sessionId;
+        this.address = address;
+        this.queueNanos = queueNanos;
+        this.wireNanos = wireNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.replyBytes = replyBytes;
+        this.failed = failed;
+    }
+
+    /**
+     * 记录序号，自0起递增
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * 命令完成的时间戳（毫秒）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * 包括命令名称在内的参数，至多32个，每个参数至多保留128字节
+     */
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * 执行命令的连接标识，命令未写出时为null
+     */
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * 执行命令的节点地址，格式为 host:port，命令未写出时为null
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    public long getWireNanos() {
+        return wireNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getReplyBytes() {
+        return replyBytes;
+    }
+
+    /**
+     * 是否收到错误响应或执行异常
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + timestamp + " " + String.join(" ", arguments) + " session=" + sessionId + " address=" + address
+                + " queue=" + queueNanos + "ns wire=" + wireNanos + "ns elapsed=" + elapsedNanos + "ns reply=" + replyBytes + "B"
+                + (failed ? " failed" : "");
+    }
+}
@@ -0,0 +1,282 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.buffer.BufferPagePool;
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
+import tech.smartboot.redisun.cmd.PingCommand;
+import tech.smartboot.redisun.cmd.RoleCommand;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单机模式路由，写命令及默认的读命令由主节点执行
+ * <p>
+ * 读取策略不为 {@link ReadPolicy#PRIMARY} 或配置了副本地址时，后台定时探测各节点：
+ * 通过PING更新往返延迟的移动平均值，通过ROLE获取复制偏移量并自动发现副本。
+ * 连接正常且复制延迟未超过阈值的副本才会参与只读命令的分发。
+ * 客户端的读取策略为 {@link ReadPolicy#PRIMARY} 时，在首次以其他策略执行只读命令时才开始探测，
+ * 首轮探测完成前只读命令仍由主节点执行。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class StandaloneRouter implements Router {
+    /**
+     * 单次探测的超时时间（毫秒）
+     */
+    private static final long PROBE_TIMEOUT = 1000;
+    private static final RedisNode[] EMPTY = new RedisNode[0];
+
+    private final RedisunOptions options;
+    private final AsynchronousChannelGroup group;
+    private final BufferPagePool bufferPagePool;
+    private final RedisNode primary;
+    /**
+     * 已知的副本，键为节点地址
+     */
+    private final Map<String, RedisNode> replicas = new ConcurrentHashMap<>();
+    /**
+     * 当前可读的副本
+     */
+    private volatile RedisNode[] readable = EMPTY;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private volatile ExecutorService prober;
+    private TimerTask probeTask;
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private boolean closed;
+
+    StandaloneRouter(RedisunOptions options, String host, int port, AsynchronousChannelGroup group, BufferPagePool bufferPagePool) {
+        this.options = options;
+        this.group = group;
+        this.bufferPagePool = bufferPagePool;
+        this.primary = new RedisNode(options, host, port, group, bufferPagePool);
+        for (InetSocketAddress replica : options.getReplicas()) {
+            replica(replica.getHostString() + ":" + replica.getPort());
+        }
+        if (options.getReadPolicy() != ReadPolicy.PRIMARY || !options.getReplicas().isEmpty()) {
+            startProbe();
+        }
+    }
+
+    /**
+     * 启动副本探测，已启动或路由已关闭时忽略
+     */
+    private synchronized void startProbe() {
+        if (prober != null || closed) {
+            return;
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "redisun-replica-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prober = executor;
+        requestProbe();
+        probeTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(this::requestProbe, options.getReplicaProbeInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public RedisNode route(byte[] key) {
+        return primary;
+    }
+
+    @Override
+    public void execute(Command command, ReadPolicy policy, ResponseCallback callback) {
+        RedisNode node = policy == ReadPolicy.PRIMARY || !command.readOnly() ? primary : select(policy);
+        node.execute(command, callback, false);
+    }
+
+    /**
+     * 允许读取副本时轮询选择下一个可读副本，由于首次执行同样采用轮询，通常会落在另一副本上；
+     * 仅读取主节点或没有可读副本时改用主节点的其他连接
+     */
+    @Override
+    public boolean hedge(Command command, ReadPolicy policy, ResponseCallback callback) {
+        RedisNode[] candidates = readable;
+        if (policy != ReadPolicy.PRIMARY && candidates.length > 0) {
+            next(candidates).execute(command, callback, false);
+            return true;
+        }
+        return primary.executeHedge(command, callback);
+    }
+
+    /**
+     * 按读取策略选择执行只读命令的节点
+     */
+    private RedisNode select(ReadPolicy policy) {
+        if (prober == null) {
+            // 通过视图首次以非主节点策略读取
+            startProbe();
+        }
+        RedisNode[] candidates = readable;
+        switch (policy) {
+            case PRIMARY_PREFERRED:
+                if (primary.isAvailable() || candidates.length == 0) {
+                    return primary;
+                }
+                return next(candidates);
+            case REPLICA:
+                return candidates.length == 0 ? primary : next(candidates);
+            case NEAREST:
+                RedisNode nearest = primary.isAvailable() ? primary : null;
+                for (RedisNode candidate : candidates) {
+                    if (nearest == null || candidate.getLatency() < nearest.getLatency()) {
+                        nearest = candidate;
+                    }
+                }
+                return nearest == null ? primary : nearest;
+            default:
+                return primary;
+        }
+    }
+
+    private RedisNode next(RedisNode[] candidates) {
+        return candidates[(cursor.getAndIncrement() & Integer.MAX_VALUE) % candidates.length];
+    }
+
+    private RedisNode replica(String address) {
+        return replicas.computeIfAbsent(address, a -> {
+            int index = a.lastIndexOf(':');
+            return new RedisNode(options, a.substring(0, index), Integer.parseInt(a.substring(index + 1)), group, bufferPagePool);
+        });
+    }
+
+    /**
+     * 在探测线程中执行一次探测，上一次探测未结束时忽略
+     */
+    private void requestProbe() {
+        if (!probing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            prober.execute(() -> {
+                try {
+                    probe();
+                } catch (Throwable e) {
+                    // 保留上一次的探测结果
+                } finally {
+                    probing.set(false);
+                }
+            });
+        } catch (Throwable e) {
+            // 路由已关闭
+            probing.set(false);
+        }
+    }
+
+    /**
+     * 探测主节点及所有副本，更新节点延迟、可用状态以及可读副本列表
+     */
+    private void probe() {
+        CompletableFuture<RESP> primaryRole = primary.execute(new RoleCommand());
+        ping(primary);
+        RoleCommand.Role role = null;
+        try {
+            role = RoleCommand.toRole(primaryRole.get(PROBE_TIMEOUT, TimeUnit.MILLISECONDS));
+        } catch (Throwable e) {
+            // 主节点不可达，无法计算复制延迟
+        }
+
+        // 未配置副本地址时，以主节点上报的副本为准
+        if (options.getReplicas().isEmpty() && role != null && role.isMaster()) {
+            Set<String> discovered = new HashSet<>();
+            for (RoleCommand.Replica replica : role.getReplicas()) {
+                String address = replica.getHost() + ":" + replica.getPort();
+                discovered.add(address);
+                replica(address);
+            }
+            replicas.entrySet().removeIf(entry -> {
+                if (discovered.contains(entry.getKey())) {
+                    return false;
+                }
+                entry.getValue().close();
+                return true;
+            });
+        }
+
+        List<RedisNode> nodes = new ArrayList<>(replicas.values());
+        List<CompletableFuture<RESP>> roles = new ArrayList<>(nodes.size());
+        for (RedisNode node : nodes) {
+            roles.add(node.execute(new RoleCommand()));
+            ping(node);
+        }
+        List<RedisNode> eligible = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            RedisNode node = nodes.get(i);
+            if (!node.isAvailable()) {
+                continue;
+            }
+            try {
+                RoleCommand.Role replicaRole = RoleCommand.toRole(roles.get(i).get(PROBE_TIMEOUT, TimeUnit.MILLISECONDS));
+                // 主节点不可达时仅要求副本可达，由副本提供可能过期的数据
+                if (role == null || "connected".equals(replicaRole.getState()) && role.getOffset() - replicaRole.getOffset() <= options.getMaxReplicaLag()) {
+                    eligible.add(node);
+                }
+            } catch (Throwable e) {
+                // 副本状态未知，本轮不参与读取
+            }
+        }
+        readable = eligible.toArray(EMPTY);
+    }
+
+    /**
+     * 同步执行PING，成功时更新节点延迟，并记录节点是否可用
+     */
+    private void ping(RedisNode node) {
+        long start = System.nanoTime();
+        try {
+            node.execute(new PingCommand()).get(PROBE_TIMEOUT, TimeUnit.MILLISECONDS);
+            node.updateLatency(System.nanoTime() - start);
+            node.setAvailable(true);
+        } catch (Throwable e) {
+            node.setAvailable(false);
+        }
+    }
+
+    @Override
+    public Collection<RedisNode> nodes() {
+        return Collections.singletonList(primary);
+    }
+
+    @Override
+    public Collection<RedisNode> allNodes() {
+        List<RedisNode> nodes = new ArrayList<>(replicas.size() + 1);
+        nodes.add(primary);
+        nodes.addAll(replicas.values());
+        return nodes;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (probeTask != null) {
+                probeTask.cancel();
+            }
+            if (prober != null) {
+                prober.shutdownNow();
+            }
+        }
+        primary.close();
+        for (RedisNode node : replicas.values()) {
+            node.close();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.timer.HashedWheelTimer;
+import org.smartboot.socket.timer.TimerTask;
+import org.smartboot.socket.transport.AioQuickClient;
+import tech.smartboot.redisun.cmd.StreamEntry;
+import tech.smartboot.redisun.cmd.XAckCommand;
+import tech.smartboot.redisun.cmd.XAutoClaimCommand;
+import tech.smartboot.redisun.cmd.XGroupCreateCommand;
+import tech.smartboot.redisun.cmd.XReadGroupCommand;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Redis Stream 消费者组消费者
+ * <p>
+ * 工作方式：
+ * 1. 读取线程在独占连接上循环执行 XREADGROUP BLOCK，阻塞读取不会影响连接池中的其他请求
+ * 2. 读取到的消息按批次投递给处理线程池，处理中的批次数达到上限时暂停读取
+ * 3. 处理成功的消息ID进入确认缓冲区，按数量或时间窗口合并为一条多ID的 XACK 发送
+ * 4. 后台定时执行 XAUTOCLAIM，回收空闲过久的待确认消息并重新投递
+ * </p>
+ * <p>
+ * 处理器抛出异常的批次不会被确认，消息保留在待确认列表中，由后续的回收任务重新投递。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see StreamConsumerOptions
+ */
+public final class StreamConsumer {
+    private final Redisun redisun;
+    private final String key;
+    private final String group;
+    private final String consumer;
+    private final Consumer<List<StreamEntry>> handler;
+    private final StreamConsumerOptions options;
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+    private final Semaphore inflight;
+
+    /**
+     * 待合并确认的消息ID
+     */
+    private final ConcurrentLinkedQueue<String> pendingAcks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingAckCount = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile boolean closed;
+    private volatile AioQuickClient client;
+    private Thread readThread;
+    private TimerTask ackTask;
+    private TimerTask claimTask;
+    /**
+     * XAUTOCLAIM扫描游标
+     */
+    private volatile String claimCursor = "0-0";
+
+    StreamConsumer(Redisun redisun, String key, String group, String consumer, Consumer<List<StreamEntry>> handler, StreamConsumerOptions options) {
+        this.redisun = redisun;
+        this.key = key;
+        this.group = group;
+        this.consumer = consumer;
+        this.handler = handler;
+        this.options = options;
+        if (options.getExecutor() != null) {
+            this.executor = options.getExecutor();
+            this.ownExecutor = false;
+        } else {
+            this.executor = Executors.newFixedThreadPool(options.getThreads(), r -> {
+                Thread thread = new Thread(r, "redisun-stream-handler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ownExecutor = true;
+        }
+        this.inflight = new Semaphore(options.getMaxInflightBatches());
+    }
+
+    /**
+     * 启动消费者
+     * <p>
+     * 消费者只能使用一次，关闭后不可再次启动。
+     * </p>
+     */
+    public synchronized void start() {
+        if (closed) {
+            throw new RedisunException("stream consumer is closed");
+        }
+        if (running) {
+            return;
+        }
+        if (options.getCreateGroupFrom() != null) {
+            createGroup();
+        }
+        running = true;
+        readThread = new Thread(this::readLoop, "redisun-stream-" + key);
+        readThread.setDaemon(true);
+        readThread.start();
+        ackTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(this::flushAcks, options.getAckFlushInterval(), TimeUnit.MILLISECONDS);
+        if (options.getClaimInterval() > 0) {
+            claimTask = HashedWheelTimer.DEFAULT_TIMER.scheduleWithFixedDelay(this::claim, options.getClaimInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void createGroup() {
+        try {
+            redisun.execute(new XGroupCreateCommand(key, group, options.getCreateGroupFrom()).mkStream()).get();
+        } catch (Throwable e) {
+            // 消费者组已存在
+            if (e.getCause() instanceof RedisunException && e.getCause().getMessage().startsWith("BUSYGROUP")) {
+                return;
+            }
+            throw new RedisunException(e);
+        }
+    }
+
+    private void readLoop() {
+        XReadGroupCommand command = new XReadGroupCommand(group, consumer, key, ">").count(options.getBatchSize()).block(options.getBlockMillis());
+        while (running) {
+            boolean acquired = false;
+            try {
+                // 处理中的批次达到上限时在此等待，不再读取新消息
+                inflight.acquire();
+                acquired = true;
+                AioQuickClient c = client;
+                if (c == null) {
+                    c = redisun.connect(key.getBytes());
+                    client = c;
+                }
+                RESP resp = redisun.execute(c, command).get();
+                List<StreamEntry> entries = XReadGroupCommand.toEntries(resp);
+                if (!entries.isEmpty()) {
+                    acquired = false;
+                    dispatch(entries, true);
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Throwable e) {
+                closeClient();
+                if (running) {
+                    // 连接异常，稍后重连
+                    try {
+                        Thread.sleep(1000);
+                    } catch (InterruptedException ex) {
+                        break;
+                    }
+                }
+            } finally {
+                if (acquired) {
+                    inflight.release();
+                }
+            }
+        }
+        closeClient();
+    }
+
+    /**
+     * 将一批消息投递给处理线程池
+     *
+     * @param entries  消息批次
+     * @param acquired 是否已占用处理中批次的许可
+     */
+    private void dispatch(List<StreamEntry> entries, boolean acquired) {
+        try {
+            executor.execute(() -> {
+                try {
+                    handler.accept(entries);
+                    ack(entries);
+                } catch (Throwable e) {
+                    // 不确认，消息由回收任务重新投递
+                } finally {
+                    if (acquired) {
+                        inflight.release();
+                    }
+                }
+            });
+        } catch (Throwable e) {
+            // 线程池拒绝执行，消息仍保留在待确认列表中
+            if (acquired) {
+                inflight.release();
+            }
+        }
+    }
+
+    private void ack(List<StreamEntry> entries) {
+        for (StreamEntry entry : entries) {
+            pendingAcks.offer(entry.getId());
+        }
+        int count = pendingAckCount.addAndGet(entries.size());
+        // 关闭后定时确认任务已停止，超时后才完成的批次直接发送确认
+        if (closed || count >= options.getAckBatchSize()) {
+            flushAcks();
+        }
+    }
+
+    /**
+     * 将缓冲区中的待确认ID合并为XACK命令发送
+     */
+    private void flushAcks() {
+        while (pendingAckCount.get() > 0) {
+            List<String> ids = new ArrayList<>(Math.min(pendingAckCount.get(), options.getAckBatchSize()));
+            String id;
+            while (ids.size() < options.getAckBatchSize() && (id = pendingAcks.poll()) != null) {
+                ids.add(id);
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            pendingAckCount.addAndGet(-ids.size());
+            // 发送失败的消息保留在待确认列表中，由回收任务重新投递
+            redisun.execute(new XAckCommand(key, group, ids));
+        }
+    }
+
+    /**
+     * 回收空闲过久的待确认消息并重新投递
+     */
+    private void claim() {
+        // 处理中的批次已达上限时跳过本轮回收
+        if (!running || !inflight.tryAcquire()) {
+            return;
+        }
+        redisun.execute(new XAutoClaimCommand(key, group, consumer, options.getClaimMinIdle(), claimCursor).count(options.getClaimCount())).whenComplete((resp, throwable) -> {
+            boolean dispatched = false;
+            try {
+                if (throwable == null) {
+                    // 先推进游标，消息解析失败时下一轮不再重复扫描同一页
+                    claimCursor = XAutoClaimCommand.toNextStart(resp);
+                    List<StreamEntry> entries = XAutoClaimCommand.toResult(resp).getEntries();
+                    if (!entries.isEmpty()) {
+                        dispatched = true;
+                        dispatch(entries, true);
+                    }
+                }
+            } finally {
+                if (!dispatched) {
+                    inflight.release();
+                }
+            }
+        });
+    }
+
+    private void closeClient() {
+        AioQuickClient c = client;
+        client = null;
+        if (c != null) {
+            c.shutdownNow();
+        }
+    }
+
+    /**
+     * 关闭消费者
+     * <p>
+     * 停止读取与回收，等待处理中的批次完成后发送剩余的确认，最长等待 blockMillis，
+     * 超时后仍在处理的批次完成时直接发送确认。关闭后的消费者不可再次启动。
+     * </p>
+     */
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        redisun.removeStreamConsumer(this);
+        if (running) {
+            running = false;
+            if (ackTask != null) {
+                ackTask.cancel();
+            }
+            if (claimTask != null) {
+                claimTask.cancel();
+            }
+            readThread.interrupt();
+            // 关闭独占连接以中断阻塞中的XREADGROUP
+            closeClient();
+        }
+        // 全部许可归还即处理中的批次均已完成并进入确认缓冲区
+        try {
+            if (inflight.tryAcquire(options.getMaxInflightBatches(), options.getBlockMillis(), TimeUnit.MILLISECONDS)) {
+                inflight.release(options.getMaxInflightBatches());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownExecutor) {
+            executor.shutdown();
+        }
+        flushAcks();
+    }
+}
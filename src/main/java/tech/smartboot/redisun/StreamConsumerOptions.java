@@ -0,0 +1,163 @@
+package tech.smartboot.redisun;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Stream消费者配置选项
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see StreamConsumer
+ */
+public class StreamConsumerOptions {
+    /**
+     * 单次XREADGROUP读取的最大消息数量，即投递给处理器的批次大小
+     */
+    private int batchSize = 128;
+    /**
+     * XREADGROUP阻塞等待的最长时间（毫秒）
+     */
+    private long blockMillis = 2000;
+    /**
+     * 消息处理线程池，为null时由消费者自行创建
+     */
+    private ExecutorService executor;
+    /**
+     * 处理器线程数，仅在未指定executor时生效
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    /**
+     * 允许同时处理中的最大批次数，超出后暂停读取，实现背压
+     */
+    private int maxInflightBatches = Runtime.getRuntime().availableProcessors() * 2;
+    /**
+     * 累计达到该数量的待确认ID后立即合并发送XACK
+     */
+    private int ackBatchSize = 256;
+    /**
+     * 待确认ID的最长合并等待时间（毫秒）
+     */
+    private long ackFlushInterval = 100;
+    /**
+     * 后台回收的执行间隔（毫秒），小于等于0表示不回收
+     */
+    private long claimInterval = 30000;
+    /**
+     * 消息空闲超过该时间（毫秒）后才会被回收
+     */
+    private long claimMinIdle = 60000;
+    /**
+     * 单次回收的最大消息数量
+     */
+    private int claimCount = 100;
+    /**
+     * 启动时自动创建消费者组所使用的起始ID，为null表示不自动创建
+     */
+    private String createGroupFrom = "$";
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    public StreamConsumerOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    long getBlockMillis() {
+        return blockMillis;
+    }
+
+    public StreamConsumerOptions blockMillis(long blockMillis) {
+        this.blockMillis = blockMillis;
+        return this;
+    }
+
+    ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * 指定消息处理线程池，消费者关闭时不会关闭外部传入的线程池
+     */
+    public StreamConsumerOptions executor(ExecutorService executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    int getThreads() {
+        return threads;
+    }
+
+    public StreamConsumerOptions threads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    int getMaxInflightBatches() {
+        return maxInflightBatches;
+    }
+
+    public StreamConsumerOptions maxInflightBatches(int maxInflightBatches) {
+        this.maxInflightBatches = maxInflightBatches;
+        return this;
+    }
+
+    int getAckBatchSize() {
+        return ackBatchSize;
+    }
+
+    public StreamConsumerOptions ackBatchSize(int ackBatchSize) {
+        this.ackBatchSize = ackBatchSize;
+        return this;
+    }
+
+    long getAckFlushInterval() {
+        return ackFlushInterval;
+    }
+
+    public StreamConsumerOptions ackFlushInterval(long ackFlushInterval) {
+        this.ackFlushInterval = ackFlushInterval;
+        return this;
+    }
+
+    long getClaimInterval() {
+        return claimInterval;
+    }
+
+    public StreamConsumerOptions claimInterval(long claimInterval) {
+        this.claimInterval = claimInterval;
+        return this;
+    }
+
+    long getClaimMinIdle() {
+        return claimMinIdle;
+    }
+
+    public StreamConsumerOptions claimMinIdle(long claimMinIdle) {
+        this.claimMinIdle = claimMinIdle;
+        return this;
+    }
+
+    int getClaimCount() {
+        return claimCount;
+    }
+
+    public StreamConsumerOptions claimCount(int claimCount) {
+        this.claimCount = claimCount;
+        return this;
+    }
+
+    String getCreateGroupFrom() {
+        return createGroupFrom;
+    }
+
+    /**
+     * 设置启动时自动创建消费者组所使用的起始ID，"$" 表示仅消费新消息，"0" 表示从头消费，
+     * null 表示不自动创建。消费者组已存在时忽略。
+     */
+    public StreamConsumerOptions createGroupFrom(String createGroupFrom) {
+        this.createGroupFrom = createGroupFrom;
+        return this;
+    }
+}
@@ -0,0 +1,257 @@
+package tech.smartboot.redisun;
+
+import org.smartboot.socket.channels.AsynchronousSocketChannelProxy;
+import org.smartboot.socket.extension.plugins.AbstractPlugin;
+import org.smartboot.socket.transport.AioSession;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 连接收发字节流的捕获插件
+ * <p>
+ * 被采样的连接以通道代理包装，发出的字节在提交写操作时、收到的字节在读操作完成时写入内存映射的捕获文件。
+ * 连接完成握手后才开始捕获，HELLO命令中的认证信息不会写入文件。开启SSL时插件位于SSL插件之外，捕获的是明文。
+ * </p>
+ * <p>
+ * 捕获文件名为 redisun-&lt;起始时间戳&gt;-&lt;序号&gt;.cap，以文件头开始，其后为连续的记录，长度为0表示文件结束：
+ * <pre>
+ * 文件头：magic(8) 起始时间戳毫秒(8)
+ * 记录：  长度(4) 连接编号(4) 方向(1，0为发出，1为收到) 相对起始时间的纳秒数(8) 字节流(长度)
+ * </pre>
+ * 单次收发超出文件剩余空间时拆分为多条记录。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see TrafficReplay
+ */
+final class TrafficCapture extends AbstractPlugin<RESP> {
+    static final long MAGIC = 0x5244534E43415031L;
+    static final int FILE_HEADER_SIZE = 16;
+    static final int RECORD_HEADER_SIZE = 17;
+    static final byte OUTGOING = 0;
+    static final byte INCOMING = 1;
+
+    private final Path directory;
+    private final int fileSize;
+    private final int maxFiles;
+    private final int sampleRate;
+    private final long startTime = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    /**
+     * 以本地地址索引的被采样连接，握手完成后据此开启捕获
+     */
+    private final ConcurrentHashMap<SocketAddress, CaptureChannel> channels = new ConcurrentHashMap<>();
+    private final Deque<Path> files = new ArrayDeque<>();
+    private MappedByteBuffer buffer;
+    private int sequence;
+    private boolean closed;
+
+    TrafficCapture(CaptureOptions options) {
+        if (options.getDirectory() == null) {
+            throw new RedisunException("capture directory is required");
+        }
+        if (options.getFileSize() <= FILE_HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new RedisunException("capture file size is too small");
+        }
+        this.directory = Paths.get(options.getDirectory());
+        this.fileSize = options.getFileSize();
+        this.maxFiles = Math.max(1, options.getMaxFiles());
+        this.sampleRate = Math.max(1, options.getSampleRate());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RedisunException(e);
+        }
+    }
+
+    @Override
+    public AsynchronousSocketChannel shouldAccept(AsynchronousSocketChannel channel) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return channel;
+        }
+        try {
+            CaptureChannel captureChannel = new CaptureChannel(channel, connectionIds.incrementAndGet(), channel.getLocalAddress());
+            channels.put(captureChannel.localAddress, captureChannel);
+            return captureChannel;
+        } catch (IOException e) {
+            return channel;
+        }
+    }
+
+    /**
+     * 连接完成握手，开始捕获该连接的收发字节流
+     */
+    void start(AioSession session) {
+        try {
+            CaptureChannel channel = channels.get(session.getLocalAddress());
+            if (channel != null) {
+                channel.enabled = true;
+            }
+        } catch (IOException e) {
+            // 连接已关闭
+        }
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @param data 本次收发的字节，写入后position移至limit
+     */
+    private synchronized void record(int connection, byte direction, ByteBuffer data) {
+        long nanos = System.nanoTime() - startNanos;
+        while (data.hasRemaining() && !closed) {
+            if (buffer == null || buffer.remaining() <= RECORD_HEADER_SIZE) {
+                rotate();
+                continue;
+            }
+            int length = Math.min(data.remaining(), buffer.remaining() - RECORD_HEADER_SIZE);
+            buffer.putInt(length).putInt(connection).put(direction).putLong(nanos);
+            ByteBuffer slice = data.duplicate();
+            slice.limit(slice.position() + length);
+            buffer.put(slice);
+            data.position(data.position() + length);
+        }
+    }
+
+    /**
+     * 切换至新的捕获文件，删除超出保留数量的旧文件，出错时停止捕获
+     */
+    private void rotate() {
+        if (buffer != null) {
+            buffer.force();
+        }
+        Path file = directory.resolve(String.format("redisun-%d-%06d.cap", startTime, ++sequence));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(fileSize);
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.putLong(MAGIC).putLong(startTime);
+            files.addLast(file);
+            while (files.size() > maxFiles) {
+                Files.deleteIfExists(files.removeFirst());
+            }
+        } catch (IOException e) {
+            closed = true;
+            buffer = null;
+        }
+    }
+
+    synchronized void close() {
+        closed = true;
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+    }
+
+    /**
+     * 被采样连接的通道代理，握手完成前不记录
+     */
+    private final class CaptureChannel extends AsynchronousSocketChannelProxy {
+        private final int id;
+        private final SocketAddress localAddress;
+        private volatile boolean enabled;
+        /**
+         * 已记录但尚未写出的字节数，同一时刻至多一个写操作在途
+         */
+        private int unwritten;
+
+        CaptureChannel(AsynchronousSocketChannel channel, int id, SocketAddress localAddress) {
+            super(channel);
+            this.id = id;
+            this.localAddress = localAddress;
+        }
+
+        @Override
+        public <A> void read(ByteBuffer dst, long timeout, TimeUnit unit, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            super.read(dst, timeout, unit, attachment, enabled ? new ReadHandler<>(id, dst, handler) : handler);
+        }
+
+        /**
+         * 发出的字节在提交写操作时记录，确保先于对应的响应写入文件；未写完的部分会被再次提交，此时跳过已记录的前缀
+         */
+        @Override
+        public <A> void write(ByteBuffer src, long timeout, TimeUnit unit, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            if (!enabled) {
+                super.write(src, timeout, unit, attachment, handler);
+                return;
+            }
+            int length = src.remaining();
+            if (length > unwritten) {
+                ByteBuffer data = src.duplicate();
+                data.position(data.position() + unwritten);
+                record(id, OUTGOING, data);
+            }
+            unwritten = length;
+            super.write(src, timeout, unit, attachment, new CompletionHandler<Integer, A>() {
+                @Override
+                public void completed(Integer result, A attachment) {
+                    if (result > 0) {
+                        unwritten -= result;
+                    }
+                    handler.completed(result, attachment);
+                }
+
+                @Override
+                public void failed(Throwable exc, A attachment) {
+                    handler.failed(exc, attachment);
+                }
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            channels.remove(localAddress, this);
+            super.close();
+        }
+    }
+
+    /**
+     * 读操作完成时记录本次收到的字节
+     */
+    private final class ReadHandler<A> implements CompletionHandler<Integer, A> {
+        private final int id;
+        private final ByteBuffer buffer;
+        private final CompletionHandler<Integer, ? super A> handler;
+
+        ReadHandler(int id, ByteBuffer buffer, CompletionHandler<Integer, ? super A> handler) {
+            this.id = id;
+            this.buffer = buffer;
+            this.handler = handler;
+        }
+
+        @Override
+        public void completed(Integer result, A attachment) {
+            if (result > 0) {
+                ByteBuffer data = buffer.duplicate();
+                data.limit(data.position());
+                data.position(data.position() - result);
+                record(id, INCOMING, data);
+            }
+            handler.completed(result, attachment);
+        }
+
+        @Override
+        public void failed(Throwable exc, A attachment) {
+            handler.failed(exc, attachment);
+        }
+    }
+}
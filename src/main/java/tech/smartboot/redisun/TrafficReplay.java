@@ -0,0 +1,276 @@
+package tech.smartboot.redisun;
+
+import tech.smartboot.redisun.cmd.RawCommand;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 捕获文件的离线回放
+ * <p>
+ * 按文件名顺序读取 {@link RedisunOptions#capture(java.util.function.Consumer)} 生成的捕获文件，
+ * 从各连接发出的字节流中还原命令，按捕获时的时间间隔（可按倍速缩放）发送至目标客户端。
+ * 订阅、MONITOR等改变连接状态的命令以及HELLO、AUTH、SELECT不参与回放，由目标客户端自身的配置决定。
+ * 轮转删除旧文件后，连接的字节流可能从命令中间开始，解析器丢弃至下一个命令边界；参数超过 16MB 的命令同样不参与回放。
+ * 捕获文件中收到的响应不参与回放，可为回放所用的客户端同时开启捕获，比较两份捕获文件以评估不同版本的服务端。
+ * </p>
+ * <pre>
+ * java -cp redisun.jar tech.smartboot.redisun.TrafficReplay &lt;目录&gt; &lt;host:port&gt; [倍速]
+ * </pre>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class TrafficReplay {
+    /**
+     * 在途命令数上限
+     */
+    private static final int MAX_IN_FLIGHT = 1024;
+    /**
+     * 单个参数保留的最大长度，超出时该命令不参与回放
+     */
+    private static final int MAX_ARGUMENT_LENGTH = 16 * 1024 * 1024;
+    private static final Set<String> SKIPPED = new HashSet<>(Arrays.asList("SUBSCRIBE", "PSUBSCRIBE", "SSUBSCRIBE", "UNSUBSCRIBE",
+            "PUNSUBSCRIBE", "SUNSUBSCRIBE", "MONITOR", "HELLO", "AUTH", "SELECT"));
+
+    private final Redisun target;
+    private final double speed;
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final Map<String, RequestParser> parsers = new HashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+    private long commands;
+    private long skipped;
+    private long firstTime = -1;
+    private long startNanos;
+
+    private TrafficReplay(Redisun target, double speed) {
+        this.target = target;
+        this.speed = speed;
+    }
+
+    /**
+     * 回放指定目录下的全部捕获文件，所有命令执行完毕后返回
+     *
+     * @param directory 捕获文件所在目录
+     * @param target    接收回放命令的客户端
+     * @param speed     回放倍速，1为按捕获时的节奏回放，小于等于0表示不等待、尽快发送
+     * @return 回放结果
+     */
+    public static Result replay(String directory, Redisun target, double speed) {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(Paths.get(directory))) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(".cap")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RedisunException(e);
+        }
+        TrafficReplay replay = new TrafficReplay(target, speed);
+        replay.startNanos = System.nanoTime();
+        for (Path file : files) {
+            replay.replay(file);
+        }
+        replay.inFlight.acquireUninterruptibly(MAX_IN_FLIGHT);
+        return new Result(replay.commands, replay.errors.get(), replay.skipped, System.nanoTime() - replay.startNanos);
+    }
+
+    private void replay(Path file) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RedisunException(e);
+        }
+        if (buffer.remaining() < TrafficCapture.FILE_HEADER_SIZE || buffer.getLong() != TrafficCapture.MAGIC) {
+            throw new RedisunException("invalid capture file: " + file);
+        }
+        long startTime = buffer.getLong();
+        while (buffer.remaining() >= TrafficCapture.RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int connection = buffer.getInt();
+            byte direction = buffer.get();
+            long nanos = buffer.getLong();
+            // 长度为0表示文件结束
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer data = buffer.slice();
+            data.limit(length);
+            buffer.position(buffer.position() + length);
+            if (direction != TrafficCapture.OUTGOING) {
+                continue;
+            }
+            pace(startTime * 1000000 + nanos);
+            parsers.computeIfAbsent(startTime + "-" + connection, key -> new RequestParser(new CommandHandler(), MAX_ARGUMENT_LENGTH)).accept(data);
+        }
+    }
+
+    /**
+     * 按捕获时的时间间隔等待
+     *
+     * @param time 记录的绝对时间（纳秒）
+     */
+    private void pace(long time) {
+        if (speed <= 0) {
+            return;
+        }
+        if (firstTime < 0) {
+            firstTime = time;
+            startNanos = System.nanoTime();
+            return;
+        }
+        long deadline = startNanos + (long) ((time - firstTime) / speed);
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+
+    private void send(List<byte[]> arguments) {
+        String name = new String(arguments.get(0), StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+        if (SKIPPED.contains(name)) {
+            skipped++;
+            return;
+        }
+        commands++;
+        inFlight.acquireUninterruptibly();
+        target.execute(new RawCommand(name, arguments.subList(1, arguments.size()).toArray()), new ResponseCallback() {
+            @Override
+            public void onResponse(RESP resp) {
+                if (resp instanceof SimpleErrors) {
+                    errors.incrementAndGet();
+                }
+                inFlight.release();
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                errors.incrementAndGet();
+                inFlight.release();
+            }
+
+            @Override
+            public boolean isLightweight() {
+                return true;
+            }
+        });
+    }
+
+    /**
+     * 将单条连接上解析出的参数组装为命令
+     */
+    private final class CommandHandler implements RequestParser.Handler {
+        private List<byte[]> arguments;
+        private long count;
+        private boolean truncated;
+
+        @Override
+        public void onArray(long count) {
+            this.count = count;
+            this.arguments = new ArrayList<>((int) Math.min(count, 1024));
+            this.truncated = false;
+        }
+
+        @Override
+        public void onArgument(byte[] value, int length, long total) {
+            if (arguments == null) {
+                return;
+            }
+            arguments.add(value);
+            truncated |= length < total;
+            if (arguments.size() == count) {
+                List<byte[]> command = arguments;
+                arguments = null;
+                if (truncated) {
+                    skipped++;
+                } else {
+                    send(command);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: TrafficReplay <directory> <host:port> [speed]");
+            System.exit(1);
+        }
+        double speed = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+        Redisun redisun = Redisun.create(options -> options.setAddress(args[1]));
+        try {
+            System.out.println(replay(args[0], redisun, speed));
+        } finally {
+            redisun.close();
+        }
+    }
+
+    /**
+     * 回放结果
+     */
+    public static final class Result {
+        private final long commands;
+        private final long errors;
+        private final long skipped;
+        private final long elapsedNanos;
+
+        Result(long commands, long errors, long skipped, long elapsedNanos) {
+            this.commands = commands;
+            this.errors = errors;
+            this.skipped = skipped;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * 获取回放的命令数
+         */
+        public long getCommands() {
+            return commands;
+        }
+
+        /**
+         * 获取执行失败或收到错误响应的命令数
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * 获取未参与回放的命令数
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * 获取回放耗时（纳秒）
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "commands=" + commands + ", errors=" + errors + ", skipped=" + skipped + ", elapsed=" + elapsedNanos / 1000000 + "ms";
+        }
+    }
+}
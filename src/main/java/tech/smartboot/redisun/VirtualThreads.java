@@ -0,0 +1,42 @@
+package tech.smartboot.redisun;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程支持
+ * <p>
+ * 此为JDK 8至JDK 20使用的版本，虚拟线程均不可用。JDK 21及以上版本运行时，
+ * 由多版本jar中 META-INF/versions/21 下的同名实现替代。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前运行环境是否支持虚拟线程
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * 指定线程是否为虚拟线程
+     */
+    static boolean isVirtual(Thread thread) {
+        return false;
+    }
+
+    /**
+     * 创建为每个任务启动一个虚拟线程的执行器
+     *
+     * @param name 线程名称前缀
+     * @return 执行器，不支持虚拟线程时返回null
+     */
+    static ExecutorService newExecutor(String name) {
+        return null;
+    }
+}
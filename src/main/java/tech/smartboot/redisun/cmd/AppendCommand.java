@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis APPEND 命令实现类
@@ -18,20 +18,28 @@ import java.util.List;
  */
 public class AppendCommand extends Command {
     private static final BulkStrings CONSTANTS_APPEND = BulkStrings.of("APPEND");
-    private final String key;
+    private final byte[] key;
     private final String value;
 
     public AppendCommand(String key, String value) {
-        this.key = key;
+        this.key = key.getBytes();
         this.value = value;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_APPEND);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(value));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return 3;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_APPEND.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, value);
     }
 }
\ No newline at end of file
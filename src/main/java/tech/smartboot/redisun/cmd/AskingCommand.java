@@ -0,0 +1,33 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+
+import java.io.IOException;
+
+/**
+ * Redis ASKING 命令实现类
+ * <p>
+ * 集群模式下收到ASK重定向后，需在目标节点上先执行ASKING，再执行原命令，
+ * 使目标节点在槽位迁移期间接受该命令。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/asking/">Redis ASKING Command</a>
+ */
+public class AskingCommand extends Command {
+    private static final BulkStrings CONSTANTS_ASKING = BulkStrings.of("ASKING");
+
+    @Override
+    protected int argCount() {
+        return 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_ASKING.writeTo(writeBuffer);
+    }
+}
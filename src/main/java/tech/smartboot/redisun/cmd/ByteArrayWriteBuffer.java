@@ -0,0 +1,87 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * 将写出内容收集为字节数组的输出缓冲区，用于预先编码命令中的常量片段
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class ByteArrayWriteBuffer implements WriteBuffer {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    /**
+     * 已收集的字节数
+     */
+    int size() {
+        return out.size();
+    }
+
+    /**
+     * 取出已收集的字节并清空缓冲区
+     */
+    byte[] drain() {
+        byte[] bytes = out.toByteArray();
+        out.reset();
+        return bytes;
+    }
+
+    @Override
+    public void writeShort(short v) {
+        out.write(v >>> 8);
+        out.write(v);
+    }
+
+    @Override
+    public void writeByte(byte b) {
+        out.write(b);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        writeShort((short) (v >>> 16));
+        writeShort((short) v);
+    }
+
+    @Override
+    public void writeLong(long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int len) {
+        out.write(bytes, offset, len);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int len, Consumer<WriteBuffer> consumer) {
+        out.write(bytes, offset, len);
+        if (consumer != null) {
+            consumer.accept(this);
+        }
+    }
+
+    @Override
+    public void transferFrom(ByteBuffer byteBuffer, Consumer<WriteBuffer> consumer) {
+        while (byteBuffer.hasRemaining()) {
+            out.write(byteBuffer.get());
+        }
+        if (consumer != null) {
+            consumer.accept(this);
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,31 @@
+package tech.smartboot.redisun.cmd;
+
+/**
+ * 发布订阅频道中收到的消息
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see SubscribeCommand
+ */
+public class ChannelMessage {
+    private final String channel;
+    private final String message;
+
+    public ChannelMessage(String channel, String message) {
+        this.channel = channel;
+        this.message = message;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return channel + ": " + message;
+    }
+}
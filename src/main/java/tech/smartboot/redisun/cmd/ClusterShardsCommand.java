@@ -0,0 +1,232 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.Maps;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis CLUSTER SHARDS 命令实现类
+ * <p>
+ * 返回集群中各分片负责的槽位区间及分片内的节点信息，用于构建客户端的槽位路由表。
+ * 该命令自 Redis 7.0 起可用，低版本可使用 {@link ClusterSlotsCommand}。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/cluster-shards/">Redis CLUSTER SHARDS Command</a>
+ */
+public class ClusterShardsCommand extends Command {
+    private static final BulkStrings CONSTANTS_CLUSTER = BulkStrings.of("CLUSTER");
+    private static final BulkStrings CONSTANTS_SHARDS = BulkStrings.of("SHARDS");
+
+    @Override
+    protected int argCount() {
+        return 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_CLUSTER.writeTo(writeBuffer);
+        CONSTANTS_SHARDS.writeTo(writeBuffer);
+    }
+
+    /**
+     * 解析CLUSTER SHARDS的响应结果
+     *
+     * @param resp 响应结果
+     * @param tls  是否优先使用节点的TLS端口
+     * @return 分片列表
+     */
+    public static List<Shard> toShards(RESP resp, boolean tls) {
+        if (!(resp instanceof Arrays)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        List<Shard> shards = new ArrayList<>();
+        for (RESP item : ((Arrays) resp).getValue()) {
+            Shard shard = new Shard();
+            for (Map.Entry<RESP, RESP> entry : toMap(item).getValue().entrySet()) {
+                String name = entry.getKey().getValue().toString();
+                if ("slots".equals(name)) {
+                    List<RESP> slots = ((Arrays) entry.getValue()).getValue();
+                    int[] ranges = new int[slots.size()];
+                    for (int i = 0; i < ranges.length; i++) {
+                        ranges[i] = Integer.parseInt(slots.get(i).getValue().toString());
+                    }
+                    shard.setSlots(ranges);
+                } else if ("nodes".equals(name)) {
+                    for (RESP n : ((Arrays) entry.getValue()).getValue()) {
+                        shard.getNodes().add(toNode(toMap(n), tls));
+                    }
+                }
+            }
+            shards.add(shard);
+        }
+        return shards;
+    }
+
+    private static Maps toMap(RESP resp) {
+        if (!(resp instanceof Maps)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        return (Maps) resp;
+    }
+
+    private static ShardNode toNode(Maps maps, boolean tls) {
+        ShardNode node = new ShardNode();
+        String ip = null;
+        String endpoint = null;
+        int port = 0;
+        int tlsPort = 0;
+        for (Map.Entry<RESP, RESP> entry : maps.getValue().entrySet()) {
+            String name = entry.getKey().getValue().toString();
+            String value = entry.getValue().getValue() == null ? null : entry.getValue().getValue().toString();
+            switch (name) {
+                case "id":
+                    node.setId(value);
+                    break;
+                case "ip":
+                    ip = value;
+                    break;
+                case "endpoint":
+                    endpoint = value;
+                    break;
+                case "port":
+                    port = Integer.parseInt(value);
+                    break;
+                case "tls-port":
+                    tlsPort = Integer.parseInt(value);
+                    break;
+                case "role":
+                    node.setRole(value);
+                    break;
+                case "health":
+                    node.setHealth(value);
+                    break;
+                case "replication-offset":
+                    node.setReplicationOffset(Long.parseLong(value));
+                    break;
+                default:
+                    break;
+            }
+        }
+        // endpoint 为 "?" 表示节点未知首选地址，此时使用ip
+        node.setHost(endpoint == null || endpoint.isEmpty() || "?".equals(endpoint) ? ip : endpoint);
+        node.setPort(tls && tlsPort > 0 ? tlsPort : port);
+        return node;
+    }
+
+    /**
+     * 集群分片
+     */
+    public static class Shard {
+        /**
+         * 槽位区间，按 [起始槽位, 结束槽位, 起始槽位, 结束槽位...] 排列，区间两端均包含
+         */
+        private int[] slots = new int[0];
+        private final List<ShardNode> nodes = new ArrayList<>();
+
+        public int[] getSlots() {
+            return slots;
+        }
+
+        public void setSlots(int[] slots) {
+            this.slots = slots;
+        }
+
+        public List<ShardNode> getNodes() {
+            return nodes;
+        }
+
+        /**
+         * 获取分片的主节点，不存在时返回null
+         */
+        public ShardNode getMaster() {
+            for (ShardNode node : nodes) {
+                if (node.isMaster()) {
+                    return node;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 分片内的节点
+     */
+    public static class ShardNode {
+        private String id;
+        private String host;
+        private int port;
+        private String role;
+        private String health = "online";
+        private long replicationOffset;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        /**
+         * 获取节点角色，取值为 master 或 replica
+         */
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+
+        public boolean isMaster() {
+            return "master".equals(role);
+        }
+
+        /**
+         * 获取节点健康状态，取值为 online、failed 或 loading
+         */
+        public String getHealth() {
+            return health;
+        }
+
+        public void setHealth(String health) {
+            this.health = health;
+        }
+
+        public long getReplicationOffset() {
+            return replicationOffset;
+        }
+
+        public void setReplicationOffset(long replicationOffset) {
+            this.replicationOffset = replicationOffset;
+        }
+    }
+}
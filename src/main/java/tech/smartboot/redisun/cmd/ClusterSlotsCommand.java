@@ -0,0 +1,72 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis CLUSTER SLOTS 命令实现类
+ * <p>
+ * 返回槽位区间与节点的映射关系。Redis 7.0 起推荐使用 {@link ClusterShardsCommand}，
+ * 此命令用于兼容不支持 CLUSTER SHARDS 的低版本服务端。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/cluster-slots/">Redis CLUSTER SLOTS Command</a>
+ */
+public class ClusterSlotsCommand extends Command {
+    private static final BulkStrings CONSTANTS_CLUSTER = BulkStrings.of("CLUSTER");
+    private static final BulkStrings CONSTANTS_SLOTS = BulkStrings.of("SLOTS");
+
+    @Override
+    protected int argCount() {
+        return 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_CLUSTER.writeTo(writeBuffer);
+        CONSTANTS_SLOTS.writeTo(writeBuffer);
+    }
+
+    /**
+     * 解析CLUSTER SLOTS的响应结果，每个槽位区间转换为一个分片
+     *
+     * @param resp 响应结果，每个元素形如 [start, end, [host, port, id, ...], [replica...]...]
+     * @return 分片列表
+     */
+    public static List<ClusterShardsCommand.Shard> toShards(RESP resp) {
+        if (!(resp instanceof Arrays)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        List<ClusterShardsCommand.Shard> shards = new ArrayList<>();
+        for (RESP item : ((Arrays) resp).getValue()) {
+            List<RESP> values = ((Arrays) item).getValue();
+            ClusterShardsCommand.Shard shard = new ClusterShardsCommand.Shard();
+            shard.setSlots(new int[]{Integer.parseInt(values.get(0).getValue().toString()), Integer.parseInt(values.get(1).getValue().toString())});
+            for (int i = 2; i < values.size(); i++) {
+                List<RESP> n = ((Arrays) values.get(i)).getValue();
+                ClusterShardsCommand.ShardNode node = new ClusterShardsCommand.ShardNode();
+                node.setHost(n.get(0).getValue().toString());
+                node.setPort(Integer.parseInt(n.get(1).getValue().toString()));
+                if (n.size() > 2) {
+                    node.setId(n.get(2).getValue().toString());
+                }
+                // 第一个节点为主节点，其余为副本
+                node.setRole(i == 2 ? "master" : "replica");
+                shard.getNodes().add(node);
+            }
+            shards.add(shard);
+        }
+        return shards;
+    }
+}
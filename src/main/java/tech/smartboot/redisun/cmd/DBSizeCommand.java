@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis DBSIZE 命令实现类
@@ -19,9 +19,12 @@ public class DBSizeCommand extends Command {
     private static final BulkStrings CONSTANTS_DBSIZE = BulkStrings.of("DBSIZE");
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_DBSIZE);
-        return param;
+    protected int argCount() {
+        return 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_DBSIZE.writeTo(writeBuffer);
     }
 }
\ No newline at end of file
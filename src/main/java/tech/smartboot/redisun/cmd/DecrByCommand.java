@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis DECRBY 命令实现类
@@ -20,20 +20,28 @@ import java.util.List;
  */
 public class DecrByCommand extends Command {
     private static final BulkStrings CONSTANTS_DECRBY = BulkStrings.of("DECRBY");
-    private final String key;
+    private final byte[] key;
     private final long decrement;
 
     public DecrByCommand(String key, long decrement) {
-        this.key = key;
+        this.key = key.getBytes();
         this.decrement = decrement;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_DECRBY);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(String.valueOf(decrement)));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return 3;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_DECRBY.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, decrement);
     }
 }
\ No newline at end of file
@@ -1,10 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -14,18 +15,28 @@ import java.util.List;
 public class DelCommand extends Command {
     private static final BulkStrings CMD_DEL = BulkStrings.of("DEL");
     private final List<String> key;
+    private final byte[] routingKey;
 
     public DelCommand(List<String> key) {
         this.key = key;
+        this.routingKey = key.isEmpty() ? null : key.get(0).getBytes();
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>(key.size() + 1);
-        param.add(CMD_DEL);
+    protected byte[] routingKey() {
+        return routingKey;
+    }
+
+    @Override
+    protected int argCount() {
+        return key.size() + 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CMD_DEL.writeTo(writeBuffer);
         for (String s : key) {
-            param.add(RESP.ofString(s));
+            ArgumentWriter.writeBulk(writeBuffer, s);
         }
-        return param;
     }
 }
@@ -1,10 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -18,18 +19,33 @@ import java.util.List;
 public class ExistsCommand extends Command {
     private static final BulkStrings CONSTANTS_EXISTS = BulkStrings.of("EXISTS");
     private final List<String> keys;
+    private final byte[] routingKey;
 
     public ExistsCommand(List<String> keys) {
         this.keys = keys;
+        this.routingKey = keys.isEmpty() ? null : keys.get(0).getBytes();
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>(keys.size() + 1);
-        param.add(CONSTANTS_EXISTS);
+    protected byte[] routingKey() {
+        return routingKey;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    protected int argCount() {
+        return keys.size() + 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_EXISTS.writeTo(writeBuffer);
         for (String key : keys) {
-            param.add(RESP.ofString(key));
+            ArgumentWriter.writeBulk(writeBuffer, key);
         }
-        return param;
     }
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis EXPIRE 命令实现类
@@ -23,12 +23,12 @@ public class ExpireCommand extends Command {
     private static final BulkStrings CONSTANTS_GT = BulkStrings.of("GT");
     private static final BulkStrings CONSTANTS_LT = BulkStrings.of("LT");
     
-    private final String key;
+    private final byte[] key;
     private final int seconds;
     private BulkStrings option;
 
     public ExpireCommand(String key, int seconds) {
-        this.key = key;
+        this.key = key.getBytes();
         this.seconds = seconds;
     }
     
@@ -53,16 +53,22 @@ public class ExpireCommand extends Command {
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_EXPIRE);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(String.valueOf(seconds)));
-        
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return option == null ? 3 : 4;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_EXPIRE.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, seconds);
         if (option != null) {
-            param.add(option);
+            option.writeTo(writeBuffer);
         }
-        
-        return param;
     }
 }
\ No newline at end of file
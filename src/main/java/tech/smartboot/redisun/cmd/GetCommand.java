@@ -2,12 +2,11 @@ package tech.smartboot.redisun.cmd;
 
 import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
 import tech.smartboot.redisun.resp.RESP;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * @author 三刀
@@ -35,11 +34,24 @@ public class GetCommand extends Command {
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>(2);
-        param.add(CMD_GET);
-        param.add(RESP.ofString(key));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    protected int argCount() {
+        return 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CMD_GET.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
     }
 
     @Override
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis HGET 命令实现类
@@ -19,20 +19,33 @@ import java.util.List;
  */
 public class HGetCommand extends Command {
     private static final BulkStrings CONSTANTS_HGET = BulkStrings.of("HGET");
-    private final String key;
+    private final byte[] key;
     private final String field;
 
     public HGetCommand(String key, String field) {
-        this.key = key;
+        this.key = key.getBytes();
         this.field = field;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_HGET);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(field));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    protected int argCount() {
+        return 3;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_HGET.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, field);
     }
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis HSET 命令实现类
@@ -19,23 +19,31 @@ import java.util.List;
  */
 public class HSetCommand extends Command {
     private static final BulkStrings CONSTANTS_HSET = BulkStrings.of("HSET");
-    private final String key;
+    private final byte[] key;
     private final String field;
     private final String value;
 
     public HSetCommand(String key, String field, String value) {
-        this.key = key;
+        this.key = key.getBytes();
         this.field = field;
         this.value = value;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_HSET);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(field));
-        param.add(RESP.ofString(value));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return 4;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_HSET.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, field);
+        ArgumentWriter.writeBulk(writeBuffer, value);
     }
 }
\ No newline at end of file
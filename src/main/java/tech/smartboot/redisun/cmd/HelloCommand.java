@@ -1,11 +1,14 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.Arrays;
 import tech.smartboot.redisun.resp.BulkStrings;
 import tech.smartboot.redisun.resp.Maps;
 import tech.smartboot.redisun.resp.RESP;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -27,20 +30,23 @@ public final class HelloCommand extends Command {
     private String password;
 
     @Override
-    public List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_HELLO);
-        param.add(RESP.ofString(String.valueOf(protoVer)));
+    protected int argCount() {
+        return password == null ? 4 : username == null ? 6 : 7;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_HELLO.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, protoVer);
         if (password != null) {
-            param.add(CONSTANTS_AUTH);
+            CONSTANTS_AUTH.writeTo(writeBuffer);
             if (username != null) {
-                param.add(RESP.ofString(username));
+                ArgumentWriter.writeBulk(writeBuffer, username);
             }
-            param.add(RESP.ofString(password));
+            ArgumentWriter.writeBulk(writeBuffer, password);
         }
-        param.add(CONSTANTS_SETNAME);
-        param.add(CONSTANTS_REDISUN);
-        return param;
+        CONSTANTS_SETNAME.writeTo(writeBuffer);
+        CONSTANTS_REDISUN.writeTo(writeBuffer);
     }
 
 
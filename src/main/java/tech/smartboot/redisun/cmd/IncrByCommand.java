@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis INCRBY 命令实现类
@@ -20,20 +20,28 @@ import java.util.List;
  */
 public class IncrByCommand extends Command {
     private static final BulkStrings CONSTANTS_INCRBY = BulkStrings.of("INCRBY");
-    private final String key;
+    private final byte[] key;
     private final long increment;
 
     public IncrByCommand(String key, long increment) {
-        this.key = key;
+        this.key = key.getBytes();
         this.increment = increment;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_INCRBY);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(String.valueOf(increment)));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return 3;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_INCRBY.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, increment);
     }
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis INCR 命令实现类
@@ -20,17 +20,25 @@ import java.util.List;
  */
 public class IncrCommand extends Command {
     private static final BulkStrings CONSTANTS_INCR = BulkStrings.of("INCR");
-    private final String key;
+    private final byte[] key;
 
     public IncrCommand(String key) {
-        this.key = key;
+        this.key = key.getBytes();
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_INCR);
-        param.add(RESP.ofString(key));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_INCR.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
     }
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis LPUSH 命令实现类
@@ -18,22 +18,30 @@ import java.util.List;
  */
 public class LPushCommand extends Command {
     private static final BulkStrings CONSTANTS_LPUSH = BulkStrings.of("LPUSH");
-    private final String key;
+    private final byte[] key;
     private final String[] values;
 
     public LPushCommand(String key, String... values) {
-        this.key = key;
+        this.key = key.getBytes();
         this.values = values;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_LPUSH);
-        param.add(RESP.ofString(key));
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return values.length + 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_LPUSH.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
         for (String value : values) {
-            param.add(RESP.ofString(value));
+            ArgumentWriter.writeBulk(writeBuffer, value);
         }
-        return param;
     }
 }
\ No newline at end of file
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -21,19 +21,29 @@ import java.util.Map;
 public class MSetCommand extends Command {
     private static final BulkStrings CONSTANTS_MSET = BulkStrings.of("MSET");
     private final Map<String, String> keyValuePairs;
+    private final byte[] routingKey;
 
     public MSetCommand(Map<String, String> keyValuePairs) {
         this.keyValuePairs = keyValuePairs;
+        this.routingKey = keyValuePairs.isEmpty() ? null : keyValuePairs.keySet().iterator().next().getBytes();
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>(keyValuePairs.size() * 2 + 1);
-        param.add(CONSTANTS_MSET);
+    protected byte[] routingKey() {
+        return routingKey;
+    }
+
+    @Override
+    protected int argCount() {
+        return keyValuePairs.size() * 2 + 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_MSET.writeTo(writeBuffer);
         for (Map.Entry<String, String> entry : keyValuePairs.entrySet()) {
-            param.add(RESP.ofString(entry.getKey()));
-            param.add(RESP.ofString(entry.getValue()));
+            ArgumentWriter.writeBulk(writeBuffer, entry.getKey());
+            ArgumentWriter.writeBulk(writeBuffer, entry.getValue());
         }
-        return param;
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+
+import java.io.IOException;
+
+/**
+ * Redis PING 命令实现类
+ * <p>
+ * 服务端正常时返回 PONG，用于探测节点可用性及往返延迟。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/ping/">Redis PING Command</a>
+ */
+public class PingCommand extends Command {
+    private static final BulkStrings CONSTANTS_PING = BulkStrings.of("PING");
+
+    @Override
+    protected int argCount() {
+        return 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_PING.writeTo(writeBuffer);
+    }
+}
@@ -0,0 +1,215 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 预编译的命令模板，类似JDBC中的PreparedStatement
+ * <p>
+ * 模板以空格分隔命令名称及各个参数，以 ? 表示待绑定的参数，例如 "HGET ? profile"、"SET ? ? EX 300"。
+ * 创建模板时即将数组头及相邻的常量参数合并编码为RESP字节，每次执行仅需写出这些预编码片段及绑定的参数，
+ * 适用于同一形态的命令被反复执行的场景。
+ * </p>
+ * <p>
+ * 绑定参数支持 byte[]、CharSequence、整数（Long、Integer、Short、Byte）与浮点数（Double、Float）。
+ * 集群及分片模式下默认按第一个绑定参数路由，可通过 {@link #routingParam(int)} 调整。
+ * 模板创建后可在多个线程间共享。
+ * </p>
+ *
+ * <pre>{@code
+ * PreparedCommand profile = PreparedCommand.prepare("HGET ? profile").readOnly(true);
+ * String value = redisun.execute(profile.bind("user:1"), ReplyDecoder.STRING);
+ * }</pre>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public final class PreparedCommand {
+    private static final String PLACEHOLDER = "?";
+    private final String template;
+    /**
+     * 命令名称，即模板的第一个单词
+     */
+    private final String name;
+    /**
+     * 数组头及第一个绑定参数之前的常量
+     */
+    private final byte[] head;
+    /**
+     * head 中数组头的字节数
+     */
+    private final int headerLength;
+    /**
+     * 各绑定参数之后的常量，segments[i] 位于第 i 个绑定参数之后
+     */
+    private final byte[][] segments;
+    /**
+     * 参数个数，包括命令名称
+     */
+    private final int argCount;
+    private int routingParam;
+    private boolean readOnly;
+
+    private PreparedCommand(String template, String name, byte[] head, int headerLength, byte[][] segments, int argCount) {
+        this.template = template;
+        this.name = name;
+        this.head = head;
+        this.headerLength = headerLength;
+        this.segments = segments;
+        this.argCount = argCount;
+        this.routingParam = segments.length > 0 ? 0 : -1;
+    }
+
+    /**
+     * 创建命令模板
+     *
+     * @param template 命令模板，以 ? 表示待绑定的参数
+     * @return 命令模板
+     */
+    public static PreparedCommand prepare(String template) {
+        String[] tokens = template.trim().split("\\s+");
+        if (tokens[0].isEmpty() || PLACEHOLDER.equals(tokens[0])) {
+            throw new RedisunException("invalid command template: " + template);
+        }
+        ByteArrayWriteBuffer buffer = new ByteArrayWriteBuffer();
+        byte[] head = null;
+        List<byte[]> segments = new ArrayList<>();
+        try {
+            ArgumentWriter.writeArrayHeader(buffer, tokens.length);
+            int headerLength = buffer.size();
+            for (String token : tokens) {
+                if (!PLACEHOLDER.equals(token)) {
+                    ArgumentWriter.writeBulk(buffer, token);
+                } else if (head == null) {
+                    head = buffer.drain();
+                } else {
+                    segments.add(buffer.drain());
+                }
+            }
+            if (head == null) {
+                head = buffer.drain();
+            } else {
+                segments.add(buffer.drain());
+            }
+            return new PreparedCommand(template, tokens[0].toUpperCase(), head, headerLength, segments.toArray(new byte[0][]), tokens.length);
+        } catch (IOException e) {
+            throw new RedisunException(e);
+        }
+    }
+
+    /**
+     * 指定用作路由key的绑定参数，-1表示命令不含key
+     *
+     * @param index 绑定参数的下标，从0开始
+     */
+    public PreparedCommand routingParam(int index) {
+        this.routingParam = index;
+        return this;
+    }
+
+    /**
+     * 标记为只读命令，使其可按读取策略由副本执行
+     */
+    public PreparedCommand readOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        return this;
+    }
+
+    /**
+     * 绑定参数，生成可执行的命令
+     *
+     * @param params 依次对应模板中的各个 ?
+     * @return 可执行的命令
+     */
+    public Command bind(Object... params) {
+        if (params.length != segments.length) {
+            throw new RedisunException("command template [" + template + "] expects " + segments.length + " parameters, but got " + params.length);
+        }
+        for (Object param : params) {
+            RawCommand.check(param);
+        }
+        return new BoundCommand(this, params);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * 已绑定参数的模板命令
+     */
+    private static final class BoundCommand extends Command {
+        private final PreparedCommand prepared;
+        private final Object[] params;
+        private final int routingParam;
+        private final byte[] routingKey;
+
+        BoundCommand(PreparedCommand prepared, Object[] params) {
+            this.prepared = prepared;
+            this.params = params;
+            int index = prepared.routingParam;
+            if (index < 0 || index >= params.length) {
+                routingParam = -1;
+                routingKey = null;
+            } else {
+                routingParam = index;
+                routingKey = RawCommand.toKey(params[index]);
+            }
+        }
+
+        @Override
+        protected String name() {
+            return prepared.name;
+        }
+
+        @Override
+        protected byte[] routingKey() {
+            return routingKey;
+        }
+
+        @Override
+        protected boolean readOnly() {
+            return prepared.readOnly;
+        }
+
+        @Override
+        protected int argCount() {
+            return prepared.argCount;
+        }
+
+        @Override
+        protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+            // 跳过预编码的数组头，仅写出参数部分
+            writeBuffer.write(prepared.head, prepared.headerLength, prepared.head.length - prepared.headerLength);
+            writeParams(writeBuffer);
+        }
+
+        @Override
+        public void writeTo(WriteBuffer writeBuffer) throws IOException {
+            writeBuffer.write(prepared.head);
+            writeParams(writeBuffer);
+        }
+
+        private void writeParams(WriteBuffer writeBuffer) throws IOException {
+            byte[][] segments = prepared.segments;
+            for (int i = 0; i < params.length; i++) {
+                // 路由key已编码为字节，直接写出
+                if (i == routingParam && routingKey != null) {
+                    ArgumentWriter.writeBulk(writeBuffer, routingKey);
+                } else {
+                    RawCommand.writeArg(writeBuffer, params[i]);
+                }
+                if (segments[i].length > 0) {
+                    writeBuffer.write(segments[i]);
+                }
+            }
+        }
+    }
+}
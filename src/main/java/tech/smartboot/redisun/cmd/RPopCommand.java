@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis RPOP 命令实现类
@@ -17,17 +17,25 @@ import java.util.List;
  */
 public class RPopCommand extends Command {
     private static final BulkStrings CONSTANTS_RPOP = BulkStrings.of("RPOP");
-    private final String key;
+    private final byte[] key;
 
     public RPopCommand(String key) {
-        this.key = key;
+        this.key = key.getBytes();
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_RPOP);
-        param.add(RESP.ofString(key));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_RPOP.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
     }
 }
\ No newline at end of file
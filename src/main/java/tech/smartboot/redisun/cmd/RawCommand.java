@@ -0,0 +1,142 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+
+import java.io.IOException;
+
+/**
+ * 通用命令，可发送任意Redis命令及模块命令
+ * <p>
+ * 参数支持 byte[]、CharSequence、整数（Long、Integer、Short、Byte）与浮点数（Double、Float），
+ * 构造时仅校验类型，写出时通过 {@link ArgumentWriter} 直接编码至输出缓冲区，不预先转换为字节数组。
+ * </p>
+ * <p>
+ * 集群及分片模式下按第一个参数路由，适用于绝大多数以key作为首个参数的命令；
+ * key不在首位的命令可通过 {@link #routingKey(byte[])} 指定路由key。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+public class RawCommand extends Command {
+    private final String name;
+    private final byte[] nameBytes;
+    private final Object[] args;
+    /**
+     * 第一个参数编码后的字节，同时用作默认的路由key，写出时不再重复编码
+     */
+    private final byte[] firstArg;
+    private byte[] routingKey;
+    private boolean readOnly;
+
+    /**
+     * @param name 命令名称，如 "JSON.GET"
+     * @param args 命令参数
+     */
+    public RawCommand(String name, Object... args) {
+        for (Object arg : args) {
+            check(arg);
+        }
+        this.name = name;
+        this.nameBytes = name.getBytes();
+        this.args = args;
+        this.firstArg = args.length > 0 ? toKey(args[0]) : null;
+        this.routingKey = firstArg;
+    }
+
+    /**
+     * 指定路由key，用于key不在首个参数位置的命令
+     */
+    public RawCommand routingKey(byte[] key) {
+        this.routingKey = key;
+        return this;
+    }
+
+    /**
+     * 标记为只读命令，使其可按读取策略由副本执行
+     */
+    public RawCommand readOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        return this;
+    }
+
+    @Override
+    protected String name() {
+        return name;
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return routingKey;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return readOnly;
+    }
+
+    /**
+     * 校验参数类型，避免在IO线程中写出时才发现错误
+     */
+    static void check(Object arg) {
+        if (arg instanceof byte[] || arg instanceof CharSequence || arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            return;
+        }
+        if (arg instanceof Double || arg instanceof Float) {
+            if (Double.isNaN(((Number) arg).doubleValue())) {
+                throw new RedisunException("NaN is not a valid argument");
+            }
+            return;
+        }
+        throw new RedisunException("unsupported argument type: " + (arg == null ? "null" : arg.getClass().getName()));
+    }
+
+    /**
+     * 将可用作key的参数编码为字节，浮点数不作为key，返回null
+     */
+    static byte[] toKey(Object arg) {
+        if (arg instanceof byte[]) {
+            return (byte[]) arg;
+        } else if (arg instanceof CharSequence) {
+            return arg.toString().getBytes();
+        } else if (arg instanceof Double || arg instanceof Float) {
+            return null;
+        }
+        return Long.toString(((Number) arg).longValue()).getBytes();
+    }
+
+    /**
+     * 按参数类型写出已校验的参数
+     */
+    static void writeArg(WriteBuffer writeBuffer, Object arg) throws IOException {
+        if (arg instanceof byte[]) {
+            ArgumentWriter.writeBulk(writeBuffer, (byte[]) arg);
+        } else if (arg instanceof CharSequence) {
+            ArgumentWriter.writeBulk(writeBuffer, arg.toString());
+        } else if (arg instanceof Double || arg instanceof Float) {
+            ArgumentWriter.writeBulk(writeBuffer, ((Number) arg).doubleValue());
+        } else {
+            ArgumentWriter.writeBulk(writeBuffer, ((Number) arg).longValue());
+        }
+    }
+
+    @Override
+    protected int argCount() {
+        return args.length + 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        ArgumentWriter.writeBulk(writeBuffer, nameBytes);
+        for (int i = 0; i < args.length; i++) {
+            if (i == 0 && firstArg != null) {
+                ArgumentWriter.writeBulk(writeBuffer, firstArg);
+            } else {
+                writeArg(writeBuffer, args[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis ROLE 命令实现类
+ * <p>
+ * 返回节点在主从复制中的角色：主节点返回当前复制偏移量及所有副本的地址与偏移量，
+ * 副本返回所属主节点地址、连接状态以及已处理的复制偏移量。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/role/">Redis ROLE Command</a>
+ */
+public class RoleCommand extends Command {
+    private static final BulkStrings CONSTANTS_ROLE = BulkStrings.of("ROLE");
+
+    @Override
+    protected int argCount() {
+        return 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_ROLE.writeTo(writeBuffer);
+    }
+
+    /**
+     * 解析ROLE的响应结果
+     *
+     * @param resp 响应结果
+     * @return 节点角色信息
+     */
+    public static Role toRole(RESP resp) {
+        if (!(resp instanceof Arrays)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        List<RESP> values = ((Arrays) resp).getValue();
+        Role role = new Role();
+        role.role = values.get(0).getValue().toString();
+        if (role.isMaster()) {
+            // [master, offset, [[ip, port, offset], ...]]
+            role.offset = Long.parseLong(values.get(1).getValue().toString());
+            for (RESP item : ((Arrays) values.get(2)).getValue()) {
+                List<RESP> r = ((Arrays) item).getValue();
+                Replica replica = new Replica();
+                replica.host = r.get(0).getValue().toString();
+                replica.port = Integer.parseInt(r.get(1).getValue().toString());
+                replica.offset = Long.parseLong(r.get(2).getValue().toString());
+                role.replicas.add(replica);
+            }
+        } else if ("slave".equals(role.role)) {
+            // [slave, masterIp, masterPort, state, offset]
+            role.masterHost = values.get(1).getValue().toString();
+            role.masterPort = Integer.parseInt(values.get(2).getValue().toString());
+            role.state = values.get(3).getValue().toString();
+            role.offset = Long.parseLong(values.get(4).getValue().toString());
+        }
+        return role;
+    }
+
+    /**
+     * 节点角色信息
+     */
+    public static class Role {
+        private String role;
+        private long offset;
+        private String masterHost;
+        private int masterPort;
+        private String state;
+        private final List<Replica> replicas = new ArrayList<>();
+
+        /**
+         * 获取角色名称：master、slave 或 sentinel
+         */
+        public String getRole() {
+            return role;
+        }
+
+        public boolean isMaster() {
+            return "master".equals(role);
+        }
+
+        /**
+         * 获取复制偏移量，主节点为当前偏移量，副本为已处理的偏移量
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * 获取所属主节点地址，仅副本有效
+         */
+        public String getMasterHost() {
+            return masterHost;
+        }
+
+        /**
+         * 获取所属主节点端口，仅副本有效
+         */
+        public int getMasterPort() {
+            return masterPort;
+        }
+
+        /**
+         * 获取与主节点的连接状态，仅副本有效，"connected"表示复制正常
+         */
+        public String getState() {
+            return state;
+        }
+
+        /**
+         * 获取已连接的副本，仅主节点有效
+         */
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+    }
+
+    /**
+     * 主节点视角的副本信息
+     */
+    public static class Replica {
+        private String host;
+        private int port;
+        private long offset;
+
+        public String getHost() {
+            return host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        /**
+         * 获取副本已确认的复制偏移量
+         */
+        public long getOffset() {
+            return offset;
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis SADD 命令实现类
@@ -18,22 +18,30 @@ import java.util.List;
  */
 public class SAddCommand extends Command {
     private static final BulkStrings CONSTANTS_SADD = BulkStrings.of("SADD");
-    private final String key;
+    private final byte[] key;
     private final String[] members;
 
     public SAddCommand(String key, String... members) {
-        this.key = key;
+        this.key = key.getBytes();
         this.members = members;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        param.add(CONSTANTS_SADD);
-        param.add(RESP.ofString(key));
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return members.length + 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_SADD.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
         for (String member : members) {
-            param.add(RESP.ofString(member));
+            ArgumentWriter.writeBulk(writeBuffer, member);
         }
-        return param;
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis SCAN 命令实现类
+ * <p>
+ * 基于游标增量遍历当前数据库中的key，每次返回下一次遍历使用的游标及本批key，游标为0时遍历结束。
+ * 集群及分片模式下各节点的游标相互独立，需分别遍历。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/scan/">Redis SCAN Command</a>
+ */
+public class ScanCommand extends Command {
+    private static final BulkStrings CONSTANTS_SCAN = BulkStrings.of("SCAN");
+    private static final BulkStrings CONSTANTS_MATCH = BulkStrings.of("MATCH");
+    private static final BulkStrings CONSTANTS_COUNT = BulkStrings.of("COUNT");
+    private static final BulkStrings CONSTANTS_TYPE = BulkStrings.of("TYPE");
+
+    private final String cursor;
+    private String pattern;
+    private int count;
+    private String type;
+
+    public ScanCommand(String cursor) {
+        this.cursor = cursor;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    protected int argCount() {
+        int argCount = 2;
+        if (pattern != null) {
+            argCount += 2;
+        }
+        if (count > 0) {
+            argCount += 2;
+        }
+        if (type != null) {
+            argCount += 2;
+        }
+        return argCount;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_SCAN.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, cursor);
+        if (pattern != null) {
+            CONSTANTS_MATCH.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, pattern);
+        }
+        if (count > 0) {
+            CONSTANTS_COUNT.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, count);
+        }
+        if (type != null) {
+            CONSTANTS_TYPE.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, type);
+        }
+    }
+
+    /**
+     * 设置 MATCH 选项：仅返回匹配指定模式的key
+     *
+     * @return 当前 ScanCommand 实例，支持链式调用
+     */
+    public ScanCommand match(String pattern) {
+        this.pattern = pattern;
+        return this;
+    }
+
+    /**
+     * 设置 COUNT 选项：每次遍历的key数量提示值
+     *
+     * @return 当前 ScanCommand 实例，支持链式调用
+     */
+    public ScanCommand count(int count) {
+        this.count = count;
+        return this;
+    }
+
+    /**
+     * 设置 TYPE 选项：仅返回指定类型的key
+     *
+     * @return 当前 ScanCommand 实例，支持链式调用
+     */
+    public ScanCommand type(String type) {
+        this.type = type;
+        return this;
+    }
+
+    /**
+     * 解析响应中下一次遍历使用的游标
+     *
+     * @param resp SCAN命令的响应
+     * @return 游标，为"0"时表示遍历结束
+     */
+    public static String toCursor(RESP resp) {
+        return String.valueOf(values(resp).get(0).getValue());
+    }
+
+    /**
+     * 解析响应中本批返回的key
+     *
+     * @param resp SCAN命令的响应
+     * @return key列表
+     */
+    public static List<String> toKeys(RESP resp) {
+        List<RESP> keys = ((Arrays) values(resp).get(1)).getValue();
+        List<String> result = new ArrayList<>(keys.size());
+        for (RESP key : keys) {
+            result.add(String.valueOf(key.getValue()));
+        }
+        return result;
+    }
+
+    private static List<RESP> values(RESP resp) {
+        if (!(resp instanceof Arrays) || ((Arrays) resp).getValue().size() != 2) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        return ((Arrays) resp).getValue();
+    }
+}
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis SELECT 命令实现类
@@ -36,18 +36,16 @@ public class SelectCommand extends Command {
         this.index = index;
     }
 
-    /**
-     * 向参数列表中添加SELECT命令及其参数
-     *
-     * @return 包含命令参数的BulkStrings列表
-     */
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        // 添加命令名称
-        param.add(CONSTANTS_SELECT);
-        // 添加数据库索引
-        param.add(RESP.ofString(String.valueOf(index)));
-        return param;
+    protected int argCount() {
+        return 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        // 写出命令名称
+        CONSTANTS_SELECT.writeTo(writeBuffer);
+        // 写出数据库索引
+        ArgumentWriter.writeBulk(writeBuffer, index);
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.Nulls;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Redis SENTINEL GET-MASTER-ADDR-BY-NAME 命令实现类
+ * <p>
+ * 向哨兵查询指定名称的主节点当前地址，故障转移完成后返回新主节点的地址。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/docs/latest/operate/oss_and_stack/management/sentinel/">Redis Sentinel</a>
+ */
+public class SentinelGetMasterAddrCommand extends Command {
+    private static final BulkStrings CONSTANTS_SENTINEL = BulkStrings.of("SENTINEL");
+    private static final BulkStrings CONSTANTS_GET_MASTER_ADDR_BY_NAME = BulkStrings.of("GET-MASTER-ADDR-BY-NAME");
+    private final String masterName;
+
+    public SentinelGetMasterAddrCommand(String masterName) {
+        this.masterName = masterName;
+    }
+
+    @Override
+    protected int argCount() {
+        return 3;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_SENTINEL.writeTo(writeBuffer);
+        CONSTANTS_GET_MASTER_ADDR_BY_NAME.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, masterName);
+    }
+
+    /**
+     * 解析主节点地址
+     *
+     * @param resp 响应结果，形如 [ip, port]
+     * @return 主节点地址，哨兵未监控该名称时返回null
+     */
+    public static InetSocketAddress toAddress(RESP resp) {
+        if (resp instanceof Nulls) {
+            return null;
+        }
+        if (!(resp instanceof Arrays)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        List<RESP> values = ((Arrays) resp).getValue();
+        return InetSocketAddress.createUnresolved(values.get(0).getValue().toString(), Integer.parseInt(values.get(1).getValue().toString()));
+    }
+}
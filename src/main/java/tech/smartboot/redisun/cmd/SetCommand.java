@@ -2,14 +2,12 @@ package tech.smartboot.redisun.cmd;
 
 import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
 import tech.smartboot.redisun.resp.RESP;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
-import java.util.function.Consumer;
 
 /**
  * Redis SET 命令实现类
@@ -66,10 +64,10 @@ public class SetCommand extends Command {
     private final byte[] value;
     // NX/XX选项，控制键是否存在的行为
     private BulkStrings exists;
-    // 过期时间选项的处理器
-    private Consumer<List<BulkStrings>> expire;
-    // KEEPTTL选项的静态处理器
-    private static final Consumer<List<BulkStrings>> expire_keep_ttl = (list) -> list.add(CONSTANTS_KEEPTTL);
+    // 过期时间选项：EX/PX/PXAT/KEEPTTL
+    private BulkStrings expire;
+    // 过期时间选项的参数值，KEEPTTL时忽略
+    private long expireValue;
 
     /**
      * 构造函数，创建一个SET命令实例
@@ -82,29 +80,40 @@ public class SetCommand extends Command {
         this.value = value.getBytes();
     }
 
-    /**
-     * 向参数列表中添加SET命令及其参数
-     *
-     */
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>();
-        // 添加命令名称
-        param.add(CONSTANTS_SET);
-        // 添加键
-        param.add(RESP.ofString(key));
-        // 添加值
-        param.add(RESP.ofString(value));
-        // 如果设置了NX/XX选项，则添加到参数中
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        int argCount = 3;
         if (exists != null) {
-            param.add(exists);
+            argCount++;
         }
+        if (expire != null) {
+            argCount += expire == CONSTANTS_KEEPTTL ? 1 : 2;
+        }
+        return argCount;
+    }
 
-        // 如果设置了过期时间选项，则通过处理器添加到参数中
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        // 写出命令名称、键与值
+        CONSTANTS_SET.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, value);
+        // 如果设置了NX/XX选项，则写出该选项
+        if (exists != null) {
+            exists.writeTo(writeBuffer);
+        }
+        // 如果设置了过期时间选项，则写出选项及其参数值
         if (expire != null) {
-            expire.accept(param);
+            expire.writeTo(writeBuffer);
+            if (expire != CONSTANTS_KEEPTTL) {
+                ArgumentWriter.writeBulk(writeBuffer, expireValue);
+            }
         }
-        return param;
     }
 
     @Override
@@ -156,10 +165,8 @@ public class SetCommand extends Command {
      * @return 当前SetCommand实例，支持链式调用
      */
     public SetCommand expire(int expireSeconds) {
-        expire = (param) -> {
-            param.add(CONSTANTS_EX);
-            param.add(RESP.ofString(String.valueOf(expireSeconds)));
-        };
+        expire = CONSTANTS_EX;
+        expireValue = expireSeconds;
         return this;
     }
 
@@ -171,10 +178,8 @@ public class SetCommand extends Command {
      * @return 当前SetCommand实例，支持链式调用
      */
     public SetCommand expireMs(long expireMilliseconds) {
-        expire = (param) -> {
-            param.add(CONSTANTS_PX);
-            param.add(RESP.ofString(String.valueOf(expireMilliseconds)));
-        };
+        expire = CONSTANTS_PX;
+        expireValue = expireMilliseconds;
         return this;
     }
 
@@ -189,10 +194,8 @@ public class SetCommand extends Command {
      * @return 当前SetCommand实例，支持链式调用
      */
     public SetCommand expireAt(Date date) {
-        expire = (param) -> {
-            param.add(CONSTANTS_PXAT);
-            param.add(RESP.ofString(String.valueOf(date.getTime())));
-        };
+        expire = CONSTANTS_PXAT;
+        expireValue = date.getTime();
         return this;
     }
 
@@ -203,7 +206,7 @@ public class SetCommand extends Command {
      * @return 当前SetCommand实例，支持链式调用
      */
     public SetCommand keepTTL() {
-        expire = expire_keep_ttl;
+        expire = CONSTANTS_KEEPTTL;
         return this;
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package tech.smartboot.redisun.cmd;
+
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.Nulls;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis Stream 消息条目
+ * <p>
+ * 由消息ID与字段值对组成，XREADGROUP、XAUTOCLAIM 等命令均以该结构返回消息。
+ * 若消息已被 XDEL 删除而仍处于待确认列表中，其字段值对为 null。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/docs/latest/develop/data-types/streams/">Redis Streams</a>
+ */
+public class StreamEntry {
+    private final String id;
+    private final Map<String, String> fields;
+
+    public StreamEntry(String id, Map<String, String> fields) {
+        this.id = id;
+        this.fields = fields;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 获取消息的字段值对
+     *
+     * @return 字段值对，消息已被删除时返回null
+     */
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    /**
+     * 将RESP数组解析为消息条目列表
+     * <p>
+     * 数组中的每个元素形如 [id, [field1, value1, field2, value2 ...]]，
+     * Redis 7.0 以下版本的 XAUTOCLAIM 以空元素表示已被删除的消息，解析时跳过
+     * </p>
+     *
+     * @param resp 消息条目数组
+     * @return 消息条目列表
+     */
+    public static List<StreamEntry> toEntries(RESP resp) {
+        if (resp instanceof Nulls) {
+            return Collections.emptyList();
+        }
+        if (!(resp instanceof Arrays)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        List<RESP> items = ((Arrays) resp).getValue();
+        List<StreamEntry> entries = new ArrayList<>(items.size());
+        for (RESP item : items) {
+            if (item instanceof Nulls) {
+                continue;
+            }
+            List<RESP> pair = ((Arrays) item).getValue();
+            String id = pair.get(0).getValue().toString();
+            RESP fieldResp = pair.get(1);
+            Map<String, String> fields = null;
+            if (fieldResp instanceof Arrays) {
+                List<RESP> kv = ((Arrays) fieldResp).getValue();
+                fields = new LinkedHashMap<>(kv.size());
+                for (int i = 0; i + 1 < kv.size(); i += 2) {
+                    fields.put(kv.get(i).getValue().toString(), kv.get(i + 1).getValue().toString());
+                }
+            }
+            entries.add(new StreamEntry(id, fields));
+        }
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamEntry{id='" + id + "', fields=" + fields + '}';
+    }
+}
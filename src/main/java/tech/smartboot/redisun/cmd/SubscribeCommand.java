@@ -0,0 +1,42 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+
+/**
+ * Redis SUBSCRIBE 命令实现类
+ * <p>
+ * 订阅一个或多个频道。RESP3协议下订阅确认及收到的消息均以推送消息的形式返回，
+ * 不对应请求的响应，因此该命令需在独占连接上发送，并由推送消息处理器接收结果。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/subscribe/">Redis SUBSCRIBE Command</a>
+ */
+public class SubscribeCommand extends Command {
+    private static final BulkStrings CONSTANTS_SUBSCRIBE = BulkStrings.of("SUBSCRIBE");
+    private final String[] channels;
+
+    public SubscribeCommand(String... channels) {
+        this.channels = channels;
+    }
+
+    @Override
+    protected int argCount() {
+        return channels.length + 1;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_SUBSCRIBE.writeTo(writeBuffer);
+        for (String channel : channels) {
+            ArgumentWriter.writeBulk(writeBuffer, channel);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Redis XACK 命令实现类
+ * <p>
+ * 将消息从消费者组的待确认列表（PEL）中移除，返回成功确认的消息数量。
+ * 一次 XACK 可携带多个消息ID，批量确认能显著减少网络往返。
+ * </p>
+ * XACK命令语法：
+ * XACK key group id [id ...]
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/xack/">Redis XACK Command</a>
+ */
+public class XAckCommand extends Command {
+    private static final BulkStrings CONSTANTS_XACK = BulkStrings.of("XACK");
+    private final byte[] key;
+    private final String group;
+    private final List<String> ids;
+
+    public XAckCommand(String key, String group, List<String> ids) {
+        this.key = key.getBytes();
+        this.group = group;
+        this.ids = ids;
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return ids.size() + 3;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_XACK.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, group);
+        for (String id : ids) {
+            ArgumentWriter.writeBulk(writeBuffer, id);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Redis XADD 命令实现类
+ * <p>
+ * 向 Stream 追加一条消息，返回消息ID。Stream 不存在时会自动创建，除非指定了 NOMKSTREAM。
+ * </p>
+ * XADD命令语法：
+ * XADD key [NOMKSTREAM] [MAXLEN [~] threshold] *|id field value [field value ...]
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/xadd/">Redis XADD Command</a>
+ */
+public class XAddCommand extends Command {
+    private static final BulkStrings CONSTANTS_XADD = BulkStrings.of("XADD");
+    private static final BulkStrings CONSTANTS_NOMKSTREAM = BulkStrings.of("NOMKSTREAM");
+    private static final BulkStrings CONSTANTS_MAXLEN = BulkStrings.of("MAXLEN");
+    private static final BulkStrings CONSTANTS_APPROXIMATE = BulkStrings.of("~");
+    private static final BulkStrings CONSTANTS_AUTO_ID = BulkStrings.of("*");
+
+    private final byte[] key;
+    private final Map<String, String> fields;
+    private String id;
+    private boolean noMkStream;
+    private long maxLen = -1;
+    private boolean approximate;
+
+    public XAddCommand(String key, Map<String, String> fields) {
+        this.key = key.getBytes();
+        this.fields = fields;
+    }
+
+    /**
+     * 指定消息ID，默认由服务端自动生成
+     *
+     * @param id 消息ID
+     * @return 当前XAddCommand实例，支持链式调用
+     */
+    public XAddCommand id(String id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * 设置 NOMKSTREAM 选项：Stream 不存在时不自动创建
+     *
+     * @return 当前XAddCommand实例，支持链式调用
+     */
+    public XAddCommand noMkStream() {
+        this.noMkStream = true;
+        return this;
+    }
+
+    /**
+     * 设置 MAXLEN 选项：限制 Stream 的最大长度
+     *
+     * @param maxLen      最大长度
+     * @param approximate 是否使用近似裁剪（~），近似裁剪的性能更好
+     * @return 当前XAddCommand实例，支持链式调用
+     */
+    public XAddCommand maxLen(long maxLen, boolean approximate) {
+        this.maxLen = maxLen;
+        this.approximate = approximate;
+        return this;
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        int count = fields.size() * 2 + 3;
+        if (noMkStream) {
+            count++;
+        }
+        if (maxLen >= 0) {
+            count += approximate ? 3 : 2;
+        }
+        return count;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_XADD.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        if (noMkStream) {
+            CONSTANTS_NOMKSTREAM.writeTo(writeBuffer);
+        }
+        if (maxLen >= 0) {
+            CONSTANTS_MAXLEN.writeTo(writeBuffer);
+            if (approximate) {
+                CONSTANTS_APPROXIMATE.writeTo(writeBuffer);
+            }
+            ArgumentWriter.writeBulk(writeBuffer, maxLen);
+        }
+        if (id == null) {
+            CONSTANTS_AUTO_ID.writeTo(writeBuffer);
+        } else {
+            ArgumentWriter.writeBulk(writeBuffer, id);
+        }
+        for (Map.Entry<String, String> entry : fields.entrySet()) {
+            ArgumentWriter.writeBulk(writeBuffer, entry.getKey());
+            ArgumentWriter.writeBulk(writeBuffer, entry.getValue());
+        }
+    }
+}
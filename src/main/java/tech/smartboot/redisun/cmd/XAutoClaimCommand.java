@@ -0,0 +1,144 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis XAUTOCLAIM 命令实现类
+ * <p>
+ * 将消费者组中空闲时间超过 min-idle-time 的待确认消息转移给指定消费者，
+ * 用于回收已宕机或处理卡住的消费者所持有的消息。
+ * 该命令以游标方式扫描待确认列表，返回的下一个游标为 "0-0" 时表示扫描完毕。
+ * </p>
+ * XAUTOCLAIM命令语法：
+ * XAUTOCLAIM key group consumer min-idle-time start [COUNT count]
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/xautoclaim/">Redis XAUTOCLAIM Command</a>
+ */
+public class XAutoClaimCommand extends Command {
+    private static final BulkStrings CONSTANTS_XAUTOCLAIM = BulkStrings.of("XAUTOCLAIM");
+    private static final BulkStrings CONSTANTS_COUNT = BulkStrings.of("COUNT");
+
+    private final byte[] key;
+    private final String group;
+    private final String consumer;
+    private final long minIdleTime;
+    private final String start;
+    private int count;
+
+    public XAutoClaimCommand(String key, String group, String consumer, long minIdleTime, String start) {
+        this.key = key.getBytes();
+        this.group = group;
+        this.consumer = consumer;
+        this.minIdleTime = minIdleTime;
+        this.start = start;
+    }
+
+    /**
+     * 设置 COUNT 选项：单次最多转移的消息数量，服务端默认为100
+     *
+     * @param count 最大消息数量
+     * @return 当前XAutoClaimCommand实例，支持链式调用
+     */
+    public XAutoClaimCommand count(int count) {
+        this.count = count;
+        return this;
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return count > 0 ? 8 : 6;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_XAUTOCLAIM.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, group);
+        ArgumentWriter.writeBulk(writeBuffer, consumer);
+        ArgumentWriter.writeBulk(writeBuffer, minIdleTime);
+        ArgumentWriter.writeBulk(writeBuffer, start);
+        if (count > 0) {
+            CONSTANTS_COUNT.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, count);
+        }
+    }
+
+    /**
+     * 解析XAUTOCLAIM响应中的下一次扫描起始游标
+     *
+     * @param resp 响应结果，形如 [next-start, [entries], [deleted-ids]]
+     * @return 下一次扫描的起始游标
+     */
+    public static String toNextStart(RESP resp) {
+        if (!(resp instanceof Arrays)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        return ((Arrays) resp).getValue().get(0).getValue().toString();
+    }
+
+    /**
+     * 解析XAUTOCLAIM的响应结果
+     *
+     * @param resp 响应结果，形如 [next-start, [entries], [deleted-ids]]
+     * @return 解析后的结果
+     */
+    public static Result toResult(RESP resp) {
+        Result result = new Result();
+        result.setNextStart(toNextStart(resp));
+        List<RESP> items = ((Arrays) resp).getValue();
+        result.setEntries(StreamEntry.toEntries(items.get(1)));
+        // Redis 7.0 开始返回已被删除的消息ID列表
+        if (items.size() > 2 && items.get(2) instanceof Arrays) {
+            for (RESP id : ((Arrays) items.get(2)).getValue()) {
+                result.getDeletedIds().add(id.getValue().toString());
+            }
+        }
+        return result;
+    }
+
+    public static class Result {
+        private String nextStart;
+        private List<StreamEntry> entries;
+        private final List<String> deletedIds = new ArrayList<>();
+
+        /**
+         * 获取下一次扫描的起始游标，"0-0" 表示扫描完毕
+         */
+        public String getNextStart() {
+            return nextStart;
+        }
+
+        public void setNextStart(String nextStart) {
+            this.nextStart = nextStart;
+        }
+
+        public List<StreamEntry> getEntries() {
+            return entries;
+        }
+
+        public void setEntries(List<StreamEntry> entries) {
+            this.entries = entries;
+        }
+
+        public List<String> getDeletedIds() {
+            return deletedIds;
+        }
+    }
+}
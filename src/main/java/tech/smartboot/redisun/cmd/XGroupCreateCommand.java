@@ -0,0 +1,70 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+
+import java.io.IOException;
+
+/**
+ * Redis XGROUP CREATE 命令实现类
+ * <p>
+ * 为 Stream 创建消费者组。ID 为 "$" 时消费者组只消费创建之后的新消息，为 "0" 时从头消费。
+ * 消费者组已存在时服务端返回 BUSYGROUP 错误。
+ * </p>
+ * XGROUP CREATE命令语法：
+ * XGROUP CREATE key group id|$ [MKSTREAM]
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/xgroup-create/">Redis XGROUP CREATE Command</a>
+ */
+public class XGroupCreateCommand extends Command {
+    private static final BulkStrings CONSTANTS_XGROUP = BulkStrings.of("XGROUP");
+    private static final BulkStrings CONSTANTS_CREATE = BulkStrings.of("CREATE");
+    private static final BulkStrings CONSTANTS_MKSTREAM = BulkStrings.of("MKSTREAM");
+
+    private final byte[] key;
+    private final String group;
+    private final String id;
+    private boolean mkStream;
+
+    public XGroupCreateCommand(String key, String group, String id) {
+        this.key = key.getBytes();
+        this.group = group;
+        this.id = id;
+    }
+
+    /**
+     * 设置 MKSTREAM 选项：Stream 不存在时自动创建空 Stream
+     *
+     * @return 当前XGroupCreateCommand实例，支持链式调用
+     */
+    public XGroupCreateCommand mkStream() {
+        this.mkStream = true;
+        return this;
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return mkStream ? 6 : 5;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_XGROUP.writeTo(writeBuffer);
+        CONSTANTS_CREATE.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, group);
+        ArgumentWriter.writeBulk(writeBuffer, id);
+        if (mkStream) {
+            CONSTANTS_MKSTREAM.writeTo(writeBuffer);
+        }
+    }
+}
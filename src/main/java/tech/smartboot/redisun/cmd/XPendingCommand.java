@@ -0,0 +1,169 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Redis XPENDING 命令实现类
+ * <p>
+ * 查询消费者组待确认列表（PEL）中的消息明细，包括消息ID、所属消费者、空闲时间以及投递次数。
+ * 此处实现的是 XPENDING 的扩展形式。
+ * </p>
+ * XPENDING命令语法：
+ * XPENDING key group [[IDLE min-idle-time] start end count [consumer]]
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/xpending/">Redis XPENDING Command</a>
+ */
+public class XPendingCommand extends Command {
+    private static final BulkStrings CONSTANTS_XPENDING = BulkStrings.of("XPENDING");
+    private static final BulkStrings CONSTANTS_IDLE = BulkStrings.of("IDLE");
+
+    private final byte[] key;
+    private final String group;
+    private final String start;
+    private final String end;
+    private final int count;
+    private long idle = -1;
+    private String consumer;
+
+    public XPendingCommand(String key, String group, String start, String end, int count) {
+        this.key = key.getBytes();
+        this.group = group;
+        this.start = start;
+        this.end = end;
+        this.count = count;
+    }
+
+    /**
+     * 设置 IDLE 选项：仅返回空闲时间超过指定值的消息
+     *
+     * @param minIdleTime 最小空闲时间（毫秒）
+     * @return 当前XPendingCommand实例，支持链式调用
+     */
+    public XPendingCommand idle(long minIdleTime) {
+        this.idle = minIdleTime;
+        return this;
+    }
+
+    /**
+     * 仅返回指定消费者的待确认消息
+     *
+     * @param consumer 消费者名称
+     * @return 当前XPendingCommand实例，支持链式调用
+     */
+    public XPendingCommand consumer(String consumer) {
+        this.consumer = consumer;
+        return this;
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        int argCount = 6;
+        if (idle >= 0) {
+            argCount += 2;
+        }
+        if (consumer != null) {
+            argCount++;
+        }
+        return argCount;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_XPENDING.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, group);
+        if (idle >= 0) {
+            CONSTANTS_IDLE.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, idle);
+        }
+        ArgumentWriter.writeBulk(writeBuffer, start);
+        ArgumentWriter.writeBulk(writeBuffer, end);
+        ArgumentWriter.writeBulk(writeBuffer, count);
+        if (consumer != null) {
+            ArgumentWriter.writeBulk(writeBuffer, consumer);
+        }
+    }
+
+    /**
+     * 解析XPENDING扩展形式的响应结果
+     *
+     * @param resp 响应结果，每个元素形如 [id, consumer, idle, delivery-count]
+     * @return 待确认消息列表
+     */
+    public static List<PendingEntry> toEntries(RESP resp) {
+        if (!(resp instanceof Arrays)) {
+            throw new RedisunException("invalid response:" + resp);
+        }
+        List<RESP> items = ((Arrays) resp).getValue();
+        List<PendingEntry> result = new ArrayList<>(items.size());
+        for (RESP item : items) {
+            List<RESP> values = ((Arrays) item).getValue();
+            PendingEntry entry = new PendingEntry();
+            entry.setId(values.get(0).getValue().toString());
+            entry.setConsumer(values.get(1).getValue().toString());
+            entry.setIdle(Long.parseLong(values.get(2).getValue().toString()));
+            entry.setDeliveryCount(Long.parseLong(values.get(3).getValue().toString()));
+            result.add(entry);
+        }
+        return result;
+    }
+
+    public static class PendingEntry {
+        private String id;
+        private String consumer;
+        private long idle;
+        private long deliveryCount;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getConsumer() {
+            return consumer;
+        }
+
+        public void setConsumer(String consumer) {
+            this.consumer = consumer;
+        }
+
+        /**
+         * 获取消息自上次投递以来的空闲时间（毫秒）
+         */
+        public long getIdle() {
+            return idle;
+        }
+
+        public void setIdle(long idle) {
+            this.idle = idle;
+        }
+
+        public long getDeliveryCount() {
+            return deliveryCount;
+        }
+
+        public void setDeliveryCount(long deliveryCount) {
+            this.deliveryCount = deliveryCount;
+        }
+    }
+}
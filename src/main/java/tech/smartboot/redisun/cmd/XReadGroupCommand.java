@@ -0,0 +1,159 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.Arrays;
+import tech.smartboot.redisun.resp.BulkStrings;
+import tech.smartboot.redisun.resp.Maps;
+import tech.smartboot.redisun.resp.Nulls;
+import tech.smartboot.redisun.resp.RESP;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Redis XREADGROUP 命令实现类
+ * <p>
+ * 以消费者组的身份读取 Stream 中的消息。ID 为 "&gt;" 时读取从未投递给其他消费者的新消息，
+ * 其他ID则读取当前消费者待确认列表中的历史消息。
+ * </p>
+ * XREADGROUP命令语法：
+ * XREADGROUP GROUP group consumer [COUNT count] [BLOCK milliseconds] [NOACK] STREAMS key id
+ * <p>
+ * 注意：设置了 BLOCK 选项的读取会阻塞所在连接，应在独占连接上执行，
+ * 参见 {@link tech.smartboot.redisun.StreamConsumer}。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/xreadgroup/">Redis XREADGROUP Command</a>
+ */
+public class XReadGroupCommand extends Command {
+    private static final BulkStrings CONSTANTS_XREADGROUP = BulkStrings.of("XREADGROUP");
+    private static final BulkStrings CONSTANTS_GROUP = BulkStrings.of("GROUP");
+    private static final BulkStrings CONSTANTS_COUNT = BulkStrings.of("COUNT");
+    private static final BulkStrings CONSTANTS_BLOCK = BulkStrings.of("BLOCK");
+    private static final BulkStrings CONSTANTS_NOACK = BulkStrings.of("NOACK");
+    private static final BulkStrings CONSTANTS_STREAMS = BulkStrings.of("STREAMS");
+
+    private final String group;
+    private final String consumer;
+    private final byte[] key;
+    private final String id;
+    private int count;
+    private long block = -1;
+    private boolean noAck;
+
+    public XReadGroupCommand(String group, String consumer, String key, String id) {
+        this.group = group;
+        this.consumer = consumer;
+        this.key = key.getBytes();
+        this.id = id;
+    }
+
+    /**
+     * 设置 COUNT 选项：单次读取的最大消息数量
+     *
+     * @param count 最大消息数量
+     * @return 当前XReadGroupCommand实例，支持链式调用
+     */
+    public XReadGroupCommand count(int count) {
+        this.count = count;
+        return this;
+    }
+
+    /**
+     * 设置 BLOCK 选项：无消息时阻塞等待的最长时间
+     *
+     * @param milliseconds 阻塞时间（毫秒），0表示无限等待
+     * @return 当前XReadGroupCommand实例，支持链式调用
+     */
+    public XReadGroupCommand block(long milliseconds) {
+        this.block = milliseconds;
+        return this;
+    }
+
+    /**
+     * 设置 NOACK 选项：消息投递后无需确认
+     *
+     * @return 当前XReadGroupCommand实例，支持链式调用
+     */
+    public XReadGroupCommand noAck() {
+        this.noAck = true;
+        return this;
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        int argCount = 7;
+        if (count > 0) {
+            argCount += 2;
+        }
+        if (block >= 0) {
+            argCount += 2;
+        }
+        if (noAck) {
+            argCount++;
+        }
+        return argCount;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_XREADGROUP.writeTo(writeBuffer);
+        CONSTANTS_GROUP.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, group);
+        ArgumentWriter.writeBulk(writeBuffer, consumer);
+        if (count > 0) {
+            CONSTANTS_COUNT.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, count);
+        }
+        if (block >= 0) {
+            CONSTANTS_BLOCK.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, block);
+        }
+        if (noAck) {
+            CONSTANTS_NOACK.writeTo(writeBuffer);
+        }
+        CONSTANTS_STREAMS.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, id);
+    }
+
+    /**
+     * 解析XREADGROUP的响应结果
+     * <p>
+     * RESP3 下响应为 Stream 名称到消息列表的映射，RESP2 下为 [[key, entries]] 形式的数组，
+     * 阻塞超时则返回空值。
+     * </p>
+     *
+     * @param resp 响应结果
+     * @return 读取到的消息列表
+     */
+    public static List<StreamEntry> toEntries(RESP resp) {
+        if (resp instanceof Nulls) {
+            return Collections.emptyList();
+        }
+        if (resp instanceof Maps) {
+            for (RESP entries : ((Maps) resp).getValue().values()) {
+                return StreamEntry.toEntries(entries);
+            }
+            return Collections.emptyList();
+        }
+        if (resp instanceof Arrays) {
+            for (RESP stream : ((Arrays) resp).getValue()) {
+                return StreamEntry.toEntries(((Arrays) stream).getValue().get(1));
+            }
+            return Collections.emptyList();
+        }
+        throw new RedisunException("invalid response:" + resp);
+    }
+}
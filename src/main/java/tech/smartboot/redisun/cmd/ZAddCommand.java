@@ -1,12 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * @author 三刀
@@ -14,23 +13,31 @@ import java.util.List;
  */
 public final class ZAddCommand extends Command {
     private static final BulkStrings CONSTANTS_ZADD = BulkStrings.of("ZADD");
-    private final String key;
+    private final byte[] key;
     private final String member;
     private final double score;
 
     public ZAddCommand(String key, double score, String member) {
-        this.key = key;
+        this.key = key.getBytes();
         this.member = member;
         this.score = score;
     }
 
     @Override
-    public List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>(4);
-        param.add(CONSTANTS_ZADD);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(BigDecimal.valueOf(score).toPlainString()));
-        param.add(RESP.ofString(member));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected int argCount() {
+        return 4;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_ZADD.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, score);
+        ArgumentWriter.writeBulk(writeBuffer, member);
     }
 }
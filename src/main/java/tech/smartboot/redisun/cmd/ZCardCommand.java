@@ -0,0 +1,48 @@
+package tech.smartboot.redisun.cmd;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
+import tech.smartboot.redisun.resp.BulkStrings;
+
+import java.io.IOException;
+
+/**
+ * Redis ZCARD 命令实现类
+ * <p>
+ * 返回有序集合的成员数量，key 不存在时返回 0。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see <a href="https://redis.io/commands/zcard/">Redis ZCARD Command</a>
+ */
+public class ZCardCommand extends Command {
+    private static final BulkStrings CONSTANTS_ZCARD = BulkStrings.of("ZCARD");
+    private final byte[] key;
+
+    public ZCardCommand(String key) {
+        this.key = key.getBytes();
+    }
+
+    @Override
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    protected int argCount() {
+        return 2;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_ZCARD.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+    }
+}
@@ -1,12 +1,14 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
 import tech.smartboot.redisun.resp.RESP;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
 
 /**
  * Redis ZRANGE 命令实现类
@@ -26,7 +28,7 @@ public class ZRangeCommand extends Command {
     private static final BulkStrings CONSTANTS_WITHSCORES = BulkStrings.of("WITHSCORES");
     private static final BulkStrings CONSTANTS_LIMIT = BulkStrings.of("LIMIT");
 
-    private final String key;
+    private final byte[] key;
     private final String start;
     private final String stop;
 
@@ -36,41 +38,66 @@ public class ZRangeCommand extends Command {
     private BulkStrings withScores = null;
 
     // LIMIT参数
-    private Consumer<List<BulkStrings>> limit = null;
+    private boolean limit;
+    private long offset;
+    private long count;
 
     public ZRangeCommand(String key, String start, String stop) {
-        this.key = key;
+        this.key = key.getBytes();
         this.start = start;
         this.stop = stop;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>(10);
-        param.add(CONSTANTS_ZRANGE);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(start));
-        param.add(RESP.ofString(stop));
-
-        // 添加选项参数
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    protected int argCount() {
+        int argCount = 4;
         if (sort != null) {
-            param.add(sort);
+            argCount++;
         }
-
         if (rev != null) {
-            param.add(rev);
+            argCount++;
         }
-
-        // 添加LIMIT参数
-        if (limit != null) {
-            limit.accept(param);
+        if (limit) {
+            argCount += 3;
         }
-
         if (withScores != null) {
-            param.add(withScores);
+            argCount++;
         }
+        return argCount;
+    }
 
-        return param;
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_ZRANGE.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, start);
+        ArgumentWriter.writeBulk(writeBuffer, stop);
+        // 写出选项参数
+        if (sort != null) {
+            sort.writeTo(writeBuffer);
+        }
+        if (rev != null) {
+            rev.writeTo(writeBuffer);
+        }
+        // 写出LIMIT参数
+        if (limit) {
+            CONSTANTS_LIMIT.writeTo(writeBuffer);
+            ArgumentWriter.writeBulk(writeBuffer, offset);
+            ArgumentWriter.writeBulk(writeBuffer, count);
+        }
+        if (withScores != null) {
+            withScores.writeTo(writeBuffer);
+        }
     }
 
     /**
@@ -121,11 +148,9 @@ public class ZRangeCommand extends Command {
      * @return 当前 ZRangeCommand 实例，支持链式调用
      */
     public ZRangeCommand limit(long offset, long count) {
-        this.limit = bulkStrings -> {
-            bulkStrings.add(CONSTANTS_LIMIT);
-            bulkStrings.add(BulkStrings.ofString(String.valueOf(offset)));
-            bulkStrings.add(BulkStrings.ofString(String.valueOf(count)));
-        };
+        this.limit = true;
+        this.offset = offset;
+        this.count = count;
         return this;
     }
 
@@ -1,11 +1,11 @@
 package tech.smartboot.redisun.cmd;
 
+import org.smartboot.socket.transport.WriteBuffer;
 import tech.smartboot.redisun.Command;
+import tech.smartboot.redisun.resp.ArgumentWriter;
 import tech.smartboot.redisun.resp.BulkStrings;
-import tech.smartboot.redisun.resp.RESP;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Redis ZSCORE 命令实现类
@@ -17,20 +17,33 @@ import java.util.List;
  */
 public class ZScoreCommand extends Command {
     private static final BulkStrings CONSTANTS_ZSCORE = BulkStrings.of("ZSCORE");
-    private final String key;
+    private final byte[] key;
     private final String member;
 
     public ZScoreCommand(String key, String member) {
-        this.key = key;
+        this.key = key.getBytes();
         this.member = member;
     }
 
     @Override
-    protected List<BulkStrings> buildParams() {
-        List<BulkStrings> param = new ArrayList<>(3);
-        param.add(CONSTANTS_ZSCORE);
-        param.add(RESP.ofString(key));
-        param.add(RESP.ofString(member));
-        return param;
+    protected byte[] routingKey() {
+        return key;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+
+    @Override
+    protected int argCount() {
+        return 3;
+    }
+
+    @Override
+    protected void writeArgs(WriteBuffer writeBuffer) throws IOException {
+        CONSTANTS_ZSCORE.writeTo(writeBuffer);
+        ArgumentWriter.writeBulk(writeBuffer, key);
+        ArgumentWriter.writeBulk(writeBuffer, member);
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+package tech.smartboot.redisun.resp;
+
+import org.smartboot.socket.transport.WriteBuffer;
+import tech.smartboot.redisun.RedisunException;
+
+import java.io.IOException;
+
+/**
+ * 命令参数写出工具
+ * <p>
+ * 命令按RESP数组格式直接将数组头、常量、key、数字及值写入输出缓冲区，不再构建中间的参数列表。
+ * 常量参数应通过 {@link BulkStrings#of(String)} 预先编码；数字参数在写出时完成编码，
+ * 较小的非负整数使用预编码结果，其余数字借助线程内的临时缓冲区一次写出，均不产生额外对象。
+ * </p>
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ * @see tech.smartboot.redisun.Command
+ */
+public final class ArgumentWriter {
+    /**
+     * 预编码的小整数，下标即数值
+     */
+    private static final byte[][] SMALL_LONGS = new byte[1024][];
+    private static final BulkStrings INF = BulkStrings.of("inf");
+    private static final BulkStrings NEGATIVE_INF = BulkStrings.of("-inf");
+    /**
+     * 数字编码的临时缓冲区，格式最长为 $20\r\n-9223372036854775808\r\n
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[32]);
+
+    static {
+        for (int i = 0; i < SMALL_LONGS.length; i++) {
+            byte[] digits = String.valueOf(i).getBytes();
+            byte[] bytes = new byte[digits.length + 6];
+            bytes[0] = RESP.RESP_DATA_TYPE_BULK;
+            bytes[1] = (byte) ('0' + digits.length);
+            bytes[2] = RESP.CR;
+            bytes[3] = RESP.LF;
+            System.arraycopy(digits, 0, bytes, 4, digits.length);
+            bytes[bytes.length - 2] = RESP.CR;
+            bytes[bytes.length - 1] = RESP.LF;
+            SMALL_LONGS[i] = bytes;
+        }
+    }
+
+    private ArgumentWriter() {
+    }
+
+    /**
+     * 写出数组头
+     *
+     * @param count 参数个数，包括命令名称
+     */
+    public static void writeArrayHeader(WriteBuffer writeBuffer, int count) throws IOException {
+        writeBuffer.write(RESP.RESP_DATA_TYPE_ARRAY);
+        RESP.writeInt(writeBuffer, count);
+    }
+
+    /**
+     * 写出二进制参数
+     */
+    public static void writeBulk(WriteBuffer writeBuffer, byte[] value) throws IOException {
+        writeBuffer.write(RESP.RESP_DATA_TYPE_BULK);
+        RESP.writeInt(writeBuffer, value.length);
+        writeBuffer.write(value);
+        writeBuffer.write(RESP.CRLF);
+    }
+
+    /**
+     * 写出字符串参数
+     */
+    public static void writeBulk(WriteBuffer writeBuffer, String value) throws IOException {
+        writeBulk(writeBuffer, value.getBytes());
+    }
+
+    /**
+     * 写出整数参数
+     */
+    public static void writeBulk(WriteBuffer writeBuffer, long value) throws IOException {
+        if (value >= 0 && value < SMALL_LONGS.length) {
+            writeBuffer.write(SMALL_LONGS[(int) value]);
+            return;
+        }
+        if (value == Long.MIN_VALUE) {
+            writeBulk(writeBuffer, String.valueOf(value).getBytes());
+            return;
+        }
+        byte[] scratch = SCRATCH.get();
+        long abs = value < 0 ? -value : value;
+        int digits = 1;
+        for (long v = abs; v >= 10; v /= 10) {
+            digits++;
+        }
+        int length = value < 0 ? digits + 1 : digits;
+        int pos = 0;
+        scratch[pos++] = RESP.RESP_DATA_TYPE_BULK;
+        if (length >= 10) {
+            scratch[pos++] = (byte) ('0' + length / 10);
+        }
+        scratch[pos++] = (byte) ('0' + length % 10);
+        scratch[pos++] = RESP.CR;
+        scratch[pos++] = RESP.LF;
+        if (value < 0) {
+            scratch[pos++] = '-';
+        }
+        int end = pos + digits;
+        for (int i = end - 1; i >= pos; i--) {
+            scratch[i] = (byte) ('0' + abs % 10);
+            abs /= 10;
+        }
+        scratch[end] = RESP.CR;
+        scratch[end + 1] = RESP.LF;
+        writeBuffer.write(scratch, 0, end + 2);
+    }
+
+    /**
+     * 写出浮点数参数，整数值省略小数部分，无穷大写作 inf / -inf
+     */
+    public static void writeBulk(WriteBuffer writeBuffer, double value) throws IOException {
+        if (Double.isNaN(value)) {
+            throw new RedisunException("NaN is not a valid argument");
+        } else if (Double.isInfinite(value)) {
+            (value > 0 ? INF : NEGATIVE_INF).writeTo(writeBuffer);
+        } else if (value == (long) value) {
+            writeBulk(writeBuffer, (long) value);
+        } else {
+            writeBulk(writeBuffer, Double.toString(value).getBytes());
+        }
+    }
+}
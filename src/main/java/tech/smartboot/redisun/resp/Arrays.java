@@ -26,6 +26,8 @@ import java.util.List;
  * "*3\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$5\r\nHello\r\n"
  * <p>
  * 空数组表示为"*0\r\n"
+ * <p>
+ * RESP3的推送消息（以'&gt;'开头）与数组格式相同，同样由该类解析，通过 {@link #isPush()} 区分。
  *
  * @author 三刀
  * @version v1.0 10/21/25
@@ -46,11 +48,26 @@ public final class Arrays extends RESP<List<RESP>> {
     // 当前正在解析的元素
     private RESP item;
 
+    // 是否为RESP3推送消息
+    private final boolean push;
+
     /**
      * 私有构造函数，防止外部直接实例化
      * 应该通过RESP.newInstance()方法创建实例
      */
     Arrays() {
+        this(false);
+    }
+
+    Arrays(boolean push) {
+        this.push = push;
+    }
+
+    /**
+     * 是否为RESP3推送消息，如发布订阅收到的消息，推送消息不对应任何请求
+     */
+    public boolean isPush() {
+        return push;
     }
 
     /**
@@ -88,9 +105,10 @@ public final class Arrays extends RESP<List<RESP>> {
                 case DECODE_STATE_ITEM:
                     // 解析数组元素
                     if (item == null) {
-                        // 创建新的元素对象
+                        // 创建新的元素对象，部分类型在创建时已完成解析，需立即判定
                         item = RESP.newInstance(readBuffer);
-                    } else if (item.decode(readBuffer)) {
+                    }
+                    if (item.decode(readBuffer)) {
                         // 元素解析完成，添加到数组中
                         value.add(item);
                         item = null;
@@ -120,7 +138,7 @@ public final class Arrays extends RESP<List<RESP>> {
     @Override
     public void writeTo(WriteBuffer writeBuffer) throws IOException {
         // 写入数组类型标识符
-        writeBuffer.write(RESP_DATA_TYPE_ARRAY);
+        writeBuffer.write(push ? RESP_DATA_TYPE_PUSH : RESP_DATA_TYPE_ARRAY);
         // 写入数组元素个数
         writeInt(writeBuffer, value.size());
         // 逐个写入数组元素
@@ -161,6 +161,13 @@ public class BulkStrings extends RESP<String> {
         return false;
     }
 
+    /**
+     * 获取解码得到的字符串字节数，NULL值为-1
+     */
+    public int getLength() {
+        return length;
+    }
+
     /**
      * 将BulkStrings对象写入到输出缓冲区
      * <p>
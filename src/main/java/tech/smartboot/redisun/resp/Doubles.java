@@ -69,10 +69,20 @@ public class Doubles extends RESP<Double> {
                         throw new RedisunException("Invalid double format: missing LF after CR");
                     }
                     // 解析double值
+                    String text = valueBuilder.toString();
                     try {
-                        value = Double.parseDouble(valueBuilder.toString());
+                        // RESP3以 inf、-inf、nan 表示特殊值
+                        if ("inf".equals(text)) {
+                            value = Double.POSITIVE_INFINITY;
+                        } else if ("-inf".equals(text)) {
+                            value = Double.NEGATIVE_INFINITY;
+                        } else if ("nan".equals(text)) {
+                            value = Double.NaN;
+                        } else {
+                            value = Double.parseDouble(text);
+                        }
                     } catch (NumberFormatException e) {
-                        throw new RedisunException("Invalid double format: " + valueBuilder.toString());
+                        throw new RedisunException("Invalid double format: " + text);
                     }
                     return true;
             }
@@ -66,6 +66,11 @@ public class Integers extends RESP<Integer> {
     // 是否为负数
     private boolean isNegative;
 
+    /**
+     * 整数值，以基本类型保存，仅在调用 {@link #getValue()} 时装箱
+     */
+    private long longValue;
+
     /**
      * 私有构造函数，防止外部直接实例化
      * 应该通过RESP.newInstance()方法创建实例
@@ -105,10 +110,8 @@ public class Integers extends RESP<Integer> {
                     break;
                 case DECODE_STATE_VALUE:
                     // 读取数值部分
-                    int v = readInt(readBuffer);
-                    if (v >= 0) {
+                    if (readLong(readBuffer)) {
                         state = DECODE_STATE_END;
-                        value = isNegative ? -v : v;
                         return true;
                     }
                     return false;
@@ -119,6 +122,54 @@ public class Integers extends RESP<Integer> {
         return false;
     }
 
+    /**
+     * 读取64位整数直至CRLF，数据不完整时重置读取位置并返回false
+     * <p>
+     * 以负数累加各位数字，使 Long.MIN_VALUE 同样可以正确解析。
+     * </p>
+     */
+    private boolean readLong(ByteBuffer readBuffer) {
+        long v = 0;
+        readBuffer.mark();
+        while (readBuffer.remaining() >= 2) {
+            byte b = readBuffer.get();
+            if (b >= '0' && b <= '9') {
+                v = v * 10 - (b & 0x0f);
+                continue;
+            }
+            if (b == RESP.CR && readBuffer.get() == RESP.LF) {
+                longValue = isNegative ? v : -v;
+                return true;
+            } else {
+                throw new RedisunException("数据格式错误");
+            }
+        }
+        readBuffer.reset();
+        return false;
+    }
+
+    /**
+     * 获取整数值
+     *
+     * @return 64位整数值
+     */
+    public long getLong() {
+        return longValue;
+    }
+
+    /**
+     * 获取整数值，超出int范围的值将被截断，需要完整精度时使用 {@link #getLong()}
+     */
+    @Override
+    public Integer getValue() {
+        return (int) longValue;
+    }
+
+    @Override
+    public void setValue(Integer value) {
+        this.longValue = value;
+    }
+
     /**
      * 返回对象的字符串表示
      *
@@ -126,7 +177,7 @@ public class Integers extends RESP<Integer> {
      */
     @Override
     public String toString() {
-        return "IntegerResponse{" + "value=" + getValue() + '}';
+        return "IntegerResponse{" + "value=" + longValue + '}';
     }
 
     /**
@@ -139,7 +190,12 @@ public class Integers extends RESP<Integer> {
     public void writeTo(WriteBuffer writeBuffer) throws IOException {
         // 写入整数类型标识符
         writeBuffer.write(RESP_DATA_TYPE_INTEGER);
-        writeInt(writeBuffer, value);
+        if (longValue == (int) longValue) {
+            writeInt(writeBuffer, (int) longValue);
+        } else {
+            writeBuffer.write(Long.toString(longValue).getBytes());
+            writeBuffer.write(CRLF);
+        }
 //        // 处理负数情况
 //        if (value < 0) {
 //            writeBuffer.write('-');
@@ -94,9 +94,10 @@ public final class Maps extends RESP<Map<RESP, RESP>> {
                 case DECODE_STATE_KEY:
                     // 解析键
                     if (key == null) {
-                        // 创建新的键对象
+                        // 创建新的键对象，部分类型在创建时已完成解析，需立即判定
                         key = RESP.newInstance(readBuffer);
-                    } else if (key.decode(readBuffer)) {
+                    }
+                    if (key.decode(readBuffer)) {
                         // 键解析完成，进入值解析状态
                         state = DECODE_STATE_VALUE;
                     } else {
@@ -106,9 +107,10 @@ public final class Maps extends RESP<Map<RESP, RESP>> {
                 case DECODE_STATE_VALUE:
                     // 解析值
                     if (val == null) {
-                        // 创建新的值对象
+                        // 创建新的值对象，部分类型在创建时已完成解析，需立即判定
                         val = RESP.newInstance(readBuffer);
-                    } else if (val.decode(readBuffer)) {
+                    }
+                    if (val.decode(readBuffer)) {
                         // 值解析完成，将键值对添加到Map中
                         value.put(key, val);
                         key = null;
@@ -85,7 +85,7 @@ public abstract class RESP<T> implements Serialization {
      *
      * @return 响应值
      */
-    public final T getValue() {
+    public T getValue() {
         return value;
     }
 
@@ -172,6 +172,8 @@ public abstract class RESP<T> implements Serialization {
                 return SimpleStrings.of(buffer);
             case RESP_DATA_TYPE_ARRAY:
                 return new Arrays();
+            case RESP_DATA_TYPE_PUSH:
+                return new Arrays(true);
             case RESP_DATA_TYPE_MAP:
                 return new Maps();
             case RESP_DATA_TYPE_ERROR:
@@ -0,0 +1,139 @@
+package tech.smartboot.redisun;
+
+import jdk.jfr.EventType;
+import org.smartboot.socket.transport.AioSession;
+import tech.smartboot.redisun.resp.RESP;
+import tech.smartboot.redisun.resp.SimpleErrors;
+
+import java.io.IOException;
+
+/**
+ * Java Flight Recorder 事件埋点，JDK 11及以上版本使用的实现
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class FlightRecorder {
+    private static final EventType COMMAND = EventType.getEventType(RedisCommandEvent.class);
+    private static final EventType CONNECTION = EventType.getEventType(RedisConnectionEvent.class);
+    private static final EventType FLUSH = EventType.getEventType(RedisFlushEvent.class);
+    private static final EventType DECODE_STALL = EventType.getEventType(RedisDecodeStallEvent.class);
+    /**
+     * 当前网络写出事件的记录周期，未开启记录时为-1
+     */
+    private static volatile int flushEpoch = -1;
+    private static int lastFlushEpoch;
+
+    private FlightRecorder() {
+    }
+
+    static boolean isAvailable() {
+        return true;
+    }
+
+    static ResponseCallback command(Command command, ResponseCallback callback) {
+        if (!COMMAND.isEnabled()) {
+            return callback;
+        }
+        RedisCommandEvent event = new RedisCommandEvent();
+        event.begin();
+        return new ResponseCallback() {
+            @Override
+            public void onResponse(RESP resp) {
+                commit(resp instanceof SimpleErrors);
+                callback.onResponse(resp);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                commit(true);
+                callback.onFailure(throwable);
+            }
+
+            private void commit(boolean error) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.command = command.name();
+                    event.success = !error;
+                    event.commit();
+                }
+            }
+
+            @Override
+            public boolean isLightweight() {
+                return callback.isLightweight();
+            }
+
+            @Override
+            public CommandEvent event() {
+                return callback.event();
+            }
+        };
+    }
+
+    static void connection(AioSession session, boolean open, boolean reconnect) {
+        if (!CONNECTION.isEnabled()) {
+            return;
+        }
+        RedisConnectionEvent event = new RedisConnectionEvent();
+        event.state = open ? "open" : "close";
+        event.reconnect = reconnect;
+        event.remoteAddress = remoteAddress(session);
+        event.commit();
+    }
+
+    static int flushEpoch() {
+        if (!FLUSH.isEnabled()) {
+            if (flushEpoch >= 0) {
+                flushEpoch = -1;
+            }
+            return -1;
+        }
+        int epoch = flushEpoch;
+        if (epoch < 0) {
+            synchronized (FLUSH) {
+                epoch = flushEpoch;
+                if (epoch < 0) {
+                    epoch = ++lastFlushEpoch;
+                    flushEpoch = epoch;
+                }
+            }
+        }
+        return epoch;
+    }
+
+    static void flush(AioSession session, int commands, int bytes) {
+        RedisFlushEvent event = new RedisFlushEvent();
+        event.commands = commands;
+        event.bytes = bytes;
+        event.remoteAddress = remoteAddress(session);
+        event.commit();
+    }
+
+    static Object beginDecodeStall() {
+        if (!DECODE_STALL.isEnabled()) {
+            return null;
+        }
+        RedisDecodeStallEvent event = new RedisDecodeStallEvent();
+        event.begin();
+        return event;
+    }
+
+    static void endDecodeStall(Object stall, AioSession session, int bytes) {
+        RedisDecodeStallEvent event = (RedisDecodeStallEvent) stall;
+        event.end();
+        if (event.shouldCommit()) {
+            event.bytes = bytes;
+            event.remoteAddress = remoteAddress(session);
+            event.commit();
+        }
+    }
+
+    private static String remoteAddress(AioSession session) {
+        try {
+            return String.valueOf(session.getRemoteAddress());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
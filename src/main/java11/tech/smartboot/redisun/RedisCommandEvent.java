@@ -0,0 +1,29 @@
+package tech.smartboot.redisun;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 命令提交至完成的耗时，默认仅记录超过20毫秒的慢命令
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+@Name("tech.smartboot.redisun.Command")
+@Label("Redis Command")
+@Description("Time from command submission to completion")
+@Category("Redisun")
+@Threshold("20 ms")
+@StackTrace(false)
+final class RedisCommandEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Success")
+    boolean success;
+}
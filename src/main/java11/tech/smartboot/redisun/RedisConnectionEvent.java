@@ -0,0 +1,31 @@
+package tech.smartboot.redisun;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 连接建立或关闭
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+@Name("tech.smartboot.redisun.Connection")
+@Label("Redis Connection")
+@Description("Connection opened or closed")
+@Category("Redisun")
+@StackTrace(false)
+final class RedisConnectionEvent extends Event {
+    @Label("State")
+    String state;
+
+    @Label("Reconnect")
+    @Description("Opened after a previous connection to the same node was closed")
+    boolean reconnect;
+
+    @Label("Remote Address")
+    String remoteAddress;
+}
@@ -0,0 +1,31 @@
+package tech.smartboot.redisun;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 响应跨越多次读取时，等待剩余数据的耗时
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+@Name("tech.smartboot.redisun.DecodeStall")
+@Label("Redis Decode Stall")
+@Description("Time spent waiting for the rest of a partially received reply")
+@Category("Redisun")
+@Threshold("1 ms")
+@StackTrace(false)
+final class RedisDecodeStallEvent extends Event {
+    @Label("Bytes")
+    @DataAmount
+    int bytes;
+
+    @Label("Remote Address")
+    String remoteAddress;
+}
@@ -0,0 +1,34 @@
+package tech.smartboot.redisun;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 一次网络写出所包含的命令数及字节数，事件数量较多，默认不开启
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+@Name("tech.smartboot.redisun.Flush")
+@Label("Redis Flush")
+@Description("Commands and bytes per socket write")
+@Category("Redisun")
+@Enabled(false)
+@StackTrace(false)
+final class RedisFlushEvent extends Event {
+    @Label("Commands")
+    int commands;
+
+    @Label("Bytes")
+    @DataAmount
+    int bytes;
+
+    @Label("Remote Address")
+    String remoteAddress;
+}
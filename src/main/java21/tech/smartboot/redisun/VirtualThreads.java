@@ -0,0 +1,27 @@
+package tech.smartboot.redisun;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 虚拟线程支持，JDK 21及以上版本使用的实现
+ *
+ * @author 三刀
+ * @version v1.0 10/19/26
+ */
+final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    static boolean isSupported() {
+        return true;
+    }
+
+    static boolean isVirtual(Thread thread) {
+        return thread.isVirtual();
+    }
+
+    static ExecutorService newExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name, 0).factory());
+    }
+}
@@ -3,6 +3,7 @@ package tech.smartboot.redisun.bench;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import tech.smartboot.redisun.BulkLoader;
 import tech.smartboot.redisun.Redisun;
 
 import java.util.concurrent.CountDownLatch;
@@ -53,6 +54,28 @@ public class RedisunBenchmark extends Bench {
         }
     }
 
+    @Test
+    public void bulkSet() {
+        long initialSize = redisun.dbsize();
+
+        long start = System.currentTimeMillis();
+        try (BulkLoader loader = redisun.bulkLoader()) {
+            for (int i = 0; i < SET_COUNT; i++) {
+                loader.set("test" + i, "test" + i);
+            }
+        }
+        long cost = System.currentTimeMillis() - start;
+        System.out.println("[BULK SET] cost: " + cost + "ms");
+        System.out.println("[BULK SET] ops/s: " + (SET_COUNT * 1000 / (cost + 1)));
+
+        long addedKeys = redisun.dbsize() - initialSize;
+        if (addedKeys >= SET_COUNT) {
+            System.out.println("[BULK SET] Verification passed: at least " + SET_COUNT + " keys were written");
+        } else {
+            System.out.println("[BULK SET] Verification failed: only " + addedKeys + " keys were written, expected at least " + SET_COUNT);
+        }
+    }
+
     @Test
     public void asyncGet() throws InterruptedException {
         // 先设置数据
@@ -2,18 +2,69 @@ package tech.smartboot.redisun.test;
 
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import tech.smartboot.redisun.BulkLoader;
+import tech.smartboot.redisun.CircuitBreakerOpenException;
+import tech.smartboot.redisun.CommandEvent;
+import tech.smartboot.redisun.CommandListener;
+import tech.smartboot.redisun.KeyReport;
+import tech.smartboot.redisun.LatencySnapshot;
+import tech.smartboot.redisun.LongFuture;
+import tech.smartboot.redisun.ReadPolicy;
 import tech.smartboot.redisun.Redisun;
 import tech.smartboot.redisun.RedisunException;
+import tech.smartboot.redisun.SlowLogEntry;
+import tech.smartboot.redisun.ReplyDecoder;
+import tech.smartboot.redisun.StreamConsumer;
+import tech.smartboot.redisun.TrafficReplay;
+import tech.smartboot.redisun.cmd.ChannelMessage;
+import tech.smartboot.redisun.cmd.PreparedCommand;
+import tech.smartboot.redisun.cmd.RawCommand;
+import tech.smartboot.redisun.cmd.StreamEntry;
+import tech.smartboot.redisun.cmd.XAutoClaimCommand;
+import tech.smartboot.redisun.cmd.XPendingCommand;
 import tech.smartboot.redisun.cmd.ZRangeCommand;
-
+import tech.smartboot.redisun.resp.Integers;
+import tech.smartboot.redisun.resp.RESP;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author 三刀
@@ -891,6 +942,1403 @@ public class RedisunTest {
         redisun.del(key);
     }
 
+    @Test
+    public void testStreamCommands() {
+        String key = topic + ":stream";
+        String group = "group";
+
+        Assert.assertTrue(redisun.xgroupCreate(key, group, "0"));
+        Map<String, String> fields = new HashMap<>();
+        fields.put("field", "value1");
+        String id1 = redisun.xadd(key, fields);
+        fields.put("field", "value2");
+        String id2 = redisun.xadd(key, fields, cmd -> cmd.maxLen(1000, true));
+        Assert.assertNotNull(id1);
+        Assert.assertNotNull(id2);
+
+        // 读取新消息
+        List<StreamEntry> entries = redisun.xreadgroup(key, group, "consumer1", ">", cmd -> cmd.count(10));
+        Assert.assertEquals(2, entries.size());
+        Assert.assertEquals(id1, entries.get(0).getId());
+        Assert.assertEquals("value1", entries.get(0).getFields().get("field"));
+        Assert.assertEquals("value2", entries.get(1).getFields().get("field"));
+        // 没有新消息
+        Assert.assertTrue(redisun.xreadgroup(key, group, "consumer1", ">", null).isEmpty());
+
+        // 待确认列表
+        List<XPendingCommand.PendingEntry> pending = redisun.xpending(key, group, "-", "+", 10, null);
+        Assert.assertEquals(2, pending.size());
+        Assert.assertEquals("consumer1", pending.get(0).getConsumer());
+        Assert.assertEquals(1, pending.get(0).getDeliveryCount());
+
+        // 回收消息至consumer2
+        XAutoClaimCommand.Result result = redisun.xautoclaim(key, group, "consumer2", 0, "0-0", 1);
+        Assert.assertEquals(1, result.getEntries().size());
+        Assert.assertEquals(id1, result.getEntries().get(0).getId());
+        Assert.assertEquals("consumer2", redisun.xpending(key, group, "-", "+", 10, cmd -> cmd.consumer("consumer2")).get(0).getConsumer());
+
+        // 批量确认
+        Assert.assertEquals(2, redisun.xack(key, group, id1, id2));
+        Assert.assertTrue(redisun.xpending(key, group, "-", "+", 10, null).isEmpty());
+
+        // 待确认的消息被删除后，回收时跳过该消息
+        fields.put("field", "value3");
+        String id3 = redisun.xadd(key, fields);
+        Assert.assertEquals(1, redisun.xreadgroup(key, group, "consumer1", ">", null).size());
+        redisun.call("XDEL", key, id3);
+        result = redisun.xautoclaim(key, group, "consumer2", 0, "0-0", 10);
+        Assert.assertTrue(result.getEntries().isEmpty());
+        Assert.assertEquals("0-0", result.getNextStart());
+
+        redisun.del(key);
+    }
+
+    @Test
+    public void testStreamConsumer() throws Exception {
+        String key = topic + ":consumer";
+        String group = "group";
+        int count = 500;
+
+        // 预先投递给其他消费者但未确认的消息，应被回收
+        redisun.xgroupCreate(key, group, "0");
+        String staleId = redisun.xadd(key, Collections.singletonMap("index", "-1"));
+        Assert.assertEquals(1, redisun.xreadgroup(key, group, "crashed", ">", null).size());
+
+        Set<String> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(count + 1);
+        StreamConsumer consumer = redisun.streamConsumer(key, group, "consumer", entries -> {
+            for (StreamEntry entry : entries) {
+                if (received.add(entry.getId())) {
+                    latch.countDown();
+                }
+            }
+        }, opts -> opts.batchSize(64).blockMillis(200).claimInterval(200).claimMinIdle(0));
+        consumer.start();
+
+        for (int i = 0; i < count; i++) {
+            redisun.asyncXadd(key, Collections.singletonMap("index", String.valueOf(i)), null);
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertTrue(received.contains(staleId));
+
+        // 确认被合并发送，最终待确认列表为空
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!redisun.xpending(key, group, "-", "+", 10, null).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(redisun.xpending(key, group, "-", "+", 10, null).isEmpty());
+
+        consumer.close();
+        // 关闭后不可再次启动
+        try {
+            consumer.start();
+            Assert.fail("start after close should throw exception");
+        } catch (RedisunException e) {
+            // 预期的异常
+        }
+        redisun.del(key);
+    }
+
+    @Test
+    public void testBulkLoader() {
+        int count = 1000;
+        Map<String, Throwable> errors = new ConcurrentHashMap<>();
+        AtomicLong progress = new AtomicLong();
+        redisun.set(topic + ":string", "value");
+
+        BulkLoader loader = redisun.bulkLoader(opts -> opts.connections(2).window(16)
+                .errorHandler(errors::put)
+                .progressHandler(100, l -> progress.incrementAndGet()));
+        for (int i = 0; i < count; i++) {
+            loader.set(topic + ":bulk:" + i, "value" + i);
+        }
+        loader.set(topic + ":bulk:ttl", "value", 100);
+        Map<String, String> fields = new HashMap<>();
+        fields.put("f1", "v1");
+        fields.put("f2", "v2");
+        loader.hset(topic + ":bulk:hash", fields, 100);
+        // 类型错误，单条失败不影响其他命令
+        loader.hset(topic + ":string", fields);
+        loader.close();
+
+        Assert.assertEquals(count + 4, loader.getSubmitted());
+        Assert.assertEquals(count + 4, loader.getFinished());
+        Assert.assertEquals(1, loader.getFailed());
+        Assert.assertTrue(errors.get(topic + ":string").getMessage().startsWith("WRONGTYPE"));
+        Assert.assertEquals(10, progress.get());
+
+        Assert.assertEquals("value0", redisun.get(topic + ":bulk:0"));
+        Assert.assertEquals("value" + (count - 1), redisun.get(topic + ":bulk:" + (count - 1)));
+        Assert.assertTrue(redisun.ttl(topic + ":bulk:ttl") > 0);
+        Assert.assertEquals("v2", redisun.hget(topic + ":bulk:hash", "f2"));
+        Assert.assertTrue(redisun.ttl(topic + ":bulk:hash") > 0);
+
+        try {
+            loader.set(topic + ":bulk:closed", "value");
+            Assert.fail();
+        } catch (RedisunException e) {
+            // 导入器已关闭
+        }
+        for (int i = 0; i < count; i++) {
+            redisun.del(topic + ":bulk:" + i);
+        }
+        redisun.del(topic + ":bulk:ttl");
+        redisun.del(topic + ":bulk:hash");
+        redisun.del(topic + ":string");
+    }
+
+    /**
+     * 配置回调线程池时，批量导入的失败仍归属于对应的key
+     */
+    @Test
+    public void testBulkLoaderCallbackExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").callbackExecutor(executor));
+        try {
+            int count = 2000;
+            Map<String, String> fields = Collections.singletonMap("f", "v");
+            Set<String> expected = new HashSet<>();
+            for (int i = 0; i < count; i += 10) {
+                client.set(topic + ":bulk:" + i, "value");
+                expected.add(topic + ":bulk:" + i);
+            }
+            Map<String, Throwable> errors = new ConcurrentHashMap<>();
+            BulkLoader loader = client.bulkLoader(opts -> opts.connections(2).window(64).errorHandler(errors::put)
+                    .progressHandler(1, l -> Thread.yield()));
+            for (int i = 0; i < count; i++) {
+                if (i % 10 == 0) {
+                    // 类型错误
+                    loader.hset(topic + ":bulk:" + i, fields);
+                } else {
+                    loader.set(topic + ":bulk:" + i, "value" + i);
+                }
+            }
+            loader.close();
+
+            Assert.assertEquals(count, loader.getFinished());
+            Assert.assertEquals(expected.size(), loader.getFailed());
+            Assert.assertEquals(expected, errors.keySet());
+            Assert.assertEquals("value" + (count - 1), client.get(topic + ":bulk:" + (count - 1)));
+            for (int i = 0; i < count; i++) {
+                client.del(topic + ":bulk:" + i);
+            }
+        } finally {
+            client.close();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMultiKeyBatch() {
+        Redisun batchRedisun = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").multiKeyBatchSize(10));
+        try {
+            int count = 25;
+            Map<String, String> items = new LinkedHashMap<>();
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                items.put(topic + ":batch:" + i, "value" + i);
+                keys.add(topic + ":batch:" + i);
+            }
+            Assert.assertTrue(batchRedisun.mset(items));
+
+            // 结果按调用方的key顺序合并，不存在的key返回null
+            keys.add(5, topic + ":batch:missing");
+            List<String> values = batchRedisun.mget(keys);
+            Assert.assertEquals(count + 1, values.size());
+            Assert.assertEquals("value0", values.get(0));
+            Assert.assertNull(values.get(5));
+            Assert.assertEquals("value5", values.get(6));
+            Assert.assertEquals("value" + (count - 1), values.get(count));
+
+            Assert.assertEquals(count, batchRedisun.exists(keys.toArray(new String[0])));
+            Assert.assertEquals(count, batchRedisun.del(keys));
+            Assert.assertEquals(0, batchRedisun.exists(keys.toArray(new String[0])));
+            Assert.assertTrue(batchRedisun.mget(Collections.emptyList()).isEmpty());
+        } finally {
+            batchRedisun.close();
+        }
+    }
+
+    /**
+     * 副本读取测试，需要在6380端口部署127.0.0.1:6379的副本，未部署时跳过
+     */
+    @Test
+    public void testReadPolicy() throws Exception {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", 6380), 500);
+        } catch (IOException e) {
+            Assume.assumeNoException(e);
+        }
+        Redisun replicaRedisun = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").readPolicy(ReadPolicy.REPLICA).replicaProbeInterval(200));
+        try {
+            String key = topic + ":replica";
+            // 等待首次探测发现副本
+            Thread.sleep(1000);
+            Assert.assertTrue(replicaRedisun.set(key, "value"));
+            // 副本异步复制，等待数据同步
+            String value = null;
+            for (int i = 0; i < 50 && value == null; i++) {
+                value = replicaRedisun.get(key);
+                if (value == null) {
+                    Thread.sleep(100);
+                }
+            }
+            Assert.assertEquals("value", value);
+            Assert.assertEquals("value", replicaRedisun.readPolicy(ReadPolicy.NEAREST).get(key));
+            Assert.assertEquals("value", replicaRedisun.readPolicy(ReadPolicy.PRIMARY_PREFERRED).get(key));
+            // 写命令始终由主节点执行
+            Assert.assertEquals(1, replicaRedisun.readPolicy(ReadPolicy.PRIMARY).del(key));
+        } finally {
+            replicaRedisun.close();
+        }
+
+        // 客户端默认仅读取主节点，通过视图以其他策略读取时开始发现副本
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("tech.smartboot.redisun:type=Redisun,name=" + ObjectName.quote(topic + ":replica"));
+        Redisun primaryRedisun = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").replicaProbeInterval(200).jmx(topic + ":replica"));
+        try {
+            RawCommand role = new RawCommand("ROLE").readOnly(true);
+            ReplyDecoder<String> roleName = resp -> ((List<RESP>) resp.getValue()).get(0).getValue().toString();
+            Assert.assertEquals("master", primaryRedisun.execute(role, roleName));
+            Assert.assertEquals(1, ((CompositeData[]) server.getAttribute(name, "Nodes")).length);
+            Redisun view = primaryRedisun.readPolicy(ReadPolicy.REPLICA);
+            boolean replicaRead = false;
+            for (int i = 0; i < 50 && !replicaRead; i++) {
+                replicaRead = "slave".equals(view.execute(role, roleName));
+                if (!replicaRead) {
+                    Thread.sleep(100);
+                }
+            }
+            Assert.assertTrue(replicaRead);
+            // 副本的连接同样计入节点统计
+            Assert.assertEquals(2, ((CompositeData[]) server.getAttribute(name, "Nodes")).length);
+            Assert.assertEquals("master", primaryRedisun.execute(role, roleName));
+        } finally {
+            primaryRedisun.close();
+        }
+    }
+
+    @Test
+    public void testCall() throws Exception {
+        String key = topic + ":call";
+        Assert.assertEquals("OK", redisun.call("SET", key.getBytes(), "value").getValue());
+        Assert.assertEquals("value", redisun.execute(new RawCommand("GET", key).readOnly(true), ReplyDecoder.STRING));
+        Assert.assertEquals(Long.valueOf(1), redisun.execute(new RawCommand("DEL", key), ReplyDecoder.LONG));
+        Assert.assertEquals(Long.valueOf(5), redisun.execute(new RawCommand("INCRBY", key, 5L), ReplyDecoder.LONG));
+        Assert.assertEquals(6.5, redisun.asyncExecute(new RawCommand("INCRBYFLOAT", key, 1.5), ReplyDecoder.DOUBLE).get(), 0.0001);
+        Assert.assertNull(redisun.asyncCall("GET", topic + ":call:none").thenApply(ReplyDecoder.STRING::decode).get());
+        try {
+            redisun.call("HGET", key, "field");
+            Assert.fail("WRONGTYPE expected");
+        } catch (RedisunException e) {
+            Assert.assertTrue(e.getMessage().contains("WRONGTYPE"));
+        }
+        redisun.del(key);
+        // 混合类型的参数在写出时编码
+        Assert.assertEquals(Long.valueOf(3), redisun.execute(new RawCommand("ZADD", key, 1.5, "a", Double.POSITIVE_INFINITY, "b", (short) -2, "c".getBytes()), ReplyDecoder.LONG));
+        Assert.assertEquals(Arrays.asList("c", "a", "b"), redisun.zrange(key, 0, -1));
+        redisun.del(key);
+        try {
+            new RawCommand("SET", key, new Object());
+            Assert.fail("unsupported argument type expected");
+        } catch (RedisunException e) {
+            // 预期的异常
+        }
+        try {
+            new RawCommand("ZADD", key, Double.NaN, "a");
+            Assert.fail("NaN argument expected to be rejected");
+        } catch (RedisunException e) {
+            // 预期的异常
+        }
+    }
+
+    /**
+     * 数字参数的编码，覆盖预编码区间边界、负数、极值及浮点数
+     */
+    @Test
+    public void testArgumentEncoding() {
+        String key = topic + ":args";
+        Assert.assertEquals(1023, redisun.incrBy(key, 1023));
+        Assert.assertEquals(2047, redisun.incrBy(key, 1024));
+        Assert.assertEquals(-2953, redisun.incrBy(key, -5000));
+        redisun.del(key);
+        for (long value : new long[]{-1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1}) {
+            redisun.call("SET", key, value);
+            Assert.assertEquals(String.valueOf(value), redisun.get(key));
+        }
+        redisun.del(key);
+
+        Assert.assertEquals(1, redisun.zadd(key, 2.5, "a"));
+        Assert.assertEquals(1, redisun.zadd(key, Double.NEGATIVE_INFINITY, "b"));
+        Assert.assertEquals(1, redisun.zadd(key, -3, "c"));
+        Assert.assertEquals(2.5, redisun.execute(new RawCommand("ZSCORE", key, "a"), ReplyDecoder.DOUBLE), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, redisun.execute(new RawCommand("ZSCORE", key, "b"), ReplyDecoder.DOUBLE), 0);
+        Assert.assertEquals(-3, redisun.execute(new RawCommand("ZSCORE", key, "c"), ReplyDecoder.DOUBLE), 0);
+        Assert.assertEquals(Arrays.asList("b", "c"), redisun.zrange(key, 0, 1));
+        redisun.del(key);
+    }
+
+    /**
+     * 预编译命令模板测试
+     */
+    @Test
+    public void testPreparedCommand() throws Exception {
+        String key = topic + ":prepared";
+        PreparedCommand set = PreparedCommand.prepare("SET ? ? EX 300");
+        PreparedCommand hset = PreparedCommand.prepare("HSET ? profile ? age ?");
+        PreparedCommand hget = PreparedCommand.prepare("HGET ? profile").readOnly(true);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("OK", redisun.execute(set.bind(key + i, "value" + i), ReplyDecoder.STRING));
+            Assert.assertEquals("value" + i, redisun.get(key + i));
+            Assert.assertTrue(redisun.execute(new RawCommand("TTL", key + i), ReplyDecoder.LONG) > 0);
+        }
+        Assert.assertEquals(Long.valueOf(2), redisun.execute(hset.bind((key + ":h").getBytes(), "profile-value", 18), ReplyDecoder.LONG));
+        Assert.assertEquals("profile-value", redisun.asyncExecute(hget.bind(key + ":h"), ReplyDecoder.STRING).get());
+        Assert.assertEquals("18", redisun.execute(new RawCommand("HGET", key + ":h", "age"), ReplyDecoder.STRING));
+        Assert.assertEquals("PONG", redisun.execute(PreparedCommand.prepare("PING").bind(), ReplyDecoder.STRING));
+        try {
+            hget.bind(key, "extra");
+            Assert.fail("parameter count mismatch expected");
+        } catch (RedisunException e) {
+            Assert.assertTrue(e.getMessage().contains("expects 1 parameters"));
+        }
+        redisun.del(key + 0, key + 1, key + 2, key + ":h");
+    }
+
+    /**
+     * 基本类型回调及可复用Future测试
+     */
+    @Test
+    public void testPrimitiveCallback() throws Exception {
+        String key = topic + ":primitive";
+        redisun.del(key);
+        int count = 1000;
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicLong max = new AtomicLong();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        for (int i = 0; i < count; i++) {
+            redisun.incr(key, value -> {
+                max.accumulateAndGet(value, Math::max);
+                latch.countDown();
+            }, e -> {
+                error.set(e);
+                latch.countDown();
+            });
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Assert.assertNull(error.get());
+        Assert.assertEquals(count, max.get());
+
+        LongFuture future = new LongFuture();
+        for (int i = 1; i <= 10; i++) {
+            Assert.assertEquals(count - i, redisun.decr(key, future).get());
+            Assert.assertTrue(future.isDone());
+        }
+        Assert.assertEquals(count - 10 + 5, redisun.incrBy(key, 5, future).get(1, TimeUnit.SECONDS));
+        Assert.assertEquals(count - 10, redisun.decrBy(key, 5, future).get());
+        Assert.assertEquals(1, redisun.exists(key, future).get());
+        Assert.assertEquals(String.valueOf(count - 10).length(), redisun.strlen(key, future).get());
+
+        // 64位结果
+        redisun.del(key);
+        Assert.assertEquals(Long.MAX_VALUE - 1, redisun.incrBy(key, Long.MAX_VALUE - 1, future).get());
+        Assert.assertEquals(Long.MAX_VALUE, redisun.incr(key));
+        redisun.del(key);
+        Assert.assertEquals(-Long.MAX_VALUE, redisun.decrBy(key, Long.MAX_VALUE));
+        Assert.assertEquals(Long.MIN_VALUE, redisun.decr(key));
+        redisun.del(key);
+
+        // 错误响应及回调异常
+        redisun.hset(key, "field", "value");
+        try {
+            redisun.incr(key, future).get();
+            Assert.fail("WRONGTYPE expected");
+        } catch (RedisunException e) {
+            Assert.assertTrue(e.getMessage().contains("WRONGTYPE"));
+        }
+        CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        redisun.incr(key, value -> failure.complete(null), failure::complete);
+        Assert.assertTrue(failure.get(1, TimeUnit.SECONDS).getMessage().contains("WRONGTYPE"));
+        redisun.del(key);
+        CompletableFuture<Throwable> thrown = new CompletableFuture<>();
+        redisun.incr(key, value -> {
+            throw new IllegalStateException("callback");
+        }, thrown::complete);
+        Assert.assertTrue(thrown.get(1, TimeUnit.SECONDS) instanceof IllegalStateException);
+        Assert.assertEquals(2, redisun.incr(key));
+        redisun.del(key);
+    }
+
+    /**
+     * 同步调用被中断后，迟到的响应不能影响同一线程的后续调用
+     */
+    @Test
+    public void testSyncInterrupted() throws Exception {
+        String key = topic + ":interrupted";
+        redisun.set(key, "value");
+        Thread.currentThread().interrupt();
+        try {
+            // 服务端阻塞200毫秒后返回空响应
+            redisun.call("BLPOP", key + ":list", "0.2");
+            Assert.fail("interrupt expected");
+        } catch (RedisunException e) {
+            Assert.assertTrue(e.getCause() instanceof InterruptedException);
+        }
+        Assert.assertFalse(Thread.interrupted());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals("value", redisun.get(key));
+            Thread.sleep(60);
+        }
+        redisun.del(key);
+    }
+
+    /**
+     * 回调线程池测试，耗时的回调不能阻塞其他响应
+     */
+    @Test
+    public void testCallbackExecutor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2, r -> new Thread(r, "redisun-callback-test"));
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").callbackExecutor(executor));
+        try {
+            String key = topic + ":callback";
+            // 占住线程池，确保响应完成前已注册后续阶段
+            CountDownLatch gate = new CountDownLatch(1);
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    try {
+                        gate.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            CompletableFuture<String> completion = client.asyncSet(key, "1").thenApply(r -> Thread.currentThread().getName());
+            gate.countDown();
+            Assert.assertEquals("redisun-callback-test", completion.get());
+            CompletableFuture<String> thread = new CompletableFuture<>();
+            client.incr(key, value -> thread.complete(Thread.currentThread().getName()), thread::completeExceptionally);
+            Assert.assertEquals("redisun-callback-test", thread.get(1, TimeUnit.SECONDS));
+
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Void> slow = new CompletableFuture<>();
+            client.incr(key, value -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                slow.complete(null);
+            }, slow::completeExceptionally);
+            long start = System.nanoTime();
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals("3", client.get(key));
+            }
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+            Assert.assertFalse(slow.isDone());
+            release.countDown();
+            slow.get(1, TimeUnit.SECONDS);
+
+            // 批量完成的响应保持各自的结果
+            List<CompletableFuture<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                futures.add(client.asyncIncr(key));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                Assert.assertEquals(Long.valueOf(4 + i), futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            client.del(key);
+        } finally {
+            client.close();
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 虚拟线程测试，JDK 21以下版本应拒绝开启虚拟线程回调
+     */
+    @Test
+    public void testVirtualThreads() throws Exception {
+        String version = System.getProperty("java.specification.version");
+        boolean jdk21 = !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+        Redisun client;
+        try {
+            client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").virtualThreadCallbacks(true));
+        } catch (RedisunException e) {
+            // JDK 21及以上版本以目录形式加载类时多版本实现不生效，需以打包后的jar运行
+            Assume.assumeFalse(jdk21);
+            return;
+        }
+        Assert.assertTrue(jdk21);
+        ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        try {
+            String key = topic + ":virtual";
+            Assert.assertTrue(client.asyncSet(key, "0").thenApply(r -> Thread.currentThread().getName()).get().startsWith("redisun-callback-"));
+            // 大量虚拟线程并发执行同步调用
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                futures.add(executor.submit(() -> client.incr(key)));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            Assert.assertEquals("1000", client.get(key));
+            client.del(key);
+        } finally {
+            executor.shutdown();
+            client.close();
+        }
+    }
+
+    /**
+     * 分页发布者测试，元素按需求逐页拉取
+     */
+    @Test
+    public void testReactiveScan() throws Exception {
+        String prefix = topic + ":scan:";
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 250; i++) {
+            redisun.set(prefix + i, "v");
+            expected.add(prefix + i);
+        }
+        Set<String> keys = ConcurrentHashMap.newKeySet();
+        AtomicLong outstanding = new AtomicLong();
+        AtomicBoolean overflow = new AtomicBoolean();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        redisun.scan(cmd -> cmd.match(prefix + "*").count(50)).subscribe(new Subscriber<String>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                outstanding.set(10);
+                s.request(10);
+            }
+
+            @Override
+            public void onNext(String key) {
+                keys.add(key);
+                if (outstanding.decrementAndGet() < 0) {
+                    overflow.set(true);
+                }
+                if (outstanding.get() == 0) {
+                    outstanding.set(10);
+                    subscription.request(10);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        done.get(5, TimeUnit.SECONDS);
+        Assert.assertFalse(overflow.get());
+        Assert.assertEquals(expected, keys);
+
+        // 分段读取有序集合，取消后不再交付
+        String zkey = topic + ":zpaged";
+        for (int i = 0; i < 25; i++) {
+            redisun.zadd(zkey, i, "m" + i);
+        }
+        List<String> members = new ArrayList<>();
+        CompletableFuture<Void> zdone = new CompletableFuture<>();
+        redisun.zrangePaged(zkey, 0, -1, 10).subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String member) {
+                members.add(member);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                zdone.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                zdone.complete(null);
+            }
+        });
+        zdone.get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(25, members.size());
+        Assert.assertEquals("m24", members.get(24));
+
+        // 负数结束位置从末尾计数，-2 不包含最后一个成员
+        List<String> excludeLast = new ArrayList<>();
+        CompletableFuture<Void> negDone = new CompletableFuture<>();
+        redisun.zrangePaged(zkey, 0, -2, 10).subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String member) {
+                excludeLast.add(member);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                negDone.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                negDone.complete(null);
+            }
+        });
+        negDone.get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(24, excludeLast.size());
+        Assert.assertEquals("m23", excludeLast.get(23));
+
+        AtomicReference<Subscription> first = new AtomicReference<>();
+        List<String> partial = Collections.synchronizedList(new ArrayList<>());
+        redisun.zrangePaged(zkey, 0, 19, 10).subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                first.set(s);
+                s.request(3);
+            }
+
+            @Override
+            public void onNext(String member) {
+                partial.add(member);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+                partial.add("complete");
+            }
+        });
+        Thread.sleep(100);
+        Assert.assertEquals(Arrays.asList("m0", "m1", "m2"), partial);
+        first.get().cancel();
+        first.get().request(10);
+        Thread.sleep(100);
+        Assert.assertEquals(3, partial.size());
+
+        // 非法的需求立即以 onError 结束，不等待缓存的元素交付
+        AtomicReference<Subscription> invalid = new AtomicReference<>();
+        List<String> invalidReceived = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Throwable> invalidError = new CompletableFuture<>();
+        redisun.zrangePaged(zkey, 0, 19, 10).subscribe(new Subscriber<String>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                invalid.set(s);
+                s.request(3);
+            }
+
+            @Override
+            public void onNext(String member) {
+                invalidReceived.add(member);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                invalidError.complete(t);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5000;
+        while (invalidReceived.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        invalid.get().request(0);
+        Assert.assertTrue(invalidError.get(1, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+        invalid.get().request(10);
+        Thread.sleep(100);
+        Assert.assertEquals(3, invalidReceived.size());
+        redisun.del(zkey);
+        redisun.del(new ArrayList<>(expected));
+    }
+
+    /**
+     * 频道订阅测试，需求耗尽时不再交付消息
+     */
+    @Test
+    public void testReactiveSubscribe() throws Exception {
+        String channel = topic + ":channel";
+        try {
+            redisun.subscribe();
+            Assert.fail();
+        } catch (RedisunException e) {
+            // 未指定频道
+        }
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        CompletableFuture<Throwable> error = new CompletableFuture<>();
+        redisun.subscribe(channel).subscribe(new Subscriber<ChannelMessage>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription.set(s);
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ChannelMessage message) {
+                Assert.assertEquals(channel, message.getChannel());
+                received.add(message.getMessage());
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                error.complete(t);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        // 等待订阅生效
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pubsubCount(channel) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < 5; i++) {
+            redisun.call("PUBLISH", channel, "m" + i);
+        }
+        Thread.sleep(200);
+        Assert.assertEquals(Collections.singletonList("m0"), received);
+        subscription.get().request(4);
+        deadline = System.currentTimeMillis() + 5000;
+        while (received.size() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(Arrays.asList("m0", "m1", "m2", "m3", "m4"), received);
+        subscription.get().cancel();
+        deadline = System.currentTimeMillis() + 5000;
+        while (pubsubCount(channel) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(0, pubsubCount(channel));
+        Assert.assertFalse(error.isDone());
+    }
+
+    private long pubsubCount(String channel) {
+        List<?> values = (List<?>) redisun.call("PUBSUB", "NUMSUB", channel).getValue();
+        return ((Integers) values.get(1)).getLong();
+    }
+
+    /**
+     * 命令延迟统计测试
+     */
+    @Test
+    public void testLatencyMetrics() throws Exception {
+        Assert.assertTrue(redisun.latencies().isEmpty());
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").latencyMetrics(true));
+        try {
+            String key = topic + ":latency";
+            for (int i = 0; i < 100; i++) {
+                client.set(key, "v" + i);
+                client.asyncGet(key).get();
+            }
+            try {
+                client.incr(key);
+                Assert.fail();
+            } catch (RedisunException e) {
+                // 非整数值，预期失败
+            }
+            client.call("DEL", key);
+
+            Map<String, LatencySnapshot> latencies = client.latencies();
+            LatencySnapshot set = latencies.get("SET");
+            Assert.assertEquals(100, set.getCount());
+            Assert.assertEquals(0, set.getErrors());
+            Assert.assertTrue(set.getP50() > 0);
+            Assert.assertTrue(set.getP50() <= set.getP99());
+            Assert.assertTrue(set.getP99() <= set.getP999());
+            Assert.assertTrue(set.getP999() <= set.getMax());
+            Assert.assertTrue(set.getThroughput() > 0);
+            Assert.assertEquals(100, latencies.get("GET").getCount());
+            Assert.assertEquals(1, latencies.get("INCR").getErrors());
+            Assert.assertEquals(1, latencies.get("DEL").getCount());
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * 命令生命周期监听器测试
+     */
+    @Test
+    public void testCommandListener() throws Exception {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<CommandEvent> last = new AtomicReference<>();
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void onStart(CommandEvent event) {
+                event.setAttachment("span-" + event.getName());
+                events.add("start " + event.getName());
+            }
+
+            @Override
+            public void onWritten(CommandEvent event) {
+                Assert.assertNotNull(event.getSessionId());
+                events.add("written " + event.getRequestBytes());
+            }
+
+            @Override
+            public void onReplyDecoded(CommandEvent event) {
+                events.add("decoded " + event.getReplyBytes());
+            }
+
+            @Override
+            public void onSuccess(CommandEvent event) {
+                events.add("success " + event.getAttachment());
+                last.set(event);
+            }
+
+            @Override
+            public void onFailure(CommandEvent event, Throwable cause) {
+                events.add("failure " + event.getName());
+            }
+        };
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").commandListener(listener));
+        try {
+            String key = topic + ":listener";
+            client.set(key, "value");
+            String request = "*3\r\n$3\r\nSET\r\n$" + key.length() + "\r\n" + key + "\r\n$5\r\nvalue\r\n";
+            Assert.assertEquals(Arrays.asList("start SET", "written " + request.length(), "decoded 5", "success span-SET"), events);
+            Assert.assertEquals(new InetSocketAddress("127.0.0.1", 6379), last.get().getRemoteAddress());
+            Assert.assertTrue(last.get().getElapsedNanos() > 0);
+
+            events.clear();
+            try {
+                client.incr(key);
+                Assert.fail();
+            } catch (RedisunException e) {
+                // 非整数值，预期失败
+            }
+            Assert.assertEquals("failure INCR", events.get(events.size() - 1));
+            client.del(key);
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * 慢命令日志测试
+     */
+    @Test
+    public void testSlowLog() throws Exception {
+        Assert.assertTrue(redisun.slowLog().isEmpty());
+        String key = topic + ":slowlog";
+        char[] chars = new char[200];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+        // 仅开启慢命令日志时同样记录连接及各阶段耗时
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").slowLogThreshold(0));
+        try {
+            client.set(key, value);
+            List<SlowLogEntry> entries = client.slowLog();
+            Assert.assertEquals(1, entries.size());
+            SlowLogEntry set = entries.get(0);
+            Assert.assertEquals("SET", set.getCommand());
+            Assert.assertEquals(Arrays.asList("SET", key, value.substring(0, 128) + "... (72 more bytes)"), set.getArguments());
+            Assert.assertEquals("127.0.0.1:6379", set.getAddress());
+            Assert.assertNotNull(set.getSessionId());
+            Assert.assertTrue(set.getQueueNanos() > 0);
+            Assert.assertTrue(set.getWireNanos() > 0);
+            Assert.assertTrue(set.getElapsedNanos() >= set.getQueueNanos() + set.getWireNanos());
+            Assert.assertTrue(set.getReplyBytes() > 0);
+            Assert.assertFalse(set.isFailed());
+            try {
+                client.incr(key);
+                Assert.fail();
+            } catch (RedisunException e) {
+                // 非整数值，预期失败
+            }
+            Assert.assertTrue(client.slowLog().get(0).isFailed());
+        } finally {
+            client.close();
+        }
+
+        // 注册了命令监听器时借助监听器的命令事件记录
+        client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").slowLogThreshold(0).slowLogCapacity(3).commandListener(new CommandListener() {
+        }));
+        try {
+            client.set(key, value);
+            List<SlowLogEntry> entries = client.slowLog();
+            Assert.assertEquals(1, entries.size());
+            SlowLogEntry set = entries.get(0);
+            Assert.assertEquals("SET", set.getCommand());
+            Assert.assertEquals(Arrays.asList("SET", key, value.substring(0, 128) + "... (72 more bytes)"), set.getArguments());
+            Assert.assertEquals("127.0.0.1:6379", set.getAddress());
+            Assert.assertNotNull(set.getSessionId());
+            Assert.assertTrue(set.getQueueNanos() > 0);
+            Assert.assertTrue(set.getWireNanos() > 0);
+            Assert.assertTrue(set.getElapsedNanos() >= set.getQueueNanos() + set.getWireNanos());
+            Assert.assertTrue(set.getReplyBytes() > 0);
+            Assert.assertFalse(set.isFailed());
+
+            for (int i = 0; i < 3; i++) {
+                client.asyncGet(key).get();
+            }
+            try {
+                client.incr(key);
+                Assert.fail();
+            } catch (RedisunException e) {
+                // 非整数值，预期失败
+            }
+            // 容量为3，仅保留最近的记录
+            entries = client.slowLog();
+            Assert.assertEquals(3, entries.size());
+            Assert.assertEquals("INCR", entries.get(0).getCommand());
+            Assert.assertTrue(entries.get(0).isFailed());
+            Assert.assertEquals(4, entries.get(0).getId());
+            Assert.assertEquals(Arrays.asList("GET", key), entries.get(1).getArguments());
+            Assert.assertEquals(2, entries.get(2).getId());
+
+            client.resetSlowLog();
+            Assert.assertTrue(client.slowLog().isEmpty());
+            client.del(key);
+            Assert.assertEquals("DEL", client.slowLog().get(0).getCommand());
+        } finally {
+            client.close();
+        }
+
+        client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").slowLogThreshold(TimeUnit.SECONDS.toMicros(10)));
+        try {
+            client.set(key, value);
+            client.del(key);
+            Assert.assertTrue(client.slowLog().isEmpty());
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * 热点key及大key采样测试
+     */
+    @Test
+    public void testKeySampling() throws Exception {
+        Assert.assertNull(redisun.keyReport());
+        String hot = topic + ":hot";
+        String big = topic + ":big";
+        String zset = topic + ":zset";
+        char[] chars = new char[1000];
+        Arrays.fill(chars, 'x');
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").keySampleRate(1));
+        try {
+            for (int i = 0; i < 50; i++) {
+                client.incr(hot);
+            }
+            for (int i = 0; i < 20; i++) {
+                client.incr(topic + ":cold:" + i);
+                client.zadd(zset, i, "m" + i);
+            }
+            client.set(big, new String(chars));
+            Assert.assertEquals(1000, client.get(big).length());
+            client.get(hot);
+            Assert.assertEquals(20, client.zrange(zset, 0, -1).size());
+
+            KeyReport report = client.keyReport();
+            Assert.assertEquals(1, report.getSampleRate());
+            List<KeyReport.Entry> incr = report.getHotKeys().get("INCR");
+            Assert.assertEquals(10, incr.size());
+            Assert.assertEquals(hot, incr.get(0).getKey());
+            Assert.assertTrue(incr.get(0).getValue() >= 50);
+            Assert.assertEquals(big, report.getLargestStrings().get(0).getKey());
+            Assert.assertEquals("GET", report.getLargestStrings().get(0).getCommand());
+            Assert.assertEquals(1000, report.getLargestStrings().get(0).getValue());
+            Assert.assertEquals(zset, report.getLargestArrays().get(0).getKey());
+            Assert.assertEquals(20, report.getLargestArrays().get(0).getValue());
+
+            client.del(hot, big, zset);
+            for (int i = 0; i < 20; i++) {
+                client.del(topic + ":cold:" + i);
+            }
+        } finally {
+            client.close();
+        }
+
+        // 定期报告后开始新的统计窗口
+        BlockingQueue<KeyReport> reports = new LinkedBlockingQueue<>();
+        client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").keySampleRate(1).keyReporter(reports::offer).keyReportInterval(100));
+        try {
+            client.get(hot);
+            KeyReport periodic;
+            do {
+                periodic = reports.poll(5, TimeUnit.SECONDS);
+                Assert.assertNotNull(periodic);
+            } while (periodic.getHotKeys().isEmpty());
+            Assert.assertEquals(hot, periodic.getHotKeys().get("GET").get(0).getKey());
+            Assert.assertTrue(client.keyReport().getStartTime() >= periodic.getEndTime());
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCapture() throws Exception {
+        Path directory = Files.createTempDirectory("redisun-capture");
+        try {
+            String key = topic + ":captured";
+            Redisun capturing = Redisun.create(options -> options.capture(capture -> capture.directory(directory.toString()).fileSize(64 * 1024)));
+            try {
+                for (int i = 0; i < 3; i++) {
+                    capturing.incr(key);
+                }
+            } finally {
+                capturing.close();
+            }
+            try (Stream<Path> files = Files.list(directory)) {
+                Assert.assertTrue(files.anyMatch(path -> path.getFileName().toString().endsWith(".cap")));
+            }
+
+            redisun.del(key);
+            TrafficReplay.Result result = TrafficReplay.replay(directory.toString(), redisun, 0);
+            Assert.assertEquals(3, result.getCommands());
+            Assert.assertEquals(0, result.getErrors());
+            Assert.assertEquals("3", redisun.get(key));
+            redisun.del(key);
+
+            // 轮转删除旧文件后，首个文件从命令中间开始，丢弃至下一个命令边界
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            StringBuilder value = new StringBuilder();
+            while (value.length() < 1000) {
+                value.append("1234567\r\n$");
+            }
+            int count = 50;
+            Redisun rotating = Redisun.create(options -> options.capture(capture -> capture.directory(directory.toString()).fileSize(4096).maxFiles(2)));
+            try {
+                for (int i = 0; i < count; i++) {
+                    rotating.set(key + ":" + i, value.toString());
+                }
+            } finally {
+                rotating.close();
+            }
+            result = TrafficReplay.replay(directory.toString(), redisun, 0);
+            Assert.assertTrue(result.getCommands() > 0 && result.getCommands() < count);
+            Assert.assertEquals(0, result.getErrors());
+            Assert.assertEquals(value.toString(), redisun.get(key + ":" + (count - 1)));
+            for (int i = 0; i < count; i++) {
+                redisun.del(key + ":" + i);
+            }
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * JMX统计及连接排空测试
+     */
+    @Test
+    public void testJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("tech.smartboot.redisun:type=Redisun,name=" + ObjectName.quote(topic));
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").jmx(topic));
+        try {
+            String key = topic + ":jmx";
+            for (int i = 0; i < 10; i++) {
+                client.set(key, "v" + i);
+            }
+            Assert.assertTrue(server.isRegistered(name));
+            Assert.assertTrue((Integer) server.getAttribute(name, "ConnectionCount") >= 1);
+            Assert.assertEquals(0, server.getAttribute(name, "PendingReplies"));
+            Assert.assertTrue((Long) server.getAttribute(name, "BytesWritten") > 0);
+            Assert.assertTrue((Long) server.getAttribute(name, "BytesRead") > 0);
+            Assert.assertTrue((Long) server.getAttribute(name, "FlushCount") > 0);
+
+            CompositeData[] nodes = (CompositeData[]) server.getAttribute(name, "Nodes");
+            Assert.assertEquals(1, nodes.length);
+            Assert.assertEquals("127.0.0.1:6379", nodes[0].get("address"));
+            String current = (String) nodes[0].get("currentConnection");
+            Assert.assertNotNull(current);
+
+            // 排空当前连接后，后续命令改用其他连接，被排空的连接随即关闭
+            Assert.assertFalse((Boolean) server.invoke(name, "drainConnection", new Object[]{"unknown"}, new String[]{String.class.getName()}));
+            Assert.assertTrue((Boolean) server.invoke(name, "drainConnection", new Object[]{current}, new String[]{String.class.getName()}));
+            Assert.assertEquals("v9", client.get(key));
+            boolean closed = false;
+            for (int i = 0; i < 100 && !closed; i++) {
+                closed = true;
+                for (CompositeData connection : (CompositeData[]) ((CompositeData[]) server.getAttribute(name, "Nodes"))[0].get("connections")) {
+                    if (current.equals(connection.get("sessionId"))) {
+                        closed = false;
+                    }
+                }
+                if (!closed) {
+                    Thread.sleep(10);
+                }
+            }
+            Assert.assertTrue(closed);
+            Assert.assertNotEquals(current, ((CompositeData[]) server.getAttribute(name, "Nodes"))[0].get("currentConnection"));
+            client.del(key);
+
+            try {
+                Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").jmx(topic)).close();
+                Assert.fail();
+            } catch (RedisunException e) {
+                // 名称重复
+            }
+        } finally {
+            client.close();
+        }
+        Assert.assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testKeepalive() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("tech.smartboot.redisun:type=Redisun,name=" + ObjectName.quote(topic));
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").jmx(topic).minConnections(1)
+                .keepaliveInterval(100).keepaliveTimeout(300));
+        try {
+            String key = topic + ":keepalive";
+            client.set(key, "value");
+
+            // 空闲连接收到PING并记录往返延迟
+            boolean probed = false;
+            for (int i = 0; i < 100 && !probed; i++) {
+                for (CompositeData connection : (CompositeData[]) ((CompositeData[]) server.getAttribute(name, "Nodes"))[0].get("connections")) {
+                    if ((Long) connection.get("pingLatency") > 0) {
+                        probed = true;
+                    }
+                }
+                if (!probed) {
+                    Thread.sleep(20);
+                }
+            }
+            Assert.assertTrue(probed);
+            Assert.assertEquals(0L, server.getAttribute(name, "KeepaliveEvictions"));
+
+            // 服务端暂停处理命令期间PING超时，连接被关闭，恢复后命令在新连接上执行
+            redisun.call("CLIENT", "PAUSE", "1000");
+            long evictions = 0;
+            for (int i = 0; i < 100 && evictions == 0; i++) {
+                Thread.sleep(20);
+                evictions = (Long) server.getAttribute(name, "KeepaliveEvictions");
+            }
+            Assert.assertTrue(evictions > 0);
+            Assert.assertEquals("value", client.get(key));
+            client.del(key);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testCircuitBreaker() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("tech.smartboot.redisun:type=Redisun,name=" + ObjectName.quote(topic));
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").jmx(topic)
+                .circuitBreaker(breaker -> breaker.timeout(200).openDuration(300).halfOpenCalls(2)));
+        try {
+            String key = topic + ":breaker";
+            client.set(key, "value");
+            Assert.assertEquals("CLOSED", ((CompositeData[]) server.getAttribute(name, "Nodes"))[0].get("circuitState"));
+
+            // 服务端暂停处理命令，在途命令超时未响应，熔断打开后新命令立即失败
+            redisun.call("CLIENT", "PAUSE", "800");
+            CompletableFuture<RESP> pending = client.asyncCall("GET", key);
+            Thread.sleep(300);
+            long start = System.nanoTime();
+            try {
+                client.get(key);
+                Assert.fail();
+            } catch (CircuitBreakerOpenException e) {
+                Assert.assertEquals("127.0.0.1:6379", e.getAddress());
+            }
+            Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+            CompositeData node = ((CompositeData[]) server.getAttribute(name, "Nodes"))[0];
+            Assert.assertEquals("OPEN", node.get("circuitState"));
+            Assert.assertEquals(1L, node.get("circuitRejections"));
+
+            // 服务端恢复后，半开状态下的探测命令全部成功，熔断关闭
+            Assert.assertEquals("value", pending.get(2, TimeUnit.SECONDS).getValue());
+            Thread.sleep(300);
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals("value", client.get(key));
+            }
+            Assert.assertEquals("CLOSED", ((CompositeData[]) server.getAttribute(name, "Nodes"))[0].get("circuitState"));
+            client.del(key);
+        } finally {
+            client.close();
+        }
+    }
+
+    @Test
+    public void testHedging() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("tech.smartboot.redisun:type=Redisun,name=" + ObjectName.quote(topic));
+        Redisun client = Redisun.create(opt -> opt.setAddress("127.0.0.1:6379").jmx(topic)
+                .hedging(hedge -> hedge.percentile(95).minDelay(5).budget(10)));
+        try {
+            String key = topic + ":hedge";
+            client.set(key, "value");
+            // 积累一个统计窗口的样本后才会对冲
+            for (int i = 0; i < 1024; i++) {
+                Assert.assertEquals("value", client.get(key));
+            }
+            Assert.assertEquals(0L, server.getAttribute(name, "HedgedReads"));
+
+            // 当前连接被阻塞命令占用，GET的首次请求排在其后，由其他连接上的对冲请求先响应
+            CompletableFuture<RESP> blocking = client.asyncCall("BLPOP", topic + ":empty", "1");
+            long start = System.nanoTime();
+            Assert.assertEquals("value", client.get(key));
+            Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+            Assert.assertEquals(1L, server.getAttribute(name, "HedgedReads"));
+            Assert.assertEquals(1L, server.getAttribute(name, "HedgeWins"));
+            blocking.get(2, TimeUnit.SECONDS);
+
+            // 写命令从不对冲
+            client.del(key);
+            Assert.assertEquals(1L, server.getAttribute(name, "HedgedReads"));
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * 哨兵模式测试，未部署哨兵时跳过，哨兵地址可通过 redisun.sentinel 系统属性指定
+     */
+    @Test
+    public void testSentinelMode() {
+        Redisun sentinel;
+        try {
+            sentinel = Redisun.create(opt -> opt.setAddress(System.getProperty("redisun.sentinel", "redis-sentinel://127.0.0.1:26379,127.0.0.1:26380/mymaster")));
+        } catch (RedisunException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+        try {
+            String key = topic + ":sentinel";
+            Assert.assertTrue(sentinel.set(key, "value"));
+            Assert.assertEquals("value", sentinel.get(key));
+            Assert.assertEquals(1, sentinel.del(key));
+        } finally {
+            sentinel.close();
+        }
+    }
+
+    /**
+     * 客户端分片模式测试，分片节点不可达时跳过，分片地址可通过 redisun.sharded 系统属性指定
+     */
+    @Test
+    public void testShardedMode() throws Exception {
+        String address = System.getProperty("redisun.sharded", "redis-sharded://127.0.0.1:6390,127.0.0.1:6391");
+        for (String shard : address.substring(address.indexOf("://") + 3).split(",")) {
+            int index = shard.lastIndexOf(':');
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(shard.substring(0, index), Integer.parseInt(shard.substring(index + 1))), 500);
+            } catch (IOException e) {
+                Assume.assumeNoException(e);
+            }
+        }
+        Redisun sharded = Redisun.create(opt -> opt.setAddress(address).shardReroute(true));
+        try {
+            int count = 100;
+            List<String> keys = new ArrayList<>();
+            Map<String, String> items = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String key = topic + ":shard:" + i;
+                keys.add(key);
+                items.put(key, "value" + i);
+            }
+            Assert.assertTrue(sharded.mset(items));
+            Assert.assertTrue(sharded.dbsize() >= count);
+            // 跨分片的多key命令按分片拆分后按原始顺序合并结果
+            List<String> values = sharded.mget(keys);
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals("value" + i, values.get(i));
+            }
+            Assert.assertEquals("value0", sharded.get(topic + ":shard:0"));
+            Assert.assertEquals(count, sharded.exists(keys.toArray(new String[0])));
+            Assert.assertEquals(count, sharded.del(keys));
+        } finally {
+            sharded.close();
+        }
+    }
+
+    /**
+     * 集群模式测试，未部署集群时跳过，集群地址可通过 redisun.cluster 系统属性指定
+     */
+    @Test
+    public void testClusterMode() {
+        Redisun cluster;
+        try {
+            cluster = Redisun.create(opt -> opt.debug(true).setAddress(System.getProperty("redisun.cluster", "redis-cluster://127.0.0.1:7000")));
+        } catch (RedisunException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+        try {
+            int count = 100;
+            for (int i = 0; i < count; i++) {
+                Assert.assertTrue(cluster.set(topic + ":cluster:" + i, "value" + i));
+            }
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals("value" + i, cluster.get(topic + ":cluster:" + i));
+            }
+            Assert.assertTrue(cluster.dbsize() >= count);
+
+            // 相同hashtag的key位于同一槽位，可使用多key命令
+            String tag = "{" + topic + "}";
+            Map<String, String> items = new HashMap<>();
+            items.put(tag + ":a", "1");
+            items.put(tag + ":b", "2");
+            Assert.assertTrue(cluster.mset(items));
+            Assert.assertEquals(Arrays.asList("1", "2"), cluster.mget(Arrays.asList(tag + ":a", tag + ":b")));
+            Assert.assertEquals(2, cluster.del(tag + ":a", tag + ":b"));
+
+            // 不同槽位的key按槽位拆分后并行发送
+            items.clear();
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                items.put(topic + ":cluster:multi:" + i, "m" + i);
+                keys.add(topic + ":cluster:multi:" + i);
+            }
+            Assert.assertTrue(cluster.mset(items));
+            List<String> values = cluster.mget(keys);
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals("m" + i, values.get(i));
+            }
+            Assert.assertEquals(count, cluster.exists(keys.toArray(new String[0])));
+            Assert.assertEquals(count, cluster.del(keys));
+
+            try (BulkLoader loader = cluster.bulkLoader()) {
+                for (int i = 0; i < count; i++) {
+                    loader.set(topic + ":cluster:bulk:" + i, "bulk" + i);
+                }
+                loader.flush();
+                Assert.assertEquals(0, loader.getFailed());
+            }
+            Assert.assertEquals("bulk" + (count - 1), cluster.get(topic + ":cluster:bulk:" + (count - 1)));
+
+            for (int i = 0; i < count; i++) {
+                Assert.assertEquals(2, cluster.del(topic + ":cluster:" + i) + cluster.del(topic + ":cluster:bulk:" + i));
+            }
+        } finally {
+            cluster.close();
+        }
+    }
+
     @After
     public void after() {
         redisun.close();